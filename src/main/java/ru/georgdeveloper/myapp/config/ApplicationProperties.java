@@ -1,6 +1,9 @@
 package ru.georgdeveloper.myapp.config;
 
+import java.time.Duration;
+import java.time.LocalTime;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Свойства, специфичные для приложения The Forge.
@@ -13,12 +16,36 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Reminders reminders = new Reminders();
+
+    private final DocumentStore documentStore = new DocumentStore();
+
+    private final Uploads uploads = new Uploads();
+
+    private final Calendar calendar = new Calendar();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Reminders getReminders() {
+        return reminders;
+    }
+
+    public DocumentStore getDocumentStore() {
+        return documentStore;
+    }
+
+    public Uploads getUploads() {
+        return uploads;
+    }
+
+    public Calendar getCalendar() {
+        return calendar;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +60,171 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    /**
+     * Напоминания о встречах, прочих событиях и сроках задач.
+     */
+    public static class Reminders {
+
+        private boolean enabled = true;
+
+        // За сколько минут до начала встречи или события отправляется напоминание
+        private int leadMinutes = 15;
+
+        // Время напоминания о сроке задачи и о событиях без времени начала
+        private LocalTime dayStart = LocalTime.of(9, 0);
+
+        // На сколько дней вперед напоминания держатся в памяти
+        private int horizonDays = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLeadMinutes() {
+            return leadMinutes;
+        }
+
+        public void setLeadMinutes(int leadMinutes) {
+            this.leadMinutes = leadMinutes;
+        }
+
+        public LocalTime getDayStart() {
+            return dayStart;
+        }
+
+        public void setDayStart(LocalTime dayStart) {
+            this.dayStart = dayStart;
+        }
+
+        public int getHorizonDays() {
+            return horizonDays;
+        }
+
+        public void setHorizonDays(int horizonDays) {
+            this.horizonDays = horizonDays;
+        }
+    }
+
+    /**
+     * Хранилище содержимого документов (PDF-файлов) на диске.
+     */
+    public static class DocumentStore {
+
+        // Каталог с файлами, временные файлы создаются в его подкаталоге tmp
+        private String root = "documents";
+
+        public String getRoot() {
+            return root;
+        }
+
+        public void setRoot(String root) {
+            this.root = root;
+        }
+    }
+
+    /**
+     * Ограничение одновременных загрузок файлов и возобновляемые загрузки.
+     */
+    public static class Uploads {
+
+        // Сколько файлов принимается одновременно
+        private int maxConcurrent = 4;
+
+        // Сколько запрос ждет освобождения места, прежде чем получить ответ 503
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+
+        // Значение заголовка Retry-After в ответе 503
+        private Duration retryAfter = Duration.ofSeconds(10);
+
+        // Каталог временных файлов возобновляемых загрузок
+        private String tempDir = "uploads";
+
+        // Наибольший размер файла возобновляемой загрузки
+        private DataSize maxResumableSize = DataSize.ofMegabytes(100);
+
+        // Через сколько после последнего фрагмента брошенная сессия удаляется
+        private Duration sessionExpiry = Duration.ofHours(24);
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public String getTempDir() {
+            return tempDir;
+        }
+
+        public void setTempDir(String tempDir) {
+            this.tempDir = tempDir;
+        }
+
+        public DataSize getMaxResumableSize() {
+            return maxResumableSize;
+        }
+
+        public void setMaxResumableSize(DataSize maxResumableSize) {
+            this.maxResumableSize = maxResumableSize;
+        }
+
+        public Duration getSessionExpiry() {
+            return sessionExpiry;
+        }
+
+        public void setSessionExpiry(Duration sessionExpiry) {
+            this.sessionExpiry = sessionExpiry;
+        }
+    }
+
+    /**
+     * Построение общей ленты событий календаря.
+     */
+    public static class Calendar {
+
+        // Сколько запрос ждет освобождения места для построения ленты, прежде чем получить ответ 503
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+
+        // Значение заголовка Retry-After в ответе 503
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
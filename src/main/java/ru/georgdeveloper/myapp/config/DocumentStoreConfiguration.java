@@ -0,0 +1,29 @@
+package ru.georgdeveloper.myapp.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.georgdeveloper.myapp.service.DocumentStore;
+import ru.georgdeveloper.myapp.service.LocalFileSystemDocumentStore;
+
+/**
+ * Конфигурация хранилища содержимого документов.
+ * По умолчанию используется локальный каталог; другое хранилище подключается собственным бином {@link DocumentStore}.
+ */
+@Configuration
+public class DocumentStoreConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentStoreConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean(DocumentStore.class)
+    public DocumentStore documentStore(ApplicationProperties applicationProperties) throws IOException {
+        Path root = Path.of(applicationProperties.getDocumentStore().getRoot());
+        LOG.debug("Configuring local document store in {}", root.toAbsolutePath());
+        return new LocalFileSystemDocumentStore(root);
+    }
+}
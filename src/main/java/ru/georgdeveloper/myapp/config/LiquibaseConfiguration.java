@@ -1,5 +1,7 @@
 package ru.georgdeveloper.myapp.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
@@ -15,6 +17,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import ru.georgdeveloper.myapp.config.liquibase.MovePdfFilesToDocumentStore;
+import ru.georgdeveloper.myapp.service.DocumentStore;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.liquibase.SpringLiquibaseUtil;
 
@@ -40,6 +44,7 @@ public class LiquibaseConfiguration {
      * @param dataSource Провайдер основного источника данных
      * @param applicationProperties Свойства приложения
      * @param dataSourceProperties Свойства источника данных
+     * @param documentStore Хранилище документов для миграции PDF-файлов
      * @return настроенный бин SpringLiquibase
      */
     @Bean
@@ -49,7 +54,8 @@ public class LiquibaseConfiguration {
         @LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource,
         ObjectProvider<DataSource> dataSource,
         ApplicationProperties applicationProperties,
-        DataSourceProperties dataSourceProperties
+        DataSourceProperties dataSourceProperties,
+        ObjectProvider<DocumentStore> documentStore
     ) {
         SpringLiquibase liquibase;
 
@@ -100,7 +106,15 @@ public class LiquibaseConfiguration {
         }
 
         // Дополнительные параметры
-        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        Map<String, String> changeLogParameters = new HashMap<>();
+        if (liquibaseProperties.getParameters() != null) {
+            changeLogParameters.putAll(liquibaseProperties.getParameters());
+        }
+        // Каталог хранилища документов для миграции, переносящей PDF-файлы из базы данных на диск
+        changeLogParameters.putIfAbsent("documentStoreRoot", applicationProperties.getDocumentStore().getRoot());
+        // Сама миграция пишет в настроенное хранилище; бин запрашивается только при ее выполнении
+        MovePdfFilesToDocumentStore.useDocumentStore(documentStore::getIfAvailable);
+        liquibase.setChangeLogParameters(changeLogParameters);
         liquibase.setRollbackFile(liquibaseProperties.getRollbackFile());
         liquibase.setTestRollbackOnUpdate(liquibaseProperties.isTestRollbackOnUpdate());
 
@@ -4,16 +4,29 @@ import jakarta.servlet.MultipartConfigElement;
 import org.springframework.boot.web.servlet.MultipartConfigFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
 import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.georgdeveloper.myapp.web.filter.UploadLimitInterceptor;
 
 /**
  * Конфигурация для настройки загрузки файлов.
  * Устанавливает максимальный размер файла до 50MB.
+ * <p>
+ * Файл пишется контейнером на диск по мере приема, в памяти держится только буфер чтения.
+ * Число одновременных загрузок, включая фрагменты возобновляемых загрузок, ограничено {@link UploadLimitInterceptor}.
  */
 @Configuration
-public class MultipartConfig {
+public class MultipartConfig implements WebMvcConfigurer {
+
+    private final ApplicationProperties applicationProperties;
+
+    public MultipartConfig(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
 
     /**
      * Настройка MultipartConfigElement для увеличения лимита размера файлов.
@@ -30,19 +43,35 @@ public class MultipartConfig {
         // Максимальный размер всего запроса: 50MB
         factory.setMaxRequestSize(DataSize.ofMegabytes(50));
 
-        // Пороговое значение для записи на диск
-        factory.setFileSizeThreshold(DataSize.ofMegabytes(1));
+        // Пороговое значение для записи на диск: файлы сразу пишутся на диск, не накапливаясь в памяти
+        factory.setFileSizeThreshold(DataSize.ofBytes(0));
 
         return factory.createMultipartConfig();
     }
 
     /**
      * Настройка MultipartResolver для обработки multipart запросов.
+     * Запрос разбирается лениво, после проверки ограничения одновременных загрузок.
      *
      * @return StandardServletMultipartResolver
      */
     @Bean
     public MultipartResolver multipartResolver() {
-        return new StandardServletMultipartResolver();
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver();
+        resolver.setResolveLazily(true);
+        return resolver;
+    }
+
+    @Bean
+    public UploadLimitInterceptor uploadLimitInterceptor() {
+        ApplicationProperties.Uploads uploads = applicationProperties.getUploads();
+        return new UploadLimitInterceptor(uploads.getMaxConcurrent(), uploads.getAcquireTimeout(), uploads.getRetryAfter());
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry
+            .addInterceptor(uploadLimitInterceptor())
+            .addPathPatterns("/api/safety-instructions/*/pdf", "/api/procedure-documents/*/pdf", "/api/uploads/*");
     }
 }
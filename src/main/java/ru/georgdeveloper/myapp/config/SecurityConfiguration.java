@@ -97,6 +97,9 @@ public class SecurityConfiguration {
                     .requestMatchers(mvc.pattern("/api/account/reset-password/init")).permitAll()
                     .requestMatchers(mvc.pattern("/api/account/reset-password/finish")).permitAll()
 
+                    // Лента подписки на календарь: доступ по токену в адресе, календарные клиенты не передают JWT
+                    .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/calendar-feed/*.ics")).permitAll()
+
                     // Админские endpoints требуют роли ADMIN
                     .requestMatchers(mvc.pattern("/api/admin/**")).hasAuthority(AuthoritiesConstants.ADMIN)
 
@@ -0,0 +1,227 @@
+package ru.georgdeveloper.myapp.config.liquibase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.georgdeveloper.myapp.service.DocumentStore;
+import ru.georgdeveloper.myapp.service.LocalFileSystemDocumentStore;
+
+/**
+ * Миграция Liquibase, переносящая PDF-файлы из колонки {@code pdf_file} таблицы в {@link DocumentStore} приложения.
+ * Хранилище передает {@code LiquibaseConfiguration}; при запуске Liquibase вне приложения используется
+ * {@link LocalFileSystemDocumentStore} в каталоге {@code storeRoot}.
+ * <p>
+ * Строки с файлом выбираются порциями по id, содержимое каждой строки читается отдельным запросом и потоком
+ * пишется во временный файл хранилища, поэтому в памяти находится не больше одного файла. Для каждой строки
+ * добавляется ссылка в {@code document_content}, в строку записываются хеш и размер, а {@code pdf_file} очищается.
+ * Порция фиксируется целиком, так что после сбоя повторный запуск продолжает с еще не перенесенных строк.
+ * <p>
+ * До публикации файлов хеши порции фиксируются в {@code document_content} без ссылок, а сами файлы публикуются
+ * после блокировки строк счетчика. Если порция не будет зафиксирована, опубликованные файлы останутся без ссылок
+ * и их удалит периодическая очистка {@code DocumentContentService}.
+ */
+public class MovePdfFilesToDocumentStore implements CustomTaskChange {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovePdfFilesToDocumentStore.class);
+
+    static final int CHUNK_SIZE = 50;
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_]+");
+
+    // Хранилище приложения; Liquibase создает миграцию сам, поэтому оно передается через статическое поле
+    private static volatile Supplier<DocumentStore> documentStore = () -> null;
+
+    // Параметры набора изменений
+    private String tableName;
+    private String storeRoot;
+
+    private int moved;
+
+    /**
+     * Задает хранилище, в которое переносятся файлы.
+     *
+     * @param store поставщик хранилища приложения; если он вернет {@code null}, используется каталог {@code storeRoot}
+     */
+    public static void useDocumentStore(Supplier<DocumentStore> store) {
+        documentStore = store;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getStoreRoot() {
+        return storeRoot;
+    }
+
+    public void setStoreRoot(String storeRoot) {
+        this.storeRoot = storeRoot;
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        try {
+            DocumentStore store = documentStore.get();
+            if (store == null) {
+                store = new LocalFileSystemDocumentStore(Path.of(storeRoot));
+            }
+            Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+            long afterId = 0;
+            List<Long> ids;
+            do {
+                ids = nextChunk(connection, afterId);
+                moveChunk(database, connection, store, ids);
+                if (!ids.isEmpty()) {
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == CHUNK_SIZE);
+            LOG.info("Перенесено PDF-файлов из таблицы {} в хранилище {}: {}", tableName, store.getClass().getSimpleName(), moved);
+        } catch (IOException | SQLException | DatabaseException e) {
+            throw new CustomChangeException("Не удалось перенести PDF-файлы из таблицы " + tableName, e);
+        }
+    }
+
+    private List<Long> nextChunk(Connection connection, long afterId) throws SQLException {
+        String sql = "SELECT id FROM " + tableName + " WHERE pdf_file IS NOT NULL AND id > ? ORDER BY id";
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            select.setMaxRows(CHUNK_SIZE);
+            select.setLong(1, afterId);
+            List<Long> ids = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    ids.add(rows.getLong(1));
+                }
+            }
+            return ids;
+        }
+    }
+
+    private void moveChunk(Database database, Connection connection, DocumentStore store, List<Long> ids)
+        throws SQLException, IOException, DatabaseException {
+        Map<Long, DocumentStore.PendingDocument> pendings = new LinkedHashMap<>();
+        try {
+            for (Long id : ids) {
+                DocumentStore.PendingDocument pending = writeFile(connection, store, id);
+                if (pending != null) {
+                    pendings.put(id, pending);
+                }
+            }
+            for (DocumentStore.PendingDocument pending : pendings.values()) {
+                registerUnreferenced(connection, pending);
+            }
+            database.commit();
+            for (Map.Entry<Long, DocumentStore.PendingDocument> entry : pendings.entrySet()) {
+                DocumentStore.PendingDocument pending = entry.getValue();
+                addReference(connection, pending);
+                String sql = "UPDATE " + tableName + " SET pdf_file = NULL, pdf_file_size = ?, pdf_file_sha256 = ? WHERE id = ?";
+                try (PreparedStatement update = connection.prepareStatement(sql)) {
+                    update.setLong(1, pending.size());
+                    update.setString(2, pending.sha256());
+                    update.setLong(3, entry.getKey());
+                    update.executeUpdate();
+                }
+                pending.publish();
+                moved++;
+            }
+            database.commit();
+        } finally {
+            for (DocumentStore.PendingDocument pending : pendings.values()) {
+                pending.close();
+            }
+        }
+    }
+
+    private DocumentStore.PendingDocument writeFile(Connection connection, DocumentStore store, long id)
+        throws SQLException, IOException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT pdf_file FROM " + tableName + " WHERE id = ?")) {
+            select.setLong(1, id);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    return null;
+                }
+                try (InputStream content = row.getBinaryStream(1)) {
+                    return store.write(content);
+                }
+            }
+        }
+    }
+
+    /**
+     * Регистрирует содержимое без ссылок, чтобы очистка удалила файл, если порция не будет зафиксирована.
+     * Существующая строка не изменяется.
+     */
+    private static void registerUnreferenced(Connection connection, DocumentStore.PendingDocument pending) throws SQLException {
+        String insert = "INSERT INTO document_content (sha256, content_size, ref_count) VALUES (?, ?, 0) ON CONFLICT (sha256) DO NOTHING";
+        try (PreparedStatement update = connection.prepareStatement(insert)) {
+            update.setString(1, pending.sha256());
+            update.setLong(2, pending.size());
+            update.executeUpdate();
+        }
+    }
+
+    private static void addReference(Connection connection, DocumentStore.PendingDocument pending) throws SQLException {
+        String increment = "UPDATE document_content SET ref_count = ref_count + 1 WHERE sha256 = ?";
+        try (PreparedStatement update = connection.prepareStatement(increment)) {
+            update.setString(1, pending.sha256());
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        String insert = "INSERT INTO document_content (sha256, content_size, ref_count) VALUES (?, ?, 1)";
+        try (PreparedStatement update = connection.prepareStatement(insert)) {
+            update.setString(1, pending.sha256());
+            update.setLong(2, pending.size());
+            update.executeUpdate();
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Moved " + moved + " PDF files from " + tableName + " to the document store";
+    }
+
+    @Override
+    public void setUp() {
+        // Подготовка не требуется
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // Файлы журнала изменений не используются
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        if (tableName == null || !TABLE_NAME.matcher(tableName).matches()) {
+            errors.addError("tableName must be a plain table name");
+        }
+        if (storeRoot == null || storeRoot.isBlank()) {
+            errors.addError("storeRoot is required");
+        }
+        return errors;
+    }
+}
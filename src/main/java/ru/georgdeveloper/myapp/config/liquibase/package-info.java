@@ -0,0 +1,4 @@
+/**
+ * Liquibase custom changes.
+ */
+package ru.georgdeveloper.myapp.config.liquibase;
@@ -0,0 +1,93 @@
+package ru.georgdeveloper.myapp.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Токен подписки пользователя на календарь в формате iCalendar.
+ * Хранится только SHA-256 токена: по нему лента находит пользователя, сам токен из БД не восстановить.
+ */
+@Entity
+@Table(name = "calendar_feed_token")
+public class CalendarFeedToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    private User user;
+
+    @Column(name = "token_hash", length = 64, nullable = false, unique = true)
+    private String tokenHash; // SHA-256 токена в шестнадцатеричном виде
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate; // Время выпуска токена
+
+    public CalendarFeedToken() {}
+
+    public CalendarFeedToken(User user, String tokenHash) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.createdDate = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CalendarFeedToken)) {
+            return false;
+        }
+        return id != null && id.equals(((CalendarFeedToken) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarFeedToken{id=" + id + ", createdDate='" + createdDate + "'}";
+    }
+}
@@ -0,0 +1,70 @@
+package ru.georgdeveloper.myapp.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Содержимое документа в {@link ru.georgdeveloper.myapp.service.DocumentStore} и число ссылок на него.
+ * Строка с нулем ссылок означает, что файл можно удалить из хранилища.
+ */
+@Entity
+@Table(name = "document_content")
+public class DocumentContent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256; // Хеш содержимого в шестнадцатеричном виде
+
+    @Column(name = "content_size", nullable = false)
+    private Long contentSize; // Размер содержимого в байтах
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount; // Число документов, ссылающихся на содержимое
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Long getContentSize() {
+        return contentSize;
+    }
+
+    public void setContentSize(Long contentSize) {
+        this.contentSize = contentSize;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DocumentContent)) {
+            return false;
+        }
+        return sha256 != null && sha256.equals(((DocumentContent) o).sha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentContent{sha256='" + sha256 + "', contentSize=" + contentSize + ", refCount=" + refCount + "}";
+    }
+}
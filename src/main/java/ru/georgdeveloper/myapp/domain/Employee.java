@@ -50,8 +50,9 @@ public class Employee implements Serializable {
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate hireDate; // Дата приема на работу
 
-    // Вычисляемое поле - дата последнего инструктажа
-    @Transient // Поле не сохраняется в БД, вычисляется динамически
+    // Дата последнего инструктажа - максимум дат инструктажей сотрудника.
+    // Поддерживается TrainingServiceImpl отдельными запросами, поэтому не записывается при сохранении сотрудника
+    @Column(name = "last_instruction_date", insertable = false, updatable = false)
     @JsonFormat(pattern = "yyyy-MM-dd")
     @JsonProperty("lastInstructionDate")
     @JsonInclude(JsonInclude.Include.ALWAYS)
@@ -31,6 +31,19 @@ public class JobDescription implements Serializable {
     @Column(name = "approval_date", nullable = false)
     private LocalDate approvalDate; // Дата утверждения инструкции
 
+    // Метаданные PDF-файла изменяются только загрузкой и удалением файла, содержимое лежит в хранилище документов
+    @Column(name = "pdf_file_name", insertable = false, updatable = false)
+    private String pdfFileName; // Имя PDF-файла должностной инструкции
+
+    @Column(name = "pdf_file_content_type", insertable = false, updatable = false)
+    private String pdfFileContentType; // MIME-тип PDF-файла
+
+    @Column(name = "pdf_file_size", insertable = false, updatable = false)
+    private Long pdfFileSize; // Размер PDF-файла в байтах
+
+    @Column(name = "pdf_file_sha256", insertable = false, updatable = false)
+    private String pdfFileSha256; // SHA-256 PDF-файла, ключ содержимого в хранилище документов
+
     // Однонаправленная связь один-к-одному с сущностью Position
     @JsonIgnoreProperties(value = { "jobDescription", "safetyInstructions", "employees" }, allowSetters = true)
     @OneToOne(fetch = FetchType.LAZY, mappedBy = "jobDescription")
@@ -76,6 +89,58 @@ public class JobDescription implements Serializable {
         this.approvalDate = approvalDate;
     }
 
+    public String getPdfFileName() {
+        return this.pdfFileName;
+    }
+
+    public JobDescription pdfFileName(String pdfFileName) {
+        this.setPdfFileName(pdfFileName);
+        return this;
+    }
+
+    public void setPdfFileName(String pdfFileName) {
+        this.pdfFileName = pdfFileName;
+    }
+
+    public String getPdfFileContentType() {
+        return this.pdfFileContentType;
+    }
+
+    public JobDescription pdfFileContentType(String pdfFileContentType) {
+        this.setPdfFileContentType(pdfFileContentType);
+        return this;
+    }
+
+    public void setPdfFileContentType(String pdfFileContentType) {
+        this.pdfFileContentType = pdfFileContentType;
+    }
+
+    public Long getPdfFileSize() {
+        return this.pdfFileSize;
+    }
+
+    public JobDescription pdfFileSize(Long pdfFileSize) {
+        this.setPdfFileSize(pdfFileSize);
+        return this;
+    }
+
+    public void setPdfFileSize(Long pdfFileSize) {
+        this.pdfFileSize = pdfFileSize;
+    }
+
+    public String getPdfFileSha256() {
+        return this.pdfFileSha256;
+    }
+
+    public JobDescription pdfFileSha256(String pdfFileSha256) {
+        this.setPdfFileSha256(pdfFileSha256);
+        return this;
+    }
+
+    public void setPdfFileSha256(String pdfFileSha256) {
+        this.pdfFileSha256 = pdfFileSha256;
+    }
+
     /**
      * Управление связью с Position с поддержанием целостности
      */
@@ -125,6 +190,9 @@ public class JobDescription implements Serializable {
             ", дата создания='" +
             getApprovalDate() +
             "'" +
+            ", pdf файл='" +
+            getPdfFileName() +
+            "'" +
             "}"
         );
     }
@@ -1,9 +1,12 @@
 package ru.georgdeveloper.myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
 @Table(name = "other_event")
@@ -26,11 +29,14 @@ public class OtherEvent implements Serializable {
     @Column(name = "event_date", nullable = false)
     private LocalDate eventDate;
 
+    // Время передается в API как HH:mm
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
     @Column(name = "start_time")
-    private String startTime;
+    private LocalTime startTime;
 
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
     @Column(name = "end_time")
-    private String endTime;
+    private LocalTime endTime;
 
     @Column(name = "location")
     private String location;
@@ -38,6 +44,11 @@ public class OtherEvent implements Serializable {
     @Column(name = "description")
     private String description;
 
+    // Логин организатора: задается при создании, клиент его не передает. Ему отправляется напоминание
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "created_by", length = 50, updatable = false)
+    private String createdBy;
+
     @Column(name = "completed")
     private Boolean completed;
 
@@ -80,28 +91,28 @@ public class OtherEvent implements Serializable {
         return this;
     }
 
-    public String getStartTime() {
+    public LocalTime getStartTime() {
         return startTime;
     }
 
-    public void setStartTime(String startTime) {
+    public void setStartTime(LocalTime startTime) {
         this.startTime = startTime;
     }
 
-    public OtherEvent startTime(String startTime) {
+    public OtherEvent startTime(LocalTime startTime) {
         this.setStartTime(startTime);
         return this;
     }
 
-    public String getEndTime() {
+    public LocalTime getEndTime() {
         return endTime;
     }
 
-    public void setEndTime(String endTime) {
+    public void setEndTime(LocalTime endTime) {
         this.endTime = endTime;
     }
 
-    public OtherEvent endTime(String endTime) {
+    public OtherEvent endTime(LocalTime endTime) {
         this.setEndTime(endTime);
         return this;
     }
@@ -144,4 +155,17 @@ public class OtherEvent implements Serializable {
         this.setCompleted(completed);
         return this;
     }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public OtherEvent createdBy(String createdBy) {
+        this.setCreatedBy(createdBy);
+        return this;
+    }
 }
@@ -35,15 +35,18 @@ public class ProcedureDocument implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @Column(name = "pdf_file_name")
+    // Метаданные PDF-файла изменяются только загрузкой и удалением файла, содержимое лежит в хранилище документов
+    @Column(name = "pdf_file_name", insertable = false, updatable = false)
     private String pdfFileName;
 
-    @Column(name = "pdf_file_content_type")
+    @Column(name = "pdf_file_content_type", insertable = false, updatable = false)
     private String pdfFileContentType;
 
-    @Lob
-    @Column(name = "pdf_file")
-    private byte[] pdfFile;
+    @Column(name = "pdf_file_size", insertable = false, updatable = false)
+    private Long pdfFileSize;
+
+    @Column(name = "pdf_file_sha256", insertable = false, updatable = false)
+    private String pdfFileSha256;
 
     // Связь многие-к-одному с Profession (профессия)
     @ManyToOne(fetch = FetchType.LAZY)
@@ -137,17 +140,30 @@ public class ProcedureDocument implements Serializable {
         this.pdfFileContentType = pdfFileContentType;
     }
 
-    public byte[] getPdfFile() {
-        return this.pdfFile;
+    public Long getPdfFileSize() {
+        return this.pdfFileSize;
+    }
+
+    public ProcedureDocument pdfFileSize(Long pdfFileSize) {
+        this.setPdfFileSize(pdfFileSize);
+        return this;
+    }
+
+    public void setPdfFileSize(Long pdfFileSize) {
+        this.pdfFileSize = pdfFileSize;
+    }
+
+    public String getPdfFileSha256() {
+        return this.pdfFileSha256;
     }
 
-    public ProcedureDocument pdfFile(byte[] pdfFile) {
-        this.setPdfFile(pdfFile);
+    public ProcedureDocument pdfFileSha256(String pdfFileSha256) {
+        this.setPdfFileSha256(pdfFileSha256);
         return this;
     }
 
-    public void setPdfFile(byte[] pdfFile) {
-        this.pdfFile = pdfFile;
+    public void setPdfFileSha256(String pdfFileSha256) {
+        this.pdfFileSha256 = pdfFileSha256;
     }
 
     /**
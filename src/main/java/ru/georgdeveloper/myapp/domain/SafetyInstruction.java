@@ -32,15 +32,18 @@ public class SafetyInstruction implements Serializable {
     @Column(name = "introduction_date", nullable = false)
     private LocalDate introductionDate; // Дата введения инструкции
 
-    @Column(name = "pdf_file_name")
+    // Метаданные PDF-файла изменяются только загрузкой и удалением файла, содержимое лежит в хранилище документов
+    @Column(name = "pdf_file_name", insertable = false, updatable = false)
     private String pdfFileName; // Имя PDF-файла инструкции
 
-    @Column(name = "pdf_file_content_type")
+    @Column(name = "pdf_file_content_type", insertable = false, updatable = false)
     private String pdfFileContentType; // MIME-тип PDF-файла
 
-    @Lob
-    @Column(name = "pdf_file")
-    private byte[] pdfFile; // Содержимое PDF-файла
+    @Column(name = "pdf_file_size", insertable = false, updatable = false)
+    private Long pdfFileSize; // Размер PDF-файла в байтах
+
+    @Column(name = "pdf_file_sha256", insertable = false, updatable = false)
+    private String pdfFileSha256; // SHA-256 PDF-файла, ключ содержимого в хранилище документов
 
     // Связь многие-к-одному с Profession (профессия)
     @ManyToOne(fetch = FetchType.LAZY) // Ленивая загрузка
@@ -121,17 +124,30 @@ public class SafetyInstruction implements Serializable {
         this.pdfFileContentType = pdfFileContentType;
     }
 
-    public byte[] getPdfFile() {
-        return this.pdfFile;
+    public Long getPdfFileSize() {
+        return this.pdfFileSize;
+    }
+
+    public SafetyInstruction pdfFileSize(Long pdfFileSize) {
+        this.setPdfFileSize(pdfFileSize);
+        return this;
+    }
+
+    public void setPdfFileSize(Long pdfFileSize) {
+        this.pdfFileSize = pdfFileSize;
+    }
+
+    public String getPdfFileSha256() {
+        return this.pdfFileSha256;
     }
 
-    public SafetyInstruction pdfFile(byte[] pdfFile) {
-        this.setPdfFile(pdfFile);
+    public SafetyInstruction pdfFileSha256(String pdfFileSha256) {
+        this.setPdfFileSha256(pdfFileSha256);
         return this;
     }
 
-    public void setPdfFile(byte[] pdfFile) {
-        this.pdfFile = pdfFile;
+    public void setPdfFileSha256(String pdfFileSha256) {
+        this.pdfFileSha256 = pdfFileSha256;
     }
 
     /**
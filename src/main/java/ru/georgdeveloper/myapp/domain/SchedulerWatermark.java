@@ -0,0 +1,81 @@
+package ru.georgdeveloper.myapp.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Отметка прогресса периодической задачи (high-water mark).
+ * Хранит дату, до которой задача уже обработала данные, чтобы после перезапуска приложения
+ * не выполнять ту же работу повторно.
+ */
+@Entity
+@Table(name = "scheduler_watermark")
+public class SchedulerWatermark implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name; // Название периодической задачи
+
+    @Column(name = "watermark", nullable = false)
+    private LocalDate watermark; // Последняя обработанная дата включительно
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt; // Время последнего сдвига отметки
+
+    public SchedulerWatermark() {}
+
+    public SchedulerWatermark(String name, LocalDate watermark) {
+        this.name = name;
+        this.watermark = watermark;
+        this.updatedAt = Instant.now();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDate watermark) {
+        this.watermark = watermark;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SchedulerWatermark)) {
+            return false;
+        }
+        return name != null && name.equals(((SchedulerWatermark) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerWatermark{name='" + name + "', watermark='" + watermark + "'}";
+    }
+}
@@ -54,6 +54,9 @@ public class Task implements Serializable {
     @Column(name = "actual_completion_date")
     private LocalDate actualCompletionDate; // Фактическая дата выполнения задачи
 
+    @Column(name = "overdue_since")
+    private LocalDate overdueSince; // Дата, с которой задача отмечена просроченной (ведется сервером)
+
     // Связь многие-к-одному с Employee (исполнитель задачи)
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
@@ -167,6 +170,19 @@ public class Task implements Serializable {
         this.actualCompletionDate = actualCompletionDate;
     }
 
+    public LocalDate getOverdueSince() {
+        return this.overdueSince;
+    }
+
+    public Task overdueSince(LocalDate overdueSince) {
+        this.setOverdueSince(overdueSince);
+        return this;
+    }
+
+    public void setOverdueSince(LocalDate overdueSince) {
+        this.overdueSince = overdueSince;
+    }
+
     public Employee getEmployee() {
         return this.employee;
     }
@@ -211,6 +227,9 @@ public class Task implements Serializable {
             ", фактическая дата выполнения='" +
             getActualCompletionDate() +
             "'" +
+            ", просрочена с='" +
+            getOverdueSince() +
+            "'" +
             ", статус='" +
             getStatus() +
             "'" +
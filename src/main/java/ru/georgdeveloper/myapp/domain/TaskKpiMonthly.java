@@ -0,0 +1,144 @@
+package ru.georgdeveloper.myapp.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Помесячные показатели выполнения задач одного исполнителя.
+ * Месяц — месяц планируемой даты завершения задачи. Строки изменяются только массовыми запросами
+ * {@link ru.georgdeveloper.myapp.repository.TaskKpiMonthlyRepository}, поэтому сущность доступна только для чтения.
+ */
+@Entity
+@Immutable
+@IdClass(TaskKpiMonthly.Key.class)
+@Table(name = "task_kpi_monthly")
+public class TaskKpiMonthly implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId; // Исполнитель задач
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart; // Первый день месяца планируемой даты завершения
+
+    @Column(name = "planned_count", nullable = false)
+    private int plannedCount; // Задачи со сроком в этом месяце
+
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount; // Из них завершенные (есть фактическая дата завершения)
+
+    @Column(name = "on_time_count", nullable = false)
+    private int onTimeCount; // Завершенные не позже срока
+
+    @Column(name = "late_count", nullable = false)
+    private int lateCount; // Завершенные позже срока
+
+    @Column(name = "lateness_days_sum", nullable = false)
+    private long latenessDaysSum; // Сумма дней опоздания завершенных позже срока
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public int getPlannedCount() {
+        return plannedCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public int getOnTimeCount() {
+        return onTimeCount;
+    }
+
+    public int getLateCount() {
+        return lateCount;
+    }
+
+    public long getLatenessDaysSum() {
+        return latenessDaysSum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskKpiMonthly that)) {
+            return false;
+        }
+        return employeeId != null && employeeId.equals(that.employeeId) && Objects.equals(monthStart, that.monthStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "TaskKpiMonthly{employeeId=" +
+            employeeId +
+            ", monthStart='" +
+            monthStart +
+            "', plannedCount=" +
+            plannedCount +
+            ", completedCount=" +
+            completedCount +
+            ", onTimeCount=" +
+            onTimeCount +
+            ", lateCount=" +
+            lateCount +
+            ", latenessDaysSum=" +
+            latenessDaysSum +
+            "}"
+        );
+    }
+
+    /**
+     * Составной ключ: исполнитель и месяц.
+     */
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long employeeId;
+
+        private LocalDate monthStart;
+
+        public Key() {}
+
+        public Key(Long employeeId, LocalDate monthStart) {
+            this.employeeId = employeeId;
+            this.monthStart = monthStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key that)) {
+                return false;
+            }
+            return Objects.equals(employeeId, that.employeeId) && Objects.equals(monthStart, that.monthStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, monthStart);
+        }
+    }
+}
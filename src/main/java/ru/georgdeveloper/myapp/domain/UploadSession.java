@@ -0,0 +1,167 @@
+package ru.georgdeveloper.myapp.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import ru.georgdeveloper.myapp.domain.enumeration.UploadTarget;
+
+/**
+ * Сессия возобновляемой загрузки PDF-файла.
+ * Принятые байты лежат во временном файле сессии, {@code uploadOffset} - сколько из них подтверждено клиенту.
+ * После приема последнего байта файл проверяется по SHA-256 и прикрепляется к сущности, а сессия удаляется.
+ */
+@Entity
+@Table(name = "upload_session")
+public class UploadSession implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id; // Случайный UUID, входит в адрес загрузки
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false)
+    private UploadTarget targetType; // Тип сущности, к которой прикрепляется файл
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId; // Идентификатор сущности
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName; // Имя файла
+
+    @Column(name = "upload_length", nullable = false)
+    private long uploadLength; // Полный размер файла в байтах
+
+    @Column(name = "upload_offset", nullable = false)
+    private long uploadOffset; // Сколько байт принято и сохранено на диск
+
+    @Column(name = "sha256", length = 64, nullable = false)
+    private String sha256; // Ожидаемый SHA-256 всего файла
+
+    @Column(name = "created_by", length = 50, nullable = false)
+    private String createdBy; // Логин пользователя, начавшего загрузку
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "last_modified_date", nullable = false)
+    private Instant lastModifiedDate; // Время последнего принятого фрагмента, по нему удаляются брошенные сессии
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public UploadTarget getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(UploadTarget targetType) {
+        this.targetType = targetType;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getUploadLength() {
+        return uploadLength;
+    }
+
+    public void setUploadLength(long uploadLength) {
+        this.uploadLength = uploadLength;
+    }
+
+    public long getUploadOffset() {
+        return uploadOffset;
+    }
+
+    public void setUploadOffset(long uploadOffset) {
+        this.uploadOffset = uploadOffset;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    public boolean isComplete() {
+        return uploadOffset == uploadLength;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UploadSession)) {
+            return false;
+        }
+        return id != null && id.equals(((UploadSession) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "UploadSession{id='" +
+            id +
+            "', targetType=" +
+            targetType +
+            ", targetId=" +
+            targetId +
+            ", uploadOffset=" +
+            uploadOffset +
+            ", uploadLength=" +
+            uploadLength +
+            "}"
+        );
+    }
+}
@@ -9,8 +9,11 @@ import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
 @Table(name = "user_team_access")
 public class UserTeamAccess implements Serializable {
 
+    // Пуловая последовательность (шаг 50) позволяет Hibernate объединять вставки в пакеты JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
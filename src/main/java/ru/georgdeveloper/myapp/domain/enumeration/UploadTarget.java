@@ -0,0 +1,28 @@
+package ru.georgdeveloper.myapp.domain.enumeration;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Сущность, к которой прикрепляется PDF-файл возобновляемой загрузки.
+ */
+public enum UploadTarget {
+    SAFETY_INSTRUCTION("safety-instructions"), // Инструкция по технике безопасности
+    PROCEDURE_DOCUMENT("procedure-documents"), // Процедура и документация
+    JOB_DESCRIPTION("job-descriptions"); // Должностная инструкция
+
+    // Сегмент адреса REST API сущности
+    private final String path;
+
+    UploadTarget(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static Optional<UploadTarget> fromPath(String path) {
+        return Arrays.stream(values()).filter(target -> target.path.equals(path)).findFirst();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция дополнительного обучения по дате следующего прохождения для рассылки напоминаний и календаря.
+ * Содержит только поля для отображения и ключ курсора (дата, id).
+ */
+public interface AdditionalTrainingExpiryView {
+    Long getId();
+
+    LocalDate getNextTrainingDate();
+
+    String getTrainingName();
+
+    Long getProfessionId();
+
+    String getProfessionName();
+}
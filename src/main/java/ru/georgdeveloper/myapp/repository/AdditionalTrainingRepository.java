@@ -1,7 +1,11 @@
 package ru.georgdeveloper.myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -42,4 +46,46 @@ public interface AdditionalTrainingRepository extends JpaRepository<AdditionalTr
         countQuery = "SELECT COUNT(at) FROM AdditionalTraining at"
     )
     Page<AdditionalTraining> findAllWithEagerRelationships(Pageable pageable);
+
+    /**
+     * Читает очередную порцию дополнительных обучений с датой следующего прохождения
+     * в диапазоне после позиции курсора (дата, id) и не позже {@code to}.
+     * Диапазон читается по индексу (next_training_date, id), без OFFSET и подсчета.
+     *
+     * @param afterDate дата последней прочитанной строки (или нижняя граница диапазона, не включительно)
+     * @param afterId id последней прочитанной строки
+     * @param to верхняя граница диапазона (включительно)
+     * @param pageable размер порции (сортировка задана запросом)
+     */
+    @Query(
+        "SELECT at.id AS id, at.nextTrainingDate AS nextTrainingDate, at.trainingName AS trainingName, " +
+        "p.id AS professionId, p.professionName AS professionName " +
+        "FROM AdditionalTraining at JOIN at.profession p " +
+        "WHERE at.nextTrainingDate <= :to " +
+        "AND (at.nextTrainingDate > :afterDate OR (at.nextTrainingDate = :afterDate AND at.id > :afterId)) " +
+        "ORDER BY at.nextTrainingDate, at.id"
+    )
+    List<AdditionalTrainingExpiryView> findExpiringAfter(
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterId") Long afterId,
+        @Param("to") LocalDate to,
+        Pageable pageable
+    );
+
+    /**
+     * Читает дополнительные обучения с датой следующего прохождения в диапазоне
+     * по индексу (next_training_date, id) курсором. Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT at.id AS id, at.nextTrainingDate AS nextTrainingDate, at.trainingName AS trainingName, " +
+        "p.id AS professionId, p.professionName AS professionName " +
+        "FROM AdditionalTraining at LEFT JOIN at.profession p " +
+        "WHERE at.nextTrainingDate BETWEEN :from AND :to " +
+        "ORDER BY at.nextTrainingDate, at.id"
+    )
+    Stream<AdditionalTrainingExpiryView> streamCalendarAdditionalTrainings(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,24 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.georgdeveloper.myapp.domain.CalendarFeedToken;
+
+/**
+ * Репозиторий Spring Data JPA для токенов подписки на календарь.
+ */
+@Repository
+public interface CalendarFeedTokenRepository extends JpaRepository<CalendarFeedToken, Long> {
+    Optional<CalendarFeedToken> findOneByUserLogin(String login);
+
+    /**
+     * Возвращает логин владельца токена подписки на календарь, если его учетная запись активна.
+     *
+     * @param tokenHash SHA-256 токена в шестнадцатеричном виде
+     */
+    @Query("SELECT t.user.login FROM CalendarFeedToken t WHERE t.tokenHash = :tokenHash AND t.user.activated = true")
+    Optional<String> findLoginByTokenHash(@Param("tokenHash") String tokenHash);
+}
@@ -0,0 +1,21 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Проекция встречи для календаря без описания и без загрузки сущности {@link ru.georgdeveloper.myapp.domain.Meeting}.
+ */
+public interface CalendarMeetingView {
+    Long getId();
+
+    String getTitle();
+
+    LocalDate getEventDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    String getLocation();
+}
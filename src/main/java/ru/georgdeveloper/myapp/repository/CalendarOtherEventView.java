@@ -0,0 +1,9 @@
+package ru.georgdeveloper.myapp.repository;
+
+/**
+ * Проекция прочего события для календаря без описания и без загрузки сущности
+ * {@link ru.georgdeveloper.myapp.domain.OtherEvent}.
+ */
+public interface CalendarOtherEventView extends CalendarMeetingView {
+    Boolean getCompleted();
+}
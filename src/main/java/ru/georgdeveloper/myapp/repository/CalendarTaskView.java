@@ -0,0 +1,32 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+
+/**
+ * Проекция задачи для календаря: только даты, статус, приоритет и исполнитель,
+ * без описания задачи и без загрузки сущностей {@link ru.georgdeveloper.myapp.domain.Task}
+ * и {@link ru.georgdeveloper.myapp.domain.Employee}.
+ */
+public interface CalendarTaskView {
+    Long getId();
+
+    String getTaskName();
+
+    LocalDate getCreationDate();
+
+    LocalDate getPlannedCompletionDate();
+
+    LocalDate getActualCompletionDate();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    Long getEmployeeId();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,23 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция инструктажа для календаря: дата следующего прохождения и сотрудник,
+ * без загрузки сущностей {@link ru.georgdeveloper.myapp.domain.Training} и {@link ru.georgdeveloper.myapp.domain.Employee}.
+ */
+public interface CalendarTrainingView {
+    Long getId();
+
+    String getTrainingName();
+
+    LocalDate getNextTrainingDate();
+
+    Integer getValidityPeriod();
+
+    Long getEmployeeId();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,66 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.georgdeveloper.myapp.domain.DocumentContent;
+
+/**
+ * Репозиторий Spring Data JPA для счетчиков ссылок на содержимое документов {@link DocumentContent}.
+ * Счетчики изменяются SQL-запросами PostgreSQL, которые блокируют строку до конца транзакции.
+ */
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, String> {
+    /**
+     * Добавляет ссылку на содержимое, создавая строку при необходимости.
+     *
+     * @return количество вставленных или обновленных строк
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO document_content (sha256, content_size, ref_count) VALUES (:sha256, :size, 1) " +
+        "ON CONFLICT (sha256) DO UPDATE SET ref_count = document_content.ref_count + 1",
+        nativeQuery = true
+    )
+    int addReference(@Param("sha256") String sha256, @Param("size") long size);
+
+    /**
+     * Убирает ссылку на содержимое. Строка с нулем ссылок остается до очистки хранилища.
+     *
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query(
+        value = "UPDATE document_content SET ref_count = ref_count - 1 WHERE sha256 = :sha256 AND ref_count > 0",
+        nativeQuery = true
+    )
+    int removeReference(@Param("sha256") String sha256);
+
+    /**
+     * Регистрирует содержимое без ссылок, чтобы очистка удалила его файл. Существующая строка не изменяется.
+     *
+     * @return количество вставленных строк
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO document_content (sha256, content_size, ref_count) VALUES (:sha256, :size, 0) " +
+        "ON CONFLICT (sha256) DO NOTHING",
+        nativeQuery = true
+    )
+    int registerUnreferenced(@Param("sha256") String sha256, @Param("size") long size);
+
+    @Query("select c.sha256 from DocumentContent c where c.refCount = 0 and c.sha256 > :after order by c.sha256")
+    List<String> findUnreferencedAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Удаляет строку, если на содержимое по-прежнему нет ссылок. Удаленная строка блокирует добавление
+     * новой ссылки на то же содержимое до конца транзакции.
+     *
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Query(value = "DELETE FROM document_content WHERE sha256 = :sha256 AND ref_count = 0", nativeQuery = true)
+    int deleteUnreferenced(@Param("sha256") String sha256);
+}
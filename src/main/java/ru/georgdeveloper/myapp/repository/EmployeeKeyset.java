@@ -0,0 +1,156 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import ru.georgdeveloper.myapp.domain.Employee;
+
+/**
+ * Позиция курсорной (keyset) пагинации по сотрудникам.
+ * <p>
+ * Хранит ключ сортировки и идентификатор граничной записи страницы, поэтому
+ * следующая страница выбирается условием {@code (ключ, id) > (значение, lastId)} вместо OFFSET,
+ * и стоимость страницы N не зависит от её номера.
+ *
+ * @param property свойство сортировки (из {@link #SORTABLE_PROPERTIES})
+ * @param order направление сортировки
+ * @param value значение свойства сортировки у граничной записи ({@code null} для первой страницы)
+ * @param id идентификатор граничной записи ({@code null} для первой страницы)
+ * @param backward {@code true}, если выбирается предыдущая страница
+ */
+public record EmployeeKeyset(String property, Sort.Direction order, Object value, Long id, boolean backward) {
+    private static final String ID_PROPERTY = "id";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Свойства, по которым допускается курсорная пагинация, и способ разбора их значений из курсора.
+     */
+    private static final Map<String, Function<String, Object>> SORTABLE_PROPERTIES = Map.of(
+        ID_PROPERTY,
+        Long::valueOf,
+        "firstName",
+        value -> value,
+        "lastName",
+        value -> value,
+        "employeeNumber",
+        value -> value,
+        "birthDate",
+        LocalDate::parse,
+        "hireDate",
+        LocalDate::parse
+    );
+
+    /**
+     * Извлечение значения свойства сортировки из сотрудника.
+     */
+    private static final Map<String, Function<Employee, Object>> EXTRACTORS = Map.of(
+        ID_PROPERTY,
+        Employee::getId,
+        "firstName",
+        Employee::getFirstName,
+        "lastName",
+        Employee::getLastName,
+        "employeeNumber",
+        Employee::getEmployeeNumber,
+        "birthDate",
+        Employee::getBirthDate,
+        "hireDate",
+        Employee::getHireDate
+    );
+
+    /**
+     * Создает позицию первой страницы для указанной сортировки.
+     * Сортировка допускается только по одному полю, id всегда добавляется как уникальный разделитель
+     * в том же направлении. Явно указанный вторым полем id с тем же направлением допускается.
+     *
+     * @param sort сортировка из запроса
+     * @return позиция первой страницы
+     * @throws IllegalArgumentException если свойство сортировки не поддерживается или полей сортировки несколько
+     */
+    public static EmployeeKeyset first(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.isEmpty() ? Sort.Order.asc(ID_PROPERTY) : orders.get(0);
+        if (!SORTABLE_PROPERTIES.containsKey(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported keyset sort property: " + order.getProperty());
+        }
+        boolean idTiebreak =
+            orders.size() == 2 &&
+            ID_PROPERTY.equals(orders.get(1).getProperty()) &&
+            orders.get(1).getDirection() == order.getDirection();
+        if (orders.size() > 1 && !idTiebreak) {
+            throw new IllegalArgumentException("Keyset pagination supports a single sort property: " + sort);
+        }
+        return new EmployeeKeyset(order.getProperty(), order.getDirection(), null, null, false);
+    }
+
+    /**
+     * Декодирует непрозрачный курсор. Пустой курсор означает первую страницу.
+     *
+     * @param cursor курсор из запроса
+     * @param sort сортировка из запроса (используется только для первой страницы)
+     * @return позиция страницы
+     * @throws IllegalArgumentException если курсор поврежден
+     */
+    public static EmployeeKeyset decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return first(sort);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // значение идет последним, т.к. может содержать разделитель
+            String[] parts = decoded.split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !SORTABLE_PROPERTIES.containsKey(parts[1])) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            boolean backward = "p".equals(parts[0]);
+            Sort.Direction order = Sort.Direction.fromString(parts[2]);
+            Long id = Long.valueOf(parts[3]);
+            Object value = SORTABLE_PROPERTIES.get(parts[1]).apply(parts[4]);
+            return new EmployeeKeyset(parts[1], order, value, id, backward);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * Кодирует позицию в непрозрачный курсор для заголовка Link.
+     *
+     * @return курсор в кодировке base64url
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR, backward ? "p" : "n", property, order.name(), String.valueOf(id), String.valueOf(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {@code true}, если это позиция первой страницы
+     */
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    /**
+     * @return {@code true}, если сортировка идет только по id
+     */
+    public boolean isIdOnly() {
+        return ID_PROPERTY.equals(property);
+    }
+
+    /**
+     * Позиция следующей страницы после указанного сотрудника.
+     */
+    public EmployeeKeyset after(Employee employee) {
+        return new EmployeeKeyset(property, order, EXTRACTORS.get(property).apply(employee), employee.getId(), false);
+    }
+
+    /**
+     * Позиция предыдущей страницы перед указанным сотрудником.
+     */
+    public EmployeeKeyset before(Employee employee) {
+        return new EmployeeKeyset(property, order, EXTRACTORS.get(property).apply(employee), employee.getId(), true);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция сотрудника с названиями команды и должности и датой последнего инструктажа.
+ * Дата берется из хранимой колонки {@code employee.last_instruction_date}, которую поддерживает сервис инструктажей,
+ * поэтому запрос не обращается к таблице инструктажей и не загружает сущности {@link ru.georgdeveloper.myapp.domain.Training}.
+ */
+public interface EmployeeLastInstructionDateView {
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getBirthDate();
+
+    String getEmployeeNumber();
+
+    LocalDate getHireDate();
+
+    Long getPositionId();
+
+    String getPositionName();
+
+    Long getTeamId();
+
+    String getTeamName();
+
+    /**
+     * @return максимальная дата прохождения среди инструктажей сотрудника или {@code null}
+     */
+    LocalDate getLastInstructionDate();
+}
@@ -1,5 +1,7 @@
 package ru.georgdeveloper.myapp.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -15,7 +17,12 @@ import ru.georgdeveloper.myapp.domain.Employee;
  * Для дополнительной информации см.: https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface EmployeeRepository extends EmployeeRepositoryWithBagRelationships, JpaRepository<Employee, Long> {
+public interface EmployeeRepository
+    extends
+        EmployeeRepositoryWithBagRelationships,
+        EmployeeRepositoryWithKeyset,
+        EmployeeRepositoryWithTeamAssignment,
+        JpaRepository<Employee, Long> {
     /**
      * Находит одного сотрудника с eagerly загруженными связанными сущностями.
      *
@@ -36,12 +43,118 @@ public interface EmployeeRepository extends EmployeeRepositoryWithBagRelationshi
     }
 
     /**
-     * Находит всех сотрудников из команд текущего пользователя (с пагинацией).
+     * Находит всех сотрудников из указанных команд (с пагинацией).
+     * Список команд пользователя берется из {@code TeamAccessIndex}, поэтому запрос не обращается к user_team_access.
      *
+     * @param teamIds id команд, доступных пользователю (не пустой)
      * @param pageable параметры пагинации
      */
-    @Query("SELECT e FROM Employee e WHERE e.team IN (SELECT uta.team FROM UserTeamAccess uta WHERE uta.user.login = :currentUserLogin)")
-    Page<Employee> findAllByUserTeams(@Param("currentUserLogin") String currentUserLogin, Pageable pageable);
+    @Query("SELECT e FROM Employee e WHERE e.team.id IN :teamIds")
+    Page<Employee> findAllByTeamIds(@Param("teamIds") Collection<Long> teamIds, Pageable pageable);
+
+    /**
+     * Считает сотрудников из указанных команд.
+     * Используется курсорной пагинацией только по явному запросу клиента.
+     *
+     * @param teamIds id команд, доступных пользователю (не пустой)
+     */
+    @Query("SELECT count(e) FROM Employee e WHERE e.team.id IN :teamIds")
+    long countByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Считает сотрудников всех команд.
+     * Используется только полной сверкой счетчиков соответствия.
+     */
+    @Query("SELECT e.team.id AS teamId, count(e) AS total FROM Employee e WHERE e.team IS NOT NULL GROUP BY e.team.id")
+    List<TeamEmployeeCountView> countGroupedByTeam();
+
+    /**
+     * Считает сотрудников указанных команд.
+     *
+     * @param teamIds id команд (не пустой)
+     */
+    @Query("SELECT e.team.id AS teamId, count(e) AS total FROM Employee e WHERE e.team.id IN :teamIds GROUP BY e.team.id")
+    List<TeamEmployeeCountView> countGroupedByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Возвращает id команды сотрудника без загрузки сущности.
+     *
+     * @param employeeId id сотрудника
+     * @return id команды или пустой Optional, если сотрудник не найден или не состоит в команде
+     */
+    @Query("SELECT e.team.id FROM Employee e WHERE e.id = :employeeId")
+    Optional<Long> findTeamIdById(@Param("employeeId") Long employeeId);
+
+    /**
+     * Возвращает id команд, в которых состоят указанные сотрудники.
+     *
+     * @param employeeIds id сотрудников (не пустой)
+     */
+    @Query("SELECT DISTINCT e.team.id FROM Employee e WHERE e.id IN :employeeIds AND e.team IS NOT NULL")
+    List<Long> findTeamIdsByIds(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Возвращает команды, в которых есть сотрудники указанных профессий.
+     *
+     * @param professionIds id профессий (не пустой)
+     */
+    @Query(
+        "SELECT DISTINCT p.id AS professionId, t.id AS teamId, t.teamName AS teamName " +
+        "FROM Employee e JOIN e.professions p JOIN e.team t WHERE p.id IN :professionIds"
+    )
+    List<ProfessionTeamView> findTeamsByProfessionIds(@Param("professionIds") Collection<Long> professionIds);
+
+    /**
+     * Находит сотрудников из указанных команд вместе с названиями команды и должности
+     * и датой последнего инструктажа одним запросом (с пагинацией).
+     * Дата хранится в колонке сотрудника, поэтому по ней можно сортировать через {@link Pageable}.
+     *
+     * @param teamIds id команд, доступных пользователю (не пустой)
+     * @param pageable параметры пагинации
+     */
+    @Query(
+        value = "SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, e.birthDate AS birthDate, " +
+        "e.employeeNumber AS employeeNumber, e.hireDate AS hireDate, " +
+        "p.id AS positionId, p.positionName AS positionName, t.id AS teamId, t.teamName AS teamName, " +
+        "e.lastInstructionDate AS lastInstructionDate " +
+        "FROM Employee e LEFT JOIN e.position p LEFT JOIN e.team t " +
+        "WHERE e.team.id IN :teamIds",
+        countQuery = "SELECT count(e) FROM Employee e WHERE e.team.id IN :teamIds"
+    )
+    Page<EmployeeLastInstructionDateView> findAllWithLastInstructionDateByTeamIds(
+        @Param("teamIds") Collection<Long> teamIds,
+        Pageable pageable
+    );
+
+    /**
+     * Повышает дату последнего инструктажа сотрудника, если новая дата позже сохраненной.
+     * Достаточно при добавлении инструктажа или переносе его даты вперед: максимум не может уменьшиться.
+     *
+     * @param employeeId id сотрудника
+     * @param date дата прохождения инструктажа
+     * @return количество обновленных строк
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE Employee e SET e.lastInstructionDate = :date " +
+        "WHERE e.id = :employeeId AND (e.lastInstructionDate IS NULL OR e.lastInstructionDate < :date)"
+    )
+    int raiseLastInstructionDate(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
+
+    /**
+     * Пересчитывает дату последнего инструктажа сотрудника по его инструктажам.
+     * Нужен, когда максимум мог уменьшиться: инструктаж удален, перенесен на более раннюю дату или другому сотруднику.
+     *
+     * @param employeeId id сотрудника
+     * @return количество обновленных строк
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "UPDATE Employee e SET e.lastInstructionDate = " +
+        "(SELECT MAX(tr.lastTrainingDate) FROM Training tr WHERE tr.employee.id = :employeeId) " +
+        "WHERE e.id = :employeeId"
+    )
+    int recalculateLastInstructionDate(@Param("employeeId") Long employeeId);
 
     /**
      * Находит всех сотрудников с eagerly загруженными связанными сущностями (с пагинацией).
@@ -53,20 +166,41 @@ public interface EmployeeRepository extends EmployeeRepositoryWithBagRelationshi
     List<Employee> findAllWithTeamAndPosition(@Param("employeeIds") List<Long> employeeIds);
 
     /**
-     * Находит всех сотрудников из команд текущего пользователя
+     * Находит сотрудников по id с командой и должностью, без инструктажей.
+     *
+     * @param employeeIds id сотрудников
      */
-    @Query("SELECT e FROM Employee e JOIN e.team t JOIN t.userAccesses ua WHERE ua.user.login = :currentUserLogin")
-    List<Employee> findAllForCurrentUser(@Param("currentUserLogin") String currentUserLogin);
+    @EntityGraph(attributePaths = { "team", "position" })
+    @Query("SELECT e FROM Employee e WHERE e.id IN :employeeIds")
+    List<Employee> findAllWithTeamAndPositionOnly(@Param("employeeIds") List<Long> employeeIds);
 
     /**
-     * Находит всех сотрудников из команд текущего пользователя (с пагинацией)
+     * Находит всех сотрудников из указанных команд
      */
-    @Query("SELECT e FROM Employee e JOIN e.team t JOIN t.userAccesses ua WHERE ua.user.login = :currentUserLogin")
-    Page<Employee> findAllForCurrentUser(@Param("currentUserLogin") String currentUserLogin, Pageable pageable);
+    @Query("SELECT e FROM Employee e WHERE e.team.id IN :teamIds")
+    List<Employee> findAllByTeamIds(@Param("teamIds") Collection<Long> teamIds);
 
     /**
-     * Находит одного сотрудника с проверкой доступа текущего пользователя
+     * Находит одного сотрудника, если он входит в одну из указанных команд
+     */
+    @Query("SELECT e FROM Employee e WHERE e.id = :employeeId AND e.team.id IN :teamIds")
+    Optional<Employee> findOneByTeamIds(@Param("employeeId") Long employeeId, @Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Возвращает табельные номера всех сотрудников.
+     * Используется импортом для проверки уникальности без запроса на каждую строку.
+     */
+    @Query("SELECT e.employeeNumber FROM Employee e")
+    List<String> findAllEmployeeNumbers();
+
+    /**
+     * Убирает всех сотрудников из команды одним запросом.
+     * Контекст персистентности очищается, так как загруженные сотрудники команды становятся устаревшими.
+     *
+     * @param teamId идентификатор команды
+     * @return количество обновленных строк
      */
-    @Query("SELECT e FROM Employee e JOIN e.team t JOIN t.userAccesses ua WHERE e.id = :employeeId AND ua.user.login = :currentUserLogin")
-    Optional<Employee> findOneForCurrentUser(@Param("employeeId") Long employeeId, @Param("currentUserLogin") String currentUserLogin);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.team = null WHERE e.team.id = :teamId")
+    int detachAllFromTeam(@Param("teamId") Long teamId);
 }
@@ -2,11 +2,11 @@ package ru.georgdeveloper.myapp.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import ru.georgdeveloper.myapp.domain.Employee;
@@ -22,6 +22,10 @@ public class EmployeeRepositoryWithBagRelationshipsImpl implements EmployeeRepos
     private static final String ID_PARAMETER = "id";
     // Параметр для запроса - список сотрудников
     private static final String EMPLOYEES_PARAMETER = "employees";
+    // Параметр для запроса - список id сотрудников
+    private static final String IDS_PARAMETER = "ids";
+    // Размер части списка id в одном запросе загрузки коллекций
+    static final int FETCH_CHUNK_SIZE = 500;
 
     // Инъекция EntityManager для работы с JPA
     @PersistenceContext
@@ -63,17 +67,27 @@ public class EmployeeRepositoryWithBagRelationshipsImpl implements EmployeeRepos
 
     /**
      * Загружает профессии и инструктажи для одного сотрудника.
+     * Каждая коллекция читается своим запросом, чтобы не получать декартово произведение строк.
      * @param result сотрудник, для которого загружаем связи
      * @return сотрудник с загруженными профессиями и инструктажами
      */
     Employee fetchProfessionsAndTrainings(Employee result) {
-        return entityManager
+        Employee employee = entityManager
             .createQuery(
-                "select employee from Employee employee left join fetch employee.professions left join fetch employee.trainings where employee.id = :id",
+                "select employee from Employee employee left join fetch employee.professions where employee.id = :id",
                 Employee.class
             )
             .setParameter(ID_PARAMETER, result.getId())
             .getSingleResult();
+        // Сотрудник уже в контексте персистентности: запрос только инициализирует его коллекцию инструктажей
+        entityManager
+            .createQuery(
+                "select employee from Employee employee left join fetch employee.trainings where employee.id = :id",
+                Employee.class
+            )
+            .setParameter(ID_PARAMETER, result.getId())
+            .getResultList();
+        return employee;
     }
 
     /**
@@ -93,27 +107,38 @@ public class EmployeeRepositoryWithBagRelationshipsImpl implements EmployeeRepos
 
     /**
      * Загружает профессии и инструктажи для списка сотрудников с сохранением исходного порядка.
+     * <p>
+     * Профессии и инструктажи читаются отдельными запросами по частям списка id:
+     * сотрудник с P профессиями и T инструктажами дает P + T строк вместо P × T при общем join fetch.
+     * Второй запрос возвращает уже загруженные экземпляры и только инициализирует их коллекции.
      * @param employees список сотрудников
      * @return список сотрудников с загруженными профессиями и инструктажами в исходном порядке
      */
     List<Employee> fetchProfessionsAndTrainings(List<Employee> employees) {
-        // Сохраняем исходный порядок сотрудников в HashMap
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, employees.size()).forEach(index -> order.put(employees.get(index).getId(), index));
-
-        // Загружаем сотрудников с профессиями и инструктажами
-        List<Employee> result = entityManager
-            .createQuery(
-                "select employee from Employee employee left join fetch employee.professions left join fetch employee.trainings where employee in :employees",
-                Employee.class
-            )
-            .setParameter(EMPLOYEES_PARAMETER, employees)
-            .getResultList();
-
-        // Восстанавливаем исходный порядок
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
-
-        return result;
+        IdPositions positions = new IdPositions(employees);
+        Employee[] ordered = new Employee[employees.size()];
+        long[] ids = positions.ids();
+        for (int from = 0; from < ids.length; from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(from + FETCH_CHUNK_SIZE, ids.length)).boxed().toList();
+            List<Employee> loaded = entityManager
+                .createQuery(
+                    "select employee from Employee employee left join fetch employee.professions where employee.id in :ids",
+                    Employee.class
+                )
+                .setParameter(IDS_PARAMETER, chunk)
+                .getResultList();
+            for (Employee employee : loaded) {
+                ordered[positions.get(employee.getId())] = employee;
+            }
+            entityManager
+                .createQuery(
+                    "select employee from Employee employee left join fetch employee.trainings where employee.id in :ids",
+                    Employee.class
+                )
+                .setParameter(IDS_PARAMETER, chunk)
+                .getResultList();
+        }
+        return positions.collect(ordered);
     }
 
     /**
@@ -122,9 +147,8 @@ public class EmployeeRepositoryWithBagRelationshipsImpl implements EmployeeRepos
      * @return список сотрудников с загруженными профессиями в исходном порядке
      */
     List<Employee> fetchProfessions(List<Employee> employees) {
-        // Сохраняем исходный порядок сотрудников в HashMap
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, employees.size()).forEach(index -> order.put(employees.get(index).getId(), index));
+        IdPositions positions = new IdPositions(employees);
+        Employee[] ordered = new Employee[employees.size()];
 
         // Загружаем сотрудников с профессиями
         List<Employee> result = entityManager
@@ -136,8 +160,82 @@ public class EmployeeRepositoryWithBagRelationshipsImpl implements EmployeeRepos
             .getResultList();
 
         // Восстанавливаем исходный порядок
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
+        for (Employee employee : result) {
+            ordered[positions.get(employee.getId())] = employee;
+        }
+        return positions.collect(ordered);
+    }
 
-        return result;
+    /**
+     * Позиции сотрудников в исходном списке: хеш-таблица с открытой адресацией id -> индекс
+     * на примитивных массивах, без упаковки ключей и значений.
+     */
+    static final class IdPositions {
+
+        private final long[] keys;
+        private final int[] values;
+        private final boolean[] used;
+        private final long[] ids;
+        private final int mask;
+
+        IdPositions(List<Employee> employees) {
+            int capacity = Integer.highestOneBit(Math.max(2, employees.size() * 2 - 1)) << 1;
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.used = new boolean[capacity];
+            this.mask = capacity - 1;
+            long[] distinct = new long[employees.size()];
+            int count = 0;
+            for (int index = 0; index < employees.size(); index++) {
+                long id = employees.get(index).getId();
+                int slot = slot(id);
+                if (!used[slot]) {
+                    used[slot] = true;
+                    keys[slot] = id;
+                    values[slot] = count;
+                    distinct[count++] = id;
+                }
+            }
+            this.ids = Arrays.copyOf(distinct, count);
+        }
+
+        /**
+         * @return id без повторов в порядке первого появления
+         */
+        long[] ids() {
+            return ids;
+        }
+
+        /**
+         * @return позиция сотрудника среди {@link #ids()}
+         */
+        int get(long id) {
+            int slot = slot(id);
+            if (!used[slot]) {
+                throw new IllegalArgumentException("Unexpected employee id: " + id);
+            }
+            return values[slot];
+        }
+
+        /**
+         * Собирает загруженных сотрудников по позициям, пропуская удаленных из БД.
+         */
+        List<Employee> collect(Employee[] ordered) {
+            List<Employee> result = new ArrayList<>(ids.length);
+            for (int index = 0; index < ids.length; index++) {
+                if (ordered[index] != null) {
+                    result.add(ordered[index]);
+                }
+            }
+            return result;
+        }
+
+        private int slot(long id) {
+            int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+            while (used[slot] && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
     }
 }
@@ -0,0 +1,22 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import ru.georgdeveloper.myapp.domain.Employee;
+
+/**
+ * Интерфейс репозитория для курсорной (keyset) пагинации сотрудников.
+ * Страница выбирается по условию на ключ сортировки и id без OFFSET и без подсчета общего количества.
+ */
+public interface EmployeeRepositoryWithKeyset {
+    /**
+     * Выбирает сотрудников из указанных команд, следующих за позицией курсора.
+     * Для позиции {@link EmployeeKeyset#backward()} записи возвращаются в обратном порядке.
+     *
+     * @param teamIds id команд, доступных пользователю (не пустой)
+     * @param keyset позиция курсора
+     * @param limit максимальное количество записей
+     * @return список сотрудников в порядке выборки
+     */
+    List<Employee> findKeysetByTeamIds(Collection<Long> teamIds, EmployeeKeyset keyset, int limit);
+}
@@ -0,0 +1,69 @@
+package ru.georgdeveloper.myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.List;
+import ru.georgdeveloper.myapp.domain.Employee;
+
+/**
+ * Реализация курсорной (keyset) пагинации сотрудников.
+ * Условие {@code (ключ, id)} строится только по свойствам из белого списка {@link EmployeeKeyset},
+ * поэтому подстановка имени свойства в JPQL безопасна.
+ */
+public class EmployeeRepositoryWithKeysetImpl implements EmployeeRepositoryWithKeyset {
+
+    // Параметр для запроса - id команд текущего пользователя
+    private static final String TEAM_IDS_PARAMETER = "teamIds";
+    // Параметр для запроса - значение ключа сортировки граничной записи
+    private static final String VALUE_PARAMETER = "lastValue";
+    // Параметр для запроса - id граничной записи
+    private static final String ID_PARAMETER = "lastId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findKeysetByTeamIds(Collection<Long> teamIds, EmployeeKeyset keyset, int limit) {
+        // При движении назад порядок выборки инвертируется, результат разворачивает сервис
+        boolean ascending = keyset.order().isAscending() != keyset.backward();
+        String comparison = ascending ? " > " : " < ";
+        String direction = ascending ? " asc" : " desc";
+        String property = "e." + keyset.property();
+
+        StringBuilder jpql = new StringBuilder("select e from Employee e where e.team.id in :teamIds");
+        if (!keyset.isFirst()) {
+            if (keyset.isIdOnly()) {
+                jpql.append(" and e.id").append(comparison).append(":lastId");
+            } else {
+                jpql
+                    .append(" and (")
+                    .append(property)
+                    .append(comparison)
+                    .append(":lastValue or (")
+                    .append(property)
+                    .append(" = :lastValue and e.id")
+                    .append(comparison)
+                    .append(":lastId))");
+            }
+        }
+        jpql.append(" order by ");
+        if (!keyset.isIdOnly()) {
+            jpql.append(property).append(direction).append(", ");
+        }
+        jpql.append("e.id").append(direction);
+
+        TypedQuery<Employee> query = entityManager
+            .createQuery(jpql.toString(), Employee.class)
+            .setParameter(TEAM_IDS_PARAMETER, teamIds)
+            .setMaxResults(limit);
+        if (!keyset.isFirst()) {
+            query.setParameter(ID_PARAMETER, keyset.id());
+            if (!keyset.isIdOnly()) {
+                query.setParameter(VALUE_PARAMETER, keyset.value());
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.util.Collection;
+import ru.georgdeveloper.myapp.domain.Team;
+
+/**
+ * Интерфейс репозитория для массового назначения сотрудников в команду.
+ * Вместо загрузки и сохранения каждого сотрудника выполняется {@code UPDATE employee SET team_id = ? WHERE id IN (...)}.
+ */
+public interface EmployeeRepositoryWithTeamAssignment {
+    /**
+     * Назначает сотрудников в команду массовым обновлением, разбитым на части по {@code hibernate.jdbc.batch_size}.
+     * Несуществующие id пропускаются. Загруженные в контекст персистентности сотрудники из списка отсоединяются,
+     * чтобы при следующем обращении они были прочитаны заново.
+     *
+     * @param employeeIds id сотрудников
+     * @param team команда (уже сохраненная)
+     * @return количество обновленных строк
+     */
+    int assignTeam(Collection<Long> employeeIds, Team team);
+}
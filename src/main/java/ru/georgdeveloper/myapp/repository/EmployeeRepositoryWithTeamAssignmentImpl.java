@@ -0,0 +1,71 @@
+package ru.georgdeveloper.myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.Hibernate;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Team;
+
+/**
+ * Реализация массового назначения сотрудников в команду.
+ * Массовый JPQL-запрос обходит контекст персистентности, поэтому перед ним выполняется flush,
+ * а после него устаревшие экземпляры сотрудников отсоединяются.
+ */
+public class EmployeeRepositoryWithTeamAssignmentImpl implements EmployeeRepositoryWithTeamAssignment {
+
+    // Свойство Hibernate с размером пакета JDBC, им же ограничивается размер списка IN
+    private static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+    // Размер части, если свойство не задано
+    private static final int DEFAULT_CHUNK_SIZE = 25;
+
+    // Параметр для запроса - команда
+    private static final String TEAM_PARAMETER = "team";
+    // Параметр для запроса - список id сотрудников
+    private static final String IDS_PARAMETER = "ids";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int assignTeam(Collection<Long> employeeIds, Team team) {
+        if (employeeIds.isEmpty()) {
+            return 0;
+        }
+        // Команда и накопленные изменения сотрудников должны попасть в БД до массового обновления
+        entityManager.flush();
+
+        List<Long> ids = new ArrayList<>(employeeIds);
+        int chunkSize = chunkSize();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            updated += entityManager
+                .createQuery("update Employee e set e.team = :team where e.id in :ids")
+                .setParameter(TEAM_PARAMETER, team)
+                .setParameter(IDS_PARAMETER, chunk)
+                .executeUpdate();
+        }
+
+        for (Long id : ids) {
+            // Для незагруженного сотрудника getReference возвращает прокси без запроса к БД,
+            // он прочитает актуальное состояние при инициализации
+            Employee managed = entityManager.getReference(Employee.class, id);
+            if (Hibernate.isInitialized(managed)) {
+                entityManager.detach(managed);
+            }
+        }
+        return updated;
+    }
+
+    private int chunkSize() {
+        Object batchSize = entityManager.getEntityManagerFactory().getProperties().get(BATCH_SIZE_PROPERTY);
+        if (batchSize == null) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        int size = Integer.parseInt(batchSize.toString());
+        return size > 0 ? size : DEFAULT_CHUNK_SIZE;
+    }
+}
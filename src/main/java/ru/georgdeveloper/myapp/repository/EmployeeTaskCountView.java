@@ -0,0 +1,10 @@
+package ru.georgdeveloper.myapp.repository;
+
+/**
+ * Проекция количества задач одного исполнителя.
+ */
+public interface EmployeeTaskCountView {
+    Long getEmployeeId();
+
+    long getTotal();
+}
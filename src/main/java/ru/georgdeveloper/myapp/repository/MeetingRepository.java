@@ -1,8 +1,78 @@
 package ru.georgdeveloper.myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.Meeting;
 
 @Repository
-public interface MeetingRepository extends JpaRepository<Meeting, Long> {}
+public interface MeetingRepository extends JpaRepository<Meeting, Long> {
+    /**
+     * Читает встречи с датой в диапазоне в порядке даты и времени начала по индексу (event_date, start_time, id) курсором.
+     * Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT m.id AS id, m.title AS title, m.eventDate AS eventDate, m.startTime AS startTime, m.endTime AS endTime, " +
+        "m.location AS location FROM Meeting m WHERE m.eventDate BETWEEN :from AND :to ORDER BY m.eventDate, m.startTime, m.id"
+    )
+    Stream<CalendarMeetingView> streamCalendarMeetings(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Читает встречи в помещении с датой в диапазоне; помещение сравнивается без учета регистра и крайних пробелов.
+     * Используется для проверки занятости помещения за пределами горизонта индекса пересечений.
+     *
+     * @param location помещение в нижнем регистре без крайних пробелов
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @Query(
+        "SELECT m.id AS id, m.title AS title, m.eventDate AS eventDate, m.startTime AS startTime, m.endTime AS endTime, " +
+        "m.location AS location FROM Meeting m WHERE m.eventDate BETWEEN :from AND :to AND lower(trim(m.location)) = :location " +
+        "ORDER BY m.eventDate, m.startTime, m.id"
+    )
+    List<CalendarMeetingView> findCalendarMeetingsAtLocation(
+        @Param("location") String location,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    /**
+     * Берет блокировку помещения до конца транзакции (рекомендательная блокировка PostgreSQL по названию).
+     * Отдельной таблицы помещений нет, поэтому блокировка заменяет блокировку строки помещения:
+     * проверка занятости и сохранение встречи в одном помещении выполняются по очереди.
+     *
+     * @param location помещение в нижнем регистре без крайних пробелов
+     * @return всегда 1
+     */
+    @Query(value = "SELECT count(*) FROM pg_advisory_xact_lock(hashtext('meeting_room'), hashtext(:location))", nativeQuery = true)
+    long lockRoom(@Param("location") String location);
+
+    /**
+     * Возвращает страницу встреч с датой в диапазоне; окно читается по индексу (event_date, start_time, id).
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     * @param pageable параметры пагинации и сортировки
+     */
+    Page<Meeting> findAllByEventDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    /**
+     * Возвращает логин организатора встречи.
+     *
+     * @param id ID встречи
+     */
+    @Query("SELECT m.createdBy FROM Meeting m WHERE m.id = :id AND m.createdBy IS NOT NULL")
+    Optional<String> findOrganizerById(@Param("id") Long id);
+}
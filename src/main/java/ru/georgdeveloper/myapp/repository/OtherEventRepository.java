@@ -1,8 +1,51 @@
 package ru.georgdeveloper.myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.OtherEvent;
 
 @Repository
-public interface OtherEventRepository extends JpaRepository<OtherEvent, Long> {}
+public interface OtherEventRepository extends JpaRepository<OtherEvent, Long> {
+    /**
+     * Читает прочие события с датой в диапазоне в порядке даты и времени начала по индексу (event_date, start_time, id) курсором.
+     * Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT o.id AS id, o.title AS title, o.eventDate AS eventDate, o.startTime AS startTime, o.endTime AS endTime, " +
+        "o.location AS location, o.completed AS completed FROM OtherEvent o WHERE o.eventDate BETWEEN :from AND :to " +
+        "ORDER BY o.eventDate, o.startTime, o.id"
+    )
+    Stream<CalendarOtherEventView> streamCalendarOtherEvents(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Возвращает страницу прочих событий с датой в диапазоне; окно читается по индексу (event_date, start_time, id).
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     * @param pageable параметры пагинации и сортировки
+     */
+    Page<OtherEvent> findAllByEventDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    /**
+     * Возвращает логин организатора незавершенного прочего события.
+     *
+     * @param id ID события
+     */
+    @Query(
+        "SELECT o.createdBy FROM OtherEvent o WHERE o.id = :id AND o.createdBy IS NOT NULL " +
+        "AND (o.completed IS NULL OR o.completed = false)"
+    )
+    Optional<String> findOpenEventOrganizerById(@Param("id") Long id);
+}
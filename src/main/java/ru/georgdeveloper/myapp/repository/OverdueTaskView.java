@@ -0,0 +1,29 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция незавершенной задачи с прошедшим сроком для ночного обхода.
+ * Содержит только поля для письма и ключ курсора (срок, id).
+ */
+public interface OverdueTaskView {
+    Long getId();
+
+    LocalDate getPlannedCompletionDate();
+
+    String getTaskName();
+
+    /**
+     * @return имя исполнителя или {@code null}, если исполнитель не назначен
+     */
+    String getFirstName();
+
+    String getLastName();
+
+    /**
+     * @return команда исполнителя или {@code null}
+     */
+    Long getTeamId();
+
+    String getTeamName();
+}
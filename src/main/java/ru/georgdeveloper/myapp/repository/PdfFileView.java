@@ -0,0 +1,15 @@
+package ru.georgdeveloper.myapp.repository;
+
+/**
+ * Проекция метаданных PDF-файла документа. Содержимое хранится в
+ * {@link ru.georgdeveloper.myapp.service.DocumentStore} под хешем {@link #getPdfFileSha256()}.
+ */
+public interface PdfFileView {
+    String getPdfFileName();
+
+    String getPdfFileContentType();
+
+    Long getPdfFileSize();
+
+    String getPdfFileSha256();
+}
@@ -1,6 +1,8 @@
 package ru.georgdeveloper.myapp.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.Position;
 
@@ -8,4 +10,12 @@ import ru.georgdeveloper.myapp.domain.Position;
  * Репозиторий Spring Data JPA для объекта Position.
  */
 @Repository
-public interface PositionRepository extends JpaRepository<Position, Long> {}
+public interface PositionRepository extends JpaRepository<Position, Long> {
+    /**
+     * Находит id должностей с названием без учета регистра.
+     *
+     * @param positionName название должности
+     */
+    @Query("SELECT p.id FROM Position p WHERE lower(p.positionName) = lower(:positionName)")
+    List<Long> findIdsByPositionName(@Param("positionName") String positionName);
+}
@@ -1,6 +1,8 @@
 package ru.georgdeveloper.myapp.repository;
 
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.ProcedureDocument;
 
@@ -8,4 +10,62 @@ import ru.georgdeveloper.myapp.domain.ProcedureDocument;
  * Spring Data JPA репозиторий для сущности {@link ProcedureDocument}.
  */
 @Repository
-public interface ProcedureDocumentRepository extends JpaRepository<ProcedureDocument, Long> {}
+public interface ProcedureDocumentRepository extends JpaRepository<ProcedureDocument, Long> {
+    String PDF_FILE_COLUMNS =
+        "pdf_file_name AS \"pdfFileName\", pdf_file_content_type AS \"pdfFileContentType\", " +
+        "pdf_file_size AS \"pdfFileSize\", pdf_file_sha256 AS \"pdfFileSha256\"";
+
+    /**
+     * Читает метаданные PDF-файла документа.
+     *
+     * @param id идентификатор документа
+     * @return метаданные или пустой результат, если документ не найден или файл не загружен
+     */
+    @Query(
+        value = "SELECT " + PDF_FILE_COLUMNS + " FROM procedure_document WHERE id = :id AND pdf_file_sha256 IS NOT NULL",
+        nativeQuery = true
+    )
+    Optional<PdfFileView> findPdfFileById(@Param("id") Long id);
+
+    /**
+     * Читает метаданные PDF-файла документа и блокирует строку до конца транзакции,
+     * чтобы параллельная замена файла не освободила одно и то же содержимое дважды.
+     *
+     * @param id идентификатор документа
+     * @return метаданные (пустые, если файл не загружен) или пустой результат, если документ не найден
+     */
+    @Query(value = "SELECT " + PDF_FILE_COLUMNS + " FROM procedure_document WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<PdfFileView> lockPdfFileById(@Param("id") Long id);
+
+    /**
+     * Сохраняет ссылку на содержимое PDF-файла и его метаданные одним UPDATE без загрузки сущности.
+     *
+     * @return количество обновленных строк
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "UPDATE procedure_document SET pdf_file_name = :fileName, pdf_file_content_type = :contentType, " +
+        "pdf_file_size = :size, pdf_file_sha256 = :sha256 WHERE id = :id",
+        nativeQuery = true
+    )
+    int updatePdfFile(
+        @Param("id") Long id,
+        @Param("fileName") String fileName,
+        @Param("contentType") String contentType,
+        @Param("size") long size,
+        @Param("sha256") String sha256
+    );
+
+    /**
+     * Удаляет ссылку на PDF-файл и его метаданные.
+     *
+     * @return количество обновленных строк
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "UPDATE procedure_document SET pdf_file_name = NULL, pdf_file_content_type = NULL, " +
+        "pdf_file_size = NULL, pdf_file_sha256 = NULL WHERE id = :id",
+        nativeQuery = true
+    )
+    int clearPdfFile(@Param("id") Long id);
+}
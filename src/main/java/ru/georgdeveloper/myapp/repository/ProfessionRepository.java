@@ -1,5 +1,6 @@
 package ru.georgdeveloper.myapp.repository;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,4 +21,12 @@ public interface ProfessionRepository extends JpaRepository<Profession, Long> {
     // Убираем JOIN FETCH для пагинированного запроса
     @Query("SELECT p FROM Profession p")
     Page<Profession> findAllWithEmployees(Pageable pageable);
+
+    /**
+     * Находит id профессий с названием без учета регистра.
+     *
+     * @param professionName название профессии
+     */
+    @Query("SELECT p.id FROM Profession p WHERE lower(p.professionName) = lower(:professionName)")
+    List<Long> findIdsByProfessionName(@Param("professionName") String professionName);
 }
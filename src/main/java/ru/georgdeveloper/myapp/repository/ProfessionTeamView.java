@@ -0,0 +1,12 @@
+package ru.georgdeveloper.myapp.repository;
+
+/**
+ * Проекция пары (профессия, команда): в команде есть хотя бы один сотрудник этой профессии.
+ */
+public interface ProfessionTeamView {
+    Long getProfessionId();
+
+    Long getTeamId();
+
+    String getTeamName();
+}
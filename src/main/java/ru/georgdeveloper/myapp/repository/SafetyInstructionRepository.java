@@ -4,6 +4,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.SafetyInstruction;
 
@@ -12,6 +13,10 @@ import ru.georgdeveloper.myapp.domain.SafetyInstruction;
  */
 @Repository
 public interface SafetyInstructionRepository extends JpaRepository<SafetyInstruction, Long> {
+    String PDF_FILE_COLUMNS =
+        "pdf_file_name AS \"pdfFileName\", pdf_file_content_type AS \"pdfFileContentType\", " +
+        "pdf_file_size AS \"pdfFileSize\", pdf_file_sha256 AS \"pdfFileSha256\"";
+
     /**
      * Находит SafetyInstruction с загруженными связанными объектами profession и position
      * @param id идентификатор SafetyInstruction
@@ -27,4 +32,58 @@ public interface SafetyInstructionRepository extends JpaRepository<SafetyInstruc
      */
     @Query("SELECT si FROM SafetyInstruction si LEFT JOIN FETCH si.profession LEFT JOIN FETCH si.position")
     Page<SafetyInstruction> findAllWithProfessionAndPosition(Pageable pageable);
+
+    /**
+     * Читает метаданные PDF-файла инструкции.
+     *
+     * @param id идентификатор инструкции
+     * @return метаданные или пустой результат, если инструкция не найдена или файл не загружен
+     */
+    @Query(
+        value = "SELECT " + PDF_FILE_COLUMNS + " FROM safety_instruction WHERE id = :id AND pdf_file_sha256 IS NOT NULL",
+        nativeQuery = true
+    )
+    Optional<PdfFileView> findPdfFileById(@Param("id") Long id);
+
+    /**
+     * Читает метаданные PDF-файла инструкции и блокирует строку до конца транзакции,
+     * чтобы параллельная замена файла не освободила одно и то же содержимое дважды.
+     *
+     * @param id идентификатор инструкции
+     * @return метаданные (пустые, если файл не загружен) или пустой результат, если инструкция не найдена
+     */
+    @Query(value = "SELECT " + PDF_FILE_COLUMNS + " FROM safety_instruction WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<PdfFileView> lockPdfFileById(@Param("id") Long id);
+
+    /**
+     * Сохраняет ссылку на содержимое PDF-файла и его метаданные одним UPDATE без загрузки сущности.
+     *
+     * @return количество обновленных строк
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "UPDATE safety_instruction SET pdf_file_name = :fileName, pdf_file_content_type = :contentType, " +
+        "pdf_file_size = :size, pdf_file_sha256 = :sha256 WHERE id = :id",
+        nativeQuery = true
+    )
+    int updatePdfFile(
+        @Param("id") Long id,
+        @Param("fileName") String fileName,
+        @Param("contentType") String contentType,
+        @Param("size") long size,
+        @Param("sha256") String sha256
+    );
+
+    /**
+     * Удаляет ссылку на PDF-файл и его метаданные.
+     *
+     * @return количество обновленных строк
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "UPDATE safety_instruction SET pdf_file_name = NULL, pdf_file_content_type = NULL, " +
+        "pdf_file_size = NULL, pdf_file_sha256 = NULL WHERE id = :id",
+        nativeQuery = true
+    )
+    int clearPdfFile(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package ru.georgdeveloper.myapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.georgdeveloper.myapp.domain.SchedulerWatermark;
+
+/**
+ * Репозиторий Spring Data JPA для отметок прогресса периодических задач.
+ */
+@Repository
+public interface SchedulerWatermarkRepository extends JpaRepository<SchedulerWatermark, String> {}
@@ -0,0 +1,14 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция срока незавершенной задачи для напоминаний без загрузки сущности {@link ru.georgdeveloper.myapp.domain.Task}.
+ */
+public interface TaskDeadlineView {
+    Long getId();
+
+    String getTaskName();
+
+    LocalDate getPlannedCompletionDate();
+}
@@ -0,0 +1,96 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.georgdeveloper.myapp.domain.TaskKpiMonthly;
+
+/**
+ * Репозиторий Spring Data JPA для помесячных показателей выполнения задач {@link TaskKpiMonthly}.
+ * Строки изменяются только приращениями и полным пересчетом, оба выполняются SQL-запросами PostgreSQL.
+ */
+@Repository
+public interface TaskKpiMonthlyRepository extends JpaRepository<TaskKpiMonthly, TaskKpiMonthly.Key> {
+    /**
+     * Прибавляет приращения к показателям исполнителя за месяц, создавая строку при необходимости.
+     * Строка блокируется до конца транзакции, поэтому параллельные изменения задач одного исполнителя не теряются.
+     *
+     * @return количество вставленных или обновленных строк
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO task_kpi_monthly " +
+        "(employee_id, month_start, planned_count, completed_count, on_time_count, late_count, lateness_days_sum) " +
+        "VALUES (:employeeId, :monthStart, :planned, :completed, :onTime, :late, :latenessDays) " +
+        "ON CONFLICT (employee_id, month_start) DO UPDATE SET " +
+        "planned_count = task_kpi_monthly.planned_count + EXCLUDED.planned_count, " +
+        "completed_count = task_kpi_monthly.completed_count + EXCLUDED.completed_count, " +
+        "on_time_count = task_kpi_monthly.on_time_count + EXCLUDED.on_time_count, " +
+        "late_count = task_kpi_monthly.late_count + EXCLUDED.late_count, " +
+        "lateness_days_sum = task_kpi_monthly.lateness_days_sum + EXCLUDED.lateness_days_sum",
+        nativeQuery = true
+    )
+    int addDelta(
+        @Param("employeeId") Long employeeId,
+        @Param("monthStart") LocalDate monthStart,
+        @Param("planned") int planned,
+        @Param("completed") int completed,
+        @Param("onTime") int onTime,
+        @Param("late") int late,
+        @Param("latenessDays") long latenessDays
+    );
+
+    /**
+     * Блокирует таблицу от приращений до конца транзакции. Ждет завершения транзакций, которые уже изменили показатели,
+     * поэтому следующий за блокировкой пересчет видит все их изменения задач.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE task_kpi_monthly IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM task_kpi_monthly", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Заново заполняет показатели одним проходом по таблице задач. Задачи без исполнителя не учитываются.
+     *
+     * @return количество строк показателей
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO task_kpi_monthly " +
+        "(employee_id, month_start, planned_count, completed_count, on_time_count, late_count, lateness_days_sum) " +
+        "SELECT t.employee_id, CAST(date_trunc('month', t.planned_completion_date) AS date), count(*), " +
+        "count(t.actual_completion_date), " +
+        "count(*) FILTER (WHERE t.actual_completion_date <= t.planned_completion_date), " +
+        "count(*) FILTER (WHERE t.actual_completion_date > t.planned_completion_date), " +
+        "coalesce(sum(t.actual_completion_date - t.planned_completion_date) " +
+        "FILTER (WHERE t.actual_completion_date > t.planned_completion_date), 0) " +
+        "FROM task t WHERE t.employee_id IS NOT NULL " +
+        "GROUP BY t.employee_id, CAST(date_trunc('month', t.planned_completion_date) AS date)",
+        nativeQuery = true
+    )
+    int insertFromTasks();
+
+    /**
+     * Читает показатели за диапазон месяцев вместе с текущей командой и именем исполнителя.
+     * Строки удаленных сотрудников и строки с нулевыми счетчиками пропускаются.
+     *
+     * @param from первый день первого месяца
+     * @param to первый день последнего месяца
+     * @param teamId команда или {@code null} для всех команд
+     */
+    @Query(
+        "SELECT k.employeeId AS employeeId, e.team.id AS teamId, e.firstName AS firstName, e.lastName AS lastName, " +
+        "k.monthStart AS monthStart, k.plannedCount AS plannedCount, k.completedCount AS completedCount, " +
+        "k.onTimeCount AS onTimeCount, k.lateCount AS lateCount, k.latenessDaysSum AS latenessDaysSum " +
+        "FROM TaskKpiMonthly k JOIN Employee e ON e.id = k.employeeId " +
+        "WHERE k.monthStart BETWEEN :from AND :to AND k.plannedCount > 0 " +
+        "AND (:teamId IS NULL OR e.team.id = :teamId) " +
+        "ORDER BY k.monthStart, e.team.id, k.employeeId"
+    )
+    List<TaskKpiView> findMonthly(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("teamId") Long teamId);
+}
@@ -0,0 +1,31 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция помесячных показателей выполнения задач исполнителя с его текущей командой.
+ */
+public interface TaskKpiView {
+    Long getEmployeeId();
+
+    /**
+     * @return текущая команда исполнителя или {@code null}, если он не в команде
+     */
+    Long getTeamId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getMonthStart();
+
+    int getPlannedCount();
+
+    int getCompletedCount();
+
+    int getOnTimeCount();
+
+    int getLateCount();
+
+    long getLatenessDaysSum();
+}
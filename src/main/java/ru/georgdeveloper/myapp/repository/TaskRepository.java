@@ -1,6 +1,15 @@
 package ru.georgdeveloper.myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.Task;
 
@@ -8,4 +17,215 @@ import ru.georgdeveloper.myapp.domain.Task;
  * Репозиторий Spring Data JPA для объекта Task entity.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {}
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    // Конфигурация полнотекстового поиска, по которой вычисляется колонка task.search_vector
+    String SEARCH_CONFIG = "task_search";
+
+    // Метки начала и конца совпадения в подсветке; символы из области частного использования Unicode
+    // не встречаются в тексте задач, метки заменяются тегами после HTML-экранирования фрагмента
+    String MARK_START = "\uE000";
+    String MARK_END = "\uE001";
+
+    /**
+     * Считает незавершенные задачи сотрудников всех команд по приоритетам.
+     * Используется только полной сверкой счетчиков соответствия.
+     */
+    @Query(
+        "SELECT e.team.id AS teamId, t.priority AS priority, count(t) AS total " +
+        "FROM Task t JOIN t.employee e " +
+        "WHERE e.team IS NOT NULL " +
+        "AND (t.status IS NULL OR t.status <> ru.georgdeveloper.myapp.domain.enumeration.TaskStatus.DONE) " +
+        "GROUP BY e.team.id, t.priority"
+    )
+    List<TeamOpenTaskView> countOpenGroupedByTeam();
+
+    /**
+     * Считает незавершенные задачи сотрудников указанных команд по приоритетам.
+     *
+     * @param teamIds id команд (не пустой)
+     */
+    @Query(
+        "SELECT e.team.id AS teamId, t.priority AS priority, count(t) AS total " +
+        "FROM Task t JOIN t.employee e " +
+        "WHERE e.team.id IN :teamIds " +
+        "AND (t.status IS NULL OR t.status <> ru.georgdeveloper.myapp.domain.enumeration.TaskStatus.DONE) " +
+        "GROUP BY e.team.id, t.priority"
+    )
+    List<TeamOpenTaskView> countOpenGroupedByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Читает задачи сотрудников указанных команд с планируемой датой завершения в диапазоне
+     * по индексу (planned_completion_date, id).
+     * Строки читаются курсором порциями по {@code fetchSize}, поэтому поток нужно закрыть
+     * и читать внутри транзакции.
+     *
+     * @param teamIds id команд (не пустой)
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT t.id AS id, t.taskName AS taskName, t.creationDate AS creationDate, " +
+        "t.plannedCompletionDate AS plannedCompletionDate, t.actualCompletionDate AS actualCompletionDate, " +
+        "t.status AS status, t.priority AS priority, e.id AS employeeId, e.firstName AS firstName, e.lastName AS lastName " +
+        "FROM Task t JOIN t.employee e " +
+        "WHERE e.team.id IN :teamIds AND t.plannedCompletionDate BETWEEN :from AND :to " +
+        "ORDER BY t.plannedCompletionDate, t.id"
+    )
+    Stream<CalendarTaskView> streamCalendarTasks(
+        @Param("teamIds") Collection<Long> teamIds,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    /**
+     * Читает сроки незавершенных задач в диапазоне по индексу (planned_completion_date, id) курсором.
+     * Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT t.id AS id, t.taskName AS taskName, t.plannedCompletionDate AS plannedCompletionDate FROM Task t " +
+        "WHERE t.plannedCompletionDate BETWEEN :from AND :to " +
+        "AND (t.status IS NULL OR t.status <> ru.georgdeveloper.myapp.domain.enumeration.TaskStatus.DONE) " +
+        "ORDER BY t.plannedCompletionDate, t.id"
+    )
+    Stream<TaskDeadlineView> streamOpenTaskDeadlines(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Возвращает команду исполнителя задачи, если задача не завершена.
+     *
+     * @param id id задачи
+     */
+    @Query(
+        "SELECT e.team.id FROM Task t JOIN t.employee e WHERE t.id = :id AND e.team IS NOT NULL " +
+        "AND (t.status IS NULL OR t.status <> ru.georgdeveloper.myapp.domain.enumeration.TaskStatus.DONE)"
+    )
+    Optional<Long> findOpenTaskTeamId(@Param("id") Long id);
+
+    /**
+     * Считает по исполнителям незавершенные задачи (без фактической даты завершения) со сроком в диапазоне
+     * по индексу (planned_completion_date, id).
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (не включительно)
+     * @param teamId команда исполнителей или {@code null} для всех команд
+     */
+    @Query(
+        "SELECT e.id AS employeeId, count(t) AS total FROM Task t JOIN t.employee e " +
+        "WHERE t.plannedCompletionDate >= :from AND t.plannedCompletionDate < :to AND t.actualCompletionDate IS NULL " +
+        "AND (:teamId IS NULL OR e.team.id = :teamId) " +
+        "GROUP BY e.id"
+    )
+    List<EmployeeTaskCountView> countUncompletedByEmployee(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("teamId") Long teamId
+    );
+
+    /**
+     * Читает очередную порцию незавершенных и еще не отмеченных просроченными задач со сроком раньше {@code today}
+     * после позиции курсора (срок, id). На PostgreSQL условие совпадает с частичным индексом
+     * idx_task__overdue_candidates, поэтому читаются только кандидаты.
+     *
+     * @param today текущая дата (не включительно)
+     * @param afterDate срок последней прочитанной строки
+     * @param afterId id последней прочитанной строки
+     * @param pageable размер порции (сортировка задана запросом)
+     */
+    @Query(
+        "SELECT t.id AS id, t.plannedCompletionDate AS plannedCompletionDate, t.taskName AS taskName, " +
+        "e.firstName AS firstName, e.lastName AS lastName, tm.id AS teamId, tm.teamName AS teamName " +
+        "FROM Task t LEFT JOIN t.employee e LEFT JOIN e.team tm " +
+        "WHERE t.overdueSince IS NULL AND t.status <> ru.georgdeveloper.myapp.domain.enumeration.TaskStatus.DONE " +
+        "AND t.plannedCompletionDate < :today " +
+        "AND (t.plannedCompletionDate > :afterDate OR (t.plannedCompletionDate = :afterDate AND t.id > :afterId)) " +
+        "ORDER BY t.plannedCompletionDate, t.id"
+    )
+    List<OverdueTaskView> findOverdueCandidatesAfter(
+        @Param("today") LocalDate today,
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Отмечает задачи просроченными одним UPDATE. Задачи, которые уже отмечены или завершены к моменту обновления,
+     * пропускаются, поэтому повторный вызов ничего не меняет.
+     *
+     * @param ids id задач одной порции
+     * @param today дата отметки
+     * @return id действительно отмеченных задач
+     */
+    @Query(
+        value = "UPDATE task SET overdue_since = :today " +
+        "WHERE id IN (:ids) AND overdue_since IS NULL AND status <> 'DONE' AND planned_completion_date < :today " +
+        "RETURNING id",
+        nativeQuery = true
+    )
+    List<Long> markOverdue(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    /**
+     * Полнотекстовый поиск PostgreSQL по названию и описанию: запрос разбирается в конфигурации {@link #SEARCH_CONFIG}
+     * и сопоставляется с колонкой search_vector по GIN-индексу. Результаты упорядочены
+     * по убыванию релевантности и id, следующая страница выбирается после позиции (релевантность, id).
+     * Подсветка строится в той же конфигурации только для строк страницы. Совпадения отмечаются метками
+     * {@link #MARK_START} и {@link #MARK_END}, текст подсветки не экранирован.
+     *
+     * @param query поисковый запрос в синтаксисе websearch_to_tsquery
+     * @param afterScore релевантность последней строки предыдущей страницы
+     * @param afterId id последней строки предыдущей страницы
+     * @param limit размер страницы
+     */
+    @Query(
+        value = "SELECT r.id AS \"id\", r.task_name AS \"taskName\", r.status AS \"status\", r.priority AS \"priority\", " +
+        "r.planned_completion_date AS \"plannedCompletionDate\", r.score AS \"score\", " +
+        "ts_headline('" + SEARCH_CONFIG + "', r.task_name, r.query, " +
+        "'HighlightAll=true, StartSel=\"" + MARK_START + "\", StopSel=\"" + MARK_END + "\"') AS \"nameHighlight\", " +
+        "ts_headline('" + SEARCH_CONFIG + "', r.body, r.query, " +
+        "'StartSel=\"" + MARK_START + "\", StopSel=\"" + MARK_END + "\", MaxFragments=2') AS \"bodyHighlight\" " +
+        "FROM (SELECT t.id, t.task_name, t.body, t.status, t.priority, t.planned_completion_date, " +
+        "ts_rank(t.search_vector, q.query) AS score, q.query " +
+        "FROM task t, (SELECT websearch_to_tsquery('" + SEARCH_CONFIG + "', :query) AS query) q " +
+        "WHERE t.search_vector @@ q.query " +
+        "AND (ts_rank(t.search_vector, q.query) < :afterScore " +
+        "OR (ts_rank(t.search_vector, q.query) = :afterScore AND t.id > :afterId)) " +
+        "ORDER BY score DESC, t.id LIMIT :limit) r " +
+        "ORDER BY r.score DESC, r.id",
+        nativeQuery = true
+    )
+    List<TaskSearchView> searchFullText(
+        @Param("query") String query,
+        @Param("afterScore") float afterScore,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Поиск по подстроке без учета регистра для СУБД без полнотекстового поиска. Совпадение в названии
+     * дает релевантность 2, только в описании - 1. Подсветка возвращается без выделения и строится сервисом.
+     *
+     * @param pattern шаблон LIKE в нижнем регистре с экранированием символом {@code !}
+     * @param afterScore релевантность последней строки предыдущей страницы
+     * @param afterId id последней строки предыдущей страницы
+     * @param pageable размер страницы (сортировка задана запросом)
+     */
+    @Query(
+        "SELECT t.id AS id, t.taskName AS taskName, t.status AS status, t.priority AS priority, " +
+        "t.plannedCompletionDate AS plannedCompletionDate, " +
+        "CASE WHEN lower(t.taskName) LIKE :pattern ESCAPE '!' THEN 2.0F ELSE 1.0F END AS score, " +
+        "t.taskName AS nameHighlight, t.body AS bodyHighlight " +
+        "FROM Task t WHERE (lower(t.taskName) LIKE :pattern ESCAPE '!' OR lower(t.body) LIKE :pattern ESCAPE '!') " +
+        "AND (CASE WHEN lower(t.taskName) LIKE :pattern ESCAPE '!' THEN 2.0F ELSE 1.0F END < :afterScore " +
+        "OR (CASE WHEN lower(t.taskName) LIKE :pattern ESCAPE '!' THEN 2.0F ELSE 1.0F END = :afterScore AND t.id > :afterId)) " +
+        "ORDER BY score DESC, t.id"
+    )
+    List<TaskSearchView> searchSubstring(
+        @Param("pattern") String pattern,
+        @Param("afterScore") float afterScore,
+        @Param("afterId") long afterId,
+        Pageable pageable
+    );
+}
@@ -0,0 +1,35 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+
+/**
+ * Проекция найденной задачи: поля для списка результатов, релевантность и фрагменты с подсветкой.
+ */
+public interface TaskSearchView {
+    Long getId();
+
+    String getTaskName();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    LocalDate getPlannedCompletionDate();
+
+    /**
+     * @return релевантность: чем больше, тем выше задача в результатах
+     */
+    float getScore();
+
+    /**
+     * @return название с выделенными совпадениями
+     */
+    String getNameHighlight();
+
+    /**
+     * @return фрагмент описания с выделенными совпадениями
+     */
+    String getBodyHighlight();
+}
@@ -0,0 +1,17 @@
+package ru.georgdeveloper.myapp.repository;
+
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+
+/**
+ * Проекция строки доступа пользователя к команде без загрузки сущностей
+ * {@link ru.georgdeveloper.myapp.domain.User} и {@link ru.georgdeveloper.myapp.domain.Team}.
+ */
+public interface TeamAccessView {
+    Long getUserId();
+
+    String getLogin();
+
+    Long getTeamId();
+
+    AccessLevel getAccessLevel();
+}
@@ -0,0 +1,10 @@
+package ru.georgdeveloper.myapp.repository;
+
+/**
+ * Проекция количества сотрудников команды.
+ */
+public interface TeamEmployeeCountView {
+    Long getTeamId();
+
+    long getTotal();
+}
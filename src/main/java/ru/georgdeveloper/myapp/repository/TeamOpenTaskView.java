@@ -0,0 +1,17 @@
+package ru.georgdeveloper.myapp.repository;
+
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+
+/**
+ * Проекция количества незавершенных задач сотрудников команды с одним приоритетом.
+ */
+public interface TeamOpenTaskView {
+    Long getTeamId();
+
+    /**
+     * @return приоритет или {@code null} для задач без приоритета
+     */
+    TaskPriority getPriority();
+
+    long getTotal();
+}
@@ -1,5 +1,7 @@
 package ru.georgdeveloper.myapp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -32,4 +34,13 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
 
     @EntityGraph(attributePaths = { "userAccesses", "userAccesses.user" })
     Optional<Team> findWithUsersById(Long id);
+
+    /**
+     * Находит id команд с названием без учета регистра среди указанных команд.
+     *
+     * @param teamName название команды
+     * @param teamIds id команд, среди которых выполняется поиск (не пустой)
+     */
+    @Query("SELECT t.id FROM Team t WHERE lower(t.teamName) = lower(:teamName) AND t.id IN :teamIds")
+    List<Long> findIdsByTeamNameAndIdIn(@Param("teamName") String teamName, @Param("teamIds") Collection<Long> teamIds);
 }
@@ -0,0 +1,14 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция количества инструктажей сотрудников команды с одной датой следующего прохождения.
+ */
+public interface TeamTrainingDueView {
+    Long getTeamId();
+
+    LocalDate getNextTrainingDate();
+
+    long getTotal();
+}
@@ -0,0 +1,23 @@
+package ru.georgdeveloper.myapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция инструктажа с подходящей датой следующего прохождения для рассылки напоминаний.
+ * Содержит только поля для письма и ключ курсора (дата, id).
+ */
+public interface TrainingExpiryView {
+    Long getId();
+
+    LocalDate getNextTrainingDate();
+
+    String getTrainingName();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Long getTeamId();
+
+    String getTeamName();
+}
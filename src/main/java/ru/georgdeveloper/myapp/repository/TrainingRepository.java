@@ -1,6 +1,14 @@
 package ru.georgdeveloper.myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.georgdeveloper.myapp.domain.Training;
 
@@ -8,4 +16,74 @@ import ru.georgdeveloper.myapp.domain.Training;
  * Репозиторий Spring Data JPA для обучающего объекта.
  */
 @Repository
-public interface TrainingRepository extends JpaRepository<Training, Long> {}
+public interface TrainingRepository extends JpaRepository<Training, Long> {
+    /**
+     * Считает инструктажи сотрудников всех команд по датам следующего прохождения.
+     * Используется только полной сверкой счетчиков соответствия.
+     */
+    @Query(
+        "SELECT e.team.id AS teamId, tr.nextTrainingDate AS nextTrainingDate, count(tr) AS total " +
+        "FROM Training tr JOIN tr.employee e WHERE e.team IS NOT NULL AND tr.nextTrainingDate IS NOT NULL " +
+        "GROUP BY e.team.id, tr.nextTrainingDate"
+    )
+    List<TeamTrainingDueView> countDueGroupedByTeam();
+
+    /**
+     * Считает инструктажи сотрудников указанных команд по датам следующего прохождения.
+     *
+     * @param teamIds id команд (не пустой)
+     */
+    @Query(
+        "SELECT e.team.id AS teamId, tr.nextTrainingDate AS nextTrainingDate, count(tr) AS total " +
+        "FROM Training tr JOIN tr.employee e WHERE e.team.id IN :teamIds AND tr.nextTrainingDate IS NOT NULL " +
+        "GROUP BY e.team.id, tr.nextTrainingDate"
+    )
+    List<TeamTrainingDueView> countDueGroupedByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Читает очередную порцию инструктажей сотрудников команд с датой следующего прохождения
+     * в диапазоне после позиции курсора (дата, id) и не позже {@code to}.
+     * Диапазон читается по индексу (next_training_date, id), без OFFSET и подсчета.
+     *
+     * @param afterDate дата последней прочитанной строки (или нижняя граница диапазона, не включительно)
+     * @param afterId id последней прочитанной строки
+     * @param to верхняя граница диапазона (включительно)
+     * @param pageable размер порции (сортировка задана запросом)
+     */
+    @Query(
+        "SELECT tr.id AS id, tr.nextTrainingDate AS nextTrainingDate, tr.trainingName AS trainingName, " +
+        "e.firstName AS firstName, e.lastName AS lastName, t.id AS teamId, t.teamName AS teamName " +
+        "FROM Training tr JOIN tr.employee e JOIN e.team t " +
+        "WHERE tr.nextTrainingDate <= :to " +
+        "AND (tr.nextTrainingDate > :afterDate OR (tr.nextTrainingDate = :afterDate AND tr.id > :afterId)) " +
+        "ORDER BY tr.nextTrainingDate, tr.id"
+    )
+    List<TrainingExpiryView> findExpiringAfter(
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterId") Long afterId,
+        @Param("to") LocalDate to,
+        Pageable pageable
+    );
+
+    /**
+     * Читает инструктажи сотрудников указанных команд с датой следующего прохождения в диапазоне
+     * по индексу (next_training_date, id) курсором. Поток нужно закрыть и читать внутри транзакции.
+     *
+     * @param teamIds id команд (не пустой)
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        "SELECT tr.id AS id, tr.trainingName AS trainingName, tr.nextTrainingDate AS nextTrainingDate, " +
+        "tr.validityPeriod AS validityPeriod, e.id AS employeeId, e.firstName AS firstName, e.lastName AS lastName " +
+        "FROM Training tr JOIN tr.employee e " +
+        "WHERE e.team.id IN :teamIds AND tr.nextTrainingDate BETWEEN :from AND :to " +
+        "ORDER BY tr.nextTrainingDate, tr.id"
+    )
+    Stream<CalendarTrainingView> streamCalendarTrainings(
+        @Param("teamIds") Collection<Long> teamIds,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+}
@@ -0,0 +1,58 @@
+package ru.georgdeveloper.myapp.repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.georgdeveloper.myapp.domain.UploadSession;
+
+/**
+ * Репозиторий Spring Data JPA для сессий возобновляемой загрузки {@link UploadSession}.
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    Optional<UploadSession> findOneByIdAndCreatedBy(String id, String createdBy);
+
+    /**
+     * Читает сессию и блокирует ее строку до конца транзакции, чтобы файл не прикрепили дважды.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> lockById(@Param("id") String id);
+
+    /**
+     * Подтверждает принятые байты, если с момента чтения сессии никто другой не изменил ее смещение.
+     *
+     * @return количество обновленных строк, 0 - сессия удалена или смещение изменилось
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE UploadSession s SET s.uploadOffset = :offset, s.lastModifiedDate = :now " +
+        "WHERE s.id = :id AND s.uploadOffset = :expectedOffset"
+    )
+    int updateOffset(
+        @Param("id") String id,
+        @Param("expectedOffset") long expectedOffset,
+        @Param("offset") long offset,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Идентификаторы сессий без активности с момента {@code before}, по возрастанию после курсора {@code after}.
+     */
+    @Query("SELECT s.id FROM UploadSession s WHERE s.lastModifiedDate < :before AND s.id > :after ORDER BY s.id")
+    List<String> findIdsModifiedBefore(@Param("before") Instant before, @Param("after") String after, Pageable pageable);
+
+    /**
+     * Удаляет сессию, если она так и осталась без активности.
+     *
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id AND s.lastModifiedDate < :before")
+    int deleteIfModifiedBefore(@Param("id") String id, @Param("before") Instant before);
+}
@@ -1,8 +1,13 @@
 package ru.georgdeveloper.myapp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.georgdeveloper.myapp.domain.Team;
@@ -15,10 +20,89 @@ public interface UserTeamAccessRepository extends JpaRepository<UserTeamAccess,
 
     boolean existsByUserAndTeamAndAccessLevel(User user, Team team, AccessLevel accessLevel);
 
-    void deleteByTeam_Id(Long teamId);
+    /**
+     * Удаляет все доступы к команде одним запросом.
+     *
+     * @param teamId идентификатор команды
+     * @return количество удаленных строк
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserTeamAccess u WHERE u.team.id = :teamId")
+    int deleteByTeam_Id(@Param("teamId") Long teamId);
 
     @Query("SELECT u FROM UserTeamAccess u WHERE u.team = :team")
     Set<UserTeamAccess> findByTeam(@Param("team") Team team);
 
     Optional<UserTeamAccess> findByTeamIdAndUserId(Long teamId, Long userId);
+
+    /**
+     * Возвращает все доступы в виде плоских строк (пользователь, команда, уровень) для построения индекса доступа.
+     */
+    @Query("SELECT u.user.id AS userId, u.user.login AS login, u.team.id AS teamId, u.accessLevel AS accessLevel FROM UserTeamAccess u")
+    List<TeamAccessView> findAllTeamAccess();
+
+    /**
+     * Возвращает доступы одного пользователя в виде плоских строк (пользователь, команда, уровень).
+     *
+     * @param login логин пользователя
+     */
+    @Query(
+        "SELECT u.user.id AS userId, u.user.login AS login, u.team.id AS teamId, u.accessLevel AS accessLevel " +
+        "FROM UserTeamAccess u WHERE u.user.login = :login"
+    )
+    List<TeamAccessView> findTeamAccessByLogin(@Param("login") String login);
+
+    /**
+     * Возвращает доступы к команде в виде плоских строк (пользователь, команда, уровень).
+     *
+     * @param teamId идентификатор команды
+     */
+    @Query(
+        "SELECT u.user.id AS userId, u.user.login AS login, u.team.id AS teamId, u.accessLevel AS accessLevel " +
+        "FROM UserTeamAccess u WHERE u.team.id = :teamId"
+    )
+    List<TeamAccessView> findTeamAccessByTeamId(@Param("teamId") Long teamId);
+
+    /**
+     * Возвращает доступы указанного уровня к командам в виде плоских строк (пользователь, команда, уровень).
+     *
+     * @param teamIds идентификаторы команд (не пустой)
+     * @param accessLevel уровень доступа
+     */
+    @Query(
+        "SELECT u.user.id AS userId, u.user.login AS login, u.team.id AS teamId, u.accessLevel AS accessLevel " +
+        "FROM UserTeamAccess u WHERE u.team.id IN :teamIds AND u.accessLevel = :accessLevel"
+    )
+    List<TeamAccessView> findTeamAccessByTeamIdsAndAccessLevel(
+        @Param("teamIds") Collection<Long> teamIds,
+        @Param("accessLevel") AccessLevel accessLevel
+    );
+
+    /**
+     * Возвращает страницу активных пользователей с доступом указанного уровня к команде в порядке id.
+     *
+     * @param teamId идентификатор команды
+     * @param accessLevel уровень доступа
+     * @param pageable параметры страницы
+     */
+    @Query(
+        "SELECT DISTINCT u FROM UserTeamAccess a JOIN a.user u " +
+        "WHERE a.team.id = :teamId AND a.accessLevel = :accessLevel AND u.activated = true ORDER BY u.id"
+    )
+    Slice<User> findActivatedUsersByTeamIdAndAccessLevel(
+        @Param("teamId") Long teamId,
+        @Param("accessLevel") AccessLevel accessLevel,
+        Pageable pageable
+    );
+
+    /**
+     * Удаляет доступ к команде для указанных пользователей одним запросом.
+     *
+     * @param teamId идентификатор команды
+     * @param userIds идентификаторы пользователей (не пустой)
+     * @return количество удаленных строк
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserTeamAccess u WHERE u.team.id = :teamId AND u.user.id IN :userIds")
+    int deleteByTeamIdAndUserIds(@Param("teamId") Long teamId, @Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,36 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.time.Duration;
+
+/**
+ * Общая лента событий календаря не может быть построена. Причина определяет ответ клиенту.
+ */
+public class CalendarFeedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        BUSY, // Все места для построения лент заняты, запрос можно повторить позже
+    }
+
+    private final Reason reason;
+
+    private final Duration retryAfter;
+
+    public CalendarFeedException(Reason reason, String message, Duration retryAfter) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Через сколько стоит повторить запрос; задается для причины {@link Reason#BUSY}.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Сервис ленты подписки на календарь в формате iCalendar.
+ */
+public interface CalendarFeedService {
+    /**
+     * Выпускает новый токен подписки пользователя; прежний токен перестает действовать.
+     *
+     * @param login логин пользователя
+     * @return токен для адреса ленты; в БД хранится только его SHA-256
+     */
+    String createToken(String login);
+
+    /**
+     * Находит активного владельца токена подписки. Найденные токены запоминаются в памяти.
+     *
+     * @param token токен из адреса ленты
+     * @return логин пользователя
+     */
+    Optional<String> findLogin(String token);
+
+    /**
+     * После коммита текущей транзакции забывает запомненные токены и построенную ленту пользователя.
+     * Вызывается при деактивации, удалении и смене логина пользователя.
+     *
+     * @param login логин пользователя
+     */
+    void evictAfterCommit(String login);
+
+    /**
+     * Возвращает состояние ленты пользователя для условных запросов без обращения к БД.
+     *
+     * @param login логин пользователя
+     */
+    FeedState getState(String login);
+
+    /**
+     * Пишет ленту пользователя в поток по мере чтения из БД или из кэша, если лента этого состояния уже построена.
+     *
+     * @param login логин пользователя
+     * @param state состояние ленты, полученное {@link #getState(String)}
+     * @param out поток ответа
+     * @throws IOException при ошибке записи
+     */
+    void writeFeed(String login, FeedState state, OutputStream out) throws IOException;
+
+    /**
+     * Состояние ленты: меняется при изменении данных календаря, команд пользователя или текущей даты.
+     *
+     * @param etag сильный ETag в кавычках
+     * @param lastModified время последнего изменения с точностью до секунды
+     * @param today дата, от которой отсчитывается окно событий ленты
+     * @param teamIds команды пользователя, задачи и инструктажи которых входят в ленту
+     */
+    record FeedState(String etag, Instant lastModified, LocalDate today, List<Long> teamIds) {}
+}
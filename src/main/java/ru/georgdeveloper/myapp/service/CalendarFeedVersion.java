@@ -0,0 +1,68 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Версия данных календарных лент в памяти.
+ * <p>
+ * Сервисы встреч, прочих событий, задач, инструктажей, сотрудников и команд увеличивают версию
+ * после коммита транзакции с изменением. По версии лента подписки строит ETag и Last-Modified
+ * и проверяет кэш, не обращаясь к БД.
+ * <p>
+ * Версия начинается заново при каждом запуске приложения, поэтому в нее входит время запуска:
+ * ETag, выданный до перезапуска, не совпадет с новым.
+ */
+@Service
+public class CalendarFeedVersion {
+
+    private final long epoch = Instant.now().toEpochMilli();
+
+    private volatile Version current = new Version(epoch, 0, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+    /**
+     * Возвращает текущую версию данных.
+     */
+    public Version current() {
+        return current;
+    }
+
+    /**
+     * Увеличивает версию после коммита текущей транзакции, а вне транзакции сразу.
+     */
+    public void changedAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            }
+        );
+    }
+
+    private synchronized void increment() {
+        // Last-Modified передается с точностью до секунды: каждое изменение сдвигает его хотя бы на секунду,
+        // иначе клиент, проверяющий только If-Modified-Since, получил бы 304 для второго изменения в ту же секунду
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Version previous = current;
+        Instant modified = now.isAfter(previous.modified()) ? now : previous.modified().plusSeconds(1);
+        current = new Version(epoch, previous.number() + 1, modified);
+    }
+
+    /**
+     * Версия данных.
+     *
+     * @param epoch время запуска приложения в миллисекундах
+     * @param number номер изменения с момента запуска
+     * @param modified время последнего изменения с точностью до секунды
+     */
+    public record Version(long epoch, long number, Instant modified) {}
+}
@@ -0,0 +1,37 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import ru.georgdeveloper.myapp.service.dto.CalendarEventDTO;
+import ru.georgdeveloper.myapp.service.dto.CalendarTaskDTO;
+
+/**
+ * Сервис данных календаря за диапазон дат.
+ */
+public interface CalendarService {
+    /**
+     * Передает задачи команд пользователя с планируемой датой завершения в диапазоне по одной,
+     * в порядке даты, не загружая весь диапазон в память.
+     *
+     * @param currentUserLogin логин текущего пользователя
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     * @param teamId id команды для фильтрации или {@code null} для всех команд пользователя
+     * @param consumer получатель задач
+     * @throws org.springframework.security.access.AccessDeniedException если у пользователя нет доступа к команде
+     */
+    void streamTasks(String currentUserLogin, LocalDate from, LocalDate to, Long teamId, Consumer<? super CalendarTaskDTO> consumer);
+
+    /**
+     * Передает общую ленту событий за диапазон в порядке даты: задачи и инструктажи команд пользователя,
+     * встречи, прочие события и дополнительные обучения.
+     *
+     * @param currentUserLogin логин текущего пользователя
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно)
+     * @param consumer получатель событий, вызывается в текущем потоке по мере слияния источников; пока он работает,
+     *                 место для построения ленты занято, поэтому он не должен ждать клиента (ответ буферизуется)
+     * @throws CalendarFeedException если все места для построения лент заняты
+     */
+    void streamEvents(String currentUserLogin, LocalDate from, LocalDate to, Consumer<? super CalendarEventDTO> consumer);
+}
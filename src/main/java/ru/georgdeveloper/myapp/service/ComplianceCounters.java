@@ -0,0 +1,435 @@
+package ru.georgdeveloper.myapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.repository.EmployeeRepository;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TeamEmployeeCountView;
+import ru.georgdeveloper.myapp.repository.TeamOpenTaskView;
+import ru.georgdeveloper.myapp.repository.TeamTrainingDueView;
+import ru.georgdeveloper.myapp.repository.TrainingRepository;
+
+/**
+ * Счетчики соответствия требованиям по командам в памяти: количество сотрудников,
+ * инструктажи по датам следующего прохождения и незавершенные задачи по приоритетам.
+ * <p>
+ * Счетчики полностью строятся при старте приложения и периодической сверкой, а между сверками
+ * изменяются приращениями из сервисов инструктажей, задач, сотрудников и команд после коммита транзакции.
+ * Инструктажи хранятся гистограммой по дате, поэтому просроченные и истекающие считаются
+ * на любую дату без обращения к БД.
+ * <p>
+ * Изменения, после которых приращение неизвестно (перевод сотрудника в другую команду, удаление сотрудника,
+ * массовое назначение), помечают команду устаревшей: она пересчитывается запросами только по этой команде
+ * при следующем чтении.
+ */
+@Service
+public class ComplianceCounters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ComplianceCounters.class);
+
+    // Название метрики времени полной сверки счетчиков
+    public static final String RECONCILE_METER_NAME = "compliance.counters.reconcile";
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    // Индекс ячейки для задач без приоритета
+    private static final int NO_PRIORITY = PRIORITIES.length;
+
+    private final EmployeeRepository employeeRepository;
+    private final TrainingRepository trainingRepository;
+    private final TaskRepository taskRepository;
+
+    private final Timer reconcileTimer;
+
+    // Блокировка для всех изменений и чтений счетчиков
+    private final Object writeLock = new Object();
+
+    // Сверки не выполняются параллельно
+    private final Object reconcileLock = new Object();
+
+    private Map<Long, TeamCounters> teams = new HashMap<>();
+
+    // Команды, счетчики которых нужно пересчитать перед чтением
+    private final Set<Long> dirty = new HashSet<>();
+
+    // Команды, измененные во время выполняющейся полной сверки
+    private final Set<Long> touched = new HashSet<>();
+
+    // Пока счетчики не построены, каждая запрошенная команда пересчитывается отдельно
+    private boolean built;
+
+    public ComplianceCounters(
+        EmployeeRepository employeeRepository,
+        TrainingRepository trainingRepository,
+        TaskRepository taskRepository,
+        MeterRegistry registry
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.trainingRepository = trainingRepository;
+        this.taskRepository = taskRepository;
+        this.reconcileTimer = Timer.builder(RECONCILE_METER_NAME)
+            .description("Time spent rebuilding compliance counters from the database.")
+            .register(registry);
+    }
+
+    /**
+     * Строит счетчики после запуска приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Периодически сверяет счетчики с БД, исправляя расхождения от изменений в обход сервисов.
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Полностью перестраивает счетчики тремя сгруппированными запросами.
+     * Команды, измененные во время перестройки, помечаются устаревшими.
+     */
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            reconcileTimer.record(() -> {
+                synchronized (writeLock) {
+                    touched.clear();
+                }
+                Map<Long, TeamCounters> rebuilt = new HashMap<>();
+                load(
+                    rebuilt,
+                    employeeRepository.countGroupedByTeam(),
+                    trainingRepository.countDueGroupedByTeam(),
+                    taskRepository.countOpenGroupedByTeam()
+                );
+                synchronized (writeLock) {
+                    teams = rebuilt;
+                    dirty.clear();
+                    dirty.addAll(touched);
+                    touched.clear();
+                    built = true;
+                }
+                LOG.debug("Счетчики соответствия перестроены: {} команд", rebuilt.size());
+            });
+        }
+    }
+
+    /**
+     * Возвращает счетчики команд на указанную дату, предварительно пересчитав устаревшие команды.
+     *
+     * @param teamIds id команд
+     * @param today текущая дата
+     * @param expiringWithinDays сколько дней от текущей даты считать сроком истечения
+     * @return счетчики по id команды; для команды без сотрудников счетчики нулевые
+     */
+    public Map<Long, Counts> getCounts(Collection<Long> teamIds, LocalDate today, int expiringWithinDays) {
+        recountDirty(teamIds);
+        LocalDate expiringUntil = today.plusDays(expiringWithinDays);
+        Map<Long, Counts> result = new HashMap<>();
+        synchronized (writeLock) {
+            for (Long teamId : teamIds) {
+                TeamCounters counters = teams.get(teamId);
+                result.put(teamId, counters == null ? Counts.empty() : counters.toCounts(today, expiringUntil));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Применяет изменение инструктажа после коммита текущей транзакции.
+     *
+     * @param before состояние до изменения или {@code null} для нового инструктажа
+     * @param after состояние после изменения или {@code null} для удаленного
+     */
+    public void trainingChangedAfterCommit(TrainingState before, TrainingState after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        afterCommit(() ->
+            apply(counters -> {
+                if (before != null && before.teamId() != null) {
+                    counters.apply(before.teamId(), team -> team.addTraining(before.nextTrainingDate(), -1));
+                }
+                if (after != null && after.teamId() != null) {
+                    counters.apply(after.teamId(), team -> team.addTraining(after.nextTrainingDate(), 1));
+                }
+            })
+        );
+    }
+
+    /**
+     * Применяет изменение задачи после коммита текущей транзакции.
+     *
+     * @param before состояние до изменения или {@code null} для новой задачи
+     * @param after состояние после изменения или {@code null} для удаленной
+     */
+    public void taskChangedAfterCommit(TaskState before, TaskState after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        afterCommit(() ->
+            apply(counters -> {
+                if (before != null && before.isOpen()) {
+                    counters.apply(before.teamId(), team -> team.addOpenTask(before.priority(), -1));
+                }
+                if (after != null && after.isOpen()) {
+                    counters.apply(after.teamId(), team -> team.addOpenTask(after.priority(), 1));
+                }
+            })
+        );
+    }
+
+    /**
+     * Учитывает новых сотрудников команды после коммита текущей транзакции.
+     *
+     * @param teamId id команды или {@code null}
+     * @param count количество добавленных сотрудников
+     */
+    public void employeesAddedAfterCommit(Long teamId, int count) {
+        if (teamId == null || count == 0) {
+            return;
+        }
+        afterCommit(() -> apply(counters -> counters.apply(teamId, team -> team.employees += count)));
+    }
+
+    /**
+     * Помечает команды устаревшими после коммита текущей транзакции.
+     * Используется, когда вместе с сотрудниками между командами переходят их инструктажи и задачи.
+     *
+     * @param teamIds id команд ({@code null} пропускаются)
+     */
+    public void recountAfterCommit(Collection<Long> teamIds) {
+        List<Long> ids = teamIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        afterCommit(() ->
+            apply(counters -> {
+                for (Long teamId : ids) {
+                    counters.markDirty(teamId);
+                }
+            })
+        );
+    }
+
+    /**
+     * Удаляет счетчики команды после коммита текущей транзакции.
+     *
+     * @param teamId id удаленной команды
+     */
+    public void removeTeamAfterCommit(long teamId) {
+        afterCommit(() ->
+            apply(counters -> {
+                teams.remove(teamId);
+                dirty.remove(teamId);
+            })
+        );
+    }
+
+    private void recountDirty(Collection<Long> teamIds) {
+        List<Long> stale;
+        synchronized (writeLock) {
+            stale = teamIds.stream().filter(teamId -> !built || dirty.contains(teamId)).distinct().toList();
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> versions = new HashMap<>();
+        synchronized (writeLock) {
+            stale.forEach(teamId -> versions.put(teamId, version(teamId)));
+        }
+        Map<Long, TeamCounters> recounted = new HashMap<>();
+        stale.forEach(teamId -> recounted.put(teamId, new TeamCounters()));
+        load(
+            recounted,
+            employeeRepository.countGroupedByTeamIds(stale),
+            trainingRepository.countDueGroupedByTeamIds(stale),
+            taskRepository.countOpenGroupedByTeamIds(stale)
+        );
+        synchronized (writeLock) {
+            for (Long teamId : stale) {
+                // Если команда изменилась во время пересчета, она остается устаревшей до следующего чтения
+                if (version(teamId) == versions.get(teamId)) {
+                    TeamCounters counters = recounted.get(teamId);
+                    counters.version = versions.get(teamId);
+                    teams.put(teamId, counters);
+                    dirty.remove(teamId);
+                }
+            }
+        }
+        LOG.debug("Пересчитаны счетчики соответствия команд: {}", stale);
+    }
+
+    private static void load(
+        Map<Long, TeamCounters> target,
+        List<TeamEmployeeCountView> employees,
+        List<TeamTrainingDueView> trainings,
+        List<TeamOpenTaskView> tasks
+    ) {
+        for (TeamEmployeeCountView row : employees) {
+            target.computeIfAbsent(row.getTeamId(), id -> new TeamCounters()).employees = row.getTotal();
+        }
+        for (TeamTrainingDueView row : trainings) {
+            target.computeIfAbsent(row.getTeamId(), id -> new TeamCounters()).addTraining(row.getNextTrainingDate(), row.getTotal());
+        }
+        for (TeamOpenTaskView row : tasks) {
+            target.computeIfAbsent(row.getTeamId(), id -> new TeamCounters()).addOpenTask(row.getPriority(), row.getTotal());
+        }
+    }
+
+    private long version(Long teamId) {
+        TeamCounters counters = teams.get(teamId);
+        return counters == null ? 0 : counters.version;
+    }
+
+    private void apply(Consumer<Changes> change) {
+        synchronized (writeLock) {
+            change.accept(new Changes());
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * Изменение счетчиков под блокировкой: каждая затронутая команда получает новую версию
+     * и запоминается как измененная во время возможной полной сверки.
+     */
+    private final class Changes {
+
+        void apply(Long teamId, Consumer<TeamCounters> change) {
+            if (teamId == null) {
+                return;
+            }
+            TeamCounters counters = teams.computeIfAbsent(teamId, id -> new TeamCounters());
+            counters.version++;
+            change.accept(counters);
+            touched.add(teamId);
+        }
+
+        void markDirty(Long teamId) {
+            apply(teamId, counters -> dirty.add(teamId));
+        }
+    }
+
+    /**
+     * Состояние инструктажа, влияющее на счетчики.
+     *
+     * @param employeeId сотрудник или {@code null}
+     * @param teamId команда сотрудника или {@code null}
+     * @param nextTrainingDate дата следующего прохождения или {@code null}
+     */
+    public record TrainingState(Long employeeId, Long teamId, LocalDate nextTrainingDate) {}
+
+    /**
+     * Состояние задачи, влияющее на счетчики.
+     *
+     * @param employeeId сотрудник или {@code null}
+     * @param teamId команда сотрудника или {@code null}
+     * @param status статус задачи
+     * @param priority приоритет задачи
+     */
+    public record TaskState(Long employeeId, Long teamId, TaskStatus status, TaskPriority priority) {
+        boolean isOpen() {
+            return teamId != null && status != TaskStatus.DONE;
+        }
+    }
+
+    /**
+     * Счетчики одной команды на дату запроса.
+     *
+     * @param employees количество сотрудников
+     * @param overdueTrainings инструктажи с датой следующего прохождения раньше текущей
+     * @param expiringTrainings инструктажи, срок которых истекает в заданном окне от текущей даты включительно
+     * @param openTasks все незавершенные задачи
+     * @param openTasksByPriority незавершенные задачи по приоритетам (задачи без приоритета учтены только в общем числе)
+     */
+    public record Counts(
+        long employees,
+        long overdueTrainings,
+        long expiringTrainings,
+        long openTasks,
+        Map<TaskPriority, Long> openTasksByPriority
+    ) {
+        static Counts empty() {
+            return new TeamCounters().toCounts(LocalDate.MIN, LocalDate.MIN);
+        }
+    }
+
+    /**
+     * Изменяемые счетчики команды; доступ только под {@link #writeLock}.
+     */
+    private static final class TeamCounters {
+
+        long version;
+        long employees;
+        final TreeMap<LocalDate, Long> trainingsByDueDate = new TreeMap<>();
+        final long[] openTasks = new long[PRIORITIES.length + 1];
+
+        void addTraining(LocalDate nextTrainingDate, long delta) {
+            if (nextTrainingDate != null) {
+                trainingsByDueDate.merge(nextTrainingDate, delta, (count, change) -> count + change == 0 ? null : count + change);
+            }
+        }
+
+        void addOpenTask(TaskPriority priority, long delta) {
+            openTasks[priority == null ? NO_PRIORITY : priority.ordinal()] += delta;
+        }
+
+        Counts toCounts(LocalDate today, LocalDate expiringUntil) {
+            long overdue = sum(trainingsByDueDate.headMap(today, false).values());
+            long expiring = sum(trainingsByDueDate.subMap(today, true, expiringUntil, true).values());
+            Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+            long open = openTasks[NO_PRIORITY];
+            for (TaskPriority priority : PRIORITIES) {
+                byPriority.put(priority, openTasks[priority.ordinal()]);
+                open += openTasks[priority.ordinal()];
+            }
+            return new Counts(employees, overdue, expiring, open, byPriority);
+        }
+
+        private static long sum(Collection<Long> counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.util.List;
+import ru.georgdeveloper.myapp.service.dto.TeamComplianceDTO;
+
+/**
+ * Сервис показателей для панели инженера по охране труда.
+ */
+public interface DashboardService {
+    /**
+     * Возвращает показатели соответствия требованиям по командам, доступным пользователю.
+     *
+     * @param currentUserLogin логин текущего пользователя
+     * @return показатели команд, отсортированные по названию
+     */
+    List<TeamComplianceDTO> getCompliance(String currentUserLogin);
+}
@@ -0,0 +1,179 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.repository.DocumentContentRepository;
+
+/**
+ * Содержимое документов в {@link DocumentStore} со счетчиком ссылок на каждый хеш.
+ * <p>
+ * Ссылки добавляются и убираются в транзакции документа, который ссылается на содержимое, поэтому счетчик
+ * откатывается вместе с документом. Новое содержимое публикуется в хранилище после блокировки строки счетчика:
+ * очистка, удаляющая файл без ссылок, держит ту же блокировку, и не может удалить только что опубликованный файл.
+ * <p>
+ * Файлы без ссылок удаляет периодическая очистка, а не транзакция, которая убрала последнюю ссылку:
+ * при ее откате файл понадобился бы снова.
+ */
+@Service
+public class DocumentContentService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentContentService.class);
+
+    static final int PURGE_CHUNK_SIZE = 100;
+
+    // Начало курсора очистки: меньше любого хеша
+    private static final String CURSOR_START = "";
+
+    private final DocumentContentRepository documentContentRepository;
+    private final DocumentStore documentStore;
+    private final TransactionTemplate newTransaction;
+
+    public DocumentContentService(
+        DocumentContentRepository documentContentRepository,
+        DocumentStore documentStore,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.documentContentRepository = documentContentRepository;
+        this.documentStore = documentStore;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Сохраняет содержимое в хранилище и добавляет на него ссылку в текущей транзакции.
+     *
+     * @param content содержимое, поток не закрывается
+     * @return хеш и размер содержимого
+     * @throws UncheckedIOException ошибка чтения потока или записи в хранилище, транзакция откатывается
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredContent store(InputStream content) {
+        try (DocumentStore.PendingDocument pending = documentStore.write(content)) {
+            StoredContent stored = new StoredContent(pending.sha256(), pending.size());
+            documentContentRepository.addReference(stored.sha256(), stored.size());
+            pending.publish();
+            registerRollbackCleanup(stored);
+            LOG.debug("Сохранено содержимое документа {} ({} байт)", stored.sha256(), stored.size());
+            return stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Убирает ссылку на содержимое в текущей транзакции.
+     *
+     * @param sha256 хеш содержимого или {@code null}, если документ не ссылался на содержимое
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String sha256) {
+        if (sha256 != null) {
+            LOG.debug("Удалена ссылка на содержимое документа {}", sha256);
+            documentContentRepository.removeReference(sha256);
+        }
+    }
+
+    /**
+     * Возвращает содержимое из хранилища.
+     *
+     * @param sha256 хеш содержимого
+     * @return содержимое или пустой результат, если файла нет в хранилище
+     */
+    public Optional<Resource> find(String sha256) {
+        return documentStore.find(sha256);
+    }
+
+    /**
+     * Удаляет файлы без ссылок каждый час.
+     */
+    @Scheduled(cron = "0 20 * * * ?")
+    public void scheduledPurge() {
+        purgeUnreferenced();
+    }
+
+    /**
+     * Удаляет из хранилища содержимое без ссылок. Каждый файл удаляется в отдельной транзакции вместе со строкой счетчика;
+     * если файл удалить не удалось, строка остается до следующей очистки.
+     *
+     * @return количество удаленных файлов
+     */
+    public synchronized int purgeUnreferenced() {
+        int purged = 0;
+        String after = CURSOR_START;
+        List<String> hashes;
+        do {
+            hashes = documentContentRepository.findUnreferencedAfter(after, PageRequest.ofSize(PURGE_CHUNK_SIZE));
+            for (String sha256 : hashes) {
+                try {
+                    if (Boolean.TRUE.equals(newTransaction.execute(status -> purge(sha256)))) {
+                        purged++;
+                    }
+                } catch (UncheckedIOException e) {
+                    LOG.warn("Не удалось удалить содержимое документа {}: {}", sha256, e.getMessage());
+                }
+            }
+            if (!hashes.isEmpty()) {
+                after = hashes.get(hashes.size() - 1);
+            }
+        } while (hashes.size() == PURGE_CHUNK_SIZE);
+        if (purged > 0) {
+            LOG.info("Удалено содержимое документов без ссылок: {}", purged);
+        }
+        return purged;
+    }
+
+    private boolean purge(String sha256) {
+        if (documentContentRepository.deleteUnreferenced(sha256) == 0) {
+            return false;
+        }
+        try {
+            documentStore.delete(sha256);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * При откате транзакции ссылка на опубликованный файл пропадает. Если строки счетчика не было,
+     * она создается с нулем ссылок, чтобы очистка удалила файл.
+     */
+    private void registerRollbackCleanup(StoredContent stored) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        newTransaction.executeWithoutResult(tx ->
+                            documentContentRepository.registerUnreferenced(stored.sha256(), stored.size())
+                        );
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Хеш и размер сохраненного содержимого.
+     */
+    public record StoredContent(String sha256, long size) {}
+}
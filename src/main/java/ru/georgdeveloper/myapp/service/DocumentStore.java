@@ -0,0 +1,59 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+/**
+ * Хранилище содержимого документов с адресацией по SHA-256.
+ * <p>
+ * Содержимое записывается в два шага: {@link #write(InputStream)} сохраняет поток во временный файл
+ * и вычисляет хеш, {@link PendingDocument#publish()} атомарно делает файл доступным под этим хешем.
+ * Одинаковое содержимое хранится один раз. Хранилище не ведет учет ссылок на файлы,
+ * этим занимается {@link DocumentContentService}.
+ */
+public interface DocumentStore {
+    /**
+     * Записывает поток во временный файл, одновременно вычисляя SHA-256 и размер.
+     *
+     * @param content содержимое, поток не закрывается
+     * @return записанное, но еще не опубликованное содержимое
+     * @throws IOException ошибка чтения потока или записи файла
+     */
+    PendingDocument write(InputStream content) throws IOException;
+
+    /**
+     * Возвращает опубликованное содержимое.
+     *
+     * @param sha256 хеш содержимого в шестнадцатеричном виде
+     * @return содержимое или пустой результат, если его нет в хранилище
+     */
+    Optional<Resource> find(String sha256);
+
+    /**
+     * Удаляет опубликованное содержимое.
+     *
+     * @param sha256 хеш содержимого в шестнадцатеричном виде
+     * @return {@code true}, если файл был удален
+     * @throws IOException ошибка удаления файла
+     */
+    boolean delete(String sha256) throws IOException;
+
+    /**
+     * Содержимое, записанное во временный файл. Закрытие без публикации удаляет временный файл.
+     */
+    interface PendingDocument extends Closeable {
+        String sha256();
+
+        long size();
+
+        /**
+         * Атомарно публикует содержимое под его хешем, заменяя файл с тем же хешем, если он уже есть.
+         *
+         * @throws IOException ошибка перемещения файла
+         */
+        void publish() throws IOException;
+    }
+}
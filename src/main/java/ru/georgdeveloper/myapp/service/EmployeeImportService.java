@@ -0,0 +1,55 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Optional;
+import ru.georgdeveloper.myapp.service.dto.EmployeeImportReport;
+
+/**
+ * Интерфейс сервиса массового импорта сотрудников из CSV/XLSX.
+ */
+public interface EmployeeImportService {
+    /**
+     * Формат импортируемого файла.
+     */
+    enum Format {
+        CSV,
+        XLSX;
+
+        /**
+         * Определяет формат по расширению имени файла.
+         *
+         * @param fileName исходное имя файла
+         * @return формат или пустой Optional, если расширение не поддерживается
+         */
+        public static Optional<Format> fromFileName(String fileName) {
+            if (fileName == null) {
+                return Optional.empty();
+            }
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".csv")) {
+                return Optional.of(CSV);
+            }
+            if (lower.endsWith(".xlsx")) {
+                return Optional.of(XLSX);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Импортирует сотрудников построчно, не загружая файл в память целиком.
+     * Первая строка файла - заголовок с названиями колонок. Команды ищутся по названию
+     * только среди команд пользователя, должности и профессии - по названию среди всех.
+     * Строки сохраняются пакетами в нескольких транзакциях; ошибочные строки попадают в отчет.
+     * Если файл перестает читаться после заголовка, чтение останавливается, ошибка попадает в отчет,
+     * а уже сохраненные строки остаются.
+     *
+     * @param content содержимое файла
+     * @param format формат файла
+     * @param currentUserLogin логин текущего пользователя
+     * @return отчет об импорте с ошибками по строкам
+     * @throws IllegalArgumentException если файл не открывается, заголовок не читается или в нем нет обязательных колонок
+     */
+    EmployeeImportReport importEmployees(InputStream content, Format format, String currentUserLogin);
+}
@@ -7,6 +7,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.repository.EmployeeKeyset;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.EmployeeWithLastInstructionDateDTO;
 
 /**
  * Интерфейс сервиса для управления {@link ru.georgdeveloper.myapp.domain.Employee}.
@@ -53,6 +56,47 @@ public interface EmployeeService {
     @Transactional(readOnly = true)
     Page<Employee> findAllWithEagerRelationships(@Param("currentUserLogin") String currentUserLogin, Pageable pageable);
 
+    /**
+     * Получить сотрудников из команд пользователя с датой последнего инструктажа.
+     * Дата читается из хранимой колонки сотрудника, поэтому страница строится одним запросом без соединения
+     * с инструктажами (плюс COUNT при необходимости).
+     *
+     * @param currentUserLogin логин текущего пользователя.
+     * @param pageable информация о пагинации.
+     * @return страница DTO.
+     */
+    Page<EmployeeWithLastInstructionDateDTO> findAllWithLastInstructionDate(String currentUserLogin, Pageable pageable);
+
+    /**
+     * Получить сотрудников из команд пользователя с курсорной (keyset) пагинацией.
+     * Стоимость любой страницы одинакова: вместо OFFSET используется условие на (ключ сортировки, id).
+     *
+     * @param currentUserLogin логин текущего пользователя.
+     * @param keyset позиция курсора.
+     * @param size размер страницы.
+     * @param withCount выполнять ли подсчет общего количества.
+     * @param eagerload загружать ли команду, должность и инструктажи.
+     * @return страница с курсорами соседних страниц.
+     */
+    CursorPage<Employee> findAllByCursor(String currentUserLogin, EmployeeKeyset keyset, int size, boolean withCount, boolean eagerload);
+
+    /**
+     * Получить сотрудников из команд пользователя с датой последнего инструктажа и курсорной (keyset) пагинацией.
+     * Дата берется из колонки сотрудника, поэтому догружаются только команда и должность, без инструктажей.
+     *
+     * @param currentUserLogin логин текущего пользователя.
+     * @param keyset позиция курсора.
+     * @param size размер страницы.
+     * @param withCount выполнять ли подсчет общего количества.
+     * @return страница DTO с курсорами соседних страниц.
+     */
+    CursorPage<EmployeeWithLastInstructionDateDTO> findAllWithLastInstructionDateByCursor(
+        String currentUserLogin,
+        EmployeeKeyset keyset,
+        int size,
+        boolean withCount
+    );
+
     /**
      * Получить сотрудника по "id".
      *
@@ -0,0 +1,185 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Неизменяемое интервальное дерево: AVL-дерево полуоткрытых интервалов {@code [start, end)},
+ * упорядоченных по паре (start, id). Каждый узел хранит наибольший конец интервалов своего поддерева,
+ * поэтому поиск пересечений отсекает поддеревья, которые заканчиваются раньше искомого отрезка, и занимает O(log n + k).
+ * <p>
+ * Вставка и удаление копируют только путь от корня и возвращают новое дерево: читатели обходят
+ * опубликованную версию без блокировок.
+ *
+ * @param <T> значение, связанное с интервалом
+ */
+final class IntervalTree<T> {
+
+    private static final IntervalTree<?> EMPTY = new IntervalTree<>(null);
+
+    private final Node<T> root;
+
+    private IntervalTree(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> IntervalTree<T> empty() {
+        return (IntervalTree<T>) EMPTY;
+    }
+
+    int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * Добавляет интервал; интервал с тем же (start, id) заменяется.
+     */
+    IntervalTree<T> insert(long start, long end, long id, T value) {
+        return new IntervalTree<>(insert(root, new Node<>(start, end, id, value, null, null)));
+    }
+
+    /**
+     * Удаляет интервал с указанными началом и id; если его нет, возвращает это же дерево.
+     */
+    IntervalTree<T> remove(long start, long id) {
+        Node<T> removed = remove(root, start, id);
+        return removed == root ? this : new IntervalTree<>(removed);
+    }
+
+    /**
+     * Передает значения интервалов, пересекающихся с {@code [from, to)}, в порядке начала интервала.
+     */
+    void forEachOverlapping(long from, long to, Consumer<? super T> action) {
+        forEachOverlapping(root, from, to, action);
+    }
+
+    private static <T> void forEachOverlapping(Node<T> node, long from, long to, Consumer<? super T> action) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        forEachOverlapping(node.left, from, to, action);
+        if (node.start >= to) {
+            // Правое поддерево начинается не раньше этого узла
+            return;
+        }
+        if (node.end > from) {
+            action.accept(node.value);
+        }
+        forEachOverlapping(node.right, from, to, action);
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> added) {
+        if (node == null) {
+            return added;
+        }
+        int order = compare(added.start, added.id, node);
+        if (order < 0) {
+            return balance(node.with(insert(node.left, added), node.right));
+        }
+        if (order > 0) {
+            return balance(node.with(node.left, insert(node.right, added)));
+        }
+        return added.with(node.left, node.right);
+    }
+
+    private static <T> Node<T> remove(Node<T> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(start, id, node);
+        if (order < 0) {
+            Node<T> left = remove(node.left, start, id);
+            return left == node.left ? node : balance(node.with(left, node.right));
+        }
+        if (order > 0) {
+            Node<T> right = remove(node.right, start, id);
+            return right == node.right ? node : balance(node.with(node.left, right));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.with(node.left, removeMin(node.right)));
+    }
+
+    private static <T> Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.with(removeMin(node.left), node.right));
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static <T> Node<T> balance(Node<T> node) {
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            Node<T> left = node.left;
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left);
+            }
+            return rotateRight(node.with(left, node.right));
+        }
+        if (factor < -1) {
+            Node<T> right = node.right;
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right);
+            }
+            return rotateLeft(node.with(node.left, right));
+        }
+        return node;
+    }
+
+    private static <T> Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        return left.with(left.left, node.with(left.right, node.right));
+    }
+
+    private static <T> Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        return right.with(node.with(node.left, right.left), right.right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<T> {
+
+        final long start;
+        final long end;
+        final long id;
+        final T value;
+        final Node<T> left;
+        final Node<T> right;
+        final int height;
+        final int size;
+        final long maxEnd;
+
+        Node(long start, long end, long id, T value, Node<T> left, Node<T> right) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + (left == null ? 0 : left.size) + (right == null ? 0 : right.size);
+            long childrenMaxEnd = Math.max(left == null ? Long.MIN_VALUE : left.maxEnd, right == null ? Long.MIN_VALUE : right.maxEnd);
+            this.maxEnd = Math.max(end, childrenMaxEnd);
+        }
+
+        Node<T> with(Node<T> left, Node<T> right) {
+            return new Node<>(start, end, id, value, left, right);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.georgdeveloper.myapp.service;
+
+/**
+ * Содержимое загружаемого файла не является PDF-документом.
+ */
+public class InvalidPdfFileException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidPdfFileException() {
+        super("Файл не является PDF-документом");
+    }
+}
@@ -1,8 +1,10 @@
 package ru.georgdeveloper.myapp.service;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import ru.georgdeveloper.myapp.domain.JobDescription;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 
 /**
  * Интерфейс сервиса для управления {@link ru.georgdeveloper.myapp.domain.JobDescription}.
@@ -60,4 +62,33 @@ public interface JobDescriptionService {
      * @param id идентификатор сущности.
      */
     void delete(Long id);
+
+    /**
+     * Загружает PDF-файл должностной инструкции вместо текущего. Содержимое сохраняется в {@link DocumentStore},
+     * ссылка на прежнее содержимое освобождается.
+     *
+     * @param id идентификатор должностной инструкции.
+     * @param fileName имя файла.
+     * @param contentType MIME-тип файла.
+     * @param content содержимое файла, поток не закрывается.
+     * @return сущность с обновленными метаданными файла или пустой Optional, если инструкция не найдена.
+     * @throws InvalidPdfFileException если содержимое не начинается с сигнатуры PDF.
+     */
+    Optional<JobDescription> attachPdfFile(Long id, String fileName, String contentType, InputStream content);
+
+    /**
+     * Удаляет PDF-файл должностной инструкции и освобождает ссылку на его содержимое.
+     *
+     * @param id идентификатор должностной инструкции.
+     * @return сущность без файла или пустой Optional, если инструкция не найдена.
+     */
+    Optional<JobDescription> removePdfFile(Long id);
+
+    /**
+     * Читает метаданные PDF-файла должностной инструкции; содержимое выдает {@link DocumentContentService#find(String)}.
+     *
+     * @param id идентификатор должностной инструкции.
+     * @return метаданные файла или пустой Optional, если инструкция не найдена или файл не загружен.
+     */
+    Optional<PdfFileView> findPdfFile(Long id);
 }
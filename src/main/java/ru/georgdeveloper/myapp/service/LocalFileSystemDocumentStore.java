@@ -0,0 +1,134 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Хранилище документов в локальном каталоге.
+ * <p>
+ * Файл с хешем {@code abcd...} лежит в {@code <root>/ab/abcd...}. Временные файлы создаются в {@code <root>/tmp},
+ * на той же файловой системе, поэтому публикация выполняется атомарным переименованием: читатель видит либо
+ * прежний файл, либо новый целиком. Перед переименованием данные сбрасываются на диск.
+ */
+public class LocalFileSystemDocumentStore implements DocumentStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalFileSystemDocumentStore.class);
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tmp;
+
+    public LocalFileSystemDocumentStore(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmp = this.root.resolve("tmp");
+        Files.createDirectories(tmp);
+    }
+
+    @Override
+    public PendingDocument write(InputStream content) throws IOException {
+        MessageDigest digest = sha256Digest();
+        Path file = Files.createTempFile(tmp, "document-", ".tmp");
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+                size += read;
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new LocalPendingDocument(file, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    @Override
+    public Optional<Resource> find(String sha256) {
+        Path file = path(sha256);
+        return Files.isRegularFile(file) ? Optional.of(new FileSystemResource(file)) : Optional.empty();
+    }
+
+    @Override
+    public boolean delete(String sha256) throws IOException {
+        return Files.deleteIfExists(path(sha256));
+    }
+
+    Path path(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid SHA-256: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    private final class LocalPendingDocument implements PendingDocument {
+
+        private final Path file;
+        private final String sha256;
+        private final long size;
+        private boolean published;
+
+        private LocalPendingDocument(Path file, String sha256, long size) {
+            this.file = file;
+            this.sha256 = sha256;
+            this.size = size;
+        }
+
+        @Override
+        public String sha256() {
+            return sha256;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void publish() throws IOException {
+            Path target = path(sha256);
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            published = true;
+            LOG.debug("Опубликован документ {} ({} байт)", sha256, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!published) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
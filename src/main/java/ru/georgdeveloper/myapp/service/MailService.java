@@ -5,6 +5,7 @@ package ru.georgdeveloper.myapp.service;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +18,9 @@ import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.service.dto.EventReminderDTO;
+import ru.georgdeveloper.myapp.service.dto.OverdueTaskNoticeDTO;
+import ru.georgdeveloper.myapp.service.dto.TrainingExpiryNoticeDTO;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -197,4 +201,77 @@ public class MailService {
         LOG.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
     }
+
+    /**
+     * Асинхронно отправляет владельцу команды сводное письмо о приближающихся сроках инструктажей.
+     *
+     * @param user владелец команды
+     * @param notices строки письма (не более ограничения сканера)
+     * @param total общее количество найденных инструктажей, включая не попавшие в письмо
+     */
+    @Async
+    public void sendTrainingExpiryDigest(User user, List<TrainingExpiryNoticeDTO> notices, int total) {
+        LOG.debug("Sending training expiry digest with {} notices to '{}'", total, user.getEmail());
+        if (user.getEmail() == null) {
+            LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return;
+        }
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        context.setVariable("notices", notices);
+        context.setVariable("omitted", total - notices.size());
+        String content = templateEngine.process("mail/trainingExpiryDigest", context);
+        String subject = messageSource.getMessage("email.trainingExpiry.title", new Object[] { total }, locale);
+        sendEmailSync(user.getEmail(), subject, content, false, true);
+    }
+
+    /**
+     * Асинхронно отправляет владельцу команды сводное письмо о задачах, отмеченных просроченными.
+     *
+     * @param user владелец команды
+     * @param notices строки письма (не более ограничения обхода)
+     * @param total общее количество отмеченных задач, включая не попавшие в письмо
+     */
+    @Async
+    public void sendOverdueTaskDigest(User user, List<OverdueTaskNoticeDTO> notices, int total) {
+        LOG.debug("Sending overdue task digest with {} notices to '{}'", total, user.getEmail());
+        if (user.getEmail() == null) {
+            LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return;
+        }
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        context.setVariable("notices", notices);
+        context.setVariable("omitted", total - notices.size());
+        String content = templateEngine.process("mail/overdueTaskDigest", context);
+        String subject = messageSource.getMessage("email.overdueTasks.title", new Object[] { total }, locale);
+        sendEmailSync(user.getEmail(), subject, content, false, true);
+    }
+
+    /**
+     * Асинхронно отправляет пользователю напоминание о встрече, прочем событии или сроке задачи.
+     *
+     * @param user получатель
+     * @param reminder напоминание
+     */
+    @Async
+    public void sendEventReminder(User user, EventReminderDTO reminder) {
+        LOG.debug("Sending {} reminder to '{}'", reminder.getKind(), user.getEmail());
+        if (user.getEmail() == null) {
+            LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return;
+        }
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        context.setVariable("reminder", reminder);
+        String content = templateEngine.process("mail/eventReminder", context);
+        String subject = messageSource.getMessage("email.reminder.title", new Object[] { reminder.getTitle() }, locale);
+        sendEmailSync(user.getEmail(), subject, content, false, true);
+    }
 }
@@ -0,0 +1,372 @@
+package ru.georgdeveloper.myapp.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.repository.CalendarMeetingView;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+
+/**
+ * Индекс занятости помещений в памяти: помещение -> интервальное дерево встреч.
+ * <p>
+ * Индекс охватывает встречи на скользящем горизонте от вчерашнего дня на {@link #HORIZON_DAYS} дней вперед,
+ * строится при старте приложения и сдвигается каждую ночь. Создание, изменение и удаление встреч применяются
+ * после коммита транзакции. Проверка пересечений в пределах горизонта не обращается к БД, за его пределами
+ * встречи помещения читаются из БД по индексу дат.
+ * <p>
+ * Встреча занимает помещение с времени начала до времени окончания. Встреча без времени окончания
+ * занимает {@link #DEFAULT_DURATION_MINUTES} минут, без времени начала — весь день.
+ * Помещения сравниваются без учета регистра и крайних пробелов; встречи без помещения не учитываются.
+ */
+@Service
+public class MeetingConflictIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeetingConflictIndex.class);
+
+    // Название метрики проверок пересечений
+    public static final String LOOKUPS_METER_NAME = "meeting.conflict.lookups";
+
+    // Название метрики времени перестройки индекса
+    public static final String REBUILD_METER_NAME = "meeting.conflict.index.rebuild";
+
+    // Название метрики количества встреч в индексе
+    public static final String MEETINGS_METER_NAME = "meeting.conflict.index.meetings";
+
+    // Название тега источника проверки: index или database
+    public static final String LOOKUPS_METER_SOURCE_DIMENSION = "source";
+
+    // Горизонт индекса в днях после текущей даты
+    static final int HORIZON_DAYS = 366;
+
+    // Продолжительность встречи без времени окончания
+    static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private final MeetingRepository meetingRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Counter indexCounter; // Проверка по индексу
+    private final Counter databaseCounter; // Проверка за пределами горизонта по БД
+    private final Timer rebuildTimer;
+
+    // Блокировка для изменений индекса; чтение выполняется без блокировки
+    private final Object writeLock = new Object();
+
+    private volatile State state = new State(LocalDate.MIN, LocalDate.MIN);
+
+    public MeetingConflictIndex(
+        MeetingRepository meetingRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry registry
+    ) {
+        this.meetingRepository = meetingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexCounter = lookupsCounterForSourceBuilder("index").register(registry);
+        this.databaseCounter = lookupsCounterForSourceBuilder("database").register(registry);
+        this.rebuildTimer = Timer.builder(REBUILD_METER_NAME)
+            .description("Time spent rebuilding the meeting conflict index.")
+            .register(registry);
+        Gauge.builder(MEETINGS_METER_NAME, this, index -> index.state.slots.size())
+            .description("Number of meetings held in the meeting conflict index.")
+            .register(registry);
+    }
+
+    private Counter.Builder lookupsCounterForSourceBuilder(String source) {
+        return Counter.builder(LOOKUPS_METER_NAME)
+            .description("Meeting conflict lookups by source.")
+            .tag(LOOKUPS_METER_SOURCE_DIMENSION, source);
+    }
+
+    /**
+     * Строит индекс после запуска приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Сдвигает горизонт индекса на новый день.
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Полностью перестраивает индекс одним чтением встреч горизонта в порядке индекса (event_date, start_time, id).
+     * Изменения, закоммиченные во время перестройки, применяются после нее.
+     */
+    public void rebuild() {
+        rebuildTimer.record(() -> {
+            LocalDate from = LocalDate.now().minusDays(1);
+            LocalDate to = from.plusDays(HORIZON_DAYS + 1L);
+            synchronized (writeLock) {
+                State rebuilt = new State(from, to);
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<CalendarMeetingView> meetings = meetingRepository.streamCalendarMeetings(from, to)) {
+                        meetings.map(MeetingConflictIndex::toConflict).forEach(rebuilt::put);
+                    }
+                });
+                state = rebuilt;
+                LOG.debug("Индекс занятости помещений перестроен: {} встреч с {} по {}", rebuilt.slots.size(), from, to);
+            }
+        });
+    }
+
+    /**
+     * Блокирует помещение встречи до конца текущей транзакции и находит пересекающиеся с ней встречи по БД.
+     * Индекс обновляется только после коммита и может не видеть встречу, сохраненную в только что
+     * закоммиченной транзакции, поэтому при сохранении встречи проверка выполняется этим методом
+     * в той же транзакции, что и сохранение.
+     *
+     * @param meeting проверяемая встреча
+     * @return пересекающиеся встречи в порядке начала; пустой список, если у встречи нет даты или помещения
+     */
+    public List<Conflict> lockRoomAndFindConflicts(Meeting meeting) {
+        String key = normalize(meeting.getLocation());
+        if (key == null || meeting.getEventDate() == null) {
+            return List.of();
+        }
+        meetingRepository.lockRoom(key);
+        Conflict candidate = toConflict(meeting);
+        databaseCounter.increment();
+        return findConflictsInDatabase(key, candidate.start(), candidate.end(), meeting.getId());
+    }
+
+    /**
+     * Находит встречи в помещении, которые пересекаются с отрезком времени {@code [from, to)}.
+     *
+     * @param location помещение
+     * @param from начало отрезка
+     * @param to конец отрезка
+     * @param excludeId id встречи, которую не нужно учитывать, или {@code null}
+     * @return пересекающиеся встречи в порядке начала
+     */
+    public List<Conflict> findConflicts(String location, LocalDateTime from, LocalDateTime to, Long excludeId) {
+        String key = normalize(location);
+        if (key == null || !to.isAfter(from)) {
+            return List.of();
+        }
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        List<Conflict> conflicts = new ArrayList<>();
+        // Встреча заканчивается не позже следующих суток после своей даты
+        LocalDate firstDate = from.toLocalDate().minusDays(1);
+        LocalDate lastDate = to.toLocalDate();
+        State current = state;
+        if (!firstDate.isBefore(current.from) && !lastDate.isAfter(current.to)) {
+            indexCounter.increment();
+            IntervalTree<Conflict> tree = current.trees.get(key);
+            if (tree != null) {
+                tree.forEachOverlapping(start, end, conflict -> {
+                    if (!Objects.equals(conflict.id(), excludeId)) {
+                        conflicts.add(conflict);
+                    }
+                });
+            }
+            return conflicts;
+        }
+        databaseCounter.increment();
+        return findConflictsInDatabase(key, from, to, excludeId);
+    }
+
+    private List<Conflict> findConflictsInDatabase(String key, LocalDateTime from, LocalDateTime to, Long excludeId) {
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        List<Conflict> conflicts = new ArrayList<>();
+        // Встреча заканчивается не позже следующих суток после своей даты
+        List<CalendarMeetingView> meetings = meetingRepository.findCalendarMeetingsAtLocation(
+            key,
+            from.toLocalDate().minusDays(1),
+            to.toLocalDate()
+        );
+        for (CalendarMeetingView view : meetings) {
+            Conflict conflict = toConflict(view);
+            if (conflict.startMinutes() < end && conflict.endMinutes() > start && !Objects.equals(conflict.id(), excludeId)) {
+                conflicts.add(conflict);
+            }
+        }
+        conflicts.sort((a, b) -> Long.compare(a.startMinutes(), b.startMinutes()));
+        return conflicts;
+    }
+
+    /**
+     * Добавляет или обновляет встречу в индексе после коммита текущей транзакции.
+     *
+     * @param meeting сохраненная встреча
+     */
+    public void updateAfterCommit(Meeting meeting) {
+        Conflict conflict = toConflict(meeting);
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                state.put(conflict);
+            }
+        });
+    }
+
+    /**
+     * Удаляет встречу из индекса после коммита текущей транзакции.
+     *
+     * @param id id удаленной встречи
+     */
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                state.remove(id);
+            }
+        });
+    }
+
+    private static Conflict toConflict(Meeting meeting) {
+        return new Conflict(
+            meeting.getId(),
+            meeting.getTitle(),
+            meeting.getLocation(),
+            meeting.getEventDate(),
+            meeting.getStartTime(),
+            meeting.getEndTime()
+        );
+    }
+
+    private static Conflict toConflict(CalendarMeetingView view) {
+        return new Conflict(view.getId(), view.getTitle(), view.getLocation(), view.getEventDate(), view.getStartTime(), view.getEndTime());
+    }
+
+    private static String normalize(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * Встреча, занимающая помещение.
+     *
+     * @param id id встречи
+     * @param title название
+     * @param location помещение
+     * @param eventDate дата
+     * @param startTime время начала
+     * @param endTime время окончания
+     */
+    public record Conflict(
+        Long id,
+        String title,
+        String location,
+        LocalDate eventDate,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm") LocalTime startTime,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm") LocalTime endTime
+    ) {
+        LocalDateTime start() {
+            return eventDate.atTime(startTime != null ? startTime : LocalTime.MIDNIGHT);
+        }
+
+        LocalDateTime end() {
+            if (startTime == null) {
+                return eventDate.plusDays(1).atStartOfDay();
+            }
+            if (endTime == null || !endTime.isAfter(startTime)) {
+                return start().plusMinutes(DEFAULT_DURATION_MINUTES);
+            }
+            return eventDate.atTime(endTime);
+        }
+
+        long startMinutes() {
+            return toMinutes(start());
+        }
+
+        long endMinutes() {
+            return toMinutes(end());
+        }
+    }
+
+    /**
+     * Место встречи в индексе, по которому ее можно удалить из дерева.
+     */
+    private record Slot(String location, long start) {}
+
+    /**
+     * Состояние индекса для горизонта {@code [from, to]}. Изменяется только под блокировкой записи,
+     * деревья неизменяемы и заменяются целиком.
+     */
+    private static final class State {
+
+        final LocalDate from;
+        final LocalDate to;
+        final Map<String, IntervalTree<Conflict>> trees = new ConcurrentHashMap<>();
+        final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+        State(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void put(Conflict conflict) {
+            remove(conflict.id());
+            String key = normalize(conflict.location());
+            if (key == null || conflict.eventDate() == null || conflict.eventDate().isBefore(from) || conflict.eventDate().isAfter(to)) {
+                return;
+            }
+            long start = conflict.startMinutes();
+            trees.compute(key, (location, tree) ->
+                (tree != null ? tree : IntervalTree.<Conflict>empty()).insert(start, conflict.endMinutes(), conflict.id(), conflict)
+            );
+            slots.put(conflict.id(), new Slot(key, start));
+        }
+
+        void remove(Long id) {
+            Slot slot = slots.remove(id);
+            if (slot != null) {
+                trees.computeIfPresent(slot.location(), (location, tree) -> {
+                    IntervalTree<Conflict> removed = tree.remove(slot.start(), id);
+                    return removed.size() == 0 ? null : removed;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.georgdeveloper.myapp.service;
+
+/**
+ * Помещение встречи в это время занято другой встречей.
+ */
+public class MeetingRoomConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient MeetingConflictIndex.Conflict conflict;
+
+    public MeetingRoomConflictException(MeetingConflictIndex.Conflict conflict) {
+        super("Помещение в это время занято встречей: " + conflict.title());
+        this.conflict = conflict;
+    }
+
+    /**
+     * Первая по времени встреча, с которой пересекается сохраняемая.
+     */
+    public MeetingConflictIndex.Conflict getConflict() {
+        return conflict;
+    }
+}
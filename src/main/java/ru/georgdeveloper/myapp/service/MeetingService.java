@@ -0,0 +1,33 @@
+package ru.georgdeveloper.myapp.service;
+
+import ru.georgdeveloper.myapp.domain.Meeting;
+
+/**
+ * Интерфейс сервиса для управления {@link ru.georgdeveloper.myapp.domain.Meeting}.
+ */
+public interface MeetingService {
+    /**
+     * Сохранить новую встречу; организатором становится текущий пользователь.
+     *
+     * @param meeting сохраняемая встреча.
+     * @return сохраненная встреча.
+     * @throws MeetingRoomConflictException если помещение в это время занято
+     */
+    Meeting save(Meeting meeting);
+
+    /**
+     * Обновить встречу; организатор не меняется.
+     *
+     * @param meeting обновляемая встреча.
+     * @return обновленная встреча.
+     * @throws MeetingRoomConflictException если помещение в это время занято
+     */
+    Meeting update(Meeting meeting);
+
+    /**
+     * Удалить встречу.
+     *
+     * @param id идентификатор встречи.
+     */
+    void delete(Long id);
+}
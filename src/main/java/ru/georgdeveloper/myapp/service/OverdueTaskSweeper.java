@@ -0,0 +1,224 @@
+package ru.georgdeveloper.myapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.OverdueTaskView;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TeamAccessView;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+import ru.georgdeveloper.myapp.service.dto.OverdueTaskNoticeDTO;
+
+/**
+ * Ночной обход задач с прошедшим плановым сроком.
+ * <p>
+ * Обход читает незавершенные задачи без отметки {@code overdue_since} со сроком раньше текущей даты
+ * порциями по частичному индексу (planned_completion_date, id) и отмечает каждую порцию одним UPDATE
+ * в отдельной транзакции. Письма получают владельцы команд исполнителей, по одному письму на владельца
+ * за запуск и только о задачах, которые отметил этот запуск, поэтому повторный запуск ничего не меняет и не рассылает.
+ * <p>
+ * Отметки порций фиксируются до передачи писем в {@link MailService}: после перезапуска уже отмеченные задачи
+ * не обходятся повторно, а обход продолжается с оставшихся. Задача, которую завершили или перенесли на будущее,
+ * теряет отметку в {@link TaskService} и снова попадет в обход, если срок пройдет еще раз.
+ */
+@Service
+public class OverdueTaskSweeper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverdueTaskSweeper.class);
+
+    // Названия метрик обхода
+    public static final String SWEEP_METER_NAME = "task.overdue.sweep";
+    public static final String PROCESSED_METER_NAME = "task.overdue.sweep.processed";
+    public static final String UPDATED_METER_NAME = "task.overdue.sweep.updated";
+
+    static final int CHUNK_SIZE = 500;
+
+    static final int MAX_NOTICES_PER_DIGEST = 200;
+
+    // Начало курсора: раньше любого реального срока
+    private static final LocalDate CURSOR_START = LocalDate.of(1, 1, 1);
+
+    private final TaskRepository taskRepository;
+    private final UserTeamAccessRepository userTeamAccessRepository;
+    private final UserRepository userRepository;
+    private final MailService mailService;
+    private final TransactionTemplate chunkTransaction;
+
+    private final Timer sweepTimer;
+    private final Counter processedCounter;
+    private final Counter updatedCounter;
+
+    public OverdueTaskSweeper(
+        TaskRepository taskRepository,
+        UserTeamAccessRepository userTeamAccessRepository,
+        UserRepository userRepository,
+        MailService mailService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.taskRepository = taskRepository;
+        this.userTeamAccessRepository = userTeamAccessRepository;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.sweepTimer = Timer.builder(SWEEP_METER_NAME).description("Time spent flagging overdue tasks.").register(meterRegistry);
+        this.processedCounter = Counter.builder(PROCESSED_METER_NAME)
+            .description("Overdue task candidates read by the sweep.")
+            .register(meterRegistry);
+        this.updatedCounter = Counter.builder(UPDATED_METER_NAME)
+            .description("Tasks flagged as overdue by the sweep.")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Запускает обход каждый день в 00:30.
+     */
+    @Scheduled(cron = "0 30 0 * * ?")
+    public void scheduledSweep() {
+        sweep(LocalDate.now());
+    }
+
+    /**
+     * Отмечает просроченными незавершенные задачи со сроком раньше {@code today}
+     * и отправляет по одному письму каждому владельцу их команд.
+     *
+     * @param today текущая дата
+     * @return итоги обхода
+     */
+    public synchronized SweepResult sweep(LocalDate today) {
+        return sweepTimer.record(() -> doSweep(today));
+    }
+
+    private SweepResult doSweep(LocalDate today) {
+        LOG.debug("Обход просроченных задач со сроком до {}", today);
+        Digests digests = new Digests();
+        Pageable chunk = PageRequest.ofSize(CHUNK_SIZE);
+        LocalDate afterDate = CURSOR_START;
+        long afterId = Long.MAX_VALUE;
+        int processed = 0;
+        List<OverdueTaskView> rows;
+        do {
+            LocalDate chunkAfterDate = afterDate;
+            long chunkAfterId = afterId;
+            rows = chunkTransaction.execute(status -> {
+                List<OverdueTaskView> candidates = taskRepository.findOverdueCandidatesAfter(today, chunkAfterDate, chunkAfterId, chunk);
+                if (!candidates.isEmpty()) {
+                    List<Long> ids = candidates.stream().map(OverdueTaskView::getId).toList();
+                    Set<Long> flagged = new HashSet<>(taskRepository.markOverdue(ids, today));
+                    List<OverdueTaskView> notices = candidates.stream().filter(row -> flagged.contains(row.getId())).toList();
+                    digests.loadOwners(notices.stream().map(OverdueTaskView::getTeamId).toList());
+                    notices.forEach(digests::add);
+                }
+                return candidates;
+            });
+            processed += rows.size();
+            if (!rows.isEmpty()) {
+                OverdueTaskView last = rows.get(rows.size() - 1);
+                afterDate = last.getPlannedCompletionDate();
+                afterId = last.getId();
+            }
+        } while (rows.size() == CHUNK_SIZE);
+        int updated = digests.flagged;
+        processedCounter.increment(processed);
+        updatedCounter.increment(updated);
+
+        int sent = 0;
+        for (User user : userRepository.findAllById(digests.byUser.keySet())) {
+            Digest digest = digests.byUser.get(user.getId());
+            mailService.sendOverdueTaskDigest(user, digest.notices, digest.total);
+            sent++;
+        }
+        LOG.info("Обход просроченных задач до {}: прочитано {}, отмечено {}, писем {}", today, processed, updated, sent);
+        return new SweepResult(processed, updated, sent);
+    }
+
+    /**
+     * Итоги обхода.
+     *
+     * @param processed прочитано задач-кандидатов
+     * @param updated отмечено просроченными
+     * @param notifications отправлено писем владельцам команд
+     */
+    public record SweepResult(int processed, int updated, int notifications) {}
+
+    /**
+     * Письма одного запуска: владельцы команд и строки писем по владельцам.
+     */
+    private final class Digests {
+
+        // Владельцы команд, уже встреченных в этом запуске
+        private final Map<Long, List<Long>> ownersByTeam = new HashMap<>();
+
+        private final Map<Long, Digest> byUser = new LinkedHashMap<>();
+
+        // Количество отмеченных задач, в том числе без команды
+        private int flagged;
+
+        void loadOwners(List<Long> teamIds) {
+            Set<Long> missing = new HashSet<>();
+            for (Long teamId : teamIds) {
+                if (teamId != null && !ownersByTeam.containsKey(teamId)) {
+                    missing.add(teamId);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            missing.forEach(teamId -> ownersByTeam.put(teamId, new ArrayList<>()));
+            for (TeamAccessView access : userTeamAccessRepository.findTeamAccessByTeamIdsAndAccessLevel(missing, AccessLevel.OWNER)) {
+                ownersByTeam.get(access.getTeamId()).add(access.getUserId());
+            }
+        }
+
+        void add(OverdueTaskView row) {
+            flagged++;
+            List<Long> owners = row.getTeamId() != null ? ownersByTeam.getOrDefault(row.getTeamId(), List.of()) : List.of();
+            if (owners.isEmpty()) {
+                return;
+            }
+            String employee = row.getLastName() + " " + row.getFirstName();
+            OverdueTaskNoticeDTO notice = new OverdueTaskNoticeDTO(
+                row.getTaskName(),
+                employee,
+                row.getTeamName(),
+                row.getPlannedCompletionDate()
+            );
+            for (Long userId : owners) {
+                byUser.computeIfAbsent(userId, id -> new Digest()).add(notice);
+            }
+        }
+    }
+
+    private static final class Digest {
+
+        private final List<OverdueTaskNoticeDTO> notices = new ArrayList<>();
+
+        private int total;
+
+        void add(OverdueTaskNoticeDTO notice) {
+            total++;
+            if (notices.size() < MAX_NOTICES_PER_DIGEST) {
+                notices.add(notice);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Поток, проверяющий сигнатуру PDF ({@code %PDF-}) в первых прочитанных байтах.
+ * <p>
+ * Проверка выполняется по мере чтения, без буферизации и повторного прохода: поток можно передать прямо
+ * в {@link DocumentStore#write(InputStream)}, который в том же проходе считает хеш и пишет файл на диск.
+ * Если сигнатура не совпала или поток закончился раньше нее, чтение завершается {@link InvalidPdfFileException}.
+ */
+public class PdfSignatureInputStream extends FilterInputStream {
+
+    private static final byte[] SIGNATURE = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    // Сколько байт сигнатуры уже проверено
+    private int checked;
+
+    public PdfSignatureInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            checkComplete();
+        } else if (checked < SIGNATURE.length) {
+            check((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read == -1) {
+            checkComplete();
+        }
+        for (int i = 0; i < read && checked < SIGNATURE.length; i++) {
+            check(b[off + i]);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Пропуск в обход проверки возможен только после сигнатуры
+        if (n > 0 && checked < SIGNATURE.length) {
+            return read() == -1 ? 0 : 1;
+        }
+        return super.skip(n);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+        // Возврат назад позволил бы прочитать сигнатуру повторно
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void check(byte b) {
+        if (b != SIGNATURE[checked]) {
+            throw new InvalidPdfFileException();
+        }
+        checked++;
+    }
+
+    private void checkComplete() {
+        if (checked < SIGNATURE.length) {
+            throw new InvalidPdfFileException();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package ru.georgdeveloper.myapp.service;
 
+import java.io.InputStream;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 
 /**
  * Сервисный интерфейс для управления сущностью {@link ProcedureDocument}.
@@ -55,4 +57,33 @@ public interface ProcedureDocumentService {
      * @param id ID сущности для удаления.
      */
     void delete(Long id);
+
+    /**
+     * Загружает PDF-файл документа вместо текущего. Содержимое сохраняется в {@link DocumentStore},
+     * ссылка на прежнее содержимое освобождается.
+     *
+     * @param id идентификатор документа.
+     * @param fileName имя файла.
+     * @param contentType MIME-тип файла.
+     * @param content содержимое файла, поток не закрывается.
+     * @return сущность с обновленными метаданными файла или пустой Optional, если документ не найден.
+     * @throws InvalidPdfFileException если содержимое не начинается с сигнатуры PDF.
+     */
+    Optional<ProcedureDocument> attachPdfFile(Long id, String fileName, String contentType, InputStream content);
+
+    /**
+     * Удаляет PDF-файл документа и освобождает ссылку на его содержимое.
+     *
+     * @param id идентификатор документа.
+     * @return сущность без файла или пустой Optional, если документ не найден.
+     */
+    Optional<ProcedureDocument> removePdfFile(Long id);
+
+    /**
+     * Читает метаданные PDF-файла документа; содержимое выдает {@link DocumentContentService#find(String)}.
+     *
+     * @param id идентификатор документа.
+     * @return метаданные файла или пустой Optional, если документ не найден или файл не загружен.
+     */
+    Optional<PdfFileView> findPdfFile(Long id);
 }
@@ -0,0 +1,458 @@
+package ru.georgdeveloper.myapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.config.ApplicationProperties;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.domain.OtherEvent;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.repository.CalendarMeetingView;
+import ru.georgdeveloper.myapp.repository.CalendarOtherEventView;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.repository.OtherEventRepository;
+import ru.georgdeveloper.myapp.repository.TaskDeadlineView;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+import ru.georgdeveloper.myapp.service.dto.EventReminderDTO;
+
+/**
+ * Напоминания о встречах, прочих событиях и сроках задач на иерархическом колесе таймеров с тактом в минуту.
+ * <p>
+ * При старте приложения и каждую ночь в колесо загружаются напоминания на ближайшие
+ * {@code application.reminders.horizon-days} дней, изменения событий и задач применяются после коммита.
+ * Каждую минуту колесо продвигается без обращения к БД; сработавшие напоминания передаются в {@link MailService}.
+ * <p>
+ * О встрече или событии напоминают за {@code lead-minutes} минут до начала их организатору;
+ * о событии без времени начала — в {@code day-start} в день события. У встреч и событий нет участников
+ * и команды, поэтому о записях без организатора или с неактивным организатором не напоминают.
+ * О сроке задачи напоминают в {@code day-start} в день срока активным владельцам команды исполнителя,
+ * если к этому времени задача не завершена; владельцы читаются и получают письма страницами.
+ */
+@Service
+public class ReminderScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    // Название метрики количества ожидающих напоминаний
+    public static final String PENDING_METER_NAME = "reminder.scheduler.pending";
+
+    // Название метрики опоздания срабатывания относительно времени напоминания
+    public static final String LATENESS_METER_NAME = "reminder.scheduler.lateness";
+
+    // Название метрики сработавших напоминаний
+    public static final String FIRED_METER_NAME = "reminder.scheduler.fired";
+
+    // Название тега вида напоминания: meeting, other_event или task
+    public static final String FIRED_METER_TYPE_DIMENSION = "type";
+
+    // Размер страницы получателей напоминания о сроке задачи
+    static final int RECIPIENTS_PAGE_SIZE = 100;
+
+    /**
+     * Вид напоминания.
+     */
+    public enum Type {
+        MEETING("meeting"),
+        OTHER_EVENT("otherEvent"),
+        TASK("task");
+
+        private final String kind;
+
+        Type(String kind) {
+            this.kind = kind;
+        }
+    }
+
+    private final MeetingRepository meetingRepository;
+    private final OtherEventRepository otherEventRepository;
+    private final TaskRepository taskRepository;
+    private final UserTeamAccessRepository userTeamAccessRepository;
+    private final UserRepository userRepository;
+    private final MailService mailService;
+    private final ApplicationProperties.Reminders settings;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Timer latenessTimer;
+    private final Map<Type, Counter> firedCounters = new EnumMap<>(Type.class);
+
+    // Блокировка колеса и горизонта
+    private final Object lock = new Object();
+
+    private final TimingWheel<Key, Reminder> wheel = new TimingWheel<>(toTick(LocalDateTime.now()));
+
+    // Последний день, напоминания которого загружены в колесо
+    private LocalDate horizonEnd = LocalDate.MIN;
+
+    // Количество ожидающих напоминаний для метрики без блокировки
+    private volatile int pending;
+
+    public ReminderScheduler(
+        MeetingRepository meetingRepository,
+        OtherEventRepository otherEventRepository,
+        TaskRepository taskRepository,
+        UserTeamAccessRepository userTeamAccessRepository,
+        UserRepository userRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry registry
+    ) {
+        this.meetingRepository = meetingRepository;
+        this.otherEventRepository = otherEventRepository;
+        this.taskRepository = taskRepository;
+        this.userTeamAccessRepository = userTeamAccessRepository;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.settings = applicationProperties.getReminders();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.latenessTimer = Timer.builder(LATENESS_METER_NAME)
+            .description("Delay between the reminder time and the moment the reminder fired.")
+            .register(registry);
+        for (Type type : Type.values()) {
+            firedCounters.put(type, firedCounterForTypeBuilder(type).register(registry));
+        }
+        Gauge.builder(PENDING_METER_NAME, this, scheduler -> scheduler.pending)
+            .description("Number of reminders waiting in the timing wheel.")
+            .register(registry);
+    }
+
+    private Counter.Builder firedCounterForTypeBuilder(Type type) {
+        return Counter.builder(FIRED_METER_NAME)
+            .description("Reminders fired by type.")
+            .tag(FIRED_METER_TYPE_DIMENSION, type.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Загружает напоминания после запуска приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (settings.isEnabled()) {
+            reload(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Сдвигает горизонт напоминаний на новый день.
+     */
+    @Scheduled(cron = "0 10 0 * * ?")
+    public void scheduledReload() {
+        if (settings.isEnabled()) {
+            reload(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Продвигает колесо в начале каждой минуты.
+     */
+    @Scheduled(cron = "0 * * * * ?")
+    public void scheduledTick() {
+        if (settings.isEnabled()) {
+            advanceTo(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Заново загружает напоминания с {@code now} до конца горизонта одним чтением встреч, событий и задач
+     * по индексам дат. Напоминания, время которых уже прошло, но которые еще не сработали, сохраняются.
+     * Изменения, закоммиченные во время загрузки, применяются после нее.
+     *
+     * @param now текущее время
+     */
+    public void reload(LocalDateTime now) {
+        LocalDate from = now.toLocalDate();
+        LocalDate to = from.plusDays(settings.getHorizonDays());
+        synchronized (lock) {
+            List<Map.Entry<Key, Reminder>> overdue = new ArrayList<>();
+            wheel.advance(wheel.currentTick(), (key, reminder) -> overdue.add(Map.entry(key, reminder)));
+            wheel.clear();
+            overdue.forEach(entry -> wheel.schedule(entry.getKey(), entry.getValue().remindTick(), entry.getValue()));
+            horizonEnd = to;
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CalendarMeetingView> meetings = meetingRepository.streamCalendarMeetings(from, to)) {
+                    meetings.forEach(view -> put(Type.MEETING, view.getId(), event(Type.MEETING, view, now)));
+                }
+                try (Stream<CalendarOtherEventView> events = otherEventRepository.streamCalendarOtherEvents(from, to)) {
+                    events
+                        .filter(view -> !Boolean.TRUE.equals(view.getCompleted()))
+                        .forEach(view -> put(Type.OTHER_EVENT, view.getId(), event(Type.OTHER_EVENT, view, now)));
+                }
+                try (Stream<TaskDeadlineView> tasks = taskRepository.streamOpenTaskDeadlines(from, to)) {
+                    tasks.forEach(view ->
+                        put(Type.TASK, view.getId(), task(view.getId(), view.getTaskName(), view.getPlannedCompletionDate(), now))
+                    );
+                }
+            });
+            pending = wheel.size();
+            LOG.debug("Напоминания загружены с {} по {}: {}", from, to, pending);
+        }
+    }
+
+    /**
+     * Продвигает колесо до {@code now} и отправляет сработавшие напоминания.
+     *
+     * @param now текущее время
+     * @return количество сработавших напоминаний
+     */
+    public int advanceTo(LocalDateTime now) {
+        List<Reminder> fired = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advance(toTick(now), (key, reminder) -> fired.add(reminder));
+            pending = wheel.size();
+        }
+        for (Reminder reminder : fired) {
+            Duration lateness = Duration.between(reminder.remindAt(), now);
+            latenessTimer.record(lateness.isNegative() ? Duration.ZERO : lateness);
+            firedCounters.get(reminder.type()).increment();
+            try {
+                deliver(reminder);
+            } catch (RuntimeException e) {
+                LOG.warn("Не удалось отправить напоминание {} {}: {}", reminder.type(), reminder.id(), e.getMessage());
+            }
+        }
+        return fired.size();
+    }
+
+    /**
+     * Планирует или переносит напоминание о встрече после коммита текущей транзакции.
+     *
+     * @param meeting сохраненная встреча
+     */
+    public void meetingChangedAfterCommit(Meeting meeting) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Reminder reminder = event(
+            Type.MEETING,
+            meeting.getId(),
+            meeting.getTitle(),
+            meeting.getEventDate(),
+            meeting.getStartTime(),
+            meeting.getLocation(),
+            now
+        );
+        afterCommit(() -> update(Type.MEETING, meeting.getId(), reminder));
+    }
+
+    /**
+     * Планирует или переносит напоминание о прочем событии после коммита текущей транзакции.
+     * О завершенных событиях не напоминают.
+     *
+     * @param event сохраненное событие
+     */
+    public void otherEventChangedAfterCommit(OtherEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Reminder reminder = Boolean.TRUE.equals(event.getCompleted())
+            ? null
+            : event(
+                Type.OTHER_EVENT,
+                event.getId(),
+                event.getTitle(),
+                event.getEventDate(),
+                event.getStartTime(),
+                event.getLocation(),
+                LocalDateTime.now()
+            );
+        afterCommit(() -> update(Type.OTHER_EVENT, event.getId(), reminder));
+    }
+
+    /**
+     * Планирует или переносит напоминание о сроке задачи после коммита текущей транзакции.
+     * О завершенных задачах не напоминают.
+     *
+     * @param task сохраненная задача
+     */
+    public void taskChangedAfterCommit(Task task) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Reminder reminder = task.getStatus() == TaskStatus.DONE
+            ? null
+            : task(task.getId(), task.getTaskName(), task.getPlannedCompletionDate(), LocalDateTime.now());
+        afterCommit(() -> update(Type.TASK, task.getId(), reminder));
+    }
+
+    /**
+     * Отменяет напоминание об удаленных встрече, событии или задаче после коммита текущей транзакции.
+     *
+     * @param type вид напоминания
+     * @param id id удаленной записи
+     */
+    public void cancelAfterCommit(Type type, Long id) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> update(type, id, null));
+    }
+
+    private void update(Type type, Long id, Reminder reminder) {
+        synchronized (lock) {
+            put(type, id, reminder);
+            pending = wheel.size();
+        }
+    }
+
+    // Вызывается под блокировкой
+    private void put(Type type, Long id, Reminder reminder) {
+        Key key = new Key(type, id);
+        if (reminder == null || reminder.startsAt().toLocalDate().isAfter(horizonEnd)) {
+            wheel.cancel(key);
+        } else {
+            wheel.schedule(key, reminder.remindTick(), reminder);
+        }
+    }
+
+    private Reminder event(Type type, CalendarMeetingView view, LocalDateTime now) {
+        return event(type, view.getId(), view.getTitle(), view.getEventDate(), view.getStartTime(), view.getLocation(), now);
+    }
+
+    /**
+     * Напоминание о событии. Если время напоминания уже прошло, напоминание не планируется,
+     * чтобы изменение или перезагрузка не отправили его повторно.
+     */
+    private Reminder event(
+        Type type,
+        Long id,
+        String title,
+        LocalDate date,
+        LocalTime startTime,
+        String location,
+        LocalDateTime now
+    ) {
+        if (date == null) {
+            return null;
+        }
+        LocalDateTime startsAt = date.atTime(startTime != null ? startTime : settings.getDayStart());
+        LocalDateTime remindAt = startTime != null ? startsAt.minusMinutes(settings.getLeadMinutes()) : startsAt;
+        return remindAt.isAfter(now) ? new Reminder(type, id, title, startsAt, startTime == null, location, remindAt) : null;
+    }
+
+    private Reminder task(Long id, String title, LocalDate plannedCompletionDate, LocalDateTime now) {
+        if (plannedCompletionDate == null) {
+            return null;
+        }
+        LocalDateTime remindAt = plannedCompletionDate.atTime(settings.getDayStart());
+        return remindAt.isAfter(now) ? new Reminder(Type.TASK, id, title, remindAt, true, null, remindAt) : null;
+    }
+
+    private void deliver(Reminder reminder) {
+        EventReminderDTO notice = new EventReminderDTO(
+            reminder.type().kind,
+            reminder.title(),
+            reminder.startsAt(),
+            reminder.allDay(),
+            reminder.location()
+        );
+        int sent = 0;
+        Pageable pageable = PageRequest.of(0, RECIPIENTS_PAGE_SIZE);
+        while (pageable.isPaged()) {
+            Pageable page = pageable;
+            Slice<User> recipients = readOnlyTransaction.execute(status -> recipients(reminder, page));
+            if (recipients == null) {
+                break;
+            }
+            for (User user : recipients) {
+                mailService.sendEventReminder(user, notice);
+                sent++;
+            }
+            pageable = recipients.nextPageable();
+        }
+        if (sent == 0) {
+            LOG.debug("Напоминание {} {} пропущено: нет получателей", reminder.type(), reminder.id());
+        } else {
+            LOG.debug("Напоминание {} {} отправлено: {} получателей", reminder.type(), reminder.id(), sent);
+        }
+    }
+
+    private Slice<User> recipients(Reminder reminder, Pageable pageable) {
+        return switch (reminder.type()) {
+            case MEETING -> organizer(meetingRepository.findOrganizerById(reminder.id()));
+            // Событие могло быть завершено после планирования
+            case OTHER_EVENT -> organizer(otherEventRepository.findOpenEventOrganizerById(reminder.id()));
+            // Задача могла быть завершена или передана в другую команду после планирования
+            case TASK -> taskRepository
+                .findOpenTaskTeamId(reminder.id())
+                .map(teamId -> userTeamAccessRepository.findActivatedUsersByTeamIdAndAccessLevel(teamId, AccessLevel.OWNER, pageable))
+                .orElseGet(() -> new SliceImpl<>(List.of()));
+        };
+    }
+
+    private Slice<User> organizer(Optional<String> login) {
+        return new SliceImpl<>(login.flatMap(userRepository::findOneByLogin).filter(User::isActivated).map(List::of).orElse(List.of()));
+    }
+
+    private static long toTick(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            }
+        );
+    }
+
+    private record Key(Type type, Long id) {}
+
+    /**
+     * Запланированное напоминание: постоянный объем памяти независимо от числа получателей,
+     * которые определяются только при срабатывании.
+     */
+    private record Reminder(
+        Type type,
+        Long id,
+        String title,
+        LocalDateTime startsAt,
+        boolean allDay,
+        String location,
+        LocalDateTime remindAt
+    ) {
+        long remindTick() {
+            return toTick(remindAt);
+        }
+    }
+}
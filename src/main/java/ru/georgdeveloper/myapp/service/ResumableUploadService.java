@@ -0,0 +1,449 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.config.ApplicationProperties;
+import ru.georgdeveloper.myapp.domain.JobDescription;
+import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.domain.UploadSession;
+import ru.georgdeveloper.myapp.domain.enumeration.UploadTarget;
+import ru.georgdeveloper.myapp.repository.UploadSessionRepository;
+import ru.georgdeveloper.myapp.security.SecurityUtils;
+import ru.georgdeveloper.myapp.service.UploadSessionException.Reason;
+
+/**
+ * Возобновляемая загрузка PDF-файлов по фрагментам в духе протокола tus.
+ * <p>
+ * Клиент создает сессию с размером файла и его SHA-256, затем отправляет фрагменты с указанием смещения.
+ * Фрагмент пишется в конец временного файла сессии, после записи на диск смещение подтверждается в БД.
+ * Если соединение оборвалось посреди фрагмента, принятые байты сохраняются, и клиент продолжает с них.
+ * Принятые, но не подтвержденные байты (например, после сбоя между записью файла и БД) отбрасываются
+ * следующим фрагментом.
+ * <p>
+ * Транзакция не держится на время приема фрагмента: одновременную запись в одну сессию исключает
+ * отметка активной сессии, а смещение подтверждается условным UPDATE. После последнего фрагмента файл
+ * прикрепляется к сущности обычным сервисом: содержимое копируется в хранилище документов, в том же проходе
+ * проверяются сигнатура PDF и SHA-256. При несовпадении хеша прикрепление откатывается, а сессия удаляется.
+ * <p>
+ * Сессии без активности дольше {@code application.uploads.session-expiry} и временные файлы без сессии
+ * удаляет периодическая очистка.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    static final int PURGE_CHUNK_SIZE = 100;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String PART_SUFFIX = ".part";
+
+    private static final String PDF = "application/pdf";
+
+    // Начало курсора очистки: меньше любого идентификатора
+    private static final String CURSOR_START = "";
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final SafetyInstructionService safetyInstructionService;
+    private final ProcedureDocumentService procedureDocumentService;
+    private final JobDescriptionService jobDescriptionService;
+    private final ApplicationProperties.Uploads properties;
+    private final TransactionTemplate transaction;
+    private final Path directory;
+
+    // Сессии, в которые сейчас пишется фрагмент
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    public ResumableUploadService(
+        UploadSessionRepository uploadSessionRepository,
+        SafetyInstructionService safetyInstructionService,
+        ProcedureDocumentService procedureDocumentService,
+        JobDescriptionService jobDescriptionService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) throws IOException {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.safetyInstructionService = safetyInstructionService;
+        this.procedureDocumentService = procedureDocumentService;
+        this.jobDescriptionService = jobDescriptionService;
+        this.properties = applicationProperties.getUploads();
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.directory = Path.of(properties.getTempDir()).toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Создает сессию загрузки и пустой временный файл.
+     *
+     * @param target тип сущности
+     * @param targetId идентификатор сущности
+     * @param fileName имя файла
+     * @param length полный размер файла в байтах
+     * @param sha256 SHA-256 всего файла в шестнадцатеричном виде
+     * @return новая сессия
+     * @throws UploadSessionException неверные параметры, слишком большой файл или сущность не найдена
+     */
+    public UploadSession create(UploadTarget target, Long targetId, String fileName, long length, String sha256) {
+        if (fileName == null || fileName.isBlank() || fileName.length() > 255) {
+            throw new UploadSessionException(Reason.INVALID_REQUEST, "Не указано имя файла");
+        }
+        if (length <= 0) {
+            throw new UploadSessionException(Reason.INVALID_REQUEST, "Неверный размер файла: " + length);
+        }
+        if (length > properties.getMaxResumableSize().toBytes()) {
+            throw new UploadSessionException(Reason.TOO_LARGE, "Размер файла превышает " + properties.getMaxResumableSize());
+        }
+        String checksum = sha256 == null ? "" : sha256.toLowerCase(Locale.ROOT);
+        if (!SHA256.matcher(checksum).matches()) {
+            throw new UploadSessionException(Reason.INVALID_REQUEST, "Неверная контрольная сумма SHA-256");
+        }
+        if (!targetExists(target, targetId)) {
+            throw new UploadSessionException(Reason.TARGET_NOT_FOUND, "Документ для загрузки не найден");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setTargetType(target);
+        session.setTargetId(targetId);
+        session.setFileName(fileName);
+        session.setUploadLength(length);
+        session.setUploadOffset(0);
+        session.setSha256(checksum);
+        session.setCreatedBy(currentLogin());
+        session.setCreatedDate(Instant.now());
+        session.setLastModifiedDate(session.getCreatedDate());
+        try {
+            Files.createFile(partFile(session.getId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        UploadSession saved = transaction.execute(status -> uploadSessionRepository.save(session));
+        LOG.debug("Создана сессия загрузки {}", saved);
+        return saved;
+    }
+
+    /**
+     * Возвращает сессию текущего пользователя.
+     *
+     * @param id идентификатор сессии
+     * @return сессия или пустой результат, если сессия не найдена или принадлежит другому пользователю
+     */
+    public Optional<UploadSession> find(String id) {
+        return uploadSessionRepository.findOneByIdAndCreatedBy(id, currentLogin());
+    }
+
+    /**
+     * Дописывает фрагмент в файл сессии. Если принят последний байт, файл проверяется и прикрепляется к сущности.
+     *
+     * @param id идентификатор сессии
+     * @param offset смещение фрагмента, должно совпадать с принятым размером
+     * @param chunk содержимое фрагмента, поток не закрывается
+     * @return сессия с новым смещением
+     * @throws UploadSessionException сессия не найдена или занята, смещение не совпало, фрагмент длиннее файла,
+     *     SHA-256 файла не совпал с заявленным
+     * @throws InvalidPdfFileException файл не является PDF-документом; сессия удаляется
+     */
+    public UploadSession append(String id, long offset, InputStream chunk) {
+        if (!active.add(id)) {
+            throw new UploadSessionException(Reason.LOCKED, "В сессию загрузки уже пишется фрагмент");
+        }
+        try {
+            UploadSession session = find(id).orElseThrow(() -> notFound(id));
+            if (offset != session.getUploadOffset()) {
+                throw new UploadSessionException(
+                    Reason.OFFSET_MISMATCH,
+                    "Смещение " + offset + " не совпадает с принятым размером " + session.getUploadOffset()
+                );
+            }
+            long written = write(session, chunk);
+            if (written > 0) {
+                Instant now = Instant.now();
+                long newOffset = offset + written;
+                Integer updated = transaction.execute(status -> uploadSessionRepository.updateOffset(id, offset, newOffset, now));
+                if (updated == null || updated == 0) {
+                    throw notFound(id);
+                }
+                session.setUploadOffset(newOffset);
+                session.setLastModifiedDate(now);
+            }
+            if (session.isComplete()) {
+                complete(session);
+            }
+            return session;
+        } finally {
+            active.remove(id);
+        }
+    }
+
+    /**
+     * Отменяет загрузку: удаляет сессию и временный файл.
+     *
+     * @param id идентификатор сессии
+     * @throws UploadSessionException сессия не найдена или в нее сейчас пишется фрагмент
+     */
+    public void cancel(String id) {
+        if (!active.add(id)) {
+            throw new UploadSessionException(Reason.LOCKED, "В сессию загрузки уже пишется фрагмент");
+        }
+        try {
+            UploadSession session = find(id).orElseThrow(() -> notFound(id));
+            discard(session);
+            LOG.debug("Загрузка {} отменена", id);
+        } finally {
+            active.remove(id);
+        }
+    }
+
+    /**
+     * Удаляет брошенные сессии каждый час.
+     */
+    @Scheduled(cron = "0 50 * * * ?")
+    public void scheduledPurge() {
+        purgeExpired();
+    }
+
+    /**
+     * Удаляет сессии без активности дольше {@code application.uploads.session-expiry} вместе с их файлами,
+     * а также временные файлы старше этого срока, для которых нет сессии.
+     *
+     * @return количество удаленных сессий и файлов без сессии
+     */
+    public synchronized int purgeExpired() {
+        Instant before = Instant.now().minus(properties.getSessionExpiry());
+        int purged = 0;
+        String after = CURSOR_START;
+        List<String> ids;
+        do {
+            ids = uploadSessionRepository.findIdsModifiedBefore(before, after, PageRequest.ofSize(PURGE_CHUNK_SIZE));
+            for (String id : ids) {
+                if (active.add(id)) {
+                    try {
+                        Integer deleted = transaction.execute(status -> uploadSessionRepository.deleteIfModifiedBefore(id, before));
+                        if (deleted != null && deleted > 0) {
+                            deletePartFile(id);
+                            purged++;
+                        }
+                    } finally {
+                        active.remove(id);
+                    }
+                }
+            }
+            if (!ids.isEmpty()) {
+                after = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == PURGE_CHUNK_SIZE);
+        purged += purgeOrphanFiles(before);
+        if (purged > 0) {
+            LOG.info("Удалено брошенных загрузок: {}", purged);
+        }
+        return purged;
+    }
+
+    Path partFile(String id) {
+        return directory.resolve(UUID.fromString(id) + PART_SUFFIX);
+    }
+
+    /**
+     * Пишет фрагмент с принятого смещения. Байты после смещения остались от неподтвержденной записи и отбрасываются.
+     * Если поток оборвался, принятые байты остаются в файле и подтверждаются.
+     *
+     * @return количество записанных байт
+     */
+    private long write(UploadSession session, InputStream chunk) {
+        long remaining = session.getUploadLength() - session.getUploadOffset();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(partFile(session.getId()), StandardOpenOption.WRITE)) {
+            if (channel.size() < session.getUploadOffset()) {
+                LOG.error("Временный файл загрузки {} короче подтвержденного смещения", session.getId());
+                throw notFound(session.getId());
+            }
+            channel.truncate(session.getUploadOffset());
+            channel.position(session.getUploadOffset());
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = readChunk(session, chunk, buffer)) != -1) {
+                if (read > remaining - written) {
+                    throw new UploadSessionException(Reason.INVALID_REQUEST, "Фрагмент выходит за размер файла");
+                }
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                written += read;
+            }
+            channel.force(false);
+        } catch (NoSuchFileException e) {
+            throw notFound(session.getId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    /**
+     * Читает из потока фрагмента; обрыв соединения означает конец фрагмента.
+     */
+    private static int readChunk(UploadSession session, InputStream chunk, byte[] buffer) {
+        try {
+            return chunk.read(buffer);
+        } catch (IOException e) {
+            LOG.debug("Фрагмент загрузки {} прерван: {}", session.getId(), e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Прикрепляет файл к сущности и удаляет сессию в одной транзакции. Строка сессии блокируется,
+     * чтобы повторный запрос не прикрепил файл дважды. При несовпадении SHA-256 или сигнатуры PDF
+     * прикрепление откатывается, а сессия удаляется: клиенту нужно начать загрузку заново.
+     */
+    private void complete(UploadSession session) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                UploadSession locked = uploadSessionRepository.lockById(session.getId()).orElseThrow(() -> notFound(session.getId()));
+                Path file = partFile(locked.getId());
+                try (InputStream content = Files.newInputStream(file)) {
+                    String sha256 = attach(locked, content).orElseThrow(() ->
+                        new UploadSessionException(Reason.TARGET_NOT_FOUND, "Документ для загрузки не найден")
+                    );
+                    if (!sha256.equals(locked.getSha256())) {
+                        throw new UploadSessionException(Reason.CHECKSUM_MISMATCH, "SHA-256 загруженного файла не совпадает с заявленным");
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                uploadSessionRepository.delete(locked);
+                deletePartFileAfterCommit(locked.getId());
+            });
+            LOG.info(
+                "Загрузка {} завершена: файл {} прикреплен к {} {}",
+                session.getId(),
+                session.getFileName(),
+                session.getTargetType(),
+                session.getTargetId()
+            );
+        } catch (InvalidPdfFileException e) {
+            reject(session, e);
+            throw e;
+        } catch (UploadSessionException e) {
+            if (e.getReason() != Reason.NOT_FOUND) {
+                reject(session, e);
+            }
+            throw e;
+        }
+    }
+
+    private void reject(UploadSession session, RuntimeException e) {
+        LOG.warn("Загрузка {} отклонена: {}", session.getId(), e.getMessage());
+        discard(session);
+    }
+
+    private Optional<String> attach(UploadSession session, InputStream content) {
+        Long id = session.getTargetId();
+        String fileName = session.getFileName();
+        return switch (session.getTargetType()) {
+            case SAFETY_INSTRUCTION -> safetyInstructionService
+                .attachPdfFile(id, fileName, PDF, content)
+                .map(SafetyInstruction::getPdfFileSha256);
+            case PROCEDURE_DOCUMENT -> procedureDocumentService
+                .attachPdfFile(id, fileName, PDF, content)
+                .map(ProcedureDocument::getPdfFileSha256);
+            case JOB_DESCRIPTION -> jobDescriptionService.attachPdfFile(id, fileName, PDF, content).map(JobDescription::getPdfFileSha256);
+        };
+    }
+
+    private boolean targetExists(UploadTarget target, Long id) {
+        if (id == null) {
+            return false;
+        }
+        return switch (target) {
+            case SAFETY_INSTRUCTION -> safetyInstructionService.findOne(id).isPresent();
+            case PROCEDURE_DOCUMENT -> procedureDocumentService.findOne(id).isPresent();
+            case JOB_DESCRIPTION -> jobDescriptionService.findOne(id).isPresent();
+        };
+    }
+
+    private void discard(UploadSession session) {
+        transaction.executeWithoutResult(status -> uploadSessionRepository.deleteById(session.getId()));
+        deletePartFile(session.getId());
+    }
+
+    private int purgeOrphanFiles(Instant before) {
+        int purged = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + PART_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.substring(0, name.length() - PART_SUFFIX.length());
+                if (
+                    Files.getLastModifiedTime(file).toInstant().isBefore(before) &&
+                    !active.contains(id) &&
+                    !uploadSessionRepository.existsById(id) &&
+                    Files.deleteIfExists(file)
+                ) {
+                    purged++;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Не удалось очистить каталог загрузок {}: {}", directory, e.getMessage());
+        }
+        return purged;
+    }
+
+    private void deletePartFileAfterCommit(String id) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deletePartFile(id);
+                }
+            }
+        );
+    }
+
+    private void deletePartFile(String id) {
+        try {
+            Files.deleteIfExists(partFile(id));
+        } catch (IOException e) {
+            LOG.warn("Не удалось удалить временный файл загрузки {}: {}", id, e.getMessage());
+        }
+    }
+
+    private static String currentLogin() {
+        return SecurityUtils.getCurrentUserLogin().orElseThrow(() ->
+            new UploadSessionException(Reason.NOT_FOUND, "Пользователь не определен")
+        );
+    }
+
+    private static UploadSessionException notFound(String id) {
+        return new UploadSessionException(Reason.NOT_FOUND, "Сессия загрузки " + id + " не найдена");
+    }
+}
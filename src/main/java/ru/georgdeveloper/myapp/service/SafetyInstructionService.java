@@ -1,9 +1,11 @@
 package ru.georgdeveloper.myapp.service;
 
+import java.io.InputStream;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 
 /**
  * Интерфейс сервиса для управления {@link ru.georgdeveloper.myapp.domain.SafetyInstruction}.
@@ -55,4 +57,33 @@ public interface SafetyInstructionService {
      * @param id идентификатор удаляемой сущности.
      */
     void delete(Long id);
+
+    /**
+     * Загружает PDF-файл инструкции вместо текущего. Содержимое сохраняется в {@link DocumentStore},
+     * ссылка на прежнее содержимое освобождается.
+     *
+     * @param id идентификатор инструкции.
+     * @param fileName имя файла.
+     * @param contentType MIME-тип файла.
+     * @param content содержимое файла, поток не закрывается.
+     * @return сущность с обновленными метаданными файла или пустой Optional, если инструкция не найдена.
+     * @throws InvalidPdfFileException если содержимое не начинается с сигнатуры PDF.
+     */
+    Optional<SafetyInstruction> attachPdfFile(Long id, String fileName, String contentType, InputStream content);
+
+    /**
+     * Удаляет PDF-файл инструкции и освобождает ссылку на его содержимое.
+     *
+     * @param id идентификатор инструкции.
+     * @return сущность без файла или пустой Optional, если инструкция не найдена.
+     */
+    Optional<SafetyInstruction> removePdfFile(Long id);
+
+    /**
+     * Читает метаданные PDF-файла инструкции; содержимое выдает {@link DocumentContentService#find(String)}.
+     *
+     * @param id идентификатор инструкции.
+     * @return метаданные файла или пустой Optional, если инструкция не найдена или файл не загружен.
+     */
+    Optional<PdfFileView> findPdfFile(Long id);
 }
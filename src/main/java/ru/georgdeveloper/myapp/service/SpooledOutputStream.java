@@ -0,0 +1,106 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Поток, который накапливает записанные байты в памяти, а после предела - во временном файле.
+ * <p>
+ * Нужен, чтобы построить ответ внутри транзакции, не держа соединение с БД во время передачи клиенту:
+ * ответ сначала пишется сюда, транзакция завершается, и только затем содержимое копируется в ответ
+ * ({@link #writeTo(OutputStream)}). Закрытие удаляет временный файл.
+ */
+public class SpooledOutputStream extends OutputStream {
+
+    private final int memoryLimit;
+
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+    private Path file;
+
+    private OutputStream fileOut;
+
+    private long size;
+
+    /**
+     * @param memoryLimit сколько байт хранится в памяти до переноса во временный файл
+     */
+    public SpooledOutputStream(int memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        target(1).write(b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        target(len).write(b, off, len);
+        size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileOut != null) {
+            fileOut.flush();
+        }
+    }
+
+    /**
+     * @return количество записанных байт
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return записанные байты или {@code null}, если они не поместились в память
+     */
+    public byte[] toByteArray() {
+        return memory != null ? memory.toByteArray() : null;
+    }
+
+    /**
+     * Копирует записанное содержимое в поток.
+     *
+     * @param out поток назначения, не закрывается
+     * @throws IOException ошибка чтения временного файла или записи в поток
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (memory != null) {
+            memory.writeTo(out);
+            return;
+        }
+        fileOut.flush();
+        Files.copy(file, out);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (fileOut != null) {
+                fileOut.close();
+            }
+        } finally {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private OutputStream target(int len) throws IOException {
+        if (memory != null && memory.size() + len > memoryLimit) {
+            file = Files.createTempFile("spool-", ".tmp");
+            fileOut = new BufferedOutputStream(Files.newOutputStream(file));
+            memory.writeTo(fileOut);
+            memory = null;
+        }
+        return memory != null ? memory : fileOut;
+    }
+}
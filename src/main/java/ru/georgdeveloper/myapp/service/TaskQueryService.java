@@ -0,0 +1,90 @@
+package ru.georgdeveloper.myapp.service;
+
+import jakarta.persistence.criteria.JoinType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.domain.*; // for static metamodels
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.service.criteria.TaskCriteria;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Сервис для поиска задач {@link Task} по критериям из базы данных.
+ * Принимает {@link TaskCriteria}, собирает из него {@link Specification} и возвращает страницу задач.
+ * <p>
+ * Частые сочетания фильтров (статус и срок, исполнитель и статус, статус и приоритет со сроком,
+ * наличие фактической даты завершения) покрыты составными индексами таблицы {@code task}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskQueryService extends QueryService<Task> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskQueryService.class);
+
+    private final TaskRepository taskRepository;
+
+    public TaskQueryService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Возвращает страницу задач, подходящих под критерии.
+     *
+     * @param criteria критерии фильтрации
+     * @param page параметры страницы
+     * @return страница найденных задач
+     */
+    @Transactional(readOnly = true)
+    public Page<Task> findByCriteria(TaskCriteria criteria, Pageable page) {
+        LOG.debug("Поиск задач по критериям: {}, страница: {}", criteria, page);
+        final Specification<Task> specification = createSpecification(criteria);
+        return taskRepository.findAll(specification, page);
+    }
+
+    /**
+     * Считает задачи, подходящие под критерии.
+     *
+     * @param criteria критерии фильтрации
+     * @return количество найденных задач
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(TaskCriteria criteria) {
+        LOG.debug("Подсчет задач по критериям: {}", criteria);
+        final Specification<Task> specification = createSpecification(criteria);
+        return taskRepository.count(specification);
+    }
+
+    /**
+     * Преобразует {@link TaskCriteria} в {@link Specification}.
+     *
+     * @param criteria критерии фильтрации
+     * @return спецификация для запроса задач
+     */
+    protected Specification<Task> createSpecification(TaskCriteria criteria) {
+        Specification<Task> specification = Specification.where(null);
+        if (criteria != null) {
+            specification = Specification.allOf(
+                Boolean.TRUE.equals(criteria.getDistinct()) ? distinct(criteria.getDistinct()) : null,
+                buildRangeSpecification(criteria.getId(), Task_.id),
+                buildStringSpecification(criteria.getTaskName(), Task_.taskName),
+                buildRangeSpecification(criteria.getCreationDate(), Task_.creationDate),
+                buildRangeSpecification(criteria.getPlannedCompletionDate(), Task_.plannedCompletionDate),
+                buildSpecification(criteria.getStatus(), Task_.status),
+                buildSpecification(criteria.getPriority(), Task_.priority),
+                buildRangeSpecification(criteria.getActualCompletionDate(), Task_.actualCompletionDate),
+                // Исполнитель сравнивается по внешнему ключу task.employee_id без соединения с employee
+                buildSpecification(criteria.getEmployeeId(), root -> root.get(Task_.employee).get(Employee_.id)),
+                buildSpecification(criteria.getTeamId(), root ->
+                    root.join(Task_.employee, JoinType.LEFT).get(Employee_.team).get(Team_.id)
+                )
+            );
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,186 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TaskSearchView;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.TaskSearchResultDTO;
+
+/**
+ * Поиск задач по названию и описанию.
+ * <p>
+ * На PostgreSQL используется полнотекстовый поиск по вычисляемой колонке {@code task.search_vector}
+ * с GIN-индексом: слова запроса приводятся к основе в той же конфигурации, что и вектор, результаты
+ * ранжируются функцией ts_rank, фрагменты с подсветкой строит ts_headline. Приложение во всех профилях
+ * работает на PostgreSQL; поиск по подстроке без учета регистра с тем же форматом ответа оставлен как запасной путь
+ * для тестов и переносимости на другие СУБД.
+ * <p>
+ * Тип СУБД определяется один раз при создании сервиса.
+ * <p>
+ * Фрагменты подсветки экранируются как HTML, неэкранированными остаются только теги {@code <mark>}.
+ * <p>
+ * Страницы выбираются курсором (релевантность, id) без OFFSET, поэтому стоимость следующей страницы
+ * не зависит от ее номера.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskSearchService.class);
+
+    static final String MARK_START = "<mark>";
+    static final String MARK_END = "</mark>";
+
+    private final TaskRepository taskRepository;
+
+    private final boolean fullTextSupported;
+
+    public TaskSearchService(TaskRepository taskRepository, DataSource dataSource) {
+        this.taskRepository = taskRepository;
+        this.fullTextSupported = isFullTextSupported(dataSource);
+    }
+
+    /**
+     * Ищет задачи и возвращает страницу в порядке убывания релевантности.
+     *
+     * @param query поисковый запрос (не пустой)
+     * @param cursor курсор из заголовка {@code Link} или {@code null} для первой страницы
+     * @param size размер страницы
+     * @return страница с курсором следующей страницы
+     * @throws IllegalArgumentException если курсор поврежден
+     */
+    public CursorPage<TaskSearchResultDTO> search(String query, String cursor, int size) {
+        LOG.debug("Поиск задач по запросу '{}', курсор {}", query, cursor);
+        Keyset after = Keyset.decode(cursor);
+        return fullTextSupported ? searchFullText(query, after, size) : searchSubstring(query, after, size);
+    }
+
+    CursorPage<TaskSearchResultDTO> searchFullText(String query, Keyset after, int size) {
+        List<TaskSearchView> rows = taskRepository.searchFullText(query, after.score(), after.id(), size + 1);
+        return toPage(rows, size, row -> toDto(row, headline(row.getNameHighlight()), headline(row.getBodyHighlight())));
+    }
+
+    CursorPage<TaskSearchResultDTO> searchSubstring(String query, Keyset after, int size) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        String pattern = "%" + needle.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<TaskSearchView> rows = taskRepository.searchSubstring(pattern, after.score(), after.id(), PageRequest.ofSize(size + 1));
+        Pattern match = Pattern.compile(Pattern.quote(needle), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        return toPage(rows, size, row ->
+            toDto(row, highlight(row.getNameHighlight(), match), highlight(row.getBodyHighlight(), match))
+        );
+    }
+
+    private static CursorPage<TaskSearchResultDTO> toPage(
+        List<TaskSearchView> rows,
+        int size,
+        Function<TaskSearchView, TaskSearchResultDTO> mapper
+    ) {
+        boolean hasMore = rows.size() > size;
+        List<TaskSearchView> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TaskSearchView last = content.get(content.size() - 1);
+            nextCursor = new Keyset(last.getScore(), last.getId()).encode();
+        }
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, null, null);
+    }
+
+    private static TaskSearchResultDTO toDto(TaskSearchView row, String nameHighlight, String bodyHighlight) {
+        return new TaskSearchResultDTO(
+            row.getId(),
+            row.getTaskName(),
+            row.getStatus(),
+            row.getPriority(),
+            row.getPlannedCompletionDate(),
+            row.getScore(),
+            nameHighlight,
+            bodyHighlight
+        );
+    }
+
+    /**
+     * Экранирует фрагмент ts_headline и заменяет метки совпадений тегами {@code <mark>}.
+     */
+    private static String headline(String text) {
+        if (text == null) {
+            return null;
+        }
+        return escape(text).replace(TaskRepository.MARK_START, MARK_START).replace(TaskRepository.MARK_END, MARK_END);
+    }
+
+    private static String highlight(String text, Pattern match) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder();
+        Matcher matcher = match.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            result.append(escape(text.substring(last, matcher.start()))).append(MARK_START);
+            result.append(escape(matcher.group())).append(MARK_END);
+            last = matcher.end();
+        }
+        return result.append(escape(text.substring(last))).toString();
+    }
+
+    private static String escape(String text) {
+        return HtmlUtils.htmlEscape(text, StandardCharsets.UTF_8.name());
+    }
+
+    private static boolean isFullTextSupported(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            LOG.warn("Не удалось определить СУБД, используется поиск по подстроке: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Позиция курсора: релевантность и id последней строки предыдущей страницы.
+     * Первая страница начинается с релевантности выше любой возможной.
+     */
+    record Keyset(float score, long id) {
+        static final Keyset FIRST = new Keyset(Float.MAX_VALUE, 0);
+
+        private static final String SEPARATOR = "|";
+
+        static Keyset decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return FIRST;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = decoded.split("\\" + SEPARATOR);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Malformed cursor");
+                }
+                return new Keyset(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+        }
+
+        String encode() {
+            String raw = Float.toString(score) + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package ru.georgdeveloper.myapp.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.repository.EmployeeTaskCountView;
+import ru.georgdeveloper.myapp.repository.TaskKpiMonthlyRepository;
+import ru.georgdeveloper.myapp.repository.TaskKpiView;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+
+/**
+ * Помесячные показатели выполнения задач по командам и исполнителям: запланировано, завершено,
+ * завершено в срок, просрочено и средняя просрочка в днях.
+ * <p>
+ * Показатели хранятся в таблице {@code task_kpi_monthly} по исполнителю и месяцу планируемой даты завершения
+ * и изменяются приращениями в той же транзакции, что и задача, поэтому график за год читает несколько десятков строк
+ * вместо всей таблицы задач. Команда берется из текущей команды исполнителя при чтении, поэтому перевод
+ * сотрудника в другую команду не требует пересчета. Задачи без исполнителя не учитываются.
+ * <p>
+ * Незавершенные задачи становятся просроченными с течением времени, а не при изменении, поэтому они учитываются
+ * при чтении: за прошедшие месяцы просрочены все незавершенные, за текущий месяц они досчитываются запросом
+ * по диапазону сроков только этого месяца.
+ */
+@Service
+@Transactional
+public class TaskStatsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskStatsService.class);
+
+    // Название метрики времени полного пересчета показателей
+    public static final String REBUILD_METER_NAME = "task.stats.rebuild";
+
+    private final TaskKpiMonthlyRepository taskKpiMonthlyRepository;
+    private final TaskRepository taskRepository;
+
+    private final Timer rebuildTimer;
+
+    public TaskStatsService(TaskKpiMonthlyRepository taskKpiMonthlyRepository, TaskRepository taskRepository, MeterRegistry registry) {
+        this.taskKpiMonthlyRepository = taskKpiMonthlyRepository;
+        this.taskRepository = taskRepository;
+        this.rebuildTimer = Timer.builder(REBUILD_METER_NAME)
+            .description("Time spent rebuilding monthly task completion statistics from the task table.")
+            .register(registry);
+    }
+
+    /**
+     * Применяет изменение задачи к показателям в текущей транзакции: вычитает вклад прежнего состояния
+     * и прибавляет вклад нового.
+     *
+     * @param before состояние до изменения или {@code null} для новой задачи
+     * @param after состояние после изменения или {@code null} для удаленной задачи
+     */
+    public void taskChanged(TaskKpiState before, TaskKpiState after) {
+        Contribution removed = Contribution.of(before);
+        Contribution added = Contribution.of(after);
+        if (removed != null && added != null && removed.sameBucket(added)) {
+            apply(added.minus(removed));
+            return;
+        }
+        if (removed != null) {
+            apply(removed.negate());
+        }
+        if (added != null) {
+            apply(added);
+        }
+    }
+
+    /**
+     * Возвращает показатели по исполнителям за диапазон месяцев в порядке (месяц, команда, исполнитель).
+     *
+     * @param from первый месяц
+     * @param to последний месяц
+     * @param teamId команда или {@code null} для всех команд
+     * @param today текущая дата, относительно которой незавершенные задачи считаются просроченными
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyStats> getMonthlyStats(YearMonth from, YearMonth to, Long teamId, LocalDate today) {
+        LOG.debug("Запрос показателей задач с {} по {}, команда {}", from, to, teamId);
+        YearMonth currentMonth = YearMonth.from(today);
+        List<TaskKpiView> rows = taskKpiMonthlyRepository.findMonthly(from.atDay(1), to.atDay(1), teamId);
+
+        Map<Long, Long> overdueInCurrentMonth = new HashMap<>();
+        if (!currentMonth.isBefore(from) && !currentMonth.isAfter(to)) {
+            for (EmployeeTaskCountView count : taskRepository.countUncompletedByEmployee(currentMonth.atDay(1), today, teamId)) {
+                overdueInCurrentMonth.put(count.getEmployeeId(), count.getTotal());
+            }
+        }
+
+        List<MonthlyStats> result = new ArrayList<>(rows.size());
+        for (TaskKpiView row : rows) {
+            YearMonth month = YearMonth.from(row.getMonthStart());
+            long uncompleted = row.getPlannedCount() - row.getCompletedCount();
+            long overdueUncompleted;
+            if (month.isBefore(currentMonth)) {
+                overdueUncompleted = uncompleted;
+            } else if (month.equals(currentMonth)) {
+                overdueUncompleted = overdueInCurrentMonth.getOrDefault(row.getEmployeeId(), 0L);
+            } else {
+                overdueUncompleted = 0;
+            }
+            result.add(
+                new MonthlyStats(
+                    row.getTeamId(),
+                    row.getEmployeeId(),
+                    row.getFirstName(),
+                    row.getLastName(),
+                    month,
+                    row.getPlannedCount(),
+                    row.getCompletedCount(),
+                    row.getOnTimeCount(),
+                    row.getLateCount() + overdueUncompleted,
+                    row.getLateCount() == 0 ? null : (double) row.getLatenessDaysSum() / row.getLateCount()
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Полностью пересчитывает показатели по таблице задач. Используется для первичного заполнения
+     * и для исправления расхождений от изменений задач в обход сервиса.
+     * Приращения других транзакций на время пересчета блокируются.
+     *
+     * @return количество строк показателей
+     */
+    public int rebuild() {
+        return rebuildTimer.record(() -> {
+            taskKpiMonthlyRepository.lockForRebuild();
+            taskKpiMonthlyRepository.deleteAllRows();
+            int rows = taskKpiMonthlyRepository.insertFromTasks();
+            LOG.info("Показатели выполнения задач пересчитаны: {} строк", rows);
+            return rows;
+        });
+    }
+
+    private void apply(Contribution delta) {
+        if (!delta.isZero()) {
+            taskKpiMonthlyRepository.addDelta(
+                delta.employeeId,
+                delta.monthStart,
+                delta.planned,
+                delta.completed,
+                delta.onTime,
+                delta.late,
+                delta.latenessDays
+            );
+        }
+    }
+
+    /**
+     * Состояние задачи, влияющее на показатели.
+     *
+     * @param employeeId исполнитель или {@code null}
+     * @param plannedCompletionDate планируемая дата завершения
+     * @param actualCompletionDate фактическая дата завершения или {@code null}
+     */
+    public record TaskKpiState(Long employeeId, LocalDate plannedCompletionDate, LocalDate actualCompletionDate) {
+        public static TaskKpiState of(Task task) {
+            return new TaskKpiState(
+                task.getEmployee() != null ? task.getEmployee().getId() : null,
+                task.getPlannedCompletionDate(),
+                task.getActualCompletionDate()
+            );
+        }
+    }
+
+    /**
+     * Показатели одного исполнителя за месяц.
+     *
+     * @param teamId текущая команда исполнителя или {@code null}
+     * @param employeeId исполнитель
+     * @param firstName имя исполнителя
+     * @param lastName фамилия исполнителя
+     * @param month месяц планируемой даты завершения
+     * @param planned задачи со сроком в этом месяце
+     * @param completed завершенные из них
+     * @param onTime завершенные не позже срока
+     * @param overdue завершенные позже срока и незавершенные с прошедшим сроком
+     * @param averageLatenessDays средняя просрочка завершенных позже срока в днях или {@code null}, если таких нет
+     */
+    public record MonthlyStats(
+        Long teamId,
+        Long employeeId,
+        String firstName,
+        String lastName,
+        @JsonFormat(pattern = "yyyy-MM") YearMonth month,
+        long planned,
+        long completed,
+        long onTime,
+        long overdue,
+        Double averageLatenessDays
+    ) {}
+
+    /**
+     * Вклад задачи в строку показателей исполнителя за месяц или разность двух вкладов.
+     */
+    private static final class Contribution {
+
+        final Long employeeId;
+        final LocalDate monthStart;
+        final int planned;
+        final int completed;
+        final int onTime;
+        final int late;
+        final long latenessDays;
+
+        Contribution(Long employeeId, LocalDate monthStart, int planned, int completed, int onTime, int late, long latenessDays) {
+            this.employeeId = employeeId;
+            this.monthStart = monthStart;
+            this.planned = planned;
+            this.completed = completed;
+            this.onTime = onTime;
+            this.late = late;
+            this.latenessDays = latenessDays;
+        }
+
+        static Contribution of(TaskKpiState state) {
+            if (state == null || state.employeeId() == null || state.plannedCompletionDate() == null) {
+                return null;
+            }
+            LocalDate planned = state.plannedCompletionDate();
+            LocalDate actual = state.actualCompletionDate();
+            LocalDate monthStart = planned.withDayOfMonth(1);
+            if (actual == null) {
+                return new Contribution(state.employeeId(), monthStart, 1, 0, 0, 0, 0);
+            }
+            long lateness = ChronoUnit.DAYS.between(planned, actual);
+            return lateness > 0
+                ? new Contribution(state.employeeId(), monthStart, 1, 1, 0, 1, lateness)
+                : new Contribution(state.employeeId(), monthStart, 1, 1, 1, 0, 0);
+        }
+
+        boolean sameBucket(Contribution other) {
+            return employeeId.equals(other.employeeId) && monthStart.equals(other.monthStart);
+        }
+
+        /**
+         * Разность вкладов в строке этого вклада.
+         */
+        Contribution minus(Contribution other) {
+            return new Contribution(
+                employeeId,
+                monthStart,
+                planned - other.planned,
+                completed - other.completed,
+                onTime - other.onTime,
+                late - other.late,
+                latenessDays - other.latenessDays
+            );
+        }
+
+        Contribution negate() {
+            return new Contribution(employeeId, monthStart, -planned, -completed, -onTime, -late, -latenessDays);
+        }
+
+        boolean isZero() {
+            return planned == 0 && completed == 0 && onTime == 0 && late == 0 && latenessDays == 0;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package ru.georgdeveloper.myapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.TeamAccessView;
+import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+
+/**
+ * Индекс доступа пользователей к командам в памяти: логин -> отсортированные массивы id команд.
+ * <p>
+ * Позволяет фильтровать строки по командам пользователя готовым списком {@code team_id IN (...)}
+ * вместо подзапроса к {@code user_team_access} в каждом запросе. Индекс строится при старте приложения,
+ * отсутствующие записи дочитываются из БД по одному логину, а изменения доступа применяются
+ * после коммита транзакции, в которой они сделаны.
+ * <p>
+ * Транзакция на запись может видеть собственные незакоммиченные изменения доступа,
+ * поэтому внутри нее индекс не используется и не заполняется: доступ читается напрямую из БД.
+ */
+@Service
+public class TeamAccessIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TeamAccessIndex.class);
+
+    // Название метрики обращений к индексу
+    public static final String LOOKUPS_METER_NAME = "team.access.index.lookups";
+
+    // Название метрики времени полной перестройки индекса
+    public static final String REBUILD_METER_NAME = "team.access.index.rebuild";
+
+    // Название метрики количества пользователей в индексе
+    public static final String USERS_METER_NAME = "team.access.index.users";
+
+    // Название тега результата обращения: hit, miss или bypass
+    public static final String LOOKUPS_METER_RESULT_DIMENSION = "result";
+
+    private final UserTeamAccessRepository accessRepository;
+
+    private final Counter hitCounter; // Запись найдена в индексе
+    private final Counter missCounter; // Запись дочитана из БД и добавлена в индекс
+    private final Counter bypassCounter; // Обращение из транзакции на запись, индекс не используется
+    private final Timer rebuildTimer;
+
+    // Блокировка для изменений индекса; чтение выполняется без блокировки
+    private final Object writeLock = new Object();
+
+    private volatile Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Поколение индекса увеличивается при каждом изменении, чтобы не сохранить загруженные до него данные
+    private long generation;
+
+    public TeamAccessIndex(UserTeamAccessRepository accessRepository, MeterRegistry registry) {
+        this.accessRepository = accessRepository;
+        this.hitCounter = lookupsCounterForResultBuilder("hit").register(registry);
+        this.missCounter = lookupsCounterForResultBuilder("miss").register(registry);
+        this.bypassCounter = lookupsCounterForResultBuilder("bypass").register(registry);
+        this.rebuildTimer = Timer.builder(REBUILD_METER_NAME)
+            .description("Time spent rebuilding the team access index.")
+            .register(registry);
+        Gauge.builder(USERS_METER_NAME, this, index -> index.entries.size())
+            .description("Number of users held in the team access index.")
+            .register(registry);
+    }
+
+    private Counter.Builder lookupsCounterForResultBuilder(String result) {
+        return Counter.builder(LOOKUPS_METER_NAME)
+            .description("Team access index lookups by result.")
+            .tag(LOOKUPS_METER_RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Строит индекс после запуска приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Полностью перестраивает индекс одним запросом к {@code user_team_access}.
+     * Если во время перестройки доступ изменился, индекс очищается и заполняется заново по мере обращений.
+     */
+    public void rebuild() {
+        rebuildTimer.record(() -> {
+            long startGeneration = currentGeneration();
+            Map<String, List<TeamAccessView>> rowsByLogin = new HashMap<>();
+            for (TeamAccessView row : accessRepository.findAllTeamAccess()) {
+                rowsByLogin.computeIfAbsent(row.getLogin(), login -> new ArrayList<>()).add(row);
+            }
+            Map<String, Entry> rebuilt = new ConcurrentHashMap<>(Math.max(16, rowsByLogin.size() * 2));
+            rowsByLogin.forEach((login, rows) -> rebuilt.put(login, Entry.of(rows)));
+            synchronized (writeLock) {
+                entries = generation == startGeneration ? rebuilt : new ConcurrentHashMap<>();
+            }
+            LOG.debug("Индекс доступа к командам перестроен: {} пользователей", rebuilt.size());
+        });
+    }
+
+    /**
+     * Возвращает id команд, к которым у пользователя есть доступ любого уровня.
+     *
+     * @param login логин пользователя
+     * @return отсортированный список id команд
+     */
+    public List<Long> getTeamIds(String login) {
+        return Arrays.stream(lookup(login).teamIds()).boxed().toList();
+    }
+
+    /**
+     * Проверяет, есть ли у пользователя доступ к команде.
+     *
+     * @param login логин пользователя
+     * @param teamId id команды
+     */
+    public boolean hasAccess(String login, long teamId) {
+        return Arrays.binarySearch(lookup(login).teamIds(), teamId) >= 0;
+    }
+
+    /**
+     * Проверяет, является ли пользователь владельцем команды.
+     *
+     * @param login логин пользователя
+     * @param teamId id команды
+     */
+    public boolean hasOwnerAccess(String login, long teamId) {
+        return Arrays.binarySearch(lookup(login).ownerTeamIds(), teamId) >= 0;
+    }
+
+    /**
+     * Добавляет доступ пользователя к команде после коммита текущей транзакции.
+     *
+     * @param login логин пользователя
+     * @param teamId id команды
+     * @param accessLevel уровень доступа
+     */
+    public void grantAfterCommit(String login, long teamId, AccessLevel accessLevel) {
+        afterCommit(() -> apply(login, entry -> entry.with(teamId, accessLevel)));
+    }
+
+    /**
+     * Удаляет запись пользователя после коммита текущей транзакции; при следующем обращении она будет дочитана из БД.
+     * Используется при отзыве доступа, так как у пользователя может остаться другой доступ к той же команде.
+     *
+     * @param login логин пользователя
+     */
+    public void evictAfterCommit(String login) {
+        afterCommit(() -> apply(login, entry -> null));
+    }
+
+    /**
+     * Удаляет команду из записей всех пользователей после коммита текущей транзакции.
+     *
+     * @param teamId id удаленной команды
+     */
+    public void removeTeamAfterCommit(long teamId) {
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                generation++;
+                entries.replaceAll((login, entry) -> entry.without(teamId));
+            }
+        });
+    }
+
+    private Entry lookup(String login) {
+        if (login == null) {
+            return Entry.EMPTY;
+        }
+        if (isReadWriteTransaction()) {
+            bypassCounter.increment();
+            return load(login);
+        }
+        Entry entry = entries.get(login);
+        if (entry != null) {
+            hitCounter.increment();
+            return entry;
+        }
+        missCounter.increment();
+        long startGeneration = currentGeneration();
+        Entry loaded = load(login);
+        synchronized (writeLock) {
+            if (generation == startGeneration) {
+                entries.putIfAbsent(login, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private static boolean isReadWriteTransaction() {
+        return (
+            TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        );
+    }
+
+    private Entry load(String login) {
+        return Entry.of(accessRepository.findTeamAccessByLogin(login));
+    }
+
+    private long currentGeneration() {
+        synchronized (writeLock) {
+            return generation;
+        }
+    }
+
+    private void apply(String login, UnaryOperator<Entry> change) {
+        synchronized (writeLock) {
+            generation++;
+            entries.computeIfPresent(login, (key, entry) -> change.apply(entry));
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * Запись индекса: неизменяемые отсортированные массивы id команд без повторов.
+     *
+     * @param teamIds команды с доступом любого уровня
+     * @param ownerTeamIds команды, владельцем которых является пользователь
+     */
+    record Entry(long[] teamIds, long[] ownerTeamIds) {
+        static final Entry EMPTY = new Entry(new long[0], new long[0]);
+
+        static Entry of(List<TeamAccessView> rows) {
+            long[] teamIds = rows.stream().mapToLong(TeamAccessView::getTeamId).sorted().distinct().toArray();
+            long[] ownerTeamIds = rows
+                .stream()
+                .filter(row -> row.getAccessLevel() == AccessLevel.OWNER)
+                .mapToLong(TeamAccessView::getTeamId)
+                .sorted()
+                .distinct()
+                .toArray();
+            return new Entry(teamIds, ownerTeamIds);
+        }
+
+        Entry with(long teamId, AccessLevel accessLevel) {
+            return new Entry(insert(teamIds, teamId), accessLevel == AccessLevel.OWNER ? insert(ownerTeamIds, teamId) : ownerTeamIds);
+        }
+
+        Entry without(long teamId) {
+            return new Entry(remove(teamIds, teamId), remove(ownerTeamIds, teamId));
+        }
+
+        private static long[] insert(long[] sorted, long value) {
+            int index = Arrays.binarySearch(sorted, value);
+            if (index >= 0) {
+                return sorted;
+            }
+            int position = -index - 1;
+            long[] result = new long[sorted.length + 1];
+            System.arraycopy(sorted, 0, result, 0, position);
+            result[position] = value;
+            System.arraycopy(sorted, position, result, position + 1, sorted.length - position);
+            return result;
+        }
+
+        private static long[] remove(long[] sorted, long value) {
+            int position = Arrays.binarySearch(sorted, value);
+            if (position < 0) {
+                return sorted;
+            }
+            long[] result = new long[sorted.length - 1];
+            System.arraycopy(sorted, 0, result, 0, position);
+            System.arraycopy(sorted, position + 1, result, position, sorted.length - position - 1);
+            return result;
+        }
+    }
+}
@@ -8,12 +8,12 @@ public interface TeamAccessService {
     // Создать команду (автоматически дает доступ владельца)
     Team createTeam(Long userID, Team team);
 
-    // Удалить команду
-    void deleteTeam(Long teamID);
-
     // Предоставить доступ другому пользователю
     void grantAccess(Team team, User owner, User userToShareWith);
 
+    // Отозвать доступ пользователя к команде, false - если доступа не было
+    boolean revokeAccess(Long teamID, Long userID);
+
     // Проверить, есть ли у пользователя доступ к команде
     boolean hasAccess(User user, Team team);
 
@@ -0,0 +1,217 @@
+package ru.georgdeveloper.myapp.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Иерархическое колесо таймеров с дискретностью в один такт.
+ * <p>
+ * Уровень {@code k} состоит из {@link #SLOTS} ячеек по {@code SLOTS^k} тактов. Таймер кладется на уровень
+ * старшей группы разрядов, в которой его срок отличается от текущего такта, и опускается на нижние уровни,
+ * когда текущий такт доходит до его ячейки. Каждый таймер — один узел двусвязного списка ячейки и одна запись
+ * в карте ключей, поэтому добавление и отмена выполняются за O(1), а память на таймер постоянна.
+ * Таймеры дальше {@code SLOTS^LEVELS} тактов хранятся в отдельном списке до следующего оборота верхнего уровня.
+ * <p>
+ * Класс не потокобезопасен: вызывающий код должен синхронизировать обращения.
+ *
+ * @param <K> ключ таймера; повторное добавление с тем же ключом переносит таймер
+ * @param <V> значение, передаваемое при срабатывании
+ */
+final class TimingWheel<K, V> {
+
+    private static final int BITS = 6;
+
+    static final int SLOTS = 1 << BITS;
+
+    private static final int MASK = SLOTS - 1;
+
+    static final int LEVELS = 4;
+
+    private final Slot<K, V>[][] wheels;
+
+    // Таймеры за пределами верхнего уровня
+    private final Slot<K, V> overflow = new Slot<>();
+
+    // Таймеры со сроком не позже текущего такта, которые сработают при следующем продвижении
+    private final Slot<K, V> due = new Slot<>();
+
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.wheels = new Slot[LEVELS][SLOTS];
+        for (Slot<K, V>[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = new Slot<>();
+            }
+        }
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Добавляет таймер или переносит таймер с тем же ключом. Таймер со сроком в прошлом сработает при следующем продвижении.
+     */
+    void schedule(K key, long deadlineTick, V value) {
+        cancel(key);
+        Node<K, V> node = new Node<>(key, deadlineTick, value);
+        nodes.put(key, node);
+        place(node);
+    }
+
+    /**
+     * Отменяет таймер.
+     *
+     * @return {@code true}, если таймер был запланирован
+     */
+    boolean cancel(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.slot.unlink(node);
+        return true;
+    }
+
+    /**
+     * Удаляет все таймеры.
+     */
+    void clear() {
+        for (Node<K, V> node : nodes.values()) {
+            node.slot.unlink(node);
+        }
+        nodes.clear();
+    }
+
+    /**
+     * Продвигает колесо до такта {@code tick} включительно и передает сработавшие таймеры в порядке тактов.
+     * Пропущенные такты обрабатываются по очереди, поэтому опоздавший вызов не теряет таймеры.
+     *
+     * @param tick текущий такт
+     * @param action получатель ключа и значения сработавшего таймера
+     */
+    void advance(long tick, BiConsumer<? super K, ? super V> action) {
+        fire(due, action);
+        while (currentTick < tick) {
+            if (nodes.isEmpty()) {
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    if (level == LEVELS - 1) {
+                        cascade(overflow);
+                    }
+                    cascade(wheels[level][(int) ((currentTick >>> (BITS * level)) & MASK)]);
+                }
+            }
+            fire(wheels[0][(int) (currentTick & MASK)], action);
+            fire(due, action);
+        }
+    }
+
+    private void place(Node<K, V> node) {
+        long deadline = node.deadlineTick;
+        if (deadline <= currentTick) {
+            due.link(node);
+            return;
+        }
+        // Старшая группа разрядов, в которой срок отличается от текущего такта
+        int level = (63 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / BITS;
+        if (level >= LEVELS) {
+            overflow.link(node);
+            return;
+        }
+        wheels[level][(int) ((deadline >>> (BITS * level)) & MASK)].link(node);
+    }
+
+    private void cascade(Slot<K, V> slot) {
+        Node<K, V> node = slot.detachAll();
+        while (node != null) {
+            Node<K, V> next = node.next;
+            node.next = null;
+            place(node);
+            node = next;
+        }
+    }
+
+    private void fire(Slot<K, V> slot, BiConsumer<? super K, ? super V> action) {
+        Node<K, V> first = slot.detachAll();
+        // Ключи снимаются до вызовов, чтобы получатель мог планировать и отменять таймеры
+        for (Node<K, V> node = first; node != null; node = node.next) {
+            nodes.remove(node.key);
+        }
+        for (Node<K, V> node = first; node != null; node = node.next) {
+            action.accept(node.key, node.value);
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        final K key;
+        final long deadlineTick;
+        final V value;
+        Slot<K, V> slot;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, long deadlineTick, V value) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+
+    private static final class Slot<K, V> {
+
+        Node<K, V> head;
+
+        void link(Node<K, V> node) {
+            node.slot = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            }
+            head = node;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.slot = null;
+        }
+
+        /**
+         * Отсоединяет список ячейки целиком; узлы остаются связаны через {@code next}.
+         */
+        Node<K, V> detachAll() {
+            Node<K, V> first = head;
+            head = null;
+            for (Node<K, V> node = first; node != null; node = node.next) {
+                node.slot = null;
+                node.prev = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package ru.georgdeveloper.myapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.georgdeveloper.myapp.domain.SchedulerWatermark;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.AdditionalTrainingExpiryView;
+import ru.georgdeveloper.myapp.repository.AdditionalTrainingRepository;
+import ru.georgdeveloper.myapp.repository.EmployeeRepository;
+import ru.georgdeveloper.myapp.repository.ProfessionTeamView;
+import ru.georgdeveloper.myapp.repository.SchedulerWatermarkRepository;
+import ru.georgdeveloper.myapp.repository.TeamAccessView;
+import ru.georgdeveloper.myapp.repository.TrainingExpiryView;
+import ru.georgdeveloper.myapp.repository.TrainingRepository;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+import ru.georgdeveloper.myapp.service.dto.TrainingExpiryNoticeDTO;
+
+/**
+ * Ежедневная рассылка напоминаний о приближающихся сроках инструктажей и дополнительных обучений.
+ * <p>
+ * Сканер читает диапазон дат следующего прохождения (отметка прошлого запуска; сегодня + {@link #LEAD_DAYS}]
+ * порциями по индексу (next_training_date, id) и собирает по одному письму на каждого владельца команды.
+ * В письмо попадает не более {@link #MAX_NOTICES_PER_DIGEST} строк, остальные только считаются,
+ * поэтому память ограничена числом владельцев, а не размером таблиц.
+ * <p>
+ * Отметка сохраняется до передачи писем в {@link MailService}: после перезапуска уже обработанный
+ * диапазон не рассылается повторно. Инструктаж, дата которого перенесена за отметку, попадет в следующие запуски.
+ */
+@Service
+public class TrainingExpiryScanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TrainingExpiryScanner.class);
+
+    // Название отметки прогресса и метрики времени сканирования
+    public static final String WATERMARK_NAME = "training-expiry-scan";
+    public static final String SCAN_METER_NAME = "training.expiry.scan";
+
+    // За сколько дней до срока отправляется напоминание
+    static final int LEAD_DAYS = 30;
+
+    static final int CHUNK_SIZE = 500;
+
+    static final int MAX_NOTICES_PER_DIGEST = 200;
+
+    private final TrainingRepository trainingRepository;
+    private final AdditionalTrainingRepository additionalTrainingRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UserTeamAccessRepository userTeamAccessRepository;
+    private final UserRepository userRepository;
+    private final SchedulerWatermarkRepository schedulerWatermarkRepository;
+    private final MailService mailService;
+
+    private final Timer scanTimer;
+
+    public TrainingExpiryScanner(
+        TrainingRepository trainingRepository,
+        AdditionalTrainingRepository additionalTrainingRepository,
+        EmployeeRepository employeeRepository,
+        UserTeamAccessRepository userTeamAccessRepository,
+        UserRepository userRepository,
+        SchedulerWatermarkRepository schedulerWatermarkRepository,
+        MailService mailService,
+        MeterRegistry meterRegistry
+    ) {
+        this.trainingRepository = trainingRepository;
+        this.additionalTrainingRepository = additionalTrainingRepository;
+        this.employeeRepository = employeeRepository;
+        this.userTeamAccessRepository = userTeamAccessRepository;
+        this.userRepository = userRepository;
+        this.schedulerWatermarkRepository = schedulerWatermarkRepository;
+        this.mailService = mailService;
+        this.scanTimer = Timer.builder(SCAN_METER_NAME)
+            .description("Сканирование сроков инструктажей и рассылка напоминаний")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Запускает сканирование каждый день в 06:00.
+     */
+    @Scheduled(cron = "0 0 6 * * ?")
+    public void scheduledScan() {
+        scan(LocalDate.now());
+    }
+
+    /**
+     * Сканирует сроки до {@code today + LEAD_DAYS} включительно, начиная после сохраненной отметки,
+     * и отправляет по одному письму каждому владельцу команды.
+     *
+     * @param today текущая дата
+     * @return количество отправленных писем
+     */
+    public synchronized int scan(LocalDate today) {
+        return scanTimer.record(() -> doScan(today));
+    }
+
+    private int doScan(LocalDate today) {
+        LocalDate to = today.plusDays(LEAD_DAYS);
+        // При первом запуске прошедшие сроки не рассылаются
+        LocalDate from = schedulerWatermarkRepository
+            .findById(WATERMARK_NAME)
+            .map(SchedulerWatermark::getWatermark)
+            .orElse(today.minusDays(1));
+        if (!to.isAfter(from)) {
+            LOG.debug("Сроки инструктажей до {} уже разосланы", from);
+            return 0;
+        }
+        LOG.debug("Сканирование сроков инструктажей в диапазоне ({}; {}]", from, to);
+
+        Digests digests = new Digests();
+        scanTrainings(from, to, digests);
+        scanAdditionalTrainings(from, to, digests);
+
+        schedulerWatermarkRepository.save(new SchedulerWatermark(WATERMARK_NAME, to));
+
+        int sent = 0;
+        for (User user : userRepository.findAllById(digests.byUser.keySet())) {
+            Digest digest = digests.byUser.get(user.getId());
+            mailService.sendTrainingExpiryDigest(user, digest.notices, digest.total);
+            sent++;
+        }
+        LOG.info("Напоминания о сроках инструктажей ({}; {}]: {} писем", from, to, sent);
+        return sent;
+    }
+
+    private void scanTrainings(LocalDate from, LocalDate to, Digests digests) {
+        Pageable chunk = PageRequest.ofSize(CHUNK_SIZE);
+        LocalDate afterDate = from;
+        long afterId = Long.MAX_VALUE;
+        List<TrainingExpiryView> rows;
+        do {
+            rows = trainingRepository.findExpiringAfter(afterDate, afterId, to, chunk);
+            digests.loadOwners(rows.stream().map(TrainingExpiryView::getTeamId).toList());
+            for (TrainingExpiryView row : rows) {
+                String employee = row.getLastName() + " " + row.getFirstName();
+                digests.add(
+                    row.getTeamId(),
+                    new TrainingExpiryNoticeDTO(row.getTrainingName(), employee, row.getTeamName(), row.getNextTrainingDate(), false)
+                );
+            }
+            if (!rows.isEmpty()) {
+                TrainingExpiryView last = rows.get(rows.size() - 1);
+                afterDate = last.getNextTrainingDate();
+                afterId = last.getId();
+            }
+        } while (rows.size() == CHUNK_SIZE);
+    }
+
+    /**
+     * Дополнительное обучение привязано к профессии, поэтому напоминание получают владельцы
+     * всех команд, в которых есть сотрудники этой профессии.
+     */
+    private void scanAdditionalTrainings(LocalDate from, LocalDate to, Digests digests) {
+        Pageable chunk = PageRequest.ofSize(CHUNK_SIZE);
+        LocalDate afterDate = from;
+        long afterId = Long.MAX_VALUE;
+        List<AdditionalTrainingExpiryView> rows;
+        do {
+            rows = additionalTrainingRepository.findExpiringAfter(afterDate, afterId, to, chunk);
+            if (!rows.isEmpty()) {
+                Set<Long> professionIds = new HashSet<>();
+                rows.forEach(row -> professionIds.add(row.getProfessionId()));
+                Map<Long, List<ProfessionTeamView>> teamsByProfession = new HashMap<>();
+                for (ProfessionTeamView team : employeeRepository.findTeamsByProfessionIds(professionIds)) {
+                    teamsByProfession.computeIfAbsent(team.getProfessionId(), id -> new ArrayList<>()).add(team);
+                }
+                digests.loadOwners(teamsByProfession.values().stream().flatMap(List::stream).map(ProfessionTeamView::getTeamId).toList());
+                for (AdditionalTrainingExpiryView row : rows) {
+                    for (ProfessionTeamView team : teamsByProfession.getOrDefault(row.getProfessionId(), List.of())) {
+                        digests.add(
+                            team.getTeamId(),
+                            new TrainingExpiryNoticeDTO(
+                                row.getTrainingName(),
+                                row.getProfessionName(),
+                                team.getTeamName(),
+                                row.getNextTrainingDate(),
+                                true
+                            )
+                        );
+                    }
+                }
+                AdditionalTrainingExpiryView last = rows.get(rows.size() - 1);
+                afterDate = last.getNextTrainingDate();
+                afterId = last.getId();
+            }
+        } while (rows.size() == CHUNK_SIZE);
+    }
+
+    /**
+     * Письма одного запуска: владельцы команд и строки писем по владельцам.
+     */
+    private final class Digests {
+
+        // Владельцы команд, уже встреченных в этом запуске
+        private final Map<Long, List<Long>> ownersByTeam = new HashMap<>();
+
+        private final Map<Long, Digest> byUser = new LinkedHashMap<>();
+
+        void loadOwners(List<Long> teamIds) {
+            Set<Long> missing = new HashSet<>();
+            for (Long teamId : teamIds) {
+                if (!ownersByTeam.containsKey(teamId)) {
+                    missing.add(teamId);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            missing.forEach(teamId -> ownersByTeam.put(teamId, new ArrayList<>()));
+            for (TeamAccessView access : userTeamAccessRepository.findTeamAccessByTeamIdsAndAccessLevel(missing, AccessLevel.OWNER)) {
+                ownersByTeam.get(access.getTeamId()).add(access.getUserId());
+            }
+        }
+
+        void add(Long teamId, TrainingExpiryNoticeDTO notice) {
+            for (Long userId : ownersByTeam.getOrDefault(teamId, List.of())) {
+                byUser.computeIfAbsent(userId, id -> new Digest()).add(notice);
+            }
+        }
+    }
+
+    private static final class Digest {
+
+        private final List<TrainingExpiryNoticeDTO> notices = new ArrayList<>();
+
+        private int total;
+
+        void add(TrainingExpiryNoticeDTO notice) {
+            total++;
+            if (notices.size() < MAX_NOTICES_PER_DIGEST) {
+                notices.add(notice);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.georgdeveloper.myapp.service;
+
+/**
+ * Ошибка возобновляемой загрузки. Причина определяет ответ клиенту.
+ */
+public class UploadSessionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        INVALID_REQUEST, // Неверные параметры загрузки или фрагмент длиннее оставшейся части файла
+        TOO_LARGE, // Размер файла больше допустимого
+        TARGET_NOT_FOUND, // Сущность, к которой прикрепляется файл, не найдена
+        NOT_FOUND, // Сессия не найдена, удалена или принадлежит другому пользователю
+        OFFSET_MISMATCH, // Смещение фрагмента не совпадает с принятым размером
+        LOCKED, // В сессию уже пишется другой фрагмент
+        CHECKSUM_MISMATCH, // SHA-256 принятого файла не совпал с заявленным
+    }
+
+    private final Reason reason;
+
+    public UploadSessionException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -38,17 +38,31 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
+    private final TeamAccessIndex teamAccessIndex;
+
+    private final CalendarFeedService calendarFeedService;
+
     /**
      * Конструктор сервиса пользователей.
      *
      * @param userRepository репозиторий пользователей
      * @param passwordEncoder кодировщик паролей
      * @param authorityRepository репозиторий ролей
+     * @param teamAccessIndex индекс доступа к командам, записи которого привязаны к логину
+     * @param calendarFeedService лента календаря, которая запоминает токены и ленты по логину
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        TeamAccessIndex teamAccessIndex,
+        CalendarFeedService calendarFeedService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.teamAccessIndex = teamAccessIndex;
+        this.calendarFeedService = calendarFeedService;
     }
 
     /**
@@ -169,6 +183,7 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        teamAccessIndex.evictAfterCommit(existingUser.getLogin());
         return true;
     }
 
@@ -223,7 +238,16 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                String previousLogin = user.getLogin();
                 user.setLogin(userDTO.getLogin().toLowerCase());
+                if (!user.getLogin().equals(previousLogin)) {
+                    // Запись индекса доступа к командам под прежним логином больше не должна находиться
+                    teamAccessIndex.evictAfterCommit(previousLogin);
+                }
+                if (!user.getLogin().equals(previousLogin) || (user.isActivated() && !userDTO.isActivated())) {
+                    // Токен подписки на календарь запомнен под прежним логином или больше не должен действовать
+                    calendarFeedService.evictAfterCommit(previousLogin);
+                }
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
                 if (userDTO.getEmail() != null) {
@@ -258,6 +282,8 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                teamAccessIndex.evictAfterCommit(user.getLogin());
+                calendarFeedService.evictAfterCommit(user.getLogin());
                 LOG.debug("Deleted User: {}", user);
             });
     }
@@ -363,6 +389,7 @@ public class UserService {
             .forEach(user -> {
                 LOG.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
+                teamAccessIndex.evictAfterCommit(user.getLogin());
             });
     }
 
@@ -0,0 +1,346 @@
+package ru.georgdeveloper.myapp.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Критерии фильтрации задач {@link ru.georgdeveloper.myapp.domain.Task}.
+ * Используется в {@link ru.georgdeveloper.myapp.web.rest.TaskResource} для приема параметров фильтрации из HTTP-запроса.
+ * Например, задачи высокого и критичного приоритета в работе со сроком на этой неделе:
+ * {@code /api/tasks?status.equals=IN_PROGRESS&priority.in=HIGH,CRITICAL&plannedCompletionDate.lessThanOrEqual=2026-10-25}.
+ * Незавершенные задачи: {@code actualCompletionDate.specified=false}.
+ * <p>
+ * Spring не умеет преобразовывать параметры в обобщенные фильтры, поэтому для перечислений заведены свои классы фильтров.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TaskCriteria implements Serializable, Criteria {
+
+    /**
+     * Фильтр по {@link TaskStatus}.
+     */
+    public static class TaskStatusFilter extends Filter<TaskStatus> {
+
+        public TaskStatusFilter() {}
+
+        public TaskStatusFilter(TaskStatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public TaskStatusFilter copy() {
+            return new TaskStatusFilter(this);
+        }
+    }
+
+    /**
+     * Фильтр по {@link TaskPriority}.
+     */
+    public static class TaskPriorityFilter extends Filter<TaskPriority> {
+
+        public TaskPriorityFilter() {}
+
+        public TaskPriorityFilter(TaskPriorityFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public TaskPriorityFilter copy() {
+            return new TaskPriorityFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter taskName;
+
+    private LocalDateFilter creationDate;
+
+    private LocalDateFilter plannedCompletionDate;
+
+    private TaskStatusFilter status;
+
+    private TaskPriorityFilter priority;
+
+    private LocalDateFilter actualCompletionDate;
+
+    private LongFilter employeeId;
+
+    private LongFilter teamId;
+
+    private Boolean distinct;
+
+    public TaskCriteria() {}
+
+    public TaskCriteria(TaskCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.taskName = other.optionalTaskName().map(StringFilter::copy).orElse(null);
+        this.creationDate = other.optionalCreationDate().map(LocalDateFilter::copy).orElse(null);
+        this.plannedCompletionDate = other.optionalPlannedCompletionDate().map(LocalDateFilter::copy).orElse(null);
+        this.status = other.optionalStatus().map(TaskStatusFilter::copy).orElse(null);
+        this.priority = other.optionalPriority().map(TaskPriorityFilter::copy).orElse(null);
+        this.actualCompletionDate = other.optionalActualCompletionDate().map(LocalDateFilter::copy).orElse(null);
+        this.employeeId = other.optionalEmployeeId().map(LongFilter::copy).orElse(null);
+        this.teamId = other.optionalTeamId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public TaskCriteria copy() {
+        return new TaskCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getTaskName() {
+        return taskName;
+    }
+
+    public Optional<StringFilter> optionalTaskName() {
+        return Optional.ofNullable(taskName);
+    }
+
+    public StringFilter taskName() {
+        if (taskName == null) {
+            setTaskName(new StringFilter());
+        }
+        return taskName;
+    }
+
+    public void setTaskName(StringFilter taskName) {
+        this.taskName = taskName;
+    }
+
+    public LocalDateFilter getCreationDate() {
+        return creationDate;
+    }
+
+    public Optional<LocalDateFilter> optionalCreationDate() {
+        return Optional.ofNullable(creationDate);
+    }
+
+    public LocalDateFilter creationDate() {
+        if (creationDate == null) {
+            setCreationDate(new LocalDateFilter());
+        }
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateFilter creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDateFilter getPlannedCompletionDate() {
+        return plannedCompletionDate;
+    }
+
+    public Optional<LocalDateFilter> optionalPlannedCompletionDate() {
+        return Optional.ofNullable(plannedCompletionDate);
+    }
+
+    public LocalDateFilter plannedCompletionDate() {
+        if (plannedCompletionDate == null) {
+            setPlannedCompletionDate(new LocalDateFilter());
+        }
+        return plannedCompletionDate;
+    }
+
+    public void setPlannedCompletionDate(LocalDateFilter plannedCompletionDate) {
+        this.plannedCompletionDate = plannedCompletionDate;
+    }
+
+    public TaskStatusFilter getStatus() {
+        return status;
+    }
+
+    public Optional<TaskStatusFilter> optionalStatus() {
+        return Optional.ofNullable(status);
+    }
+
+    public TaskStatusFilter status() {
+        if (status == null) {
+            setStatus(new TaskStatusFilter());
+        }
+        return status;
+    }
+
+    public void setStatus(TaskStatusFilter status) {
+        this.status = status;
+    }
+
+    public TaskPriorityFilter getPriority() {
+        return priority;
+    }
+
+    public Optional<TaskPriorityFilter> optionalPriority() {
+        return Optional.ofNullable(priority);
+    }
+
+    public TaskPriorityFilter priority() {
+        if (priority == null) {
+            setPriority(new TaskPriorityFilter());
+        }
+        return priority;
+    }
+
+    public void setPriority(TaskPriorityFilter priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateFilter getActualCompletionDate() {
+        return actualCompletionDate;
+    }
+
+    public Optional<LocalDateFilter> optionalActualCompletionDate() {
+        return Optional.ofNullable(actualCompletionDate);
+    }
+
+    public LocalDateFilter actualCompletionDate() {
+        if (actualCompletionDate == null) {
+            setActualCompletionDate(new LocalDateFilter());
+        }
+        return actualCompletionDate;
+    }
+
+    public void setActualCompletionDate(LocalDateFilter actualCompletionDate) {
+        this.actualCompletionDate = actualCompletionDate;
+    }
+
+    public LongFilter getEmployeeId() {
+        return employeeId;
+    }
+
+    public Optional<LongFilter> optionalEmployeeId() {
+        return Optional.ofNullable(employeeId);
+    }
+
+    public LongFilter employeeId() {
+        if (employeeId == null) {
+            setEmployeeId(new LongFilter());
+        }
+        return employeeId;
+    }
+
+    public void setEmployeeId(LongFilter employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LongFilter getTeamId() {
+        return teamId;
+    }
+
+    public Optional<LongFilter> optionalTeamId() {
+        return Optional.ofNullable(teamId);
+    }
+
+    public LongFilter teamId() {
+        if (teamId == null) {
+            setTeamId(new LongFilter());
+        }
+        return teamId;
+    }
+
+    public void setTeamId(LongFilter teamId) {
+        this.teamId = teamId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TaskCriteria that = (TaskCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(taskName, that.taskName) &&
+            Objects.equals(creationDate, that.creationDate) &&
+            Objects.equals(plannedCompletionDate, that.plannedCompletionDate) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(priority, that.priority) &&
+            Objects.equals(actualCompletionDate, that.actualCompletionDate) &&
+            Objects.equals(employeeId, that.employeeId) &&
+            Objects.equals(teamId, that.teamId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+            id,
+            taskName,
+            creationDate,
+            plannedCompletionDate,
+            status,
+            priority,
+            actualCompletionDate,
+            employeeId,
+            teamId,
+            distinct
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TaskCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalTaskName().map(f -> "taskName=" + f + ", ").orElse("") +
+            optionalCreationDate().map(f -> "creationDate=" + f + ", ").orElse("") +
+            optionalPlannedCompletionDate().map(f -> "plannedCompletionDate=" + f + ", ").orElse("") +
+            optionalStatus().map(f -> "status=" + f + ", ").orElse("") +
+            optionalPriority().map(f -> "priority=" + f + ", ").orElse("") +
+            optionalActualCompletionDate().map(f -> "actualCompletionDate=" + f + ", ").orElse("") +
+            optionalEmployeeId().map(f -> "employeeId=" + f + ", ").orElse("") +
+            optionalTeamId().map(f -> "teamId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
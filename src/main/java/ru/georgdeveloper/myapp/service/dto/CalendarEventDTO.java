@@ -0,0 +1,194 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Событие общей ленты календаря: задача, встреча, прочее событие, инструктаж или дополнительное обучение.
+ * Поля повторяют модель события календаря на клиенте; незаполненные поля не сериализуются.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalendarEventDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Тип события, значения совпадают с типами событий календаря на клиенте.
+     */
+    public enum Type {
+        TASK,
+        INSTRUCTION,
+        ADDITIONAL_TRAINING,
+        MEETING,
+        OTHER,
+    }
+
+    private Long id;
+
+    private Type type;
+
+    private String title;
+
+    private LocalDate date;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime endTime;
+
+    private String location;
+
+    private String priority;
+
+    private String status;
+
+    private Long employeeId;
+
+    private String employeeName;
+
+    private Long professionId;
+
+    private String professionName;
+
+    private Integer validityPeriod;
+
+    private Boolean completed;
+
+    public CalendarEventDTO() {}
+
+    public CalendarEventDTO(Long id, Type type, String title, LocalDate date) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.date = date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public Long getProfessionId() {
+        return professionId;
+    }
+
+    public void setProfessionId(Long professionId) {
+        this.professionId = professionId;
+    }
+
+    public String getProfessionName() {
+        return professionName;
+    }
+
+    public void setProfessionName(String professionName) {
+        this.professionName = professionName;
+    }
+
+    public Integer getValidityPeriod() {
+        return validityPeriod;
+    }
+
+    public void setValidityPeriod(Integer validityPeriod) {
+        this.validityPeriod = validityPeriod;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarEventDTO{" + "id=" + id + ", type=" + type + ", title='" + title + "', date=" + date + "}";
+    }
+}
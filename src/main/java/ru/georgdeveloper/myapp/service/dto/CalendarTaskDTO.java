@@ -0,0 +1,124 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+
+/**
+ * Задача в календаре: поля для отображения без описания задачи и данных сотрудника, кроме имени.
+ */
+public class CalendarTaskDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String taskName;
+
+    private LocalDate creationDate;
+
+    private LocalDate plannedCompletionDate;
+
+    private LocalDate actualCompletionDate;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    private Long employeeId;
+
+    private String employeeName;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public LocalDate getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDate creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDate getPlannedCompletionDate() {
+        return plannedCompletionDate;
+    }
+
+    public void setPlannedCompletionDate(LocalDate plannedCompletionDate) {
+        this.plannedCompletionDate = plannedCompletionDate;
+    }
+
+    public LocalDate getActualCompletionDate() {
+        return actualCompletionDate;
+    }
+
+    public void setActualCompletionDate(LocalDate actualCompletionDate) {
+        this.actualCompletionDate = actualCompletionDate;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "CalendarTaskDTO{" +
+            "id=" +
+            id +
+            ", taskName='" +
+            taskName +
+            "', plannedCompletionDate=" +
+            plannedCompletionDate +
+            ", status=" +
+            status +
+            ", priority=" +
+            priority +
+            ", employeeId=" +
+            employeeId +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница курсорной (keyset) пагинации.
+ * Вместо номера страницы содержит непрозрачные курсоры соседних страниц;
+ * общее количество записей заполняется только по явному запросу.
+ *
+ * @param <T> тип элементов страницы
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    private final String prevCursor;
+
+    private final Long totalElements;
+
+    public CursorPage(List<T> content, String nextCursor, String prevCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+        this.totalElements = totalElements;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return курсор следующей страницы или {@code null}, если страница последняя
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return курсор предыдущей страницы или {@code null}, если страница первая
+     */
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    /**
+     * @return общее количество записей или {@code null}, если подсчет не запрашивался
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    /**
+     * Преобразует элементы страницы, сохраняя курсоры.
+     *
+     * @param mapper функция преобразования
+     * @param <R> тип результата
+     * @return новая страница
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, prevCursor, totalElements);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Отчет о массовом импорте сотрудников.
+ * Подробно хранится не более заданного количества ошибок, остальные только учитываются в счетчике.
+ */
+public class EmployeeImportReport {
+
+    private final int maxReportedErrors;
+
+    private int totalRows;
+
+    private int importedRows;
+
+    private int failedRows;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    public EmployeeImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Учитывает прочитанную строку данных.
+     */
+    public void countRow() {
+        totalRows++;
+    }
+
+    /**
+     * Учитывает успешно сохраненные строки.
+     *
+     * @param count количество строк
+     */
+    public void addImported(int count) {
+        importedRows += count;
+    }
+
+    /**
+     * Добавляет ошибку строки.
+     *
+     * @param row номер строки в файле (заголовок - строка 1)
+     * @param employeeNumber табельный номер из строки, если он был указан
+     * @param message описание ошибки
+     */
+    public void addError(int row, String employeeNumber, String message) {
+        failedRows++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, employeeNumber, message));
+        }
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getImportedRows() {
+        return importedRows;
+    }
+
+    public int getFailedRows() {
+        return failedRows;
+    }
+
+    /**
+     * @return true, если ошибок больше, чем перечислено в {@link #getErrors()}
+     */
+    public boolean isErrorsTruncated() {
+        return failedRows > errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Ошибка одной строки импорта.
+     */
+    public static class RowError {
+
+        private final int row;
+
+        private final String employeeNumber;
+
+        private final String message;
+
+        public RowError(int row, String employeeNumber, String message) {
+            this.row = row;
+            this.employeeNumber = employeeNumber;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getEmployeeNumber() {
+            return employeeNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
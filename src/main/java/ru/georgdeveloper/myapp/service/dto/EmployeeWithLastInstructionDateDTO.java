@@ -7,6 +7,7 @@ import java.time.LocalDate;
 import ru.georgdeveloper.myapp.domain.Employee;
 import ru.georgdeveloper.myapp.domain.Position;
 import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.repository.EmployeeLastInstructionDateView;
 
 /**
  * DTO для сотрудника с датой последнего инструктажа.
@@ -50,6 +51,20 @@ public class EmployeeWithLastInstructionDateDTO {
         this.team = employee.getTeam();
     }
 
+    // Конструктор для создания DTO из проекции без загрузки сущностей
+    public EmployeeWithLastInstructionDateDTO(EmployeeLastInstructionDateView view) {
+        this.id = view.getId();
+        this.firstName = view.getFirstName();
+        this.lastName = view.getLastName();
+        this.birthDate = view.getBirthDate();
+        this.employeeNumber = view.getEmployeeNumber();
+        this.hireDate = view.getHireDate();
+        this.lastInstructionDate = view.getLastInstructionDate();
+        // Для списка достаточно id и названия связанных сущностей
+        this.position = view.getPositionId() != null ? new Position().id(view.getPositionId()).positionName(view.getPositionName()) : null;
+        this.team = view.getTeamId() != null ? new Team().id(view.getTeamId()).teamName(view.getTeamName()) : null;
+    }
+
     // Геттеры и сеттеры
     public Long getId() {
         return id;
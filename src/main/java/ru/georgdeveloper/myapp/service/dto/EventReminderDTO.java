@@ -0,0 +1,68 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Напоминание о встрече, прочем событии или сроке задачи.
+ */
+public class EventReminderDTO {
+
+    // Вид напоминания: meeting, otherEvent или task
+    private final String kind;
+
+    private final String title;
+
+    // Начало события или срок задачи
+    private final LocalDateTime startsAt;
+
+    // У события нет времени начала, либо это срок задачи
+    private final boolean allDay;
+
+    private final String location;
+
+    public EventReminderDTO(String kind, String title, LocalDateTime startsAt, boolean allDay, String location) {
+        this.kind = kind;
+        this.title = title;
+        this.startsAt = startsAt;
+        this.allDay = allDay;
+        this.location = location;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public boolean isAllDay() {
+        return allDay;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "EventReminderDTO{" +
+            "kind='" +
+            kind +
+            "', title='" +
+            title +
+            "', startsAt=" +
+            startsAt +
+            ", allDay=" +
+            allDay +
+            ", location='" +
+            location +
+            "'}"
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Строка письма о незавершенной задаче, у которой прошел плановый срок выполнения.
+ */
+public class OverdueTaskNoticeDTO {
+
+    private final String taskName;
+
+    // Фамилия и имя исполнителя
+    private final String employee;
+
+    private final String teamName;
+
+    private final LocalDate plannedCompletionDate;
+
+    public OverdueTaskNoticeDTO(String taskName, String employee, String teamName, LocalDate plannedCompletionDate) {
+        this.taskName = taskName;
+        this.employee = employee;
+        this.teamName = teamName;
+        this.plannedCompletionDate = plannedCompletionDate;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public String getEmployee() {
+        return employee;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public LocalDate getPlannedCompletionDate() {
+        return plannedCompletionDate;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "OverdueTaskNoticeDTO{" +
+            "taskName='" +
+            taskName +
+            "', employee='" +
+            employee +
+            "', teamName='" +
+            teamName +
+            "', plannedCompletionDate=" +
+            plannedCompletionDate +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.time.LocalDate;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+
+/**
+ * Задача, найденная полнотекстовым поиском.
+ * Фрагменты названия и описания экранированы как HTML и содержат совпадения, выделенные тегами {@code <mark>}.
+ */
+public class TaskSearchResultDTO {
+
+    private final Long id;
+
+    private final String taskName;
+
+    private final TaskStatus status;
+
+    private final TaskPriority priority;
+
+    private final LocalDate plannedCompletionDate;
+
+    private final float score;
+
+    private final String nameHighlight;
+
+    private final String bodyHighlight;
+
+    public TaskSearchResultDTO(
+        Long id,
+        String taskName,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate plannedCompletionDate,
+        float score,
+        String nameHighlight,
+        String bodyHighlight
+    ) {
+        this.id = id;
+        this.taskName = taskName;
+        this.status = status;
+        this.priority = priority;
+        this.plannedCompletionDate = plannedCompletionDate;
+        this.score = score;
+        this.nameHighlight = nameHighlight;
+        this.bodyHighlight = bodyHighlight;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDate getPlannedCompletionDate() {
+        return plannedCompletionDate;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public String getNameHighlight() {
+        return nameHighlight;
+    }
+
+    public String getBodyHighlight() {
+        return bodyHighlight;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSearchResultDTO{" + "id=" + id + ", taskName='" + taskName + "', score=" + score + "}";
+    }
+}
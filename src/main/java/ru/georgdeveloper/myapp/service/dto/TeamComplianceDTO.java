@@ -0,0 +1,120 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.util.Map;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+
+/**
+ * Показатели соответствия требованиям одной команды для панели инженера по охране труда.
+ */
+public class TeamComplianceDTO {
+
+    private Long teamId;
+
+    private String teamName;
+
+    private long employees;
+
+    private long overdueTrainings;
+
+    private long expiringTrainings;
+
+    private long openTasks;
+
+    private Map<TaskPriority, Long> openTasksByPriority;
+
+    public TeamComplianceDTO() {}
+
+    public TeamComplianceDTO(
+        Long teamId,
+        String teamName,
+        long employees,
+        long overdueTrainings,
+        long expiringTrainings,
+        long openTasks,
+        Map<TaskPriority, Long> openTasksByPriority
+    ) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.employees = employees;
+        this.overdueTrainings = overdueTrainings;
+        this.expiringTrainings = expiringTrainings;
+        this.openTasks = openTasks;
+        this.openTasksByPriority = openTasksByPriority;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public void setTeamName(String teamName) {
+        this.teamName = teamName;
+    }
+
+    public long getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(long employees) {
+        this.employees = employees;
+    }
+
+    /**
+     * @return инструктажи, дата следующего прохождения которых уже наступила
+     */
+    public long getOverdueTrainings() {
+        return overdueTrainings;
+    }
+
+    public void setOverdueTrainings(long overdueTrainings) {
+        this.overdueTrainings = overdueTrainings;
+    }
+
+    /**
+     * @return инструктажи, срок которых истекает в ближайшие дни (включая сегодняшний)
+     */
+    public long getExpiringTrainings() {
+        return expiringTrainings;
+    }
+
+    public void setExpiringTrainings(long expiringTrainings) {
+        this.expiringTrainings = expiringTrainings;
+    }
+
+    public long getOpenTasks() {
+        return openTasks;
+    }
+
+    public void setOpenTasks(long openTasks) {
+        this.openTasks = openTasks;
+    }
+
+    public Map<TaskPriority, Long> getOpenTasksByPriority() {
+        return openTasksByPriority;
+    }
+
+    public void setOpenTasksByPriority(Map<TaskPriority, Long> openTasksByPriority) {
+        this.openTasksByPriority = openTasksByPriority;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "TeamComplianceDTO{" +
+            "teamId=" + teamId +
+            ", teamName='" + teamName + "'" +
+            ", employees=" + employees +
+            ", overdueTrainings=" + overdueTrainings +
+            ", expiringTrainings=" + expiringTrainings +
+            ", openTasks=" + openTasks +
+            "}"
+        );
+    }
+}
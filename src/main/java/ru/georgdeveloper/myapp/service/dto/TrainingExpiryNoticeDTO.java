@@ -0,0 +1,66 @@
+package ru.georgdeveloper.myapp.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Строка письма-напоминания о приближающемся сроке прохождения инструктажа или дополнительного обучения.
+ */
+public class TrainingExpiryNoticeDTO {
+
+    private final String trainingName;
+
+    // ФИО сотрудника для инструктажа или название профессии для дополнительного обучения
+    private final String subject;
+
+    private final String teamName;
+
+    private final LocalDate nextTrainingDate;
+
+    private final boolean additional;
+
+    public TrainingExpiryNoticeDTO(String trainingName, String subject, String teamName, LocalDate nextTrainingDate, boolean additional) {
+        this.trainingName = trainingName;
+        this.subject = subject;
+        this.teamName = teamName;
+        this.nextTrainingDate = nextTrainingDate;
+        this.additional = additional;
+    }
+
+    public String getTrainingName() {
+        return trainingName;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public LocalDate getNextTrainingDate() {
+        return nextTrainingDate;
+    }
+
+    public boolean isAdditional() {
+        return additional;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "TrainingExpiryNoticeDTO{" +
+            "trainingName='" +
+            trainingName +
+            "', subject='" +
+            subject +
+            "', teamName='" +
+            teamName +
+            "', nextTrainingDate=" +
+            nextTrainingDate +
+            ", additional=" +
+            additional +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,355 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.domain.CalendarFeedToken;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.repository.CalendarFeedTokenRepository;
+import ru.georgdeveloper.myapp.repository.CalendarMeetingView;
+import ru.georgdeveloper.myapp.repository.CalendarOtherEventView;
+import ru.georgdeveloper.myapp.repository.CalendarTaskView;
+import ru.georgdeveloper.myapp.repository.CalendarTrainingView;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.repository.OtherEventRepository;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TrainingRepository;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedService;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.SpooledOutputStream;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
+import tech.jhipster.security.RandomUtil;
+
+/**
+ * Реализация ленты подписки на календарь в формате iCalendar.
+ * <p>
+ * Лента включает встречи, прочие события, задачи и даты следующих инструктажей команд пользователя
+ * в окне от {@link #PAST_DAYS} дней назад до {@link #FUTURE_DAYS} дней вперед. События читаются курсором
+ * и пишутся в {@link SpooledOutputStream}; в ответ лента копируется после завершения транзакции, чтобы медленный
+ * подписчик не держал соединение с БД. Построенная лента запоминается в кэше по логину вместе с ETag
+ * ее состояния, поэтому повторные опросы без изменений данных не обращаются к БД.
+ */
+@Service
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CalendarFeedServiceImpl.class);
+
+    // Название метрики обращений к кэшу лент
+    public static final String CACHE_METER_NAME = "calendar.feed.cache";
+
+    static final int PAST_DAYS = 31;
+
+    static final int FUTURE_DAYS = 366;
+
+    // Кэш хранит последние ленты не более чем этого числа пользователей
+    static final int MAX_CACHED_FEEDS = 500;
+
+    // Ленты больше этого размера строятся во временном файле и не кэшируются
+    static final int MAX_CACHED_FEED_BYTES = 256 * 1024;
+
+    private static final String PRODUCT_ID = "-//georgdeveloper//theForge//RU";
+
+    private static final String UID_SUFFIX = "@theforge";
+
+    private final CalendarFeedTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final MeetingRepository meetingRepository;
+    private final OtherEventRepository otherEventRepository;
+    private final TaskRepository taskRepository;
+    private final TrainingRepository trainingRepository;
+    private final TeamAccessIndex teamAccessIndex;
+    private final CalendarFeedVersion calendarFeedVersion;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    // SHA-256 токена -> логин владельца
+    private final Map<String, String> logins = new ConcurrentHashMap<>();
+
+    // Поколение токенов увеличивается при выпуске нового токена, чтобы не запомнить отозванный
+    private long tokenGeneration;
+
+    // Логин -> последняя построенная лента, в порядке обращения
+    private final Map<String, CachedFeed> feeds = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedFeed> eldest) {
+                return size() > MAX_CACHED_FEEDS;
+            }
+        }
+    );
+
+    public CalendarFeedServiceImpl(
+        CalendarFeedTokenRepository tokenRepository,
+        UserRepository userRepository,
+        MeetingRepository meetingRepository,
+        OtherEventRepository otherEventRepository,
+        TaskRepository taskRepository,
+        TrainingRepository trainingRepository,
+        TeamAccessIndex teamAccessIndex,
+        CalendarFeedVersion calendarFeedVersion,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry registry
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.meetingRepository = meetingRepository;
+        this.otherEventRepository = otherEventRepository;
+        this.taskRepository = taskRepository;
+        this.trainingRepository = trainingRepository;
+        this.teamAccessIndex = teamAccessIndex;
+        this.calendarFeedVersion = calendarFeedVersion;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.hitCounter = cacheCounterForResultBuilder("hit").register(registry);
+        this.missCounter = cacheCounterForResultBuilder("miss").register(registry);
+    }
+
+    private Counter.Builder cacheCounterForResultBuilder(String result) {
+        return Counter.builder(CACHE_METER_NAME).description("Calendar feed cache lookups by result.").tag("result", result);
+    }
+
+    @Override
+    @Transactional
+    public String createToken(String login) {
+        LOG.debug("Выпуск токена подписки на календарь для пользователя: {}", login);
+        String token = RandomUtil.generateRandomAlphanumericString();
+        String tokenHash = hash(token);
+        Optional<CalendarFeedToken> existing = tokenRepository.findOneByUserLogin(login);
+        if (existing.isPresent()) {
+            existing.get().setTokenHash(tokenHash);
+            existing.get().setCreatedDate(Instant.now());
+        } else {
+            User user = userRepository.findOneByLogin(login).orElseThrow();
+            tokenRepository.save(new CalendarFeedToken(user, tokenHash));
+        }
+        afterCommit(() -> forgetTokens(login));
+        return token;
+    }
+
+    @Override
+    public void evictAfterCommit(String login) {
+        afterCommit(() -> {
+            forgetTokens(login);
+            feeds.remove(login);
+        });
+    }
+
+    private void forgetTokens(String login) {
+        synchronized (logins) {
+            tokenGeneration++;
+            logins.values().removeIf(login::equals);
+        }
+    }
+
+    @Override
+    public Optional<String> findLogin(String token) {
+        String tokenHash = hash(token);
+        String login = logins.get(tokenHash);
+        if (login != null) {
+            return Optional.of(login);
+        }
+        long startGeneration;
+        synchronized (logins) {
+            startGeneration = tokenGeneration;
+        }
+        Optional<String> loaded = readOnlyTransaction.execute(status -> tokenRepository.findLoginByTokenHash(tokenHash));
+        loaded.ifPresent(found -> {
+            synchronized (logins) {
+                if (tokenGeneration == startGeneration) {
+                    logins.put(tokenHash, found);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    @Override
+    public FeedState getState(String login) {
+        CalendarFeedVersion.Version version = calendarFeedVersion.current();
+        List<Long> teamIds = teamAccessIndex.getTeamIds(login);
+        LocalDate today = LocalDate.now();
+        long teamsHash = 1;
+        for (Long teamId : teamIds) {
+            teamsHash = 31 * teamsHash + teamId;
+        }
+        String etag =
+            "\"" + Long.toHexString(version.epoch()) + "-" + version.number() + "-" + Long.toHexString(teamsHash) + "-" + today + "\"";
+        Instant startOfDay = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant lastModified = version.modified().isAfter(startOfDay) ? version.modified() : startOfDay;
+        return new FeedState(etag, lastModified, today, teamIds);
+    }
+
+    @Override
+    public void writeFeed(String login, FeedState state, OutputStream out) throws IOException {
+        CachedFeed cached = feeds.get(login);
+        if (cached != null && cached.etag().equals(state.etag())) {
+            hitCounter.increment();
+            out.write(cached.body());
+            return;
+        }
+        missCounter.increment();
+        LOG.debug("Построение ленты календаря для пользователя: {}", login);
+        try (SpooledOutputStream spool = new SpooledOutputStream(MAX_CACHED_FEED_BYTES)) {
+            IcsWriter ics = new IcsWriter(spool);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> writeCalendar(ics, state));
+                ics.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            byte[] body = spool.toByteArray();
+            if (body != null) {
+                feeds.put(login, new CachedFeed(state.etag(), body));
+                out.write(body);
+            } else {
+                spool.writeTo(out);
+            }
+        }
+    }
+
+    private void writeCalendar(IcsWriter ics, FeedState state) {
+        LocalDate from = state.today().minusDays(PAST_DAYS);
+        LocalDate to = state.today().plusDays(FUTURE_DAYS);
+        Instant stamp = state.lastModified();
+        ics
+            .property("BEGIN", "VCALENDAR")
+            .property("VERSION", "2.0")
+            .property("PRODID", PRODUCT_ID)
+            .property("CALSCALE", "GREGORIAN")
+            .property("METHOD", "PUBLISH")
+            // Подсказка клиентам, как часто опрашивать ленту
+            .property("X-PUBLISHED-TTL", "PT1H");
+        try (Stream<CalendarMeetingView> meetings = meetingRepository.streamCalendarMeetings(from, to)) {
+            meetings.forEach(meeting -> writeTimedEvent(ics, "meeting-", meeting, "MEETING", stamp));
+        }
+        try (Stream<CalendarOtherEventView> otherEvents = otherEventRepository.streamCalendarOtherEvents(from, to)) {
+            otherEvents.forEach(otherEvent -> writeTimedEvent(ics, "other-event-", otherEvent, "OTHER", stamp));
+        }
+        if (!state.teamIds().isEmpty()) {
+            try (Stream<CalendarTaskView> tasks = taskRepository.streamCalendarTasks(state.teamIds(), from, to)) {
+                tasks.forEach(task -> writeTask(ics, task, stamp));
+            }
+            try (Stream<CalendarTrainingView> trainings = trainingRepository.streamCalendarTrainings(state.teamIds(), from, to)) {
+                trainings.forEach(training -> writeTraining(ics, training, stamp));
+            }
+        }
+        ics.property("END", "VCALENDAR");
+    }
+
+    private static void writeTimedEvent(IcsWriter ics, String uidPrefix, CalendarMeetingView event, String category, Instant stamp) {
+        beginEvent(ics, uidPrefix + event.getId(), stamp);
+        LocalTime startTime = event.getStartTime();
+        if (startTime == null) {
+            ics.date("DTSTART", event.getEventDate()).date("DTEND", event.getEventDate().plusDays(1));
+        } else {
+            ics.dateTime("DTSTART", event.getEventDate().atTime(startTime));
+            LocalTime endTime = event.getEndTime();
+            if (endTime != null && endTime.isAfter(startTime)) {
+                ics.dateTime("DTEND", event.getEventDate().atTime(endTime));
+            }
+        }
+        ics.text("SUMMARY", event.getTitle()).text("LOCATION", event.getLocation()).property("CATEGORIES", category);
+        ics.property("END", "VEVENT");
+    }
+
+    private static void writeTask(IcsWriter ics, CalendarTaskView task, Instant stamp) {
+        beginEvent(ics, "task-" + task.getId(), stamp);
+        ics
+            .date("DTSTART", task.getPlannedCompletionDate())
+            .date("DTEND", task.getPlannedCompletionDate().plusDays(1))
+            .text("SUMMARY", task.getTaskName())
+            .text("DESCRIPTION", employeeName(task.getLastName(), task.getFirstName()))
+            .property("CATEGORIES", "TASK");
+        if (task.getPriority() != null) {
+            ics.property("PRIORITY", String.valueOf(priority(task.getPriority())));
+        }
+        ics.property("END", "VEVENT");
+    }
+
+    private static void writeTraining(IcsWriter ics, CalendarTrainingView training, Instant stamp) {
+        beginEvent(ics, "training-" + training.getId(), stamp);
+        ics
+            .date("DTSTART", training.getNextTrainingDate())
+            .date("DTEND", training.getNextTrainingDate().plusDays(1))
+            .text("SUMMARY", training.getTrainingName() + " — " + employeeName(training.getLastName(), training.getFirstName()))
+            .property("CATEGORIES", "INSTRUCTION")
+            .property("END", "VEVENT");
+    }
+
+    /**
+     * DTSTAMP берется из состояния ленты, чтобы лента одного состояния всегда совпадала байт в байт.
+     */
+    private static void beginEvent(IcsWriter ics, String uid, Instant stamp) {
+        ics.property("BEGIN", "VEVENT").property("UID", uid + UID_SUFFIX).utc("DTSTAMP", stamp);
+    }
+
+    /**
+     * Приоритет iCalendar: 1 - наивысший, 5 - средний, 9 - низший.
+     */
+    private static int priority(TaskPriority priority) {
+        return switch (priority) {
+            case CRITICAL, HIGH -> 1;
+            case MEDIUM -> 5;
+            case LOW -> 9;
+        };
+    }
+
+    private static String employeeName(String lastName, String firstName) {
+        return lastName + " " + firstName;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            }
+        );
+    }
+
+    private record CachedFeed(String etag, byte[] body) {}
+}
@@ -0,0 +1,295 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.config.ApplicationProperties;
+import ru.georgdeveloper.myapp.repository.AdditionalTrainingExpiryView;
+import ru.georgdeveloper.myapp.repository.AdditionalTrainingRepository;
+import ru.georgdeveloper.myapp.repository.CalendarMeetingView;
+import ru.georgdeveloper.myapp.repository.CalendarOtherEventView;
+import ru.georgdeveloper.myapp.repository.CalendarTaskView;
+import ru.georgdeveloper.myapp.repository.CalendarTrainingView;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.repository.OtherEventRepository;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TrainingRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedException;
+import ru.georgdeveloper.myapp.service.CalendarFeedException.Reason;
+import ru.georgdeveloper.myapp.service.CalendarService;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
+import ru.georgdeveloper.myapp.service.dto.CalendarEventDTO;
+import ru.georgdeveloper.myapp.service.dto.CalendarTaskDTO;
+
+/**
+ * Реализация сервиса данных календаря.
+ * Задачи читаются проекцией курсором внутри транзакции только для чтения и сразу передаются получателю.
+ * <p>
+ * Общая лента событий читает каждый источник своим запросом по индексу даты в отдельном потоке и отдельной
+ * транзакции и объединяет их слиянием по дате ({@link ParallelMerge}). События передаются получателю по мере
+ * слияния, в памяти находится не больше буфера каждого источника. Получатель не должен ждать клиента:
+ * REST-ресурс пишет ленту во временный буфер и отдает ее после того, как соединения источников возвращены в пул.
+ * <p>
+ * Одновременно строится не больше лент, чем занимает половину пула соединений ({@link #maxConcurrentFeeds}).
+ * Запрос, не дождавшийся места за {@code application.calendar.acquire-timeout}, получает
+ * {@link CalendarFeedException} с причиной {@link Reason#BUSY}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CalendarServiceImpl implements CalendarService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CalendarServiceImpl.class);
+
+    // Задачи, инструктажи, дополнительные обучения, встречи, прочие события
+    private static final int EVENT_SOURCES = 5;
+
+    // Размер пула Hikari по умолчанию, если пул другого типа
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // Сколько прочитанных событий каждого источника может ждать слияния
+    private static final int EVENT_BUFFER_SIZE = 256;
+
+    private static final Comparator<CalendarEventDTO> EVENT_ORDER = Comparator.comparing(CalendarEventDTO::getDate);
+
+    private final TaskRepository taskRepository;
+    private final TrainingRepository trainingRepository;
+    private final AdditionalTrainingRepository additionalTrainingRepository;
+    private final MeetingRepository meetingRepository;
+    private final OtherEventRepository otherEventRepository;
+    private final TeamAccessIndex teamAccessIndex;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationProperties.Calendar properties;
+
+    private final Semaphore feedPermits;
+
+    // Потоков хватает, чтобы все источники разрешенных лент читались одновременно
+    private final ThreadPoolTaskExecutor feedExecutor = new ThreadPoolTaskExecutor();
+
+    public CalendarServiceImpl(
+        TaskRepository taskRepository,
+        TrainingRepository trainingRepository,
+        AdditionalTrainingRepository additionalTrainingRepository,
+        MeetingRepository meetingRepository,
+        OtherEventRepository otherEventRepository,
+        TeamAccessIndex teamAccessIndex,
+        PlatformTransactionManager transactionManager,
+        DataSource dataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        this.taskRepository = taskRepository;
+        this.trainingRepository = trainingRepository;
+        this.additionalTrainingRepository = additionalTrainingRepository;
+        this.meetingRepository = meetingRepository;
+        this.otherEventRepository = otherEventRepository;
+        this.teamAccessIndex = teamAccessIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = applicationProperties.getCalendar();
+        int maxConcurrentFeeds = maxConcurrentFeeds(dataSource);
+        LOG.debug("Одновременно строится не более {} лент событий календаря", maxConcurrentFeeds);
+        this.feedPermits = new Semaphore(maxConcurrentFeeds, true);
+        feedExecutor.setCorePoolSize(maxConcurrentFeeds * EVENT_SOURCES);
+        feedExecutor.setMaxPoolSize(maxConcurrentFeeds * EVENT_SOURCES);
+        feedExecutor.setThreadNamePrefix("calendar-feed-");
+        feedExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feedExecutor.shutdown();
+    }
+
+    @Override
+    public void streamTasks(
+        String currentUserLogin,
+        LocalDate from,
+        LocalDate to,
+        Long teamId,
+        Consumer<? super CalendarTaskDTO> consumer
+    ) {
+        LOG.debug("Запрос задач календаря с {} по {} для пользователя: {}", from, to, currentUserLogin);
+        List<Long> teamIds = teamIds(currentUserLogin, teamId);
+        if (teamIds.isEmpty()) {
+            return;
+        }
+        try (Stream<CalendarTaskView> tasks = taskRepository.streamCalendarTasks(teamIds, from, to)) {
+            tasks.map(CalendarServiceImpl::toDto).forEach(consumer);
+        }
+    }
+
+    /**
+     * Источники читаются в своих транзакциях, поэтому поток запроса не держит соединение с БД во время слияния.
+     * Место для построения ленты занято, пока получатель принимает события.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamEvents(String currentUserLogin, LocalDate from, LocalDate to, Consumer<? super CalendarEventDTO> consumer) {
+        LOG.debug("Запрос ленты событий календаря с {} по {} для пользователя: {}", from, to, currentUserLogin);
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        List<ParallelMerge.Source<CalendarEventDTO>> sources = new ArrayList<>(EVENT_SOURCES);
+        if (!teamIds.isEmpty()) {
+            sources.add(source(() -> taskRepository.streamCalendarTasks(teamIds, from, to).map(CalendarServiceImpl::toEvent)));
+            sources.add(source(() -> trainingRepository.streamCalendarTrainings(teamIds, from, to).map(CalendarServiceImpl::toEvent)));
+        }
+        sources.add(
+            source(() -> additionalTrainingRepository.streamCalendarAdditionalTrainings(from, to).map(CalendarServiceImpl::toEvent))
+        );
+        sources.add(source(() -> meetingRepository.streamCalendarMeetings(from, to).map(CalendarServiceImpl::toEvent)));
+        sources.add(source(() -> otherEventRepository.streamCalendarOtherEvents(from, to).map(CalendarServiceImpl::toEvent)));
+
+        acquireFeedPermit();
+        try {
+            ParallelMerge.merge(sources, EVENT_ORDER, feedExecutor, EVENT_BUFFER_SIZE, consumer);
+        } finally {
+            feedPermits.release();
+        }
+    }
+
+    private void acquireFeedPermit() {
+        boolean acquired;
+        try {
+            acquired = feedPermits.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new CalendarFeedException(Reason.BUSY, "Все места для построения ленты событий заняты", properties.getRetryAfter());
+        }
+    }
+
+    /**
+     * Каждая лента занимает по соединению на источник; лентам отводится не больше половины пула,
+     * остальные соединения остаются обычным запросам.
+     */
+    static int maxConcurrentFeeds(DataSource dataSource) {
+        int poolSize = DEFAULT_POOL_SIZE;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            LOG.warn("Не удалось определить размер пула соединений: {}", e.getMessage());
+        }
+        return Math.max(1, poolSize / (2 * EVENT_SOURCES));
+    }
+
+    int availableFeedPermits() {
+        return feedPermits.availablePermits();
+    }
+
+    /**
+     * Источник ленты: запрос читается курсором в собственной транзакции только для чтения в потоке источника.
+     */
+    private ParallelMerge.Source<CalendarEventDTO> source(Supplier<Stream<CalendarEventDTO>> query) {
+        return sink ->
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<CalendarEventDTO> events = query.get()) {
+                    events.forEach(sink);
+                }
+            });
+    }
+
+    private List<Long> teamIds(String currentUserLogin, Long teamId) {
+        if (teamId == null) {
+            return teamAccessIndex.getTeamIds(currentUserLogin);
+        }
+        if (!teamAccessIndex.hasAccess(currentUserLogin, teamId)) {
+            throw new AccessDeniedException("Нет доступа к команде " + teamId);
+        }
+        return List.of(teamId);
+    }
+
+    private static CalendarTaskDTO toDto(CalendarTaskView view) {
+        CalendarTaskDTO dto = new CalendarTaskDTO();
+        dto.setId(view.getId());
+        dto.setTaskName(view.getTaskName());
+        dto.setCreationDate(view.getCreationDate());
+        dto.setPlannedCompletionDate(view.getPlannedCompletionDate());
+        dto.setActualCompletionDate(view.getActualCompletionDate());
+        dto.setStatus(view.getStatus());
+        dto.setPriority(view.getPriority());
+        dto.setEmployeeId(view.getEmployeeId());
+        dto.setEmployeeName(employeeName(view.getLastName(), view.getFirstName()));
+        return dto;
+    }
+
+    private static CalendarEventDTO toEvent(CalendarTaskView view) {
+        CalendarEventDTO event = new CalendarEventDTO(
+            view.getId(),
+            CalendarEventDTO.Type.TASK,
+            view.getTaskName(),
+            view.getPlannedCompletionDate()
+        );
+        event.setStatus(view.getStatus() != null ? view.getStatus().name() : null);
+        event.setPriority(view.getPriority() != null ? view.getPriority().name() : null);
+        event.setEmployeeId(view.getEmployeeId());
+        event.setEmployeeName(employeeName(view.getLastName(), view.getFirstName()));
+        return event;
+    }
+
+    private static CalendarEventDTO toEvent(CalendarTrainingView view) {
+        CalendarEventDTO event = new CalendarEventDTO(
+            view.getId(),
+            CalendarEventDTO.Type.INSTRUCTION,
+            view.getTrainingName(),
+            view.getNextTrainingDate()
+        );
+        event.setEmployeeId(view.getEmployeeId());
+        event.setEmployeeName(employeeName(view.getLastName(), view.getFirstName()));
+        event.setValidityPeriod(view.getValidityPeriod());
+        return event;
+    }
+
+    private static CalendarEventDTO toEvent(AdditionalTrainingExpiryView view) {
+        CalendarEventDTO event = new CalendarEventDTO(
+            view.getId(),
+            CalendarEventDTO.Type.ADDITIONAL_TRAINING,
+            view.getTrainingName(),
+            view.getNextTrainingDate()
+        );
+        event.setProfessionId(view.getProfessionId());
+        event.setProfessionName(view.getProfessionName());
+        return event;
+    }
+
+    private static CalendarEventDTO toEvent(CalendarMeetingView view) {
+        CalendarEventDTO event = new CalendarEventDTO(view.getId(), CalendarEventDTO.Type.MEETING, view.getTitle(), view.getEventDate());
+        event.setStartTime(view.getStartTime());
+        event.setEndTime(view.getEndTime());
+        event.setLocation(view.getLocation());
+        return event;
+    }
+
+    private static CalendarEventDTO toEvent(CalendarOtherEventView view) {
+        CalendarEventDTO event = new CalendarEventDTO(view.getId(), CalendarEventDTO.Type.OTHER, view.getTitle(), view.getEventDate());
+        event.setStartTime(view.getStartTime());
+        event.setEndTime(view.getEndTime());
+        event.setLocation(view.getLocation());
+        event.setCompleted(view.getCompleted());
+        return event;
+    }
+
+    private static String employeeName(String lastName, String firstName) {
+        return lastName + " " + firstName;
+    }
+}
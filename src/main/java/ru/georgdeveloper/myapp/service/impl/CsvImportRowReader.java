@@ -0,0 +1,115 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Потоковое чтение CSV (RFC 4180): поля в кавычках могут содержать разделитель, кавычки и переводы строк.
+ * Разделитель ({@code ;} или {@code ,}) определяется по строке заголовка, BOM в начале файла пропускается.
+ */
+class CsvImportRowReader implements ImportRowReader {
+
+    // Сколько символов заголовка просматривается для определения разделителя
+    private static final int HEADER_LOOKAHEAD = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    private final char delimiter;
+
+    private int rowNumber;
+
+    CsvImportRowReader(InputStream content) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        this.delimiter = detectDelimiter();
+    }
+
+    private char detectDelimiter() throws IOException {
+        reader.mark(HEADER_LOOKAHEAD);
+        int semicolons = 0;
+        int commas = 0;
+        boolean quoted = false;
+        for (int i = 0; i < HEADER_LOOKAHEAD; i++) {
+            int c = reader.read();
+            if (c == -1 || (!quoted && (c == '\n' || c == '\r'))) {
+                break;
+            }
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ';') {
+                semicolons++;
+            } else if (!quoted && c == ',') {
+                commas++;
+            }
+        }
+        reader.reset();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    @Override
+    public String[] nextRow() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        rowNumber++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Незакрытая кавычка в строке " + rowNumber);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    @Override
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
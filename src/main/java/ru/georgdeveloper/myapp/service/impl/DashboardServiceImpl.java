@@ -0,0 +1,69 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.repository.TeamRepository;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
+import ru.georgdeveloper.myapp.service.DashboardService;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
+import ru.georgdeveloper.myapp.service.dto.TeamComplianceDTO;
+
+/**
+ * Реализация сервиса показателей панели.
+ * Показатели берутся из {@link ComplianceCounters}, из БД читаются только названия команд.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    // Инструктаж считается истекающим, если дата следующего прохождения наступит в пределах этого срока
+    static final int EXPIRING_WITHIN_DAYS = 30;
+
+    private final TeamAccessIndex teamAccessIndex;
+    private final TeamRepository teamRepository;
+    private final ComplianceCounters complianceCounters;
+
+    public DashboardServiceImpl(TeamAccessIndex teamAccessIndex, TeamRepository teamRepository, ComplianceCounters complianceCounters) {
+        this.teamAccessIndex = teamAccessIndex;
+        this.teamRepository = teamRepository;
+        this.complianceCounters = complianceCounters;
+    }
+
+    @Override
+    public List<TeamComplianceDTO> getCompliance(String currentUserLogin) {
+        LOG.debug("Запрос показателей соответствия для пользователя: {}", currentUserLogin);
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, ComplianceCounters.Counts> counts = complianceCounters.getCounts(teamIds, LocalDate.now(), EXPIRING_WITHIN_DAYS);
+        return teamRepository
+            .findAllById(teamIds)
+            .stream()
+            .sorted(Comparator.comparing(Team::getTeamName, Comparator.nullsLast(Comparator.naturalOrder())))
+            .map(team -> toDto(team, counts.get(team.getId())))
+            .toList();
+    }
+
+    private static TeamComplianceDTO toDto(Team team, ComplianceCounters.Counts counts) {
+        return new TeamComplianceDTO(
+            team.getId(),
+            team.getTeamName(),
+            counts.employees(),
+            counts.overdueTrainings(),
+            counts.expiringTrainings(),
+            counts.openTasks(),
+            counts.openTasksByPriority()
+        );
+    }
+}
@@ -0,0 +1,384 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.repository.EmployeeRepository;
+import ru.georgdeveloper.myapp.repository.PositionRepository;
+import ru.georgdeveloper.myapp.repository.ProfessionRepository;
+import ru.georgdeveloper.myapp.repository.TeamRepository;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
+import ru.georgdeveloper.myapp.service.EmployeeImportService;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
+import ru.georgdeveloper.myapp.service.dto.EmployeeImportReport;
+
+/**
+ * Реализация массового импорта сотрудников.
+ * <p>
+ * Файл читается построчно, справочники разрешаются по названию через кеш на время одного импорта,
+ * уникальность табельных номеров проверяется по заранее загруженному множеству. Строки копятся
+ * в пакеты по {@value #CHUNK_SIZE} и сохраняются каждый в своей транзакции (вставки объединяет
+ * {@code hibernate.jdbc.batch_size}). Если пакет не сохранился, его строки сохраняются по одной,
+ * чтобы ошибка попала в отчет только для виновной строки.
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    // Количество строк в одной транзакции
+    static final int CHUNK_SIZE = 1000;
+
+    // Сколько ошибок перечисляется в отчете подробно
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Разделитель профессий внутри ячейки
+    private static final Pattern PROFESSION_SEPARATOR = Pattern.compile("[,;|]");
+
+    // Отсчет порядковых номеров дней в Excel (с учетом ошибки 1900 года)
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private static final Pattern EXCEL_SERIAL = Pattern.compile("\\d{1,6}(\\.0+)?");
+
+    private static final DateTimeFormatter RUSSIAN_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    /**
+     * Колонки файла импорта. Заголовок сопоставляется без учета регистра, пробелов, дефисов и подчеркиваний.
+     */
+    enum Column {
+        FIRST_NAME(true, "firstname", "имя"),
+        LAST_NAME(true, "lastname", "фамилия"),
+        BIRTH_DATE(true, "birthdate", "датарождения"),
+        EMPLOYEE_NUMBER(true, "employeenumber", "табельныйномер"),
+        HIRE_DATE(true, "hiredate", "датаприема"),
+        TEAM(false, "team", "команда"),
+        POSITION(false, "position", "должность"),
+        PROFESSIONS(false, "professions", "профессии");
+
+        private final boolean required;
+
+        private final Set<String> aliases;
+
+        Column(boolean required, String... aliases) {
+            this.required = required;
+            this.aliases = Set.of(aliases);
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final TeamRepository teamRepository;
+    private final PositionRepository positionRepository;
+    private final ProfessionRepository professionRepository;
+    private final TeamAccessIndex teamAccessIndex;
+    private final ComplianceCounters complianceCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeImportServiceImpl(
+        EmployeeRepository employeeRepository,
+        TeamRepository teamRepository,
+        PositionRepository positionRepository,
+        ProfessionRepository professionRepository,
+        TeamAccessIndex teamAccessIndex,
+        ComplianceCounters complianceCounters,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.teamRepository = teamRepository;
+        this.positionRepository = positionRepository;
+        this.professionRepository = professionRepository;
+        this.teamAccessIndex = teamAccessIndex;
+        this.complianceCounters = complianceCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public EmployeeImportReport importEmployees(InputStream content, Format format, String currentUserLogin) {
+        LOG.debug("Запрос на импорт сотрудников из {}", format);
+        try (ImportRowReader reader = format == Format.XLSX ? new XlsxImportRowReader(content) : new CsvImportRowReader(content)) {
+            String[] header = reader.nextRow();
+            if (header == null) {
+                throw new IllegalArgumentException("Файл не содержит строку заголовка");
+            }
+            Map<Column, Integer> columns = mapColumns(header);
+
+            Lookup lookup = new Lookup(teamAccessIndex.getTeamIds(currentUserLogin));
+            Set<String> employeeNumbers = new HashSet<>(employeeRepository.findAllEmployeeNumbers());
+            EmployeeImportReport report = new EmployeeImportReport(MAX_REPORTED_ERRORS);
+            List<PendingEmployee> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            String[] cells;
+            while ((cells = nextRow(reader, report)) != null) {
+                if (isBlank(cells)) {
+                    continue;
+                }
+                report.countRow();
+                int rowNumber = reader.getRowNumber();
+                String employeeNumber = cell(cells, columns, Column.EMPLOYEE_NUMBER);
+                try {
+                    PendingEmployee pending = parseRow(rowNumber, cells, columns, lookup);
+                    if (!employeeNumbers.add(employeeNumber)) {
+                        throw new IllegalArgumentException("Сотрудник с таким табельным номером уже существует");
+                    }
+                    chunk.add(pending);
+                } catch (IllegalArgumentException e) {
+                    report.addError(rowNumber, employeeNumber, e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, report);
+            LOG.info(
+                "Импорт сотрудников завершен: строк {}, сохранено {}, с ошибками {}",
+                report.getTotalRows(),
+                report.getImportedRows(),
+                report.getFailedRows()
+            );
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Читает следующую строку данных. Ошибка разбора файла записывается в отчет и завершает чтение:
+     * уже сохраненные порции не откатываются, а отчет показывает, на какой строке импорт остановился.
+     *
+     * @return ячейки строки или {@code null}, если файл закончился или его дальше не прочитать
+     */
+    private static String[] nextRow(ImportRowReader reader, EmployeeImportReport report) throws IOException {
+        try {
+            return reader.nextRow();
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Импорт сотрудников остановлен на строке {}: {}", reader.getRowNumber(), e.getMessage());
+            report.countRow();
+            report.addError(reader.getRowNumber(), null, e.getMessage() + ". Чтение файла остановлено");
+            return null;
+        }
+    }
+
+    private static Map<Column, Integer> mapColumns(String[] header) {
+        Map<Column, Integer> columns = new EnumMap<>(Column.class);
+        for (int i = 0; i < header.length; i++) {
+            String name = normalizeHeader(header[i]);
+            for (Column column : Column.values()) {
+                if (column.aliases.contains(name)) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+        }
+        for (Column column : Column.values()) {
+            if (column.required && !columns.containsKey(column)) {
+                throw new IllegalArgumentException("В заголовке нет обязательной колонки " + column.name());
+            }
+        }
+        return columns;
+    }
+
+    private static String normalizeHeader(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+    }
+
+    private static boolean isBlank(String[] cells) {
+        for (String value : cells) {
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String cell(String[] cells, Map<Column, Integer> columns, Column column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.length || cells[index] == null) {
+            return null;
+        }
+        String value = cells[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private PendingEmployee parseRow(int rowNumber, String[] cells, Map<Column, Integer> columns, Lookup lookup) {
+        Employee employee = new Employee()
+            .firstName(required(cells, columns, Column.FIRST_NAME, "Не указано имя"))
+            .lastName(required(cells, columns, Column.LAST_NAME, "Не указана фамилия"))
+            .birthDate(parseDate(required(cells, columns, Column.BIRTH_DATE, "Не указана дата рождения")))
+            .employeeNumber(required(cells, columns, Column.EMPLOYEE_NUMBER, "Не указан табельный номер"))
+            .hireDate(parseDate(required(cells, columns, Column.HIRE_DATE, "Не указана дата приема")));
+
+        String teamName = cell(cells, columns, Column.TEAM);
+        Long teamId = teamName == null ? null : lookup.team(teamName);
+        String positionName = cell(cells, columns, Column.POSITION);
+        Long positionId = positionName == null ? null : lookup.position(positionName);
+        List<Long> professionIds = new ArrayList<>();
+        String professions = cell(cells, columns, Column.PROFESSIONS);
+        if (professions != null) {
+            for (String professionName : PROFESSION_SEPARATOR.split(professions)) {
+                if (!professionName.isBlank()) {
+                    professionIds.add(lookup.profession(professionName.trim()));
+                }
+            }
+        }
+        return new PendingEmployee(rowNumber, employee, teamId, positionId, professionIds);
+    }
+
+    private static String required(String[] cells, Map<Column, Integer> columns, Column column, String message) {
+        String value = cell(cells, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return value;
+    }
+
+    /**
+     * Разбирает дату в формате ISO, {@code дд.мм.гггг} или порядковый номер дня Excel.
+     */
+    static LocalDate parseDate(String value) {
+        try {
+            if (EXCEL_SERIAL.matcher(value).matches()) {
+                return EXCEL_EPOCH.plusDays((long) Double.parseDouble(value));
+            }
+            if (value.indexOf('.') > 0) {
+                return LocalDate.parse(value, RUSSIAN_DATE);
+            }
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректная дата: " + value);
+        }
+    }
+
+    private void writeChunk(List<PendingEmployee> chunk, EmployeeImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            save(chunk);
+            report.addImported(chunk.size());
+        } catch (DataAccessException | TransactionException e) {
+            LOG.warn("Пакет из {} строк не сохранен, строки сохраняются по одной: {}", chunk.size(), e.getMessage());
+            for (PendingEmployee pending : chunk) {
+                try {
+                    save(List.of(pending));
+                    report.addImported(1);
+                } catch (DataAccessException | TransactionException rowException) {
+                    report.addError(pending.rowNumber(), pending.employee().getEmployeeNumber(), "Не удалось сохранить строку");
+                }
+            }
+        }
+    }
+
+    private void save(List<PendingEmployee> pendings) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Employee> employees = new ArrayList<>(pendings.size());
+            for (PendingEmployee pending : pendings) {
+                employees.add(toEmployee(pending));
+            }
+            employeeRepository.saveAll(employees);
+            employeeRepository.flush();
+            pendings
+                .stream()
+                .filter(pending -> pending.teamId() != null)
+                .collect(Collectors.groupingBy(PendingEmployee::teamId, Collectors.counting()))
+                .forEach((teamId, count) -> complianceCounters.employeesAddedAfterCommit(teamId, count.intValue()));
+        });
+    }
+
+    /**
+     * Создает нового сотрудника со ссылками на связанные сущности (без запросов к БД).
+     * Новый экземпляр создается при каждом сохранении, чтобы повторная попытка
+     * после отката пакета не использовала id, выданный в откаченной транзакции.
+     */
+    private Employee toEmployee(PendingEmployee pending) {
+        Employee source = pending.employee();
+        Employee employee = new Employee()
+            .firstName(source.getFirstName())
+            .lastName(source.getLastName())
+            .birthDate(source.getBirthDate())
+            .employeeNumber(source.getEmployeeNumber())
+            .hireDate(source.getHireDate());
+        if (pending.teamId() != null) {
+            employee.setTeam(teamRepository.getReferenceById(pending.teamId()));
+        }
+        if (pending.positionId() != null) {
+            employee.setPosition(positionRepository.getReferenceById(pending.positionId()));
+        }
+        for (Long professionId : pending.professionIds()) {
+            employee.getProfessions().add(professionRepository.getReferenceById(professionId));
+        }
+        return employee;
+    }
+
+    /**
+     * Строка, прошедшая проверку: поля сотрудника и id связанных сущностей.
+     */
+    private record PendingEmployee(int rowNumber, Employee employee, Long teamId, Long positionId, List<Long> professionIds) {}
+
+    /**
+     * Кеш справочников на время одного импорта: каждое название запрашивается из БД не более одного раза.
+     */
+    private final class Lookup {
+
+        private final Collection<Long> teamIds;
+
+        private final Map<String, List<Long>> teams = new HashMap<>();
+
+        private final Map<String, List<Long>> positions = new HashMap<>();
+
+        private final Map<String, List<Long>> professions = new HashMap<>();
+
+        private Lookup(Collection<Long> teamIds) {
+            this.teamIds = teamIds;
+        }
+
+        Long team(String name) {
+            return resolve(
+                teams,
+                name,
+                key -> teamIds.isEmpty() ? List.of() : teamRepository.findIdsByTeamNameAndIdIn(key, teamIds),
+                "Команда не найдена среди доступных: "
+            );
+        }
+
+        Long position(String name) {
+            return resolve(positions, name, positionRepository::findIdsByPositionName, "Должность не найдена: ");
+        }
+
+        Long profession(String name) {
+            return resolve(professions, name, professionRepository::findIdsByProfessionName, "Профессия не найдена: ");
+        }
+
+        private Long resolve(Map<String, List<Long>> cache, String name, Function<String, List<Long>> loader, String notFound) {
+            List<Long> ids = cache.computeIfAbsent(name.toLowerCase(Locale.ROOT), loader);
+            if (ids.isEmpty()) {
+                throw new IllegalArgumentException(notFound + name);
+            }
+            if (ids.size() > 1) {
+                throw new IllegalArgumentException("Название неоднозначно: " + name);
+            }
+            return ids.get(0);
+        }
+    }
+}
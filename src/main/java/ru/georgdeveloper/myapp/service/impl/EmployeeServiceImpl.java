@@ -1,9 +1,14 @@
 package ru.georgdeveloper.myapp.service.impl;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,10 +19,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.Employee;
 import ru.georgdeveloper.myapp.domain.Profession;
-import ru.georgdeveloper.myapp.domain.Training;
+import ru.georgdeveloper.myapp.repository.EmployeeKeyset;
 import ru.georgdeveloper.myapp.repository.EmployeeRepository;
 import ru.georgdeveloper.myapp.repository.ProfessionRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
 import ru.georgdeveloper.myapp.service.EmployeeService;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.EmployeeWithLastInstructionDateDTO;
 
 /**
  * Реализация сервиса для управления сущностью {@link Employee}.
@@ -31,15 +41,30 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final ProfessionRepository professionRepository;
+    private final TeamAccessIndex teamAccessIndex;
+    private final ComplianceCounters complianceCounters;
+    private final CalendarFeedVersion calendarFeedVersion;
 
     /**
      * Конструктор с внедрением зависимости репозитория.
      *
      * @param employeeRepository репозиторий для работы с Employee
+     * @param teamAccessIndex индекс команд, доступных пользователям
+     * @param complianceCounters счетчики соответствия по командам
+     * @param calendarFeedVersion версия данных календарных лент: в них входят имена и команды сотрудников
      */
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, ProfessionRepository professionRepository) {
+    public EmployeeServiceImpl(
+        EmployeeRepository employeeRepository,
+        ProfessionRepository professionRepository,
+        TeamAccessIndex teamAccessIndex,
+        ComplianceCounters complianceCounters,
+        CalendarFeedVersion calendarFeedVersion
+    ) {
         this.employeeRepository = employeeRepository;
         this.professionRepository = professionRepository;
+        this.teamAccessIndex = teamAccessIndex;
+        this.complianceCounters = complianceCounters;
+        this.calendarFeedVersion = calendarFeedVersion;
     }
 
     /**
@@ -51,7 +76,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public Employee save(Employee employee) {
         LOG.debug("Запрос на сохранение сотрудника: {}", employee);
-        return employeeRepository.save(employee);
+        Employee result = employeeRepository.save(employee);
+        complianceCounters.employeesAddedAfterCommit(teamId(result), 1);
+        return result;
     }
 
     /**
@@ -63,7 +90,14 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public Employee update(Employee employee) {
         LOG.debug("Запрос на обновление сотрудника: {}", employee);
-        return employeeRepository.save(employee);
+        Long previousTeamId = employeeRepository.findTeamIdById(employee.getId()).orElse(null);
+        Employee result = employeeRepository.save(employee);
+        if (!Objects.equals(previousTeamId, teamId(result))) {
+            // Вместе с сотрудником в другую команду переходят его инструктажи и задачи
+            complianceCounters.recountAfterCommit(Arrays.asList(previousTeamId, teamId(result)));
+        }
+        calendarFeedVersion.changedAfterCommit();
+        return result;
     }
 
     /**
@@ -95,6 +129,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 if (employee.getHireDate() != null) {
                     existingEmployee.setHireDate(employee.getHireDate());
                 }
+                calendarFeedVersion.changedAfterCommit();
 
                 return existingEmployee;
             })
@@ -123,19 +158,132 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional(readOnly = true)
     @Override
     public Page<Employee> findAllWithEagerRelationships(String currentUserLogin, Pageable pageable) {
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
         // Сначала получаем страницу ID с пагинацией
-        Page<Employee> employeePage = employeeRepository.findAllByUserTeams(currentUserLogin, pageable);
+        Page<Employee> employeePage = employeeRepository.findAllByTeamIds(teamIds, pageable);
 
         // Затем загружаем связанные сущности для этих ID
         List<Long> employeeIds = employeePage.getContent().stream().map(Employee::getId).collect(Collectors.toList());
 
         List<Employee> employeesWithRelationships = employeeRepository.findAllWithTeamAndPosition(employeeIds);
 
-        // Обогащаем сотрудников вычисляемыми полями
-        List<Employee> enrichedEmployees = enrichEmployees(employeesWithRelationships);
-
         // Собираем результат
-        return new PageImpl<>(enrichedEmployees, pageable, employeePage.getTotalElements());
+        return new PageImpl<>(employeesWithRelationships, pageable, employeePage.getTotalElements());
+    }
+
+    /**
+     * Получает сотрудников с датой последнего инструктажа через проекцию.
+     * В отличие от {@link #findAllWithEagerRelationships} не загружает инструктажи:
+     * максимум даты вычисляется в SQL, названия команды и должности берутся из того же запроса.
+     *
+     * @param currentUserLogin логин текущего пользователя
+     * @param pageable параметры пагинации
+     * @return страница DTO
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EmployeeWithLastInstructionDateDTO> findAllWithLastInstructionDate(String currentUserLogin, Pageable pageable) {
+        LOG.debug("Запрос на получение страницы сотрудников с датой последнего инструктажа");
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return employeeRepository.findAllWithLastInstructionDateByTeamIds(teamIds, pageable).map(EmployeeWithLastInstructionDateDTO::new);
+    }
+
+    /**
+     * Получает сотрудников из команд пользователя с курсорной пагинацией.
+     * Выбирается на одну запись больше размера страницы, чтобы без COUNT узнать, есть ли продолжение.
+     *
+     * @param currentUserLogin логин текущего пользователя
+     * @param keyset позиция курсора
+     * @param size размер страницы
+     * @param withCount выполнять ли подсчет общего количества
+     * @param eagerload загружать ли связанные сущности
+     * @return страница с курсорами соседних страниц
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> findAllByCursor(
+        String currentUserLogin,
+        EmployeeKeyset keyset,
+        int size,
+        boolean withCount,
+        boolean eagerload
+    ) {
+        LOG.debug("Запрос на получение страницы сотрудников по курсору: {}", keyset);
+        Function<List<Long>, List<Employee>> loader = eagerload ? employeeRepository::findAllWithTeamAndPosition : null;
+        return findPageByCursor(currentUserLogin, keyset, size, withCount, loader);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeWithLastInstructionDateDTO> findAllWithLastInstructionDateByCursor(
+        String currentUserLogin,
+        EmployeeKeyset keyset,
+        int size,
+        boolean withCount
+    ) {
+        LOG.debug("Запрос на получение страницы сотрудников с датой последнего инструктажа по курсору: {}", keyset);
+        return findPageByCursor(currentUserLogin, keyset, size, withCount, employeeRepository::findAllWithTeamAndPositionOnly).map(
+            EmployeeWithLastInstructionDateDTO::new
+        );
+    }
+
+    /**
+     * Выбирает страницу по курсору и догружает связи сотрудников страницы.
+     *
+     * @param loader запрос, догружающий связи по id сотрудников, или {@code null}, если связи не нужны
+     */
+    private CursorPage<Employee> findPageByCursor(
+        String currentUserLogin,
+        EmployeeKeyset keyset,
+        int size,
+        boolean withCount,
+        Function<List<Long>, List<Employee>> loader
+    ) {
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return new CursorPage<>(Collections.emptyList(), null, null, withCount ? 0L : null);
+        }
+        List<Employee> rows = employeeRepository.findKeysetByTeamIds(teamIds, keyset, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<Employee> content = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (keyset.backward()) {
+            // Предыдущая страница выбиралась в обратном порядке
+            Collections.reverse(content);
+        }
+
+        // При движении назад следующая страница существует всегда, предыдущая - если выбрана лишняя запись
+        boolean hasNext = keyset.backward() || hasMore;
+        boolean hasPrev = keyset.backward() ? hasMore : !keyset.isFirst();
+        String nextCursor = hasNext && !content.isEmpty() ? keyset.after(content.get(content.size() - 1)).encode() : null;
+        String prevCursor = hasPrev && !content.isEmpty() ? keyset.before(content.get(0)).encode() : null;
+
+        if (loader != null && !content.isEmpty()) {
+            content = loadRelationships(content, loader);
+        }
+        Long total = withCount ? employeeRepository.countByTeamIds(teamIds) : null;
+        return new CursorPage<>(content, nextCursor, prevCursor, total);
+    }
+
+    /**
+     * Догружает связи сотрудников, сохраняя порядок исходного списка.
+     *
+     * @param employees сотрудники в нужном порядке
+     * @param loader запрос, загружающий сотрудников со связями по id
+     * @return те же сотрудники с загруженными связями
+     */
+    private List<Employee> loadRelationships(List<Employee> employees, Function<List<Long>, List<Employee>> loader) {
+        List<Long> employeeIds = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        Map<Long, Employee> loaded = loader
+            .apply(employeeIds)
+            .stream()
+            .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return employeeIds.stream().map(loaded::get).collect(Collectors.toList());
     }
 
     /**
@@ -148,7 +296,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional(readOnly = true)
     public Optional<Employee> findOne(Long id) {
         LOG.debug("Запрос на получение сотрудника с ID: {}", id);
-        return employeeRepository.findOneWithEagerRelationships(id).map(this::enrichEmployee);
+        return employeeRepository.findOneWithEagerRelationships(id);
     }
 
     /**
@@ -159,39 +307,54 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public void delete(Long id) {
         LOG.debug("Запрос на удаление сотрудника с ID: {}", id);
+        Optional<Long> previousTeamId = employeeRepository.findTeamIdById(id);
         employeeRepository.deleteById(id);
+        previousTeamId.ifPresent(teamId -> complianceCounters.recountAfterCommit(List.of(teamId)));
+        calendarFeedVersion.changedAfterCommit();
     }
 
     /**
      * Находит всех сотрудников из команд текущего пользователя
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Employee> findAllForCurrentUser(String currentUserLogin) {
-        List<Employee> employees = employeeRepository.findAllForCurrentUser(currentUserLogin);
-        return enrichEmployees(employees);
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return employeeRepository.findAllByTeamIds(teamIds);
     }
 
     /**
      * Находит всех сотрудников из команд текущего пользователя (с пагинацией)
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<Employee> findAllForCurrentUser(String currentUserLogin, Pageable pageable) {
-        Page<Employee> employeePage = employeeRepository.findAllForCurrentUser(currentUserLogin, pageable);
-        List<Employee> enrichedEmployees = enrichEmployees(employeePage.getContent());
-        return new PageImpl<>(enrichedEmployees, pageable, employeePage.getTotalElements());
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return employeeRepository.findAllByTeamIds(teamIds, pageable);
     }
 
     /**
      * Находит одного сотрудника с проверкой доступа текущего пользователя
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Employee> findOneForCurrentUser(Long employeeId, String currentUserLogin) {
-        return employeeRepository.findOneForCurrentUser(employeeId, currentUserLogin).map(this::enrichEmployee);
+        List<Long> teamIds = teamAccessIndex.getTeamIds(currentUserLogin);
+        if (teamIds.isEmpty()) {
+            return Optional.empty();
+        }
+        return employeeRepository.findOneByTeamIds(employeeId, teamIds);
     }
 
     @Override
     public Optional<Employee> findOneWithProfessions(Long id) {
-        return employeeRepository.findOneWithEagerRelationships(id).map(this::enrichEmployee);
+        return employeeRepository.findOneWithEagerRelationships(id);
     }
 
     @Override
@@ -218,69 +381,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
-    /**
-     * Вычисляет дату последнего инструктажа для сотрудника.
-     * Находит самую позднюю дату среди всех инструктажей сотрудника.
-     *
-     * @param employee сотрудник для которого вычисляется дата
-     * @return дата последнего инструктажа или null, если инструктажей нет
-     */
-    private LocalDate calculateLastInstructionDate(Employee employee) {
-        LOG.debug("Вычисляем дату последнего инструктажа для сотрудника ID: {}", employee.getId());
-
-        if (employee.getTrainings() == null || employee.getTrainings().isEmpty()) {
-            LOG.debug("У сотрудника нет тренировок, возвращаем null");
-            return null;
-        }
-
-        LOG.debug("Найдено тренировок: {}", employee.getTrainings().size());
-
-        // Логируем все даты тренировок
-        employee
-            .getTrainings()
-            .forEach(training -> {
-                LOG.debug("Тренировка ID: {}, дата: {}", training.getId(), training.getLastTrainingDate());
-            });
-
-        LocalDate result = employee
-            .getTrainings()
-            .stream()
-            .map(Training::getLastTrainingDate)
-            .filter(date -> date != null)
-            .max(LocalDate::compareTo)
-            .orElse(null);
-
-        LOG.debug("Результат вычисления даты последнего инструктажа: {}", result);
-        return result;
-    }
-
-    /**
-     * Обогащает сотрудника вычисляемыми полями.
-     * Устанавливает дату последнего инструктажа.
-     *
-     * @param employee сотрудник для обогащения
-     * @return обогащенный сотрудник
-     */
-    private Employee enrichEmployee(Employee employee) {
-        if (employee != null) {
-            LOG.debug("Обогащаем сотрудника ID: {}, имя: {}", employee.getId(), employee.getFirstName());
-            LOG.debug("Количество тренировок: {}", employee.getTrainings() != null ? employee.getTrainings().size() : 0);
-            LOG.debug("Количество профессий: {}", employee.getProfessions() != null ? employee.getProfessions().size() : 0);
-
-            LocalDate lastInstructionDate = calculateLastInstructionDate(employee);
-            LOG.debug("Вычисленная дата последнего инструктажа: {}", lastInstructionDate);
-            employee.setLastInstructionDate(lastInstructionDate);
-        }
-        return employee;
-    }
-
-    /**
-     * Обогащает список сотрудников вычисляемыми полями.
-     *
-     * @param employees список сотрудников для обогащения
-     * @return список обогащенных сотрудников
-     */
-    private List<Employee> enrichEmployees(List<Employee> employees) {
-        return employees.stream().map(this::enrichEmployee).collect(Collectors.toList());
+    private static Long teamId(Employee employee) {
+        return employee.getTeam() != null ? employee.getTeam().getId() : null;
     }
 }
@@ -0,0 +1,133 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Построчная запись календаря в формате iCalendar (RFC 5545) в поток.
+ * <p>
+ * Строки завершаются CRLF и переносятся по 75 октетов без разрыва символов UTF-8,
+ * текстовые значения экранируются. Запись буферизуется, поэтому данные уходят в поток частями по мере записи.
+ * Ошибки записи передаются как {@link UncheckedIOException}, чтобы события можно было писать из потоков данных.
+ */
+final class IcsWriter {
+
+    private static final String CRLF = "\r\n";
+
+    // Наибольшая длина строки в октетах без CRLF; строка продолжения начинается с пробела
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Writer writer;
+
+    IcsWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Пишет свойство со значением, которое не требует экранирования (даты, идентификаторы, константы).
+     */
+    IcsWriter property(String name, String value) {
+        line(name + ":" + value);
+        return this;
+    }
+
+    /**
+     * Пишет текстовое свойство; пустые значения пропускаются.
+     */
+    IcsWriter text(String name, String value) {
+        if (value != null && !value.isBlank()) {
+            line(name + ":" + escape(value));
+        }
+        return this;
+    }
+
+    IcsWriter date(String name, LocalDate date) {
+        return property(name + ";VALUE=DATE", DATE.format(date));
+    }
+
+    /**
+     * Пишет дату и время без часового пояса: клиент показывает их в своем поясе как есть.
+     */
+    IcsWriter dateTime(String name, LocalDateTime dateTime) {
+        return property(name, DATE_TIME.format(dateTime));
+    }
+
+    IcsWriter utc(String name, Instant instant) {
+        return property(name, UTC_DATE_TIME.format(instant));
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void line(String content) {
+        try {
+            fold(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void fold(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length();) {
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write(CRLF);
+                writer.write(' ');
+                octets = 1;
+            }
+            writer.write(content, i, Character.charCount(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // Переводы строк передаются только как \n
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
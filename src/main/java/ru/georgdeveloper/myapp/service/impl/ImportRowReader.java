@@ -0,0 +1,23 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Последовательное чтение строк табличного файла без загрузки его в память целиком.
+ */
+interface ImportRowReader extends Closeable {
+    /**
+     * Читает следующую строку.
+     *
+     * @return значения ячеек (пустые ячейки - пустые строки или null) или null, если строки закончились
+     * @throws IOException при ошибке чтения
+     * @throws IllegalArgumentException если содержимое файла не соответствует формату
+     */
+    String[] nextRow() throws IOException;
+
+    /**
+     * @return номер последней прочитанной строки в файле, начиная с 1
+     */
+    int getRowNumber();
+}
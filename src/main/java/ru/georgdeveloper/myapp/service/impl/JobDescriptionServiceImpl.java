@@ -1,5 +1,6 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
@@ -9,7 +10,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.JobDescription;
 import ru.georgdeveloper.myapp.repository.JobDescriptionRepository;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
+import ru.georgdeveloper.myapp.service.DocumentContentService.StoredContent;
 import ru.georgdeveloper.myapp.service.JobDescriptionService;
+import ru.georgdeveloper.myapp.service.PdfSignatureInputStream;
 
 /**
  * Реализация сервиса для управления должностными инструкциями ({@link JobDescription}).
@@ -23,12 +28,17 @@ public class JobDescriptionServiceImpl implements JobDescriptionService {
 
     private final JobDescriptionRepository jobDescriptionRepository;
 
+    // Содержимое PDF-файлов и ссылки на него
+    private final DocumentContentService documentContentService;
+
     /**
-     * Конструктор с внедрением зависимости репозитория.
+     * Конструктор с внедрением зависимостей.
      * @param jobDescriptionRepository репозиторий для работы с должностными инструкциями
+     * @param documentContentService сервис содержимого PDF-файлов
      */
-    public JobDescriptionServiceImpl(JobDescriptionRepository jobDescriptionRepository) {
+    public JobDescriptionServiceImpl(JobDescriptionRepository jobDescriptionRepository, DocumentContentService documentContentService) {
         this.jobDescriptionRepository = jobDescriptionRepository;
+        this.documentContentService = documentContentService;
     }
 
     /**
@@ -114,12 +124,46 @@ public class JobDescriptionServiceImpl implements JobDescriptionService {
     }
 
     /**
-     * Удаляет должностную инструкцию по ID.
+     * Удаляет должностную инструкцию по ID и освобождает ссылку на содержимое ее PDF-файла.
      * @param id идентификатор инструкции для удаления
      */
     @Override
     public void delete(Long id) {
         LOG.debug("Запрос на удаление должностной инструкции с ID: {}", id);
+        Optional<PdfFileView> pdfFile = jobDescriptionRepository.lockPdfFileById(id);
         jobDescriptionRepository.deleteById(id);
+        pdfFile.ifPresent(file -> documentContentService.release(file.getPdfFileSha256()));
+    }
+
+    @Override
+    public Optional<JobDescription> attachPdfFile(Long id, String fileName, String contentType, InputStream content) {
+        LOG.debug("Запрос на загрузку PDF-файла должностной инструкции {}: {}", id, fileName);
+        Optional<PdfFileView> previous = jobDescriptionRepository.lockPdfFileById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        StoredContent stored = documentContentService.store(new PdfSignatureInputStream(content));
+        jobDescriptionRepository.updatePdfFile(id, fileName, contentType, stored.size(), stored.sha256());
+        documentContentService.release(previous.get().getPdfFileSha256());
+        return findOne(id);
+    }
+
+    @Override
+    public Optional<JobDescription> removePdfFile(Long id) {
+        LOG.debug("Запрос на удаление PDF-файла должностной инструкции: {}", id);
+        Optional<PdfFileView> previous = jobDescriptionRepository.lockPdfFileById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        jobDescriptionRepository.clearPdfFile(id);
+        documentContentService.release(previous.get().getPdfFileSha256());
+        return findOne(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PdfFileView> findPdfFile(Long id) {
+        LOG.debug("Запрос на получение PDF-файла должностной инструкции: {}", id);
+        return jobDescriptionRepository.findPdfFileById(id);
     }
 }
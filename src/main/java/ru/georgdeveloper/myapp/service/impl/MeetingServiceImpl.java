@@ -0,0 +1,87 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.security.SecurityUtils;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.MeetingConflictIndex;
+import ru.georgdeveloper.myapp.service.MeetingRoomConflictException;
+import ru.georgdeveloper.myapp.service.MeetingService;
+import ru.georgdeveloper.myapp.service.ReminderScheduler;
+
+/**
+ * Реализация сервиса для управления встречами.
+ * Проверка занятости помещения и сохранение встречи выполняются в одной транзакции под блокировкой помещения,
+ * поэтому из двух одновременных встреч в одном помещении проверку проходит только одна.
+ */
+@Service
+@Transactional
+public class MeetingServiceImpl implements MeetingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeetingServiceImpl.class);
+
+    private final MeetingRepository meetingRepository;
+
+    private final MeetingConflictIndex meetingConflictIndex;
+
+    private final CalendarFeedVersion calendarFeedVersion;
+
+    private final ReminderScheduler reminderScheduler;
+
+    public MeetingServiceImpl(
+        MeetingRepository meetingRepository,
+        MeetingConflictIndex meetingConflictIndex,
+        CalendarFeedVersion calendarFeedVersion,
+        ReminderScheduler reminderScheduler
+    ) {
+        this.meetingRepository = meetingRepository;
+        this.meetingConflictIndex = meetingConflictIndex;
+        this.calendarFeedVersion = calendarFeedVersion;
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    @Override
+    public Meeting save(Meeting meeting) {
+        LOG.debug("Запрос на сохранение встречи: {}", meeting.getTitle());
+        // Организатор получает напоминание о встрече
+        meeting.setCreatedBy(SecurityUtils.getCurrentUserLogin().orElse(null));
+        return book(meeting);
+    }
+
+    @Override
+    public Meeting update(Meeting meeting) {
+        LOG.debug("Запрос на обновление встречи: {}", meeting.getId());
+        // Организатор задается только при создании; в ответе возвращается сохраненный
+        meeting.setCreatedBy(meetingRepository.findById(meeting.getId()).map(Meeting::getCreatedBy).orElse(null));
+        return book(meeting);
+    }
+
+    @Override
+    public void delete(Long id) {
+        LOG.debug("Запрос на удаление встречи: {}", id);
+        meetingRepository.deleteById(id);
+        calendarFeedVersion.changedAfterCommit();
+        meetingConflictIndex.removeAfterCommit(id);
+        reminderScheduler.cancelAfterCommit(ReminderScheduler.Type.MEETING, id);
+    }
+
+    /**
+     * Проверяет занятость помещения под его блокировкой и сохраняет встречу в той же транзакции.
+     */
+    private Meeting book(Meeting meeting) {
+        List<MeetingConflictIndex.Conflict> conflicts = meetingConflictIndex.lockRoomAndFindConflicts(meeting);
+        if (!conflicts.isEmpty()) {
+            throw new MeetingRoomConflictException(conflicts.get(0));
+        }
+        Meeting result = meetingRepository.save(meeting);
+        calendarFeedVersion.changedAfterCommit();
+        meetingConflictIndex.updateAfterCommit(result);
+        reminderScheduler.meetingChangedAfterCommit(result);
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Слияние нескольких упорядоченных источников (k-way merge), которые читаются параллельно.
+ * <p>
+ * Каждый источник читается в своем потоке и передает элементы через ограниченную очередь, поэтому в памяти
+ * находится не более {@code bufferSize} элементов на источник. Слияние выбирает наименьший из текущих элементов
+ * источников кучей; при равенстве элементы отдаются в порядке источников, порядок внутри источника сохраняется.
+ * <p>
+ * Исполнитель должен сразу запускать все источники: слияние ждет первый элемент каждого из них.
+ */
+final class ParallelMerge {
+
+    /**
+     * Упорядоченный источник, который передает элементы получателю в своем потоке.
+     */
+    @FunctionalInterface
+    interface Source<T> {
+        void read(Consumer<? super T> sink);
+    }
+
+    private static final Object END = new Object();
+
+    // Как часто источник, ожидающий места в очереди, проверяет, не завершено ли слияние
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private ParallelMerge() {}
+
+    /**
+     * Читает источники параллельно и передает их элементы получателю в общем порядке в текущем потоке.
+     * Если источник или получатель завершились ошибкой, остальные источники останавливаются, а ошибка пробрасывается.
+     *
+     * @param sources источники, каждый упорядочен по {@code order}
+     * @param order порядок элементов
+     * @param executor исполнитель для чтения источников
+     * @param bufferSize размер очереди каждого источника
+     * @param consumer получатель элементов
+     */
+    static <T> void merge(
+        List<? extends Source<T>> sources,
+        Comparator<? super T> order,
+        Executor executor,
+        int bufferSize,
+        Consumer<? super T> consumer
+    ) {
+        AtomicBoolean finished = new AtomicBoolean();
+        List<BlockingQueue<Object>> lanes = new ArrayList<>(sources.size());
+        try {
+            for (Source<T> source : sources) {
+                BlockingQueue<Object> lane = new ArrayBlockingQueue<>(bufferSize);
+                lanes.add(lane);
+                executor.execute(() -> produce(source, lane, finished));
+            }
+            PriorityQueue<Head<T>> heads = new PriorityQueue<>(
+                Math.max(1, lanes.size()),
+                Comparator.<Head<T>, T>comparing(Head::item, order).thenComparingInt(Head::lane)
+            );
+            for (int lane = 0; lane < lanes.size(); lane++) {
+                advance(lanes, lane, heads);
+            }
+            while (!heads.isEmpty()) {
+                Head<T> head = heads.poll();
+                consumer.accept(head.item());
+                advance(lanes, head.lane(), heads);
+            }
+        } finally {
+            // Освобождает источники, которые еще ждут места в очереди
+            finished.set(true);
+        }
+    }
+
+    private static <T> void produce(Source<T> source, BlockingQueue<Object> lane, AtomicBoolean finished) {
+        Object last = END;
+        try {
+            source.read(item -> put(lane, item, finished));
+        } catch (MergeFinishedException e) {
+            return;
+        } catch (RuntimeException | Error e) {
+            last = new Failure(e);
+        }
+        try {
+            put(lane, last, finished);
+        } catch (MergeFinishedException e) {
+            // Слияние уже завершилось, передавать конец источника некому
+        }
+    }
+
+    private static void put(BlockingQueue<Object> lane, Object item, AtomicBoolean finished) {
+        try {
+            while (!lane.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (finished.get()) {
+                    throw new MergeFinishedException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MergeFinishedException();
+        }
+    }
+
+    private static <T> void advance(List<BlockingQueue<Object>> lanes, int lane, PriorityQueue<Head<T>> heads) {
+        Object next;
+        try {
+            next = lanes.get(lane).take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Слияние источников прервано", e);
+        }
+        if (next == END) {
+            return;
+        }
+        if (next instanceof Failure failure) {
+            if (failure.cause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) failure.cause();
+        }
+        @SuppressWarnings("unchecked")
+        T item = (T) next;
+        heads.add(new Head<>(item, lane));
+    }
+
+    private record Head<T>(T item, int lane) {}
+
+    private record Failure(Throwable cause) {}
+
+    /**
+     * Останавливает чтение источника после завершения слияния.
+     */
+    private static final class MergeFinishedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        MergeFinishedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.io.InputStream;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +9,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 import ru.georgdeveloper.myapp.repository.ProcedureDocumentRepository;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
+import ru.georgdeveloper.myapp.service.DocumentContentService.StoredContent;
+import ru.georgdeveloper.myapp.service.PdfSignatureInputStream;
 import ru.georgdeveloper.myapp.service.ProcedureDocumentService;
 
 /**
@@ -22,8 +27,14 @@ public class ProcedureDocumentServiceImpl implements ProcedureDocumentService {
 
     private final ProcedureDocumentRepository procedureDocumentRepository;
 
-    public ProcedureDocumentServiceImpl(ProcedureDocumentRepository procedureDocumentRepository) {
+    private final DocumentContentService documentContentService;
+
+    public ProcedureDocumentServiceImpl(
+        ProcedureDocumentRepository procedureDocumentRepository,
+        DocumentContentService documentContentService
+    ) {
         this.procedureDocumentRepository = procedureDocumentRepository;
+        this.documentContentService = documentContentService;
     }
 
     @Override
@@ -54,15 +65,6 @@ public class ProcedureDocumentServiceImpl implements ProcedureDocumentService {
                 if (procedureDocument.getDescription() != null) {
                     existingProcedureDocument.setDescription(procedureDocument.getDescription());
                 }
-                if (procedureDocument.getPdfFileName() != null) {
-                    existingProcedureDocument.setPdfFileName(procedureDocument.getPdfFileName());
-                }
-                if (procedureDocument.getPdfFileContentType() != null) {
-                    existingProcedureDocument.setPdfFileContentType(procedureDocument.getPdfFileContentType());
-                }
-                if (procedureDocument.getPdfFile() != null) {
-                    existingProcedureDocument.setPdfFile(procedureDocument.getPdfFile());
-                }
                 if (procedureDocument.getProfession() != null) {
                     existingProcedureDocument.setProfession(procedureDocument.getProfession());
                 }
@@ -92,6 +94,40 @@ public class ProcedureDocumentServiceImpl implements ProcedureDocumentService {
     @Override
     public void delete(Long id) {
         log.debug("Запрос на удаление процедуры и документации: {}", id);
+        Optional<PdfFileView> pdfFile = procedureDocumentRepository.lockPdfFileById(id);
         procedureDocumentRepository.deleteById(id);
+        pdfFile.ifPresent(file -> documentContentService.release(file.getPdfFileSha256()));
+    }
+
+    @Override
+    public Optional<ProcedureDocument> attachPdfFile(Long id, String fileName, String contentType, InputStream content) {
+        log.debug("Запрос на загрузку PDF-файла документа {}: {}", id, fileName);
+        Optional<PdfFileView> previous = procedureDocumentRepository.lockPdfFileById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        StoredContent stored = documentContentService.store(new PdfSignatureInputStream(content));
+        procedureDocumentRepository.updatePdfFile(id, fileName, contentType, stored.size(), stored.sha256());
+        documentContentService.release(previous.get().getPdfFileSha256());
+        return findOne(id);
+    }
+
+    @Override
+    public Optional<ProcedureDocument> removePdfFile(Long id) {
+        log.debug("Запрос на удаление PDF-файла документа: {}", id);
+        Optional<PdfFileView> previous = procedureDocumentRepository.lockPdfFileById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        procedureDocumentRepository.clearPdfFile(id);
+        documentContentService.release(previous.get().getPdfFileSha256());
+        return findOne(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PdfFileView> findPdfFile(Long id) {
+        log.debug("Запрос на получение PDF-файла документа: {}", id);
+        return procedureDocumentRepository.findPdfFileById(id);
     }
 }
@@ -1,5 +1,6 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.io.InputStream;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +9,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 import ru.georgdeveloper.myapp.repository.SafetyInstructionRepository;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
+import ru.georgdeveloper.myapp.service.DocumentContentService.StoredContent;
+import ru.georgdeveloper.myapp.service.PdfSignatureInputStream;
 import ru.georgdeveloper.myapp.service.SafetyInstructionService;
 
 /**
@@ -25,12 +30,20 @@ public class SafetyInstructionServiceImpl implements SafetyInstructionService {
     // Репозиторий для работы с базой данных
     private final SafetyInstructionRepository safetyInstructionRepository;
 
+    // Содержимое PDF-файлов и ссылки на него
+    private final DocumentContentService documentContentService;
+
     /**
-     * Конструктор с внедрением зависимости SafetyInstructionRepository
+     * Конструктор с внедрением зависимостей
      * @param safetyInstructionRepository - репозиторий для работы с инструкциями
+     * @param documentContentService - сервис содержимого PDF-файлов
      */
-    public SafetyInstructionServiceImpl(SafetyInstructionRepository safetyInstructionRepository) {
+    public SafetyInstructionServiceImpl(
+        SafetyInstructionRepository safetyInstructionRepository,
+        DocumentContentService documentContentService
+    ) {
         this.safetyInstructionRepository = safetyInstructionRepository;
+        this.documentContentService = documentContentService;
     }
 
     /**
@@ -106,12 +119,46 @@ public class SafetyInstructionServiceImpl implements SafetyInstructionService {
     }
 
     /**
-     * Удаляет инструкцию по идентификатору
+     * Удаляет инструкцию по идентификатору и освобождает ссылку на содержимое ее PDF-файла
      * @param id - уникальный идентификатор инструкции для удаления
      */
     @Override
     public void delete(Long id) {
         LOG.debug("Запрос на удаление инструкции с ID: {}", id);
+        Optional<PdfFileView> pdfFile = safetyInstructionRepository.lockPdfFileById(id);
         safetyInstructionRepository.deleteById(id);
+        pdfFile.ifPresent(file -> documentContentService.release(file.getPdfFileSha256()));
+    }
+
+    @Override
+    public Optional<SafetyInstruction> attachPdfFile(Long id, String fileName, String contentType, InputStream content) {
+        LOG.debug("Запрос на загрузку PDF-файла инструкции {}: {}", id, fileName);
+        Optional<PdfFileView> previous = safetyInstructionRepository.lockPdfFileById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        StoredContent stored = documentContentService.store(new PdfSignatureInputStream(content));
+        safetyInstructionRepository.updatePdfFile(id, fileName, contentType, stored.size(), stored.sha256());
+        documentContentService.release(previous.get().getPdfFileSha256());
+        return findOne(id);
+    }
+
+    @Override
+    public Optional<SafetyInstruction> removePdfFile(Long id) {
+        LOG.debug("Запрос на удаление PDF-файла инструкции: {}", id);
+        Optional<PdfFileView> previous = safetyInstructionRepository.lockPdfFileById(id);
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        safetyInstructionRepository.clearPdfFile(id);
+        documentContentService.release(previous.get().getPdfFileSha256());
+        return findOne(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PdfFileView> findPdfFile(Long id) {
+        LOG.debug("Запрос на получение PDF-файла инструкции: {}", id);
+        return safetyInstructionRepository.findPdfFileById(id);
     }
 }
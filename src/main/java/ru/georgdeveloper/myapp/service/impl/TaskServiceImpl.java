@@ -1,5 +1,6 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -9,12 +10,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.repository.EmployeeRepository;
 import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
+import ru.georgdeveloper.myapp.service.ComplianceCounters.TaskState;
+import ru.georgdeveloper.myapp.service.ReminderScheduler;
 import ru.georgdeveloper.myapp.service.TaskService;
+import ru.georgdeveloper.myapp.service.TaskStatsService;
+import ru.georgdeveloper.myapp.service.TaskStatsService.TaskKpiState;
 
 /**
  * Реализация сервиса для управления задачами.
- * Обеспечивает CRUD-операции для сущности {@link Task}.
+ * Обеспечивает CRUD-операции для сущности {@link Task}
+ * и поддерживает счетчики незавершенных задач команды, помесячные показатели выполнения задач
+ * и версию календарных лент при каждом изменении.
  */
 @Service // Указывает, что класс является Spring-сервисом
 @Transactional // Все методы выполняются в транзакционном контексте
@@ -26,12 +37,44 @@ public class TaskServiceImpl implements TaskService {
     // Репозиторий для работы с задачами в БД
     private final TaskRepository taskRepository;
 
+    // Репозиторий сотрудников для определения команды задачи
+    private final EmployeeRepository employeeRepository;
+
+    // Счетчики незавершенных задач по командам
+    private final ComplianceCounters complianceCounters;
+
+    // Версия данных календарных лент
+    private final CalendarFeedVersion calendarFeedVersion;
+
+    // Напоминания о сроках задач
+    private final ReminderScheduler reminderScheduler;
+
+    // Помесячные показатели выполнения задач
+    private final TaskStatsService taskStatsService;
+
     /**
-     * Конструктор с внедрением зависимости TaskRepository
+     * Конструктор с внедрением зависимостей
      * @param taskRepository - репозиторий для работы с задачами
+     * @param employeeRepository - репозиторий сотрудников
+     * @param complianceCounters - счетчики соответствия по командам
+     * @param calendarFeedVersion - версия данных календарных лент
+     * @param reminderScheduler - напоминания о сроках задач
+     * @param taskStatsService - помесячные показатели выполнения задач
      */
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(
+        TaskRepository taskRepository,
+        EmployeeRepository employeeRepository,
+        ComplianceCounters complianceCounters,
+        CalendarFeedVersion calendarFeedVersion,
+        ReminderScheduler reminderScheduler,
+        TaskStatsService taskStatsService
+    ) {
         this.taskRepository = taskRepository;
+        this.employeeRepository = employeeRepository;
+        this.complianceCounters = complianceCounters;
+        this.calendarFeedVersion = calendarFeedVersion;
+        this.reminderScheduler = reminderScheduler;
+        this.taskStatsService = taskStatsService;
     }
 
     /**
@@ -42,7 +85,14 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task save(Task task) {
         LOG.debug("Запрос на сохранение задачи: {}", task);
-        return taskRepository.save(task);
+        // Отметку просрочки ставит только ночной обход
+        task.setOverdueSince(null);
+        Task result = taskRepository.save(task);
+        taskStatsService.taskChanged(null, TaskKpiState.of(result));
+        complianceCounters.taskChangedAfterCommit(null, taskState(result, null));
+        calendarFeedVersion.changedAfterCommit();
+        reminderScheduler.taskChangedAfterCommit(result);
+        return result;
     }
 
     /**
@@ -53,7 +103,16 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public Task update(Task task) {
         LOG.debug("Запрос на обновление задачи: {}", task);
-        return taskRepository.save(task);
+        Optional<Task> existing = taskRepository.findById(task.getId());
+        TaskState previousState = existing.map(previous -> taskState(previous, null)).orElse(null);
+        TaskKpiState previousKpiState = existing.map(TaskKpiState::of).orElse(null);
+        task.setOverdueSince(keptOverdueSince(task, existing.map(Task::getOverdueSince).orElse(null)));
+        Task result = taskRepository.save(task);
+        taskStatsService.taskChanged(previousKpiState, TaskKpiState.of(result));
+        complianceCounters.taskChangedAfterCommit(previousState, taskState(result, previousState));
+        calendarFeedVersion.changedAfterCommit();
+        reminderScheduler.taskChangedAfterCommit(result);
+        return result;
     }
 
     /**
@@ -68,6 +127,8 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository
             .findById(task.getId())
             .map(existingTask -> {
+                TaskState previousState = taskState(existingTask, null);
+                TaskKpiState previousKpiState = TaskKpiState.of(existingTask);
                 // Обновляем только те поля, которые явно указаны
                 if (task.getTaskName() != null) {
                     existingTask.setTaskName(task.getTaskName());
@@ -87,10 +148,18 @@ public class TaskServiceImpl implements TaskService {
                 if (task.getBody() != null) {
                     existingTask.setBody(task.getBody());
                 }
+                if (task.getActualCompletionDate() != null) {
+                    existingTask.setActualCompletionDate(task.getActualCompletionDate());
+                }
+                existingTask.setOverdueSince(keptOverdueSince(existingTask, existingTask.getOverdueSince()));
 
-                return existingTask;
-            })
-            .map(taskRepository::save);
+                Task result = taskRepository.save(existingTask);
+                taskStatsService.taskChanged(previousKpiState, TaskKpiState.of(result));
+                complianceCounters.taskChangedAfterCommit(previousState, taskState(result, previousState));
+                calendarFeedVersion.changedAfterCommit();
+                reminderScheduler.taskChangedAfterCommit(result);
+                return result;
+            });
     }
 
     /**
@@ -129,6 +198,55 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public void delete(Long id) {
         LOG.debug("Запрос на удаление задачи с ID: {}", id);
-        taskRepository.deleteById(id);
+        taskRepository
+            .findById(id)
+            .ifPresent(task -> {
+                TaskState previousState = taskState(task, null);
+                TaskKpiState previousKpiState = TaskKpiState.of(task);
+                taskRepository.delete(task);
+                taskStatsService.taskChanged(previousKpiState, null);
+                complianceCounters.taskChangedAfterCommit(previousState, null);
+                calendarFeedVersion.changedAfterCommit();
+                reminderScheduler.cancelAfterCommit(ReminderScheduler.Type.TASK, id);
+            });
+    }
+
+    /**
+     * Отметка просрочки после изменения задачи: клиент ее не задает, а завершение задачи или перенос срока
+     * на сегодня и позже снимает отметку, чтобы ночной обход снова отметил задачу, если срок пройдет.
+     *
+     * @param task задача после изменения
+     * @param previous отметка до изменения или null
+     */
+    private LocalDate keptOverdueSince(Task task, LocalDate previous) {
+        if (
+            previous == null ||
+            task.getStatus() == TaskStatus.DONE ||
+            task.getPlannedCompletionDate() == null ||
+            !task.getPlannedCompletionDate().isBefore(LocalDate.now())
+        ) {
+            return null;
+        }
+        return previous;
+    }
+
+    /**
+     * Состояние задачи для счетчиков соответствия: команда сотрудника, статус и приоритет.
+     * Команда читается из БД, если сотрудник отличается от сотрудника известного состояния.
+     *
+     * @param task задача
+     * @param knownState известное состояние той же задачи до изменения или null
+     */
+    private TaskState taskState(Task task, TaskState knownState) {
+        Long employeeId = task.getEmployee() != null ? task.getEmployee().getId() : null;
+        Long teamId;
+        if (employeeId == null) {
+            teamId = null;
+        } else if (knownState != null && employeeId.equals(knownState.employeeId())) {
+            teamId = knownState.teamId();
+        } else {
+            teamId = employeeRepository.findTeamIdById(employeeId).orElse(null);
+        }
+        return new TaskState(employeeId, teamId, task.getStatus(), task.getPriority());
     }
 }
@@ -1,5 +1,10 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
@@ -8,9 +13,12 @@ import ru.georgdeveloper.myapp.domain.Team;
 import ru.georgdeveloper.myapp.domain.User;
 import ru.georgdeveloper.myapp.domain.UserTeamAccess;
 import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.TeamAccessView;
 import ru.georgdeveloper.myapp.repository.TeamRepository;
 import ru.georgdeveloper.myapp.repository.UserRepository;
 import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
 import ru.georgdeveloper.myapp.service.TeamAccessService;
 
 @Service
@@ -22,10 +30,24 @@ public class TeamAccessServiceImpl implements TeamAccessService {
 
     private final TeamRepository teamRepository;
 
-    public TeamAccessServiceImpl(UserRepository userRepository, UserTeamAccessRepository accessRepository, TeamRepository teamRepository) {
+    private final TeamAccessIndex teamAccessIndex;
+
+    // Команды пользователя определяют задачи и инструктажи в его ленте календаря,
+    // поэтому изменение доступа меняет и Last-Modified ленты
+    private final CalendarFeedVersion calendarFeedVersion;
+
+    public TeamAccessServiceImpl(
+        UserRepository userRepository,
+        UserTeamAccessRepository accessRepository,
+        TeamRepository teamRepository,
+        TeamAccessIndex teamAccessIndex,
+        CalendarFeedVersion calendarFeedVersion
+    ) {
         this.userRepository = userRepository;
         this.accessRepository = accessRepository;
         this.teamRepository = teamRepository;
+        this.teamAccessIndex = teamAccessIndex;
+        this.calendarFeedVersion = calendarFeedVersion;
     }
 
     // Создать команду (автоматически дает доступ владельца)
@@ -44,42 +66,64 @@ public class TeamAccessServiceImpl implements TeamAccessService {
 
         // Сохраняем доступ через репозиторий
         accessRepository.save(access);
+        teamAccessIndex.grantAfterCommit(owner.getLogin(), savedTeam.getId(), AccessLevel.OWNER);
+        calendarFeedVersion.changedAfterCommit();
 
         return savedTeam;
     }
 
+    /**
+     * Приводит список доступа команды к заданному набору пользователей.
+     * Удаленные пользователи убираются одним запросом, новые добавляются пакетной вставкой
+     * (id выдает пуловая последовательность), поэтому число запросов почти не зависит от размера команды.
+     */
     @Override
     @Transactional
     public void updateTeamUsers(Team team, Set<User> users) {
-        // Удаляем старые связи, которые больше не актуальны
-        Set<UserTeamAccess> existingAccesses = accessRepository.findByTeam(team);
-        Set<Long> existingUserIds = existingAccesses.stream().map(access -> access.getUser().getId()).collect(Collectors.toSet());
+        Map<Long, String> existingLogins = accessRepository
+            .findTeamAccessByTeamId(team.getId())
+            .stream()
+            .collect(Collectors.toMap(TeamAccessView::getUserId, TeamAccessView::getLogin, (first, second) -> first));
 
-        Set<Long> newUserIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        Set<Long> newUserIds = users.stream().map(User::getId).filter(Objects::nonNull).collect(Collectors.toSet());
 
         // Удаляем доступы для пользователей, которых больше нет в команде
-        for (UserTeamAccess access : existingAccesses) {
-            if (!newUserIds.contains(access.getUser().getId())) {
-                accessRepository.delete(access);
-            }
+        List<Long> removedUserIds = existingLogins.keySet().stream().filter(id -> !newUserIds.contains(id)).toList();
+        if (!removedUserIds.isEmpty()) {
+            accessRepository.deleteByTeamIdAndUserIds(team.getId(), removedUserIds);
+            removedUserIds.forEach(id -> teamAccessIndex.evictAfterCommit(existingLogins.get(id)));
+            calendarFeedVersion.changedAfterCommit();
         }
 
-        // Добавляем новых пользователей
-        for (User user : users) {
-            if (!existingUserIds.contains(user.getId())) {
-                UserTeamAccess access = new UserTeamAccess();
-                access.setUser(user);
-                access.setTeam(team);
-                access.setAccessLevel(AccessLevel.VIEWER); // Или другой уровень доступа по умолчанию
-                accessRepository.save(access);
-            }
+        // Добавляем новых пользователей (логины берем из БД: в запросе может прийти только id)
+        Set<Long> addedUserIds = newUserIds.stream().filter(id -> !existingLogins.containsKey(id)).collect(Collectors.toSet());
+        if (addedUserIds.isEmpty()) {
+            return;
+        }
+        List<UserTeamAccess> accesses = new ArrayList<>(addedUserIds.size());
+        for (User user : userRepository.findAllById(addedUserIds)) {
+            UserTeamAccess access = new UserTeamAccess();
+            access.setUser(user);
+            access.setTeam(team);
+            access.setAccessLevel(AccessLevel.VIEWER); // Или другой уровень доступа по умолчанию
+            accesses.add(access);
+            teamAccessIndex.grantAfterCommit(user.getLogin(), team.getId(), AccessLevel.VIEWER);
         }
+        accessRepository.saveAll(accesses);
+        calendarFeedVersion.changedAfterCommit();
     }
 
+    // Отозвать доступ пользователя к команде
     @Override
-    public void deleteTeam(Long teamID) {
-        accessRepository.deleteByTeam_Id(teamID);
-        teamRepository.deleteById(teamID);
+    public boolean revokeAccess(Long teamID, Long userID) {
+        Optional<UserTeamAccess> access = accessRepository.findByTeamIdAndUserId(teamID, userID);
+        if (access.isEmpty()) {
+            return false;
+        }
+        accessRepository.delete(access.get());
+        teamAccessIndex.evictAfterCommit(access.get().getUser().getLogin());
+        calendarFeedVersion.changedAfterCommit();
+        return true;
     }
 
     // Предоставить доступ другому пользователю
@@ -95,17 +139,28 @@ public class TeamAccessServiceImpl implements TeamAccessService {
         access.setAccessLevel(AccessLevel.VIEWER);
 
         accessRepository.save(access);
+        teamAccessIndex.grantAfterCommit(userToShareWith.getLogin(), team.getId(), AccessLevel.VIEWER);
+        calendarFeedVersion.changedAfterCommit();
     }
 
-    // Проверить, есть ли у пользователя доступ к команде
+    // Проверить, есть ли у пользователя доступ к команде.
+    // Транзакция только на чтение: в транзакции на запись индекс доступа не используется
     @Override
+    @Transactional(readOnly = true)
     public boolean hasAccess(User user, Team team) {
-        return accessRepository.existsByUserAndTeam(user, team);
+        if (user.getLogin() == null || team.getId() == null) {
+            return accessRepository.existsByUserAndTeam(user, team);
+        }
+        return teamAccessIndex.hasAccess(user.getLogin(), team.getId());
     }
 
     // Проверить, является ли пользователь владельцем команды
     @Override
+    @Transactional(readOnly = true)
     public boolean hasOwnerAccess(User user, Team team) {
-        return accessRepository.existsByUserAndTeamAndAccessLevel(user, team, AccessLevel.OWNER);
+        if (user.getLogin() == null || team.getId() == null) {
+            return accessRepository.existsByUserAndTeamAndAccessLevel(user, team, AccessLevel.OWNER);
+        }
+        return teamAccessIndex.hasOwnerAccess(user.getLogin(), team.getId());
     }
 }
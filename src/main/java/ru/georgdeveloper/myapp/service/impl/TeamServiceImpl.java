@@ -1,5 +1,8 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import org.slf4j.Logger;
@@ -13,6 +16,9 @@ import ru.georgdeveloper.myapp.domain.Team;
 import ru.georgdeveloper.myapp.repository.EmployeeRepository;
 import ru.georgdeveloper.myapp.repository.TeamRepository;
 import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
 import ru.georgdeveloper.myapp.service.TeamService;
 
 /**
@@ -29,24 +35,38 @@ public class TeamServiceImpl implements TeamService {
     // Репозиторий для работы с данными команд в БД
     private final TeamRepository teamRepository;
     private final EmployeeRepository employeeRepository;
+    private final UserTeamAccessRepository userTeamAccessRepository;
     private final TeamAccessServiceImpl teamAccessService;
+    private final TeamAccessIndex teamAccessIndex;
+    private final ComplianceCounters complianceCounters;
+    private final CalendarFeedVersion calendarFeedVersion;
 
     /**
      * Конструктор с внедрением зависимости TeamRepository
      *
      * @param teamRepository           - репозиторий для работы с командами
-     * @param userTeamAccessRepository
+     * @param userTeamAccessRepository - репозиторий доступов к командам
      * @param teamAccessService
+     * @param teamAccessIndex          - индекс доступа к командам
+     * @param complianceCounters       - счетчики соответствия по командам
+     * @param calendarFeedVersion      - версия данных календарных лент
      */
     public TeamServiceImpl(
         TeamRepository teamRepository,
         UserTeamAccessRepository userTeamAccessRepository,
         EmployeeRepository employeeRepository,
-        TeamAccessServiceImpl teamAccessService
+        TeamAccessServiceImpl teamAccessService,
+        TeamAccessIndex teamAccessIndex,
+        ComplianceCounters complianceCounters,
+        CalendarFeedVersion calendarFeedVersion
     ) {
         this.teamRepository = teamRepository;
         this.employeeRepository = employeeRepository;
+        this.userTeamAccessRepository = userTeamAccessRepository;
         this.teamAccessService = teamAccessService;
+        this.teamAccessIndex = teamAccessIndex;
+        this.complianceCounters = complianceCounters;
+        this.calendarFeedVersion = calendarFeedVersion;
     }
 
     /**
@@ -64,15 +84,7 @@ public class TeamServiceImpl implements TeamService {
 
         // Затем обновляем связи с сотрудниками
         if (team.getEmployees() != null) {
-            Set<Employee> employees = (Set<Employee>) team.getEmployees();
-            for (Employee employee : employees) {
-                Optional<Employee> employeeOpt = employeeRepository.findById(employee.getId());
-                if (employeeOpt.isPresent()) {
-                    Employee employeeToUpdate = employeeOpt.get();
-                    employeeToUpdate.setTeam(savedTeam);
-                    employeeRepository.save(employeeToUpdate);
-                }
-            }
+            updateTeamEmployees(savedTeam, team.getEmployees());
         }
 
         return savedTeam;
@@ -105,15 +117,24 @@ public class TeamServiceImpl implements TeamService {
         return savedTeam;
     }
 
+    /**
+     * Назначает сотрудников в команду массовым обновлением по их id.
+     * Количество запросов не зависит от числа сотрудников в пределах {@code hibernate.jdbc.batch_size}.
+     *
+     * @param team      - сохраненная команда
+     * @param employees - сотрудники (достаточно id)
+     */
     private void updateTeamEmployees(Team team, Set<Employee> employees) {
-        for (Employee employee : employees) {
-            Optional<Employee> employeeOpt = employeeRepository.findById(employee.getId());
-            if (employeeOpt.isPresent()) {
-                Employee employeeToUpdate = employeeOpt.get();
-                employeeToUpdate.setTeam(team);
-                employeeRepository.save(employeeToUpdate);
-            }
+        List<Long> employeeIds = employees.stream().map(Employee::getId).filter(Objects::nonNull).distinct().toList();
+        if (employeeIds.isEmpty()) {
+            return;
         }
+        // Сотрудники переходят из прежних команд вместе с инструктажами и задачами: эти команды пересчитываются
+        List<Long> affectedTeamIds = new ArrayList<>(employeeRepository.findTeamIdsByIds(employeeIds));
+        affectedTeamIds.add(team.getId());
+        employeeRepository.assignTeam(employeeIds, team);
+        complianceCounters.recountAfterCommit(affectedTeamIds);
+        calendarFeedVersion.changedAfterCommit();
     }
 
     /**
@@ -138,15 +159,7 @@ public class TeamServiceImpl implements TeamService {
                     existingTeam.setOrganization(team.getOrganization());
                 }
                 if (team.getEmployees() != null) {
-                    Set<Employee> employees = (Set<Employee>) team.getEmployees();
-                    for (Employee employee : employees) {
-                        Optional<Employee> employeeOpt = employeeRepository.findById(employee.getId());
-                        if (employeeOpt.isPresent()) {
-                            Employee employeeToUpdate = employeeOpt.get();
-                            employeeToUpdate.setTeam(existingTeam);
-                            employeeRepository.save(employeeToUpdate);
-                        }
-                    }
+                    updateTeamEmployees(existingTeam, team.getEmployees());
                 }
 
                 return existingTeam;
@@ -194,24 +207,21 @@ public class TeamServiceImpl implements TeamService {
     }
 
     /**
-     * Удаляет команду по идентификатору
+     * Удаляет команду по идентификатору. Единственный путь удаления команды: сотрудники открепляются
+     * и доступы удаляются запросами без загрузки строк, поэтому число запросов не зависит от размера команды.
      *
      * @param id - идентификатор команды для удаления
      */
     @Override
     public void delete(Long id) {
-        // Затем обновляем связи с сотрудниками
-        Set<Employee> employees = (Set<Employee>) teamRepository.findById(id).get().getEmployees();
-        for (Employee employee : employees) {
-            Optional<Employee> employeeOpt = employeeRepository.findById(employee.getId());
-            if (employeeOpt.isPresent()) {
-                Employee employeeToUpdate = employeeOpt.get();
-                employeeToUpdate.setTeam(null);
-                employeeRepository.save(employeeToUpdate);
-            }
-        }
         LOG.debug("Запрос на удаление команды с ID: {}", id);
+        // Сначала одним запросом убираем сотрудников из команды, вторым - доступы к ней
+        employeeRepository.detachAllFromTeam(id);
+        userTeamAccessRepository.deleteByTeam_Id(id);
         teamRepository.deleteById(id);
+        teamAccessIndex.removeTeamAfterCommit(id);
+        complianceCounters.removeTeamAfterCommit(id);
+        calendarFeedVersion.changedAfterCommit();
     }
 
     /**
@@ -1,5 +1,7 @@
 package ru.georgdeveloper.myapp.service.impl;
 
+import java.time.LocalDate;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,12 +10,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.domain.Training;
+import ru.georgdeveloper.myapp.repository.EmployeeRepository;
 import ru.georgdeveloper.myapp.repository.TrainingRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
+import ru.georgdeveloper.myapp.service.ComplianceCounters.TrainingState;
 import ru.georgdeveloper.myapp.service.TrainingService;
 
 /**
  * Реализация сервиса для управления обучением сотрудников.
- * Предоставляет CRUD-операции для сущности {@link ru.georgdeveloper.myapp.domain.Training}.
+ * Предоставляет CRUD-операции для сущности {@link ru.georgdeveloper.myapp.domain.Training}
+ * и при каждом изменении поддерживает хранимую дату последнего инструктажа сотрудника
+ * и счетчики соответствия команды.
  */
 @Service // Указывает, что класс является Spring-сервисом
 @Transactional // Обеспечивает транзакционность всех методов
@@ -25,12 +33,32 @@ public class TrainingServiceImpl implements TrainingService {
     // Репозиторий для работы с данными инструктажей в БД
     private final TrainingRepository trainingRepository;
 
+    // Репозиторий сотрудников для обновления даты последнего инструктажа
+    private final EmployeeRepository employeeRepository;
+
+    // Счетчики просроченных и истекающих инструктажей по командам
+    private final ComplianceCounters complianceCounters;
+
+    // Версия данных календарных лент
+    private final CalendarFeedVersion calendarFeedVersion;
+
     /**
-     * Конструктор с внедрением зависимости TrainingRepository
+     * Конструктор с внедрением зависимостей
      * @param trainingRepository - репозиторий для работы с инструктажами
+     * @param employeeRepository - репозиторий сотрудников
+     * @param complianceCounters - счетчики соответствия по командам
+     * @param calendarFeedVersion - версия данных календарных лент
      */
-    public TrainingServiceImpl(TrainingRepository trainingRepository) {
+    public TrainingServiceImpl(
+        TrainingRepository trainingRepository,
+        EmployeeRepository employeeRepository,
+        ComplianceCounters complianceCounters,
+        CalendarFeedVersion calendarFeedVersion
+    ) {
         this.trainingRepository = trainingRepository;
+        this.employeeRepository = employeeRepository;
+        this.complianceCounters = complianceCounters;
+        this.calendarFeedVersion = calendarFeedVersion;
     }
 
     /**
@@ -41,7 +69,11 @@ public class TrainingServiceImpl implements TrainingService {
     @Override
     public Training save(Training training) {
         LOG.debug("Запрос на сохранение инструктажа: {}", training);
-        return trainingRepository.save(training);
+        Training result = trainingRepository.save(training);
+        updateLastInstructionDate(null, null, result);
+        complianceCounters.trainingChangedAfterCommit(null, trainingState(result, null));
+        calendarFeedVersion.changedAfterCommit();
+        return result;
     }
 
     /**
@@ -52,7 +84,16 @@ public class TrainingServiceImpl implements TrainingService {
     @Override
     public Training update(Training training) {
         LOG.debug("Запрос на обновление инструктажа: {}", training);
-        return trainingRepository.save(training);
+        // Прежние сотрудник и дата нужны, чтобы понять, мог ли уменьшиться максимум
+        Optional<Training> previous = trainingRepository.findById(training.getId());
+        Long previousEmployeeId = previous.map(TrainingServiceImpl::employeeId).orElse(null);
+        LocalDate previousDate = previous.map(Training::getLastTrainingDate).orElse(null);
+        TrainingState previousState = previous.map(existing -> trainingState(existing, null)).orElse(null);
+        Training result = trainingRepository.save(training);
+        updateLastInstructionDate(previousEmployeeId, previousDate, result);
+        complianceCounters.trainingChangedAfterCommit(previousState, trainingState(result, previousState));
+        calendarFeedVersion.changedAfterCommit();
+        return result;
     }
 
     /**
@@ -67,6 +108,8 @@ public class TrainingServiceImpl implements TrainingService {
         return trainingRepository
             .findById(training.getId())
             .map(existingTraining -> {
+                LocalDate previousDate = existingTraining.getLastTrainingDate();
+                TrainingState previousState = trainingState(existingTraining, null);
                 // Последовательное обновление полей, если они указаны
                 if (training.getTrainingName() != null) {
                     existingTraining.setTrainingName(training.getTrainingName());
@@ -81,9 +124,12 @@ public class TrainingServiceImpl implements TrainingService {
                     existingTraining.setNextTrainingDate(training.getNextTrainingDate());
                 }
 
-                return existingTraining;
-            })
-            .map(trainingRepository::save);
+                Training result = trainingRepository.save(existingTraining);
+                updateLastInstructionDate(employeeId(result), previousDate, result);
+                complianceCounters.trainingChangedAfterCommit(previousState, trainingState(result, previousState));
+                calendarFeedVersion.changedAfterCommit();
+                return result;
+            });
     }
 
     /**
@@ -117,6 +163,69 @@ public class TrainingServiceImpl implements TrainingService {
     @Override
     public void delete(Long id) {
         LOG.debug("Запрос на удаление инструктажа с ID: {}", id);
-        trainingRepository.deleteById(id);
+        trainingRepository
+            .findById(id)
+            .ifPresent(training -> {
+                Long employeeId = employeeId(training);
+                LocalDate date = training.getLastTrainingDate();
+                TrainingState previousState = trainingState(training, null);
+                trainingRepository.delete(training);
+                if (employeeId != null && date != null) {
+                    employeeRepository.recalculateLastInstructionDate(employeeId);
+                }
+                complianceCounters.trainingChangedAfterCommit(previousState, null);
+                calendarFeedVersion.changedAfterCommit();
+            });
+    }
+
+    /**
+     * Обновляет хранимую дату последнего инструктажа после изменения инструктажа.
+     * Если максимум мог только вырасти, дата повышается условным UPDATE без чтения инструктажей;
+     * если мог уменьшиться (дата перенесена назад, снята или инструктаж передан другому сотруднику),
+     * максимум прежнего сотрудника пересчитывается по его инструктажам.
+     *
+     * @param previousEmployeeId сотрудник до изменения или null для нового инструктажа
+     * @param previousDate дата прохождения до изменения или null
+     * @param training сохраненный инструктаж
+     */
+    private void updateLastInstructionDate(Long previousEmployeeId, LocalDate previousDate, Training training) {
+        Long employeeId = employeeId(training);
+        LocalDate date = training.getLastTrainingDate();
+        boolean sameEmployee = Objects.equals(previousEmployeeId, employeeId);
+        if (sameEmployee && Objects.equals(previousDate, date)) {
+            return;
+        }
+        boolean mayDecrease =
+            previousEmployeeId != null && previousDate != null && (!sameEmployee || date == null || date.isBefore(previousDate));
+        if (mayDecrease) {
+            employeeRepository.recalculateLastInstructionDate(previousEmployeeId);
+        }
+        if (employeeId != null && date != null && !(sameEmployee && mayDecrease)) {
+            employeeRepository.raiseLastInstructionDate(employeeId, date);
+        }
+    }
+
+    /**
+     * Состояние инструктажа для счетчиков соответствия: команда сотрудника и дата следующего прохождения.
+     * Команда читается из БД, если сотрудник отличается от сотрудника известного состояния.
+     *
+     * @param training инструктаж
+     * @param knownState известное состояние того же инструктажа до изменения или null
+     */
+    private TrainingState trainingState(Training training, TrainingState knownState) {
+        Long employeeId = employeeId(training);
+        Long teamId;
+        if (employeeId == null) {
+            teamId = null;
+        } else if (knownState != null && employeeId.equals(knownState.employeeId())) {
+            teamId = knownState.teamId();
+        } else {
+            teamId = employeeRepository.findTeamIdById(employeeId).orElse(null);
+        }
+        return new TrainingState(employeeId, teamId, training.getNextTrainingDate());
+    }
+
+    private static Long employeeId(Training training) {
+        return training.getEmployee() != null ? training.getEmployee().getId() : null;
     }
 }
@@ -0,0 +1,289 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Потоковое чтение первого листа XLSX через StAX.
+ * <p>
+ * Файл копируется во временный файл на диске, так как в архиве XLSX таблица общих строк
+ * может идти после листа. В памяти держится только таблица общих строк, лист читается построчно.
+ * Значения ячеек возвращаются как есть: даты в числовых ячейках приходят порядковым номером дня Excel.
+ */
+class XlsxImportRowReader implements ImportRowReader {
+
+    private static final String RELATIONSHIPS_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+
+    // Число колонок листа Excel (A..XFD): строка дополняется пустыми ячейками не дальше этой границы
+    static final int MAX_COLUMNS = 16_384;
+
+    private final XMLInputFactory xmlInputFactory;
+
+    private final Path file;
+
+    private final ZipFile zipFile;
+
+    private final List<String> sharedStrings;
+
+    private final XMLStreamReader sheet;
+
+    private int rowNumber;
+
+    // Ширина строки заголовка: ячейки правее нее в строках данных не дополняются пустыми значениями
+    private int width = MAX_COLUMNS;
+
+    XlsxImportRowReader(InputStream content) throws IOException {
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        // Внешние сущности и DTD отключены: файл приходит от пользователя
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        this.file = Files.createTempFile("employee-import", ".xlsx");
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            this.zipFile = new ZipFile(file.toFile());
+        } catch (ZipException e) {
+            Files.deleteIfExists(file);
+            throw new IllegalArgumentException("Файл не является книгой XLSX", e);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        try {
+            this.sharedStrings = readSharedStrings();
+            ZipEntry sheetEntry = zipFile.getEntry(findFirstSheet());
+            if (sheetEntry == null) {
+                throw new IllegalArgumentException("В книге XLSX нет листов");
+            }
+            this.sheet = xmlInputFactory.createXMLStreamReader(zipFile.getInputStream(sheetEntry));
+        } catch (XMLStreamException e) {
+            closeQuietly();
+            throw new IllegalArgumentException("Некорректная структура книги XLSX", e);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Определяет путь первого листа по workbook.xml и его связям.
+     */
+    private String findFirstSheet() throws IOException, XMLStreamException {
+        String relationshipId = null;
+        try (InputStream in = open("xl/workbook.xml")) {
+            if (in == null) {
+                return DEFAULT_SHEET;
+            }
+            XMLStreamReader xml = xmlInputFactory.createXMLStreamReader(in);
+            while (xml.hasNext() && relationshipId == null) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                    relationshipId = xml.getAttributeValue(RELATIONSHIPS_NAMESPACE, "id");
+                }
+            }
+            xml.close();
+        }
+        if (relationshipId == null) {
+            return DEFAULT_SHEET;
+        }
+        try (InputStream in = open("xl/_rels/workbook.xml.rels")) {
+            if (in == null) {
+                return DEFAULT_SHEET;
+            }
+            XMLStreamReader xml = xmlInputFactory.createXMLStreamReader(in);
+            while (xml.hasNext()) {
+                if (
+                    xml.next() == XMLStreamConstants.START_ELEMENT &&
+                    "Relationship".equals(xml.getLocalName()) &&
+                    relationshipId.equals(xml.getAttributeValue(null, "Id"))
+                ) {
+                    String target = xml.getAttributeValue(null, "Target");
+                    xml.close();
+                    return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+                }
+            }
+            xml.close();
+        }
+        return DEFAULT_SHEET;
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        try (InputStream in = open("xl/sharedStrings.xml")) {
+            if (in == null) {
+                return strings;
+            }
+            XMLStreamReader xml = xmlInputFactory.createXMLStreamReader(in);
+            StringBuilder value = new StringBuilder();
+            // Фонетические подсказки (rPh) содержат свои элементы t, их текст не входит в значение
+            boolean phonetic = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "si" -> value.setLength(0);
+                        case "rPh" -> phonetic = true;
+                        case "t" -> {
+                            String text = xml.getElementText();
+                            if (!phonetic) {
+                                value.append(text);
+                            }
+                        }
+                        default -> {}
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("si".equals(xml.getLocalName())) {
+                        strings.add(value.toString());
+                    } else if ("rPh".equals(xml.getLocalName())) {
+                        phonetic = false;
+                    }
+                }
+            }
+            xml.close();
+        }
+        return strings;
+    }
+
+    private InputStream open(String name) throws IOException {
+        ZipEntry entry = zipFile.getEntry(name);
+        return entry == null ? null : zipFile.getInputStream(entry);
+    }
+
+    @Override
+    public String[] nextRow() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    String r = sheet.getAttributeValue(null, "r");
+                    boolean header = rowNumber == 0;
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                    String[] cells = readRow();
+                    if (header) {
+                        width = cells.length;
+                    }
+                    return cells;
+                }
+            }
+            return null;
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректная строка листа XLSX после строки " + rowNumber, e);
+        }
+    }
+
+    private String[] readRow() throws XMLStreamException {
+        List<String> cells = new ArrayList<>();
+        int column = -1;
+        String type = null;
+        StringBuilder value = null;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (sheet.getLocalName()) {
+                    case "c" -> {
+                        String reference = sheet.getAttributeValue(null, "r");
+                        column = reference != null ? columnIndex(reference) : column + 1;
+                        if (column >= MAX_COLUMNS) {
+                            throw new IllegalArgumentException("Ячейка за пределами листа XLSX в строке " + rowNumber);
+                        }
+                        type = sheet.getAttributeValue(null, "t");
+                        value = new StringBuilder();
+                    }
+                    case "v", "t" -> {
+                        if (value != null) {
+                            value.append(sheet.getElementText());
+                        }
+                    }
+                    default -> {}
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("c".equals(sheet.getLocalName()) && value != null) {
+                    if (column >= width) {
+                        if (!value.toString().isBlank()) {
+                            throw new IllegalArgumentException("Значение за пределами колонок заголовка в строке " + rowNumber);
+                        }
+                        value = null;
+                        continue;
+                    }
+                    while (cells.size() < column) {
+                        cells.add(null);
+                    }
+                    cells.add(cellValue(type, value.toString()));
+                    value = null;
+                } else if ("row".equals(sheet.getLocalName())) {
+                    break;
+                }
+            }
+        }
+        return cells.toArray(String[]::new);
+    }
+
+    private String cellValue(String type, String raw) {
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(raw.trim());
+            if (index < 0 || index >= sharedStrings.size()) {
+                throw new IllegalArgumentException("Ссылка на отсутствующую общую строку в строке " + rowNumber);
+            }
+            return sharedStrings.get(index);
+        }
+        if ("b".equals(type)) {
+            return "1".equals(raw) ? "TRUE" : "FALSE";
+        }
+        return raw;
+    }
+
+    /**
+     * Переводит буквенную часть адреса ячейки (например, {@code AB12}) в индекс колонки, начиная с 0.
+     * Для адресов правее последней колонки листа возвращает {@link #MAX_COLUMNS}.
+     */
+    static int columnIndex(String reference) {
+        int index = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+            // Дальше считать не нужно, а длинный адрес переполнил бы int
+            if (index > MAX_COLUMNS) {
+                return MAX_COLUMNS;
+            }
+        }
+        return index - 1;
+    }
+
+    @Override
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // Поток листа закрывается вместе с архивом
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() throws IOException {
+        try {
+            zipFile.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
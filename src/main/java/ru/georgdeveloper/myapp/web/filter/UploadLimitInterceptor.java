@@ -0,0 +1,74 @@
+package ru.georgdeveloper.myapp.web.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.georgdeveloper.myapp.web.rest.errors.TooManyUploadsException;
+
+/**
+ * Ограничивает число одновременных загрузок файлов.
+ * <p>
+ * Разрешение берется до разбора multipart-запроса (он разбирается лениво, при чтении параметров метода контроллера),
+ * поэтому ограничение распространяется и на прием файла во временный файл контейнера, и на запись в хранилище.
+ * Семафор честный: запросы получают разрешения в порядке очереди. Если разрешение не освободилось за время ожидания,
+ * запрос завершается ответом 503 с заголовком {@code Retry-After}.
+ */
+public class UploadLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UploadLimitInterceptor.class);
+
+    // Атрибут запроса, отмечающий полученное разрешение
+    private static final String PERMIT_ATTRIBUTE = UploadLimitInterceptor.class.getName() + ".PERMIT";
+
+    // Скачивание и удаление файлов по тем же адресам не ограничиваются
+    private static final Set<String> UPLOAD_METHODS = Set.of("POST", "PUT", "PATCH");
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Duration retryAfter;
+
+    public UploadLimitInterceptor(int maxConcurrent, Duration acquireTimeout, Duration retryAfter) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!UPLOAD_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOG.warn("Загрузка {} отклонена: все места для одновременной загрузки заняты", request.getRequestURI());
+                throw new TooManyUploadsException(retryAfter);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyUploadsException(retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler,
+        @Nullable Exception ex
+    ) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
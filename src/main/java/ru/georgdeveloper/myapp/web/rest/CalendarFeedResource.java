@@ -0,0 +1,100 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import ru.georgdeveloper.myapp.service.CalendarFeedService;
+import ru.georgdeveloper.myapp.service.CalendarFeedService.FeedState;
+
+/**
+ * REST controller для подписки на календарь в формате iCalendar (Outlook, Thunderbird и т.п.).
+ */
+@RestController
+@RequestMapping("/api/calendar-feed")
+public class CalendarFeedResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CalendarFeedResource.class);
+
+    static final String TEXT_CALENDAR_VALUE = "text/calendar;charset=UTF-8";
+
+    private final CalendarFeedService calendarFeedService;
+
+    public CalendarFeedResource(CalendarFeedService calendarFeedService) {
+        this.calendarFeedService = calendarFeedService;
+    }
+
+    /**
+     * Выпускает новый токен подписки текущего пользователя; прежний адрес ленты перестает действовать.
+     * POST /api/calendar-feed/token
+     *
+     * @param principal текущий пользователь
+     * @return токен и адрес ленты относительно сервера
+     */
+    @PostMapping("/token")
+    public ResponseEntity<FeedToken> createToken(Principal principal) {
+        LOG.debug("REST запрос на выпуск токена подписки на календарь");
+        String token = calendarFeedService.createToken(principal.getName());
+        return ResponseEntity.ok(new FeedToken(token, "/api/calendar-feed/" + token + ".ics"));
+    }
+
+    /**
+     * Отдает ленту календаря владельца токена. Доступна без аутентификации: пользователя определяет токен.
+     * GET /api/calendar-feed/{token}.ics
+     * <p>
+     * Если данные календаря не менялись с указанных клиентом If-None-Match или If-Modified-Since,
+     * возвращается 304 без обращения к БД. Иначе лента пишется в ответ по мере построения.
+     *
+     * @param token токен подписки
+     * @param webRequest запрос для проверки условных заголовков
+     * @param response ответ, в который пишется лента
+     * @throws IOException при ошибке записи ответа
+     */
+    @GetMapping("/{token}.ics")
+    public void getFeed(@PathVariable("token") String token, WebRequest webRequest, HttpServletResponse response) throws IOException {
+        String login = calendarFeedService.findLogin(token).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        FeedState state = calendarFeedService.getState(login);
+        if (webRequest.checkNotModified(state.etag(), state.lastModified().toEpochMilli())) {
+            return;
+        }
+        LOG.debug("REST запрос ленты календаря пользователя: {}", login);
+        response.setContentType(TEXT_CALENDAR_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        calendarFeedService.writeFeed(login, state, response.getOutputStream());
+    }
+
+    /**
+     * Токен подписки в теле ответа.
+     */
+    static class FeedToken {
+
+        private final String token;
+
+        private final String url;
+
+        FeedToken(String token, String url) {
+            this.token = token;
+            this.url = url;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+    }
+}
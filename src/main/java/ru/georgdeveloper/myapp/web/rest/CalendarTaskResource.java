@@ -1,40 +1,146 @@
 package ru.georgdeveloper.myapp.web.rest;
 
-import java.util.List;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import ru.georgdeveloper.myapp.domain.Task;
-import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedException;
+import ru.georgdeveloper.myapp.service.CalendarService;
+import ru.georgdeveloper.myapp.service.SpooledOutputStream;
+import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+import ru.georgdeveloper.myapp.web.rest.errors.CalendarBusyException;
 
 @RestController
 @RequestMapping("/api/calendar-tasks")
 public class CalendarTaskResource {
 
-    private static final Logger LOG = LoggerFactory.getLogger(TaskResource.class);
+    private static final Logger LOG = LoggerFactory.getLogger(CalendarTaskResource.class);
 
-    private final TaskRepository taskRepository;
+    private static final String ENTITY_NAME = "task";
+
+    // Наибольший диапазон одного запроса: годовой вид календаря
+    static final long MAX_RANGE_DAYS = 366;
+
+    // Ответы до этого размера собираются в памяти, больше - во временном файле
+    private static final int SPOOL_MEMORY_LIMIT = 256 * 1024;
+
+    private final CalendarService calendarService;
+
+    private final ObjectMapper objectMapper;
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public CalendarTaskResource(TaskRepository taskRepository) {
-        this.taskRepository = taskRepository;
+    public CalendarTaskResource(CalendarService calendarService, ObjectMapper objectMapper) {
+        this.calendarService = calendarService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Получает задачи команд текущего пользователя с планируемой датой завершения в диапазоне.
+     * GET /api/calendar-tasks?from=&to=&teamId=
+     * <p>
+     * Задачи пишутся JSON-массивом по мере чтения из БД во временный буфер (при большом объеме - на диск), поэтому
+     * память не растет с количеством задач в диапазоне. Клиенту буфер передается после завершения транзакции:
+     * медленный клиент не держит соединение с БД.
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно), не более {@link #MAX_RANGE_DAYS} дней от начала
+     * @param teamId id команды для фильтрации (необязательно)
+     * @param principal текущий пользователь
+     * @param response ответ, в который пишутся задачи
+     * @throws IOException при ошибке записи ответа
+     */
     @GetMapping("")
-    public ResponseEntity<List<Task>> getAllTasksForCalendar() {
-        LOG.debug("REST request to get all Tasks for calendar");
-        List<Task> tasks = taskRepository.findAll();
-        return ResponseEntity.ok().body(tasks);
+    public void getAllTasksForCalendar(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "teamId", required = false) Long teamId,
+        Principal principal,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST запрос на получение задач календаря с {} по {}, команда: {}", from, to, teamId);
+        validateRange(from, to);
+        writeArray(response, sink -> calendarService.streamTasks(principal.getName(), from, to, teamId, sink));
+    }
+
+    /**
+     * Получает общую ленту событий календаря за диапазон в порядке даты: задачи и инструктажи команд
+     * текущего пользователя, дополнительные обучения, встречи и прочие события.
+     * GET /api/calendar-tasks/events?from=&to=
+     * <p>
+     * Источники читаются параллельно и сливаются по дате, события по мере слияния пишутся во временный буфер
+     * и передаются клиенту после того, как соединения с БД возвращены в пул. Если все места для построения лент
+     * заняты, возвращается 503 с Retry-After.
+     *
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (включительно), не более {@link #MAX_RANGE_DAYS} дней от начала
+     * @param principal текущий пользователь
+     * @param response ответ, в который пишутся события
+     * @throws IOException при ошибке записи ответа
+     */
+    @GetMapping("/events")
+    public void getAllCalendarEvents(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        Principal principal,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST запрос на получение ленты событий календаря с {} по {}", from, to);
+        validateRange(from, to);
+        try {
+            writeArray(response, sink -> calendarService.streamEvents(principal.getName(), from, to, sink));
+        } catch (CalendarFeedException e) {
+            throw new CalendarBusyException(e.getRetryAfter());
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestAlertException("Конец диапазона раньше начала", ENTITY_NAME, "invalidrange");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new BadRequestAlertException("Диапазон больше " + MAX_RANGE_DAYS + " дней", ENTITY_NAME, "rangetoolarge");
+        }
+    }
+
+    /**
+     * Пишет элементы JSON-массивом по мере их получения в {@link SpooledOutputStream} и копирует его в ответ,
+     * когда производитель завершился. Ошибка производителя поэтому всегда отдается обработчиком исключений целиком.
+     */
+    private void writeArray(HttpServletResponse response, Consumer<Consumer<Object>> producer) throws IOException {
+        try (SpooledOutputStream spool = new SpooledOutputStream(SPOOL_MEMORY_LIMIT)) {
+            // Генератор не закрывает буфер: его содержимое еще нужно скопировать в ответ
+            JsonGenerator generator = objectMapper.createGenerator(spool).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            producer.accept(item -> write(generator, item));
+            generator.writeEndArray();
+            generator.close();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLengthLong(spool.size());
+            spool.writeTo(response.getOutputStream());
+        }
     }
 
-    @GetMapping("/events") // Полный путь: /api/calendar/events
-    public ResponseEntity<List<Task>> getAllCalendarEvents() {
-        return ResponseEntity.ok().body(null);
+    private static void write(JsonGenerator generator, Object item) {
+        try {
+            generator.writeObject(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import java.security.Principal;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.georgdeveloper.myapp.service.DashboardService;
+import ru.georgdeveloper.myapp.service.dto.TeamComplianceDTO;
+
+/**
+ * REST контроллер панели инженера по охране труда.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DashboardResource.class);
+
+    private final DashboardService dashboardService;
+
+    public DashboardResource(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Получает показатели соответствия требованиям по командам текущего пользователя:
+     * количество сотрудников, просроченные и истекающие в ближайшие 30 дней инструктажи,
+     * незавершенные задачи по приоритетам.
+     * GET /api/dashboard/compliance
+     *
+     * @param principal текущий пользователь
+     * @return ResponseEntity со списком показателей команд
+     */
+    @GetMapping("/compliance")
+    public ResponseEntity<List<TeamComplianceDTO>> getCompliance(Principal principal) {
+        LOG.debug("REST запрос на получение показателей соответствия");
+        return ResponseEntity.ok(dashboardService.getCompliance(principal.getName()));
+    }
+}
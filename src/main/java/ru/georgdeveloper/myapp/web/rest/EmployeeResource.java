@@ -2,6 +2,9 @@ package ru.georgdeveloper.myapp.web.rest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
@@ -14,15 +17,21 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.repository.EmployeeKeyset;
 import ru.georgdeveloper.myapp.repository.EmployeeRepository;
+import ru.georgdeveloper.myapp.service.EmployeeImportService;
 import ru.georgdeveloper.myapp.service.EmployeeService;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.EmployeeImportReport;
 import ru.georgdeveloper.myapp.service.dto.EmployeeWithLastInstructionDateDTO;
-// Removed unused import
 import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+import ru.georgdeveloper.myapp.web.rest.util.CursorPaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -43,16 +52,23 @@ public class EmployeeResource {
 
     private final EmployeeService employeeService;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeImportService employeeImportService;
 
     /**
      * Конструктор контроллера.
      *
      * @param employeeService сервис для работы с сотрудниками
      * @param employeeRepository репозиторий сотрудников
+     * @param employeeImportService сервис массового импорта сотрудников
      */
-    public EmployeeResource(EmployeeService employeeService, EmployeeRepository employeeRepository) {
+    public EmployeeResource(
+        EmployeeService employeeService,
+        EmployeeRepository employeeRepository,
+        EmployeeImportService employeeImportService
+    ) {
         this.employeeService = employeeService;
         this.employeeRepository = employeeRepository;
+        this.employeeImportService = employeeImportService;
     }
 
     /**
@@ -75,6 +91,35 @@ public class EmployeeResource {
             .body(employee);
     }
 
+    /**
+     * Импортирует сотрудников из файла CSV или XLSX с заголовком в первой строке.
+     * POST /api/employees/import
+     * <p>
+     * Файл обрабатывается построчно; строки с ошибками не сохраняются и перечисляются в отчете,
+     * остальные сохраняются пакетами.
+     *
+     * @param file файл с расширением .csv или .xlsx
+     * @param principal текущий пользователь
+     * @return ResponseEntity с отчетом об импорте или ошибкой 400, если файл не удалось разобрать
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EmployeeImportReport> importEmployees(@RequestParam("file") MultipartFile file, Principal principal) {
+        LOG.debug("REST запрос на импорт сотрудников из файла: {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("Файл не может быть пустым", ENTITY_NAME, "fileempty");
+        }
+        EmployeeImportService.Format format = EmployeeImportService.Format.fromFileName(file.getOriginalFilename()).orElseThrow(() ->
+            new BadRequestAlertException("Поддерживаются только файлы CSV и XLSX", ENTITY_NAME, "invalidfiletype")
+        );
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(employeeImportService.importEmployees(content, format, principal.getName()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Полностью обновляет данные сотрудника.
      * PUT /api/employees/{id}
@@ -144,18 +189,38 @@ public class EmployeeResource {
     /**
      * Получает список сотрудников с пагинацией.
      * GET /api/employees
+     * <p>
+     * При наличии параметра {@code cursor} (пустое значение - первая страница) используется
+     * курсорная пагинация: курсоры соседних страниц передаются в заголовке {@code Link},
+     * а общее количество считается только при {@code count=true}. Курсорная пагинация сортирует по одному полю
+     * (id добавляется автоматически); сортировка по нескольким полям отклоняется с кодом 400.
      *
      * @param pageable параметры пагинации
      * @param eagerload флаг загрузки связанных сущностей (для many-to-many)
+     * @param cursor курсор страницы (включает курсорную пагинацию)
+     * @param count выполнять ли подсчет общего количества в курсорном режиме
      * @return ResponseEntity со списком сотрудников
      */
     @GetMapping("")
     public ResponseEntity<List<Employee>> getAllEmployees(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
+        @RequestParam(name = "count", required = false, defaultValue = "false") boolean count,
         Principal principal
     ) {
         LOG.debug("REST запрос на получение страницы сотрудников");
+        if (cursor != null) {
+            CursorPage<Employee> page = employeeService.findAllByCursor(
+                principal.getName(),
+                decodeCursor(cursor, pageable),
+                pageable.getPageSize(),
+                count,
+                eagerload
+            );
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
         Page<Employee> page;
         if (eagerload) {
             page = employeeService.findAllWithEagerRelationships(principal.getName(), pageable);
@@ -169,28 +234,52 @@ public class EmployeeResource {
     /**
      * Получает список сотрудников с датой последнего инструктажа.
      * GET /api/employees/with-last-instruction-date
+     * <p>
+     * Поддерживает курсорную пагинацию так же, как {@link #getAllEmployees}.
      *
      * @param pageable параметры пагинации
+     * @param cursor курсор страницы (включает курсорную пагинацию)
+     * @param count выполнять ли подсчет общего количества в курсорном режиме
      * @param principal текущий пользователь
      * @return ResponseEntity со списком сотрудников с датой последнего инструктажа
      */
     @GetMapping("/with-last-instruction-date")
     public ResponseEntity<List<EmployeeWithLastInstructionDateDTO>> getAllEmployeesWithLastInstructionDate(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
+        @RequestParam(name = "count", required = false, defaultValue = "false") boolean count,
         Principal principal
     ) {
         LOG.debug("REST запрос на получение страницы сотрудников с датой последнего инструктажа");
-        Page<Employee> page = employeeService.findAllWithEagerRelationships(principal.getName(), pageable);
-
-        // Конвертируем Employee в DTO
-        List<EmployeeWithLastInstructionDateDTO> dtos = page
-            .getContent()
-            .stream()
-            .map(EmployeeWithLastInstructionDateDTO::new)
-            .collect(java.util.stream.Collectors.toList());
-
+        if (cursor != null) {
+            CursorPage<EmployeeWithLastInstructionDateDTO> page = employeeService.findAllWithLastInstructionDateByCursor(
+                principal.getName(),
+                decodeCursor(cursor, pageable),
+                pageable.getPageSize(),
+                count
+            );
+            HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        // DTO строятся напрямую из проекции, инструктажи не загружаются
+        Page<EmployeeWithLastInstructionDateDTO> page = employeeService.findAllWithLastInstructionDate(principal.getName(), pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(dtos);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * Разбирает курсор из запроса.
+     *
+     * @param cursor курсор (пустой - первая страница)
+     * @param pageable параметры пагинации (сортировка первой страницы)
+     * @return позиция курсора
+     */
+    private EmployeeKeyset decodeCursor(String cursor, Pageable pageable) {
+        try {
+            return EmployeeKeyset.decode(cursor, pageable.getSort());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Неверный курсор или сортировка", ENTITY_NAME, "cursorinvalid");
+        }
     }
 
     /**
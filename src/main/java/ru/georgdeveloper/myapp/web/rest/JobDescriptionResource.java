@@ -2,6 +2,7 @@ package ru.georgdeveloper.myapp.web.rest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -10,12 +11,17 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.georgdeveloper.myapp.domain.JobDescription;
 import ru.georgdeveloper.myapp.repository.JobDescriptionRepository;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
 import ru.georgdeveloper.myapp.service.JobDescriptionService;
 import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+import ru.georgdeveloper.myapp.web.rest.util.FileDownloadUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -35,16 +41,23 @@ public class JobDescriptionResource {
 
     private final JobDescriptionService jobDescriptionService;
     private final JobDescriptionRepository jobDescriptionRepository;
+    private final DocumentContentService documentContentService;
 
     /**
      * Конструктор контроллера.
      *
      * @param jobDescriptionService сервис для работы с описаниями должностей
      * @param jobDescriptionRepository репозиторий описаний должностей
+     * @param documentContentService сервис содержимого PDF-файлов
      */
-    public JobDescriptionResource(JobDescriptionService jobDescriptionService, JobDescriptionRepository jobDescriptionRepository) {
+    public JobDescriptionResource(
+        JobDescriptionService jobDescriptionService,
+        JobDescriptionRepository jobDescriptionRepository,
+        DocumentContentService documentContentService
+    ) {
         this.jobDescriptionService = jobDescriptionService;
         this.jobDescriptionRepository = jobDescriptionRepository;
+        this.documentContentService = documentContentService;
     }
 
     /**
@@ -165,6 +178,62 @@ public class JobDescriptionResource {
         return ResponseUtil.wrapOrNotFound(jobDescription);
     }
 
+    /**
+     * Скачивает PDF-файл должностной инструкции. Файл загружается возобновляемой загрузкой, см. {@link ResumableUploadResource}.
+     * GET /api/job-descriptions/{id}/pdf
+     * <p>
+     * Поддерживает диапазоны (Range, If-Range) и If-None-Match, см. {@link FileDownloadUtil}.
+     *
+     * @param id ID описания должности
+     * @param request запрос для проверки условных заголовков
+     * @return ResponseEntity с PDF-файлом, его частью или кодом 304
+     */
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<Resource> downloadPdfFile(@PathVariable("id") Long id, WebRequest request) throws IOException {
+        LOG.debug("REST запрос на скачивание PDF-файла описания должности: {}", id);
+
+        Optional<PdfFileView> pdfFileOpt = jobDescriptionService.findPdfFile(id);
+        if (pdfFileOpt.isEmpty()) {
+            if (jobDescriptionRepository.existsById(id)) {
+                throw new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+            }
+            throw new BadRequestAlertException("Описание должности не найдено", ENTITY_NAME, "idnotfound");
+        }
+
+        PdfFileView pdfFile = pdfFileOpt.get();
+        Optional<ResponseEntity<Resource>> notModified = FileDownloadUtil.notModified(pdfFile, request);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        Resource content = documentContentService
+            .find(pdfFile.getPdfFileSha256())
+            .orElseThrow(() -> {
+                LOG.error("Содержимое PDF-файла {} отсутствует в хранилище", pdfFile.getPdfFileSha256());
+                return new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+            });
+        return FileDownloadUtil.fileResponse(pdfFile, content, request);
+    }
+
+    /**
+     * Удаляет PDF-файл должностной инструкции.
+     * DELETE /api/job-descriptions/{id}/pdf
+     *
+     * @param id ID описания должности
+     * @return ResponseEntity с обновленным описанием
+     */
+    @DeleteMapping("/{id}/pdf")
+    public ResponseEntity<JobDescription> deletePdfFile(@PathVariable("id") Long id) {
+        LOG.debug("REST запрос на удаление PDF-файла описания должности: {}", id);
+
+        JobDescription jobDescription = jobDescriptionService
+            .removePdfFile(id)
+            .orElseThrow(() -> new BadRequestAlertException("Описание должности не найдено", ENTITY_NAME, "idnotfound"));
+
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(jobDescription);
+    }
+
     /**
      * Удаляет описание должности по ID.
      * DELETE /api/job-descriptions/{id}
@@ -3,14 +3,27 @@ package ru.georgdeveloper.myapp.web.rest;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.Meeting;
 import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.service.MeetingConflictIndex;
+import ru.georgdeveloper.myapp.service.MeetingRoomConflictException;
+import ru.georgdeveloper.myapp.service.MeetingService;
+import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 @RestController
@@ -22,13 +35,24 @@ public class MeetingResource {
 
     private final MeetingRepository meetingRepository;
 
-    public MeetingResource(MeetingRepository meetingRepository) {
+    private final MeetingService meetingService;
+
+    private final MeetingConflictIndex meetingConflictIndex;
+
+    public MeetingResource(MeetingRepository meetingRepository, MeetingService meetingService, MeetingConflictIndex meetingConflictIndex) {
         this.meetingRepository = meetingRepository;
+        this.meetingService = meetingService;
+        this.meetingConflictIndex = meetingConflictIndex;
     }
 
     @PostMapping("")
     public ResponseEntity<Meeting> create(@Valid @RequestBody Meeting meeting) throws URISyntaxException {
-        Meeting result = meetingRepository.save(meeting);
+        Meeting result;
+        try {
+            result = meetingService.save(meeting);
+        } catch (MeetingRoomConflictException e) {
+            throw roomConflict(e);
+        }
         return ResponseEntity.created(new URI("/api/meetings/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, "meeting", result.getId().toString()))
             .body(result);
@@ -37,15 +61,55 @@ public class MeetingResource {
     @PutMapping("/{id}")
     public ResponseEntity<Meeting> update(@PathVariable Long id, @Valid @RequestBody Meeting meeting) {
         meeting.setId(id);
-        Meeting result = meetingRepository.save(meeting);
+        Meeting result;
+        try {
+            result = meetingService.update(meeting);
+        } catch (MeetingRoomConflictException e) {
+            throw roomConflict(e);
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, "meeting", result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * Страница событий, упорядоченных по дате и времени начала. С параметрами from и to
+     * читается только окно дат (день или неделя календаря) по индексу (event_date, start_time, id).
+     */
     @GetMapping("")
-    public List<Meeting> list() {
-        return meetingRepository.findAll();
+    public ResponseEntity<List<Meeting>> list(
+        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @org.springdoc.core.annotations.ParameterObject @PageableDefault(sort = { "eventDate", "startTime", "id" }) Pageable pageable
+    ) {
+        if ((from == null) != (to == null)) {
+            throw new BadRequestAlertException("Укажите обе границы периода: from и to", "meeting", "rangeincomplete");
+        }
+        if (from != null && to.isBefore(from)) {
+            throw new BadRequestAlertException("Дата окончания периода раньше даты начала", "meeting", "invalidrange");
+        }
+        Page<Meeting> page = from != null
+            ? meetingRepository.findAllByEventDateBetween(from, to, pageable)
+            : meetingRepository.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * Встречи в помещении, которые пересекаются с отрезком времени [from, to).
+     * Проверка в пределах горизонта индекса занятости не обращается к БД.
+     */
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<MeetingConflictIndex.Conflict>> conflicts(
+        @RequestParam("location") String location,
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(name = "excludeId", required = false) Long excludeId
+    ) {
+        if (!to.isAfter(from)) {
+            throw new BadRequestAlertException("Время окончания должно быть позже времени начала", "meeting", "invalidrange");
+        }
+        return ResponseEntity.ok(meetingConflictIndex.findConflicts(location, from, to, excludeId));
     }
 
     @GetMapping("/{id}")
@@ -56,9 +120,13 @@ public class MeetingResource {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        meetingRepository.deleteById(id);
+        meetingService.delete(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, "meeting", id.toString()))
             .build();
     }
+
+    private static BadRequestAlertException roomConflict(MeetingRoomConflictException e) {
+        return new BadRequestAlertException(e.getMessage(), "meeting", "roomconflict");
+    }
 }
@@ -3,14 +3,26 @@ package ru.georgdeveloper.myapp.web.rest;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.OtherEvent;
 import ru.georgdeveloper.myapp.repository.OtherEventRepository;
+import ru.georgdeveloper.myapp.security.SecurityUtils;
+import ru.georgdeveloper.myapp.service.CalendarFeedVersion;
+import ru.georgdeveloper.myapp.service.ReminderScheduler;
+import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 @RestController
@@ -22,13 +34,27 @@ public class OtherEventResource {
 
     private final OtherEventRepository otherEventRepository;
 
-    public OtherEventResource(OtherEventRepository otherEventRepository) {
+    private final CalendarFeedVersion calendarFeedVersion;
+
+    private final ReminderScheduler reminderScheduler;
+
+    public OtherEventResource(
+        OtherEventRepository otherEventRepository,
+        CalendarFeedVersion calendarFeedVersion,
+        ReminderScheduler reminderScheduler
+    ) {
         this.otherEventRepository = otherEventRepository;
+        this.calendarFeedVersion = calendarFeedVersion;
+        this.reminderScheduler = reminderScheduler;
     }
 
     @PostMapping("")
     public ResponseEntity<OtherEvent> create(@Valid @RequestBody OtherEvent other) throws URISyntaxException {
+        // Организатор получает напоминание о событии
+        other.setCreatedBy(SecurityUtils.getCurrentUserLogin().orElse(null));
         OtherEvent result = otherEventRepository.save(other);
+        calendarFeedVersion.changedAfterCommit();
+        reminderScheduler.otherEventChangedAfterCommit(result);
         return ResponseEntity.created(new URI("/api/other-events/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, "otherEvent", result.getId().toString()))
             .body(result);
@@ -37,15 +63,37 @@ public class OtherEventResource {
     @PutMapping("/{id}")
     public ResponseEntity<OtherEvent> update(@PathVariable Long id, @Valid @RequestBody OtherEvent other) {
         other.setId(id);
+        // Организатор задается только при создании; в ответе возвращается сохраненный
+        other.setCreatedBy(otherEventRepository.findById(id).map(OtherEvent::getCreatedBy).orElse(null));
         OtherEvent result = otherEventRepository.save(other);
+        calendarFeedVersion.changedAfterCommit();
+        reminderScheduler.otherEventChangedAfterCommit(result);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, "otherEvent", result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * Страница событий, упорядоченных по дате и времени начала. С параметрами from и to
+     * читается только окно дат (день или неделя календаря) по индексу (event_date, start_time, id).
+     */
     @GetMapping("")
-    public List<OtherEvent> list() {
-        return otherEventRepository.findAll();
+    public ResponseEntity<List<OtherEvent>> list(
+        @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @org.springdoc.core.annotations.ParameterObject @PageableDefault(sort = { "eventDate", "startTime", "id" }) Pageable pageable
+    ) {
+        if ((from == null) != (to == null)) {
+            throw new BadRequestAlertException("Укажите обе границы периода: from и to", "otherEvent", "rangeincomplete");
+        }
+        if (from != null && to.isBefore(from)) {
+            throw new BadRequestAlertException("Дата окончания периода раньше даты начала", "otherEvent", "invalidrange");
+        }
+        Page<OtherEvent> page = from != null
+            ? otherEventRepository.findAllByEventDateBetween(from, to, pageable)
+            : otherEventRepository.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     @GetMapping("/{id}")
@@ -57,6 +105,8 @@ public class OtherEventResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         otherEventRepository.deleteById(id);
+        calendarFeedVersion.changedAfterCommit();
+        reminderScheduler.cancelAfterCommit(ReminderScheduler.Type.OTHER_EVENT, id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, "otherEvent", id.toString()))
             .build();
@@ -2,6 +2,8 @@ package ru.georgdeveloper.myapp.web.rest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -11,17 +13,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 import ru.georgdeveloper.myapp.repository.ProcedureDocumentRepository;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
+import ru.georgdeveloper.myapp.service.InvalidPdfFileException;
 import ru.georgdeveloper.myapp.service.ProcedureDocumentService;
 import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+import ru.georgdeveloper.myapp.web.rest.util.FileDownloadUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -43,13 +51,16 @@ public class ProcedureDocumentResource {
 
     private final ProcedureDocumentService procedureDocumentService;
     private final ProcedureDocumentRepository procedureDocumentRepository;
+    private final DocumentContentService documentContentService;
 
     public ProcedureDocumentResource(
         ProcedureDocumentService procedureDocumentService,
-        ProcedureDocumentRepository procedureDocumentRepository
+        ProcedureDocumentRepository procedureDocumentRepository,
+        DocumentContentService documentContentService
     ) {
         this.procedureDocumentService = procedureDocumentService;
         this.procedureDocumentRepository = procedureDocumentRepository;
+        this.documentContentService = documentContentService;
     }
 
     /**
@@ -182,19 +193,19 @@ public class ProcedureDocumentResource {
             throw new BadRequestAlertException("Процедура и документация не найдена", ENTITY_NAME, "idnotfound");
         }
 
-        ProcedureDocument procedureDocument = procedureDocumentOpt.get();
-        try {
-            procedureDocument.setPdfFileName(file.getOriginalFilename());
-            procedureDocument.setPdfFileContentType(file.getContentType());
-            procedureDocument.setPdfFile(file.getBytes());
-
-            procedureDocument = procedureDocumentService.update(procedureDocument);
+        try (InputStream content = file.getInputStream()) {
+            ProcedureDocument procedureDocument = procedureDocumentService
+                .attachPdfFile(id, file.getOriginalFilename(), file.getContentType(), content)
+                .orElseThrow();
 
             LOG.info("PDF-файл успешно загружен для процедуры и документации ID {}: {}", id, file.getOriginalFilename());
 
             return ResponseEntity.ok()
                 .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
                 .body(procedureDocument);
+        } catch (InvalidPdfFileException e) {
+            LOG.warn("Отклонен файл {} без сигнатуры PDF", file.getOriginalFilename());
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidfiletype");
         } catch (Exception e) {
             LOG.error("Ошибка при загрузке PDF-файла: {}", e.getMessage(), e);
             throw new BadRequestAlertException("Ошибка при загрузке файла: " + e.getMessage(), ENTITY_NAME, "uploaderror");
@@ -204,26 +215,33 @@ public class ProcedureDocumentResource {
     /**
      * Скачивает PDF-файл процедуры и документации.
      * GET /api/procedure-documents/{id}/pdf
+     * <p>
+     * Поддерживает диапазоны (Range, If-Range) и If-None-Match, см. {@link FileDownloadUtil}.
      */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> downloadPdfFile(@PathVariable("id") Long id) {
+    public ResponseEntity<Resource> downloadPdfFile(@PathVariable("id") Long id, WebRequest request) throws IOException {
         LOG.debug("Запрос на скачивание PDF-файла процедуры и документации: ID {}", id);
 
-        Optional<ProcedureDocument> procedureDocumentOpt = procedureDocumentService.findOne(id);
-        if (procedureDocumentOpt.isEmpty()) {
+        Optional<PdfFileView> pdfFileOpt = procedureDocumentService.findPdfFile(id);
+        if (pdfFileOpt.isEmpty()) {
+            if (procedureDocumentRepository.existsById(id)) {
+                throw new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+            }
             throw new BadRequestAlertException("Процедура и документация не найдена", ENTITY_NAME, "idnotfound");
         }
 
-        ProcedureDocument procedureDocument = procedureDocumentOpt.get();
-        if (procedureDocument.getPdfFile() == null) {
-            throw new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+        PdfFileView pdfFile = pdfFileOpt.get();
+        Optional<ResponseEntity<Resource>> notModified = FileDownloadUtil.notModified(pdfFile, request);
+        if (notModified.isPresent()) {
+            return notModified.get();
         }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(procedureDocument.getPdfFileContentType()));
-        headers.setContentDispositionFormData("attachment", procedureDocument.getPdfFileName());
-
-        return ResponseEntity.ok().headers(headers).body(procedureDocument.getPdfFile());
+        Resource content = documentContentService
+            .find(pdfFile.getPdfFileSha256())
+            .orElseThrow(() -> {
+                LOG.error("Содержимое PDF-файла {} отсутствует в хранилище", pdfFile.getPdfFileSha256());
+                return new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+            });
+        return FileDownloadUtil.fileResponse(pdfFile, content, request);
     }
 
     /**
@@ -234,17 +252,9 @@ public class ProcedureDocumentResource {
     public ResponseEntity<ProcedureDocument> deletePdfFile(@PathVariable("id") Long id) {
         LOG.debug("Запрос на удаление PDF-файла процедуры и документации: ID {}", id);
 
-        Optional<ProcedureDocument> procedureDocumentOpt = procedureDocumentService.findOne(id);
-        if (procedureDocumentOpt.isEmpty()) {
-            throw new BadRequestAlertException("Процедура и документация не найдена", ENTITY_NAME, "idnotfound");
-        }
-
-        ProcedureDocument procedureDocument = procedureDocumentOpt.get();
-        procedureDocument.setPdfFileName(null);
-        procedureDocument.setPdfFileContentType(null);
-        procedureDocument.setPdfFile(null);
-
-        procedureDocument = procedureDocumentService.update(procedureDocument);
+        ProcedureDocument procedureDocument = procedureDocumentService
+            .removePdfFile(id)
+            .orElseThrow(() -> new BadRequestAlertException("Процедура и документация не найдена", ENTITY_NAME, "idnotfound"));
 
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
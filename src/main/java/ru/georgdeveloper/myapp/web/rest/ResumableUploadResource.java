@@ -0,0 +1,192 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import ru.georgdeveloper.myapp.domain.UploadSession;
+import ru.georgdeveloper.myapp.domain.enumeration.UploadTarget;
+import ru.georgdeveloper.myapp.service.InvalidPdfFileException;
+import ru.georgdeveloper.myapp.service.ResumableUploadService;
+import ru.georgdeveloper.myapp.service.UploadSessionException;
+import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+
+/**
+ * REST контроллер возобновляемой загрузки PDF-файлов инструкций по ТБ, документов и должностных инструкций.
+ * <p>
+ * Протокол повторяет основные запросы tus 1.0:
+ * <ul>
+ *     <li>{@code POST /api/uploads/{target}/{id}} с заголовками {@code Upload-Length} и {@code Upload-Metadata}
+ *     создает загрузку и возвращает ее адрес в {@code Location}. В метаданных, как в tus, значения в Base64:
+ *     {@code filename} - имя файла, {@code sha256} - SHA-256 всего файла в шестнадцатеричном виде;</li>
+ *     <li>{@code HEAD /api/uploads/{uploadId}} возвращает принятый размер в {@code Upload-Offset};</li>
+ *     <li>{@code PATCH /api/uploads/{uploadId}} с {@code Content-Type: application/offset+octet-stream} и
+ *     {@code Upload-Offset} дописывает фрагмент; после последнего фрагмента файл проверяется и прикрепляется;</li>
+ *     <li>{@code DELETE /api/uploads/{uploadId}} отменяет загрузку.</li>
+ * </ul>
+ * {@code target} - сегмент адреса сущности: {@code safety-instructions}, {@code procedure-documents},
+ * {@code job-descriptions}.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+public class ResumableUploadResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResumableUploadResource.class);
+
+    private static final String ENTITY_NAME = "upload";
+
+    static final String TUS_RESUMABLE = "Tus-Resumable";
+    static final String TUS_VERSION = "1.0.0";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_METADATA = "Upload-Metadata";
+    static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final ResumableUploadService resumableUploadService;
+
+    public ResumableUploadResource(ResumableUploadService resumableUploadService) {
+        this.resumableUploadService = resumableUploadService;
+    }
+
+    /**
+     * Создает загрузку PDF-файла.
+     * POST /api/uploads/{target}/{id}
+     *
+     * @param target сегмент адреса сущности
+     * @param id ID сущности
+     * @param length полный размер файла
+     * @param metadata имя файла и SHA-256 в формате tus
+     * @return ResponseEntity с кодом 201 и адресом загрузки
+     */
+    @PostMapping("/{target}/{id}")
+    public ResponseEntity<Void> createUpload(
+        @PathVariable("target") String target,
+        @PathVariable("id") Long id,
+        @RequestHeader(UPLOAD_LENGTH) long length,
+        @RequestHeader(UPLOAD_METADATA) String metadata
+    ) {
+        LOG.debug("REST запрос на создание загрузки PDF-файла: {} {}", target, id);
+        UploadTarget uploadTarget = UploadTarget.fromPath(target).orElseThrow(() ->
+            new BadRequestAlertException("Неизвестный тип документа: " + target, ENTITY_NAME, "invalidtarget")
+        );
+        Map<String, String> values = parseMetadata(metadata);
+        try {
+            UploadSession session = resumableUploadService.create(uploadTarget, id, values.get("filename"), length, values.get("sha256"));
+            return ResponseEntity.created(URI.create("/api/uploads/" + session.getId()))
+                .header(TUS_RESUMABLE, TUS_VERSION)
+                .header(UPLOAD_OFFSET, "0")
+                .build();
+        } catch (UploadSessionException e) {
+            throw toHttpError(e);
+        }
+    }
+
+    /**
+     * Возвращает принятый размер загрузки.
+     * HEAD /api/uploads/{uploadId}
+     *
+     * @param uploadId ID загрузки
+     * @return ResponseEntity с заголовками Upload-Offset и Upload-Length или 404
+     */
+    @RequestMapping(value = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getUploadOffset(@PathVariable("uploadId") String uploadId) {
+        UploadSession session = resumableUploadService
+            .find(uploadId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Загрузка не найдена"));
+        return progress(ResponseEntity.ok(), session).cacheControl(CacheControl.noStore()).build();
+    }
+
+    /**
+     * Дописывает фрагмент файла.
+     * PATCH /api/uploads/{uploadId}
+     *
+     * @param uploadId ID загрузки
+     * @param offset смещение фрагмента
+     * @param request запрос, тело которого - фрагмент
+     * @return ResponseEntity с кодом 204 и новым Upload-Offset
+     * @throws IOException если тело запроса не удалось открыть
+     */
+    @PatchMapping(value = "/{uploadId}", consumes = OFFSET_OCTET_STREAM)
+    public ResponseEntity<Void> appendChunk(
+        @PathVariable("uploadId") String uploadId,
+        @RequestHeader(UPLOAD_OFFSET) long offset,
+        HttpServletRequest request
+    ) throws IOException {
+        try (InputStream chunk = request.getInputStream()) {
+            UploadSession session = resumableUploadService.append(uploadId, offset, chunk);
+            return progress(ResponseEntity.noContent(), session).build();
+        } catch (UploadSessionException e) {
+            throw toHttpError(e);
+        } catch (InvalidPdfFileException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidfiletype");
+        }
+    }
+
+    /**
+     * Отменяет загрузку и удаляет принятые данные.
+     * DELETE /api/uploads/{uploadId}
+     *
+     * @param uploadId ID загрузки
+     * @return ResponseEntity с кодом 204
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable("uploadId") String uploadId) {
+        LOG.debug("REST запрос на отмену загрузки: {}", uploadId);
+        try {
+            resumableUploadService.cancel(uploadId);
+            return ResponseEntity.noContent().header(TUS_RESUMABLE, TUS_VERSION).build();
+        } catch (UploadSessionException e) {
+            throw toHttpError(e);
+        }
+    }
+
+    private static ResponseEntity.HeadersBuilder<?> progress(ResponseEntity.HeadersBuilder<?> response, UploadSession session) {
+        return response
+            .header(TUS_RESUMABLE, TUS_VERSION)
+            .header(UPLOAD_OFFSET, Long.toString(session.getUploadOffset()))
+            .header(UPLOAD_LENGTH, Long.toString(session.getUploadLength()));
+    }
+
+    /**
+     * Разбирает заголовок Upload-Metadata: пары "ключ значение-в-Base64" через запятую.
+     */
+    private static Map<String, String> parseMetadata(String metadata) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : metadata.split(",")) {
+            String[] keyValue = pair.trim().split(" ", 2);
+            if (keyValue[0].isEmpty()) {
+                continue;
+            }
+            try {
+                byte[] value = keyValue.length > 1 ? Base64.getDecoder().decode(keyValue[1].trim()) : new byte[0];
+                values.put(keyValue[0], new String(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Неверный заголовок Upload-Metadata", ENTITY_NAME, "invalidmetadata");
+            }
+        }
+        return values;
+    }
+
+    private static RuntimeException toHttpError(UploadSessionException e) {
+        return switch (e.getReason()) {
+            case INVALID_REQUEST -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidupload");
+            case TARGET_NOT_FOUND -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "idnotfound");
+            case CHECKSUM_MISMATCH -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "checksummismatch");
+            case TOO_LARGE -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+            case NOT_FOUND -> new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+            case OFFSET_MISMATCH -> new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+            case LOCKED -> new ResponseStatusException(HttpStatus.LOCKED, e.getMessage());
+        };
+    }
+}
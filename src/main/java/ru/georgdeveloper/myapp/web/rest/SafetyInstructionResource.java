@@ -2,6 +2,8 @@ package ru.georgdeveloper.myapp.web.rest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -10,18 +12,24 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
 import ru.georgdeveloper.myapp.repository.SafetyInstructionRepository;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
+import ru.georgdeveloper.myapp.service.InvalidPdfFileException;
 import ru.georgdeveloper.myapp.service.SafetyInstructionService;
 import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+import ru.georgdeveloper.myapp.web.rest.util.FileDownloadUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -44,19 +52,23 @@ public class SafetyInstructionResource {
 
     private final SafetyInstructionService safetyInstructionService;
     private final SafetyInstructionRepository safetyInstructionRepository;
+    private final DocumentContentService documentContentService;
 
     /**
      * Конструктор контроллера.
      *
      * @param safetyInstructionService сервис для работы с инструкциями
      * @param safetyInstructionRepository репозиторий инструкций
+     * @param documentContentService сервис содержимого PDF-файлов
      */
     public SafetyInstructionResource(
         SafetyInstructionService safetyInstructionService,
-        SafetyInstructionRepository safetyInstructionRepository
+        SafetyInstructionRepository safetyInstructionRepository,
+        DocumentContentService documentContentService
     ) {
         this.safetyInstructionService = safetyInstructionService;
         this.safetyInstructionRepository = safetyInstructionRepository;
+        this.documentContentService = documentContentService;
     }
 
     /**
@@ -213,19 +225,19 @@ public class SafetyInstructionResource {
             throw new BadRequestAlertException("Инструкция не найдена", ENTITY_NAME, "idnotfound");
         }
 
-        SafetyInstruction safetyInstruction = safetyInstructionOpt.get();
-        try {
-            safetyInstruction.setPdfFileName(file.getOriginalFilename());
-            safetyInstruction.setPdfFileContentType(file.getContentType());
-            safetyInstruction.setPdfFile(file.getBytes());
-
-            safetyInstruction = safetyInstructionService.update(safetyInstruction);
+        try (InputStream content = file.getInputStream()) {
+            SafetyInstruction safetyInstruction = safetyInstructionService
+                .attachPdfFile(id, file.getOriginalFilename(), file.getContentType(), content)
+                .orElseThrow(() -> new BadRequestAlertException("Инструкция не найдена", ENTITY_NAME, "idnotfound"));
 
             LOG.info("PDF-файл успешно загружен для инструкции ID {}: {}", id, file.getOriginalFilename());
 
             return ResponseEntity.ok()
                 .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
                 .body(safetyInstruction);
+        } catch (InvalidPdfFileException e) {
+            LOG.warn("Отклонен файл {} без сигнатуры PDF", file.getOriginalFilename());
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidfiletype");
         } catch (Exception e) {
             LOG.error("Ошибка при загрузке PDF-файла: {}", e.getMessage(), e);
             throw new BadRequestAlertException("Ошибка при загрузке файла: " + e.getMessage(), ENTITY_NAME, "uploaderror");
@@ -235,29 +247,37 @@ public class SafetyInstructionResource {
     /**
      * Скачивает PDF-файл инструкции по технике безопасности.
      * GET /api/safety-instructions/{id}/pdf
+     * <p>
+     * Поддерживает диапазоны (Range, If-Range) и If-None-Match, см. {@link FileDownloadUtil}.
      *
      * @param id ID инструкции
-     * @return ResponseEntity с PDF-файлом
+     * @param request запрос для проверки условных заголовков
+     * @return ResponseEntity с PDF-файлом, его частью или кодом 304
      */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> downloadPdfFile(@PathVariable("id") Long id) {
+    public ResponseEntity<Resource> downloadPdfFile(@PathVariable("id") Long id, WebRequest request) throws IOException {
         LOG.debug("Запрос на скачивание PDF-файла инструкции по ТБ: ID {}", id);
 
-        Optional<SafetyInstruction> safetyInstructionOpt = safetyInstructionService.findOne(id);
-        if (safetyInstructionOpt.isEmpty()) {
+        Optional<PdfFileView> pdfFileOpt = safetyInstructionService.findPdfFile(id);
+        if (pdfFileOpt.isEmpty()) {
+            if (safetyInstructionRepository.existsById(id)) {
+                throw new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+            }
             throw new BadRequestAlertException("Инструкция не найдена", ENTITY_NAME, "idnotfound");
         }
 
-        SafetyInstruction safetyInstruction = safetyInstructionOpt.get();
-        if (safetyInstruction.getPdfFile() == null) {
-            throw new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+        PdfFileView pdfFile = pdfFileOpt.get();
+        Optional<ResponseEntity<Resource>> notModified = FileDownloadUtil.notModified(pdfFile, request);
+        if (notModified.isPresent()) {
+            return notModified.get();
         }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(safetyInstruction.getPdfFileContentType()));
-        headers.setContentDispositionFormData("attachment", safetyInstruction.getPdfFileName());
-
-        return ResponseEntity.ok().headers(headers).body(safetyInstruction.getPdfFile());
+        Resource content = documentContentService
+            .find(pdfFile.getPdfFileSha256())
+            .orElseThrow(() -> {
+                LOG.error("Содержимое PDF-файла {} отсутствует в хранилище", pdfFile.getPdfFileSha256());
+                return new BadRequestAlertException("PDF-файл не найден", ENTITY_NAME, "filenotfound");
+            });
+        return FileDownloadUtil.fileResponse(pdfFile, content, request);
     }
 
     /**
@@ -271,17 +291,9 @@ public class SafetyInstructionResource {
     public ResponseEntity<SafetyInstruction> deletePdfFile(@PathVariable("id") Long id) {
         LOG.debug("Запрос на удаление PDF-файла инструкции по ТБ: ID {}", id);
 
-        Optional<SafetyInstruction> safetyInstructionOpt = safetyInstructionService.findOne(id);
-        if (safetyInstructionOpt.isEmpty()) {
-            throw new BadRequestAlertException("Инструкция не найдена", ENTITY_NAME, "idnotfound");
-        }
-
-        SafetyInstruction safetyInstruction = safetyInstructionOpt.get();
-        safetyInstruction.setPdfFileName(null);
-        safetyInstruction.setPdfFileContentType(null);
-        safetyInstruction.setPdfFile(null);
-
-        safetyInstruction = safetyInstructionService.update(safetyInstruction);
+        SafetyInstruction safetyInstruction = safetyInstructionService
+            .removePdfFile(id)
+            .orElseThrow(() -> new BadRequestAlertException("Инструкция не найдена", ENTITY_NAME, "idnotfound"));
 
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
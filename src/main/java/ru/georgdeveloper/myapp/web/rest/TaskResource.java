@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -14,12 +16,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.Task;
 import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.security.AuthoritiesConstants;
+import ru.georgdeveloper.myapp.service.TaskQueryService;
+import ru.georgdeveloper.myapp.service.TaskSearchService;
 import ru.georgdeveloper.myapp.service.TaskService;
+import ru.georgdeveloper.myapp.service.TaskStatsService;
+import ru.georgdeveloper.myapp.service.criteria.TaskCriteria;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.TaskSearchResultDTO;
 import ru.georgdeveloper.myapp.web.rest.errors.BadRequestAlertException;
+import ru.georgdeveloper.myapp.web.rest.util.CursorPaginationUtil;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -42,16 +53,31 @@ public class TaskResource {
 
     private final TaskService taskService;
     private final TaskRepository taskRepository;
+    private final TaskQueryService taskQueryService;
+    private final TaskStatsService taskStatsService;
+    private final TaskSearchService taskSearchService;
 
     /**
      * Конструктор контроллера.
      *
      * @param taskService сервис для работы с задачами
      * @param taskRepository репозиторий задач
+     * @param taskQueryService сервис поиска задач по критериям
+     * @param taskStatsService сервис помесячных показателей выполнения задач
+     * @param taskSearchService сервис поиска задач по тексту
      */
-    public TaskResource(TaskService taskService, TaskRepository taskRepository) {
+    public TaskResource(
+        TaskService taskService,
+        TaskRepository taskRepository,
+        TaskQueryService taskQueryService,
+        TaskStatsService taskStatsService,
+        TaskSearchService taskSearchService
+    ) {
         this.taskService = taskService;
         this.taskRepository = taskRepository;
+        this.taskQueryService = taskQueryService;
+        this.taskStatsService = taskStatsService;
+        this.taskSearchService = taskSearchService;
     }
 
     /**
@@ -139,20 +165,107 @@ public class TaskResource {
     }
 
     /**
-     * Получает список задач с пагинацией.
+     * Получает список задач с фильтрацией по критериям и пагинацией.
      * GET /api/tasks
      *
      * @param pageable параметры пагинации
+     * @param criteria критерии фильтрации задач
      * @return ResponseEntity со списком задач и заголовками пагинации
      */
     @GetMapping("")
-    public ResponseEntity<List<Task>> getAllTasks(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
-        LOG.debug("Запрос на получение списка задач");
-        Page<Task> page = taskService.findAll(pageable);
+    public ResponseEntity<List<Task>> getAllTasks(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        TaskCriteria criteria
+    ) {
+        LOG.debug("Запрос на получение списка задач по критериям: {}", criteria);
+        Page<Task> page = taskQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * Считает задачи, подходящие под критерии.
+     * GET /api/tasks/count
+     *
+     * @param criteria критерии фильтрации задач
+     * @return ResponseEntity с количеством задач
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countTasks(TaskCriteria criteria) {
+        LOG.debug("Запрос на подсчет задач по критериям: {}", criteria);
+        return ResponseEntity.ok().body(taskQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * Получает помесячные показатели выполнения задач по командам и исполнителям.
+     * GET /api/tasks/stats
+     *
+     * @param from первый месяц (yyyy-MM), по умолчанию за 11 месяцев до последнего
+     * @param to последний месяц (yyyy-MM), по умолчанию текущий
+     * @param teamId команда или все команды, если не указана
+     * @return ResponseEntity с показателями в порядке (месяц, команда, исполнитель)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<TaskStatsService.MonthlyStats>> getTaskStats(
+        @RequestParam(name = "from", required = false) YearMonth from,
+        @RequestParam(name = "to", required = false) YearMonth to,
+        @RequestParam(name = "teamId", required = false) Long teamId
+    ) {
+        LOG.debug("Запрос показателей задач с {} по {}, команда {}", from, to, teamId);
+        LocalDate today = LocalDate.now();
+        YearMonth last = to != null ? to : YearMonth.from(today);
+        YearMonth first = from != null ? from : last.minusMonths(11);
+        if (last.isBefore(first)) {
+            throw new BadRequestAlertException("Месяц окончания периода раньше месяца начала", ENTITY_NAME, "invalidrange");
+        }
+        return ResponseEntity.ok(taskStatsService.getMonthlyStats(first, last, teamId, today));
+    }
+
+    /**
+     * Пересчитывает помесячные показатели выполнения задач по всей таблице задач.
+     * POST /api/tasks/stats/rebuild
+     *
+     * @return ResponseEntity с количеством строк показателей
+     */
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Integer> rebuildTaskStats() {
+        LOG.debug("Запрос на пересчет показателей задач");
+        return ResponseEntity.ok(taskStatsService.rebuild());
+    }
+
+    /**
+     * Ищет задачи по названию и описанию.
+     * GET /api/tasks/_search?q=
+     * <p>
+     * Результаты упорядочены по релевантности, совпадения во фрагментах выделены тегами {@code <mark>}.
+     * Курсор следующей страницы передается в заголовке {@code Link}.
+     *
+     * @param query поисковый запрос
+     * @param cursor курсор страницы или пустое значение для первой страницы
+     * @param pageable размер страницы (сортировка не поддерживается)
+     * @return ResponseEntity со списком найденных задач или 400 при пустом запросе или неверном курсоре
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<TaskSearchResultDTO>> searchTasks(
+        @RequestParam(name = "q") String query,
+        @RequestParam(name = CursorPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("Запрос на поиск задач: {}", query);
+        if (query.isBlank()) {
+            throw new BadRequestAlertException("Пустой поисковый запрос", ENTITY_NAME, "querynull");
+        }
+        CursorPage<TaskSearchResultDTO> page;
+        try {
+            page = taskSearchService.search(query, cursor, pageable.getPageSize());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Неверный курсор", ENTITY_NAME, "cursorinvalid");
+        }
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * Получает задачу по ID.
      * GET /api/tasks/{id}
@@ -17,7 +17,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.georgdeveloper.myapp.domain.Team;
 import ru.georgdeveloper.myapp.domain.User;
-import ru.georgdeveloper.myapp.domain.UserTeamAccess;
 import ru.georgdeveloper.myapp.repository.TeamRepository;
 import ru.georgdeveloper.myapp.repository.UserRepository;
 import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
@@ -224,7 +223,7 @@ public class TeamResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTeam(@PathVariable("id") Long id) {
         LOG.debug("Запрос на удаление команды: ID {}", id);
-        teamAccessService.deleteTeam(id);
+        teamService.delete(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
@@ -247,9 +246,7 @@ public class TeamResource {
     public ResponseEntity<Void> removeUserFromTeam(@PathVariable Long teamId, @PathVariable Long userId) {
         LOG.debug("REST request to remove user {} from team {}", userId, teamId);
 
-        Optional<UserTeamAccess> access = userTeamAccessRepository.findByTeamIdAndUserId(teamId, userId);
-        if (access.isPresent()) {
-            userTeamAccessRepository.delete(access.get());
+        if (teamAccessService.revokeAccess(teamId, userId)) {
             return ResponseEntity.noContent().build();
         }
 
@@ -250,15 +250,20 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
-        return err instanceof BadRequestAlertException badRequestAlertException
-            ? HeaderUtil.createFailureAlert(
+        if (err instanceof BadRequestAlertException badRequestAlertException) {
+            return HeaderUtil.createFailureAlert(
                 applicationName,
                 true,
                 badRequestAlertException.getEntityName(),
                 badRequestAlertException.getErrorKey(),
                 badRequestAlertException.getMessage()
-            )
-            : null;
+            );
+        }
+        // Заголовки самого исключения, например Retry-After
+        if (err instanceof ErrorResponse errorResponse && !errorResponse.getHeaders().isEmpty()) {
+            return errorResponse.getHeaders();
+        }
+        return null;
     }
 
     public Optional<ProblemDetailWithCause> buildCause(final Throwable throwable, NativeWebRequest request) {
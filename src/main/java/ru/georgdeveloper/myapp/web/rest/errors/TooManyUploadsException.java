@@ -0,0 +1,31 @@
+package ru.georgdeveloper.myapp.web.rest.errors;
+
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+/**
+ * Все места для одновременной загрузки файлов заняты (HTTP 503 Service Unavailable).
+ * Ответ содержит заголовок {@code Retry-After} с числом секунд, через которое стоит повторить запрос.
+ */
+@SuppressWarnings("java:S110") // Отключаем предупреждение о слишком глубоком дереве наследования
+public class TooManyUploadsException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManyUploadsException(Duration retryAfter) {
+        super(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .withType(ErrorConstants.DEFAULT_TYPE)
+                .withTitle("Слишком много одновременных загрузок, повторите позже")
+                .withProperty("message", "error.toomanyuploads")
+                .build(),
+            null
+        );
+        getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+    }
+}
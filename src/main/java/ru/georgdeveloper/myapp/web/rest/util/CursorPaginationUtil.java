@@ -0,0 +1,58 @@
+package ru.georgdeveloper.myapp.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+
+/**
+ * Утилита для формирования заголовков курсорной (keyset) пагинации.
+ * <p>
+ * В отличие от {@link tech.jhipster.web.util.PaginationUtil} в заголовок {@code Link} попадают
+ * непрозрачные курсоры {@code next}/{@code prev}, а {@code X-Total-Count} добавляется
+ * только если клиент запросил подсчет.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Формирует заголовки пагинации для страницы с курсорами.
+     *
+     * @param uriBuilder построитель URI текущего запроса
+     * @param page страница курсорной пагинации
+     * @return заголовки {@code Link} и, при наличии подсчета, {@code X-Total-Count}
+     */
+    public static HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, CursorPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getTotalElements() != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(page.getTotalElements()));
+        }
+        List<String> links = new ArrayList<>();
+        if (page.getNextCursor() != null) {
+            links.add(prepareLink(uriBuilder, page.getNextCursor(), "next"));
+        }
+        if (page.getPrevCursor() != null) {
+            links.add(prepareLink(uriBuilder, page.getPrevCursor(), "prev"));
+        }
+        links.add(prepareLink(uriBuilder, "", "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, String relType) {
+        String uri = uriBuilder
+            .cloneBuilder()
+            .replaceQueryParam(CURSOR_PARAMETER, cursor)
+            .replaceQueryParam("page")
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+}
@@ -0,0 +1,81 @@
+package ru.georgdeveloper.myapp.web.rest.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import ru.georgdeveloper.myapp.repository.PdfFileView;
+
+/**
+ * Утилита для выдачи PDF-файлов документов с условными и частичными запросами.
+ * <p>
+ * ETag файла — его SHA-256, поэтому он сильный и не требует чтения содержимого. Файл отдается как {@link Resource}:
+ * на запрос с заголовком {@code Range} Spring MVC отвечает 206 с одним диапазоном или {@code multipart/byteranges}
+ * с несколькими, читая с диска только запрошенные части, а недопустимый диапазон получает 416.
+ * Содержимое копируется в ответ потоком через буфер постоянного размера.
+ */
+public final class FileDownloadUtil {
+
+    private FileDownloadUtil() {}
+
+    /**
+     * Сильный ETag содержимого.
+     *
+     * @param sha256 хеш содержимого
+     * @return ETag в кавычках
+     */
+    public static String eTag(String sha256) {
+        return "\"" + sha256 + "\"";
+    }
+
+    /**
+     * Проверяет If-None-Match и возвращает ответ 304, если у клиента актуальная версия файла.
+     *
+     * @param file метаданные файла
+     * @param request запрос
+     * @return ответ 304 или пустой результат, если файл нужно отдать
+     */
+    public static Optional<ResponseEntity<Resource>> notModified(PdfFileView file, WebRequest request) {
+        if (!request.checkNotModified(eTag(file.getPdfFileSha256()))) {
+            return Optional.empty();
+        }
+        return Optional.of(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache().cachePrivate()).build());
+    }
+
+    /**
+     * Формирует ответ с содержимым файла.
+     *
+     * @param file метаданные файла
+     * @param content содержимое файла
+     * @param request запрос, заголовок If-Range которого учитывается
+     * @return ответ 200; Spring MVC превращает его в 206, если запрошен диапазон
+     * @throws IOException ошибка открытия файла, если он отдается целиком вместо диапазона
+     */
+    public static ResponseEntity<Resource> fileResponse(PdfFileView file, Resource content, WebRequest request) throws IOException {
+        String eTag = eTag(file.getPdfFileSha256());
+        Resource body = content;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            // Диапазон относится к прежней версии файла, поэтому файл отдается целиком:
+            // Spring MVC не делит на диапазоны InputStreamResource
+            body = new InputStreamResource(content.getInputStream());
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(file.getPdfFileContentType()))
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getPdfFileName(), StandardCharsets.UTF_8).build().toString()
+            )
+            .body(body);
+    }
+}
@@ -19,6 +19,7 @@ export interface CalendarEvent {
   positionId?: number; // ID должности (для инструктажей)
   positionName?: string; // Название должности (для инструктажей)
   validityPeriod?: number; // Период действия (для инструктажей)
+  completed?: boolean; // Завершено (для прочих событий)
 }
 
 // Перечисление типов событий
@@ -42,29 +42,18 @@ export class CalendarComponent implements OnInit {
   // Загрузка всех событий (календарных + задач + инструктажи)
   loadAllEvents(): void {
     this.isLoading.set(true);
+    const days = this.getDaysInMonth();
 
     combineLatest([
-      this.calendarService.getEvents().pipe(catchError(() => of([] as CalendarEvent[]))),
-      this.calendarService.getTasksAsEvents().pipe(catchError(() => of([] as CalendarEvent[]))),
-      this.calendarService.getTrainingsAsEvents().pipe(catchError(() => of([] as CalendarEvent[]))),
-      this.calendarService.getAdditionalTrainingsAsEvents().pipe(catchError(() => of([] as CalendarEvent[]))),
+      this.calendarService.getEvents(days[0].date, days[days.length - 1].date).pipe(catchError(() => of([] as CalendarEvent[]))),
       this.calendarService.getSafetyInstructionsAsEvents().pipe(catchError(() => of([] as CalendarEvent[]))),
     ]).subscribe({
-      next: ([events, taskEvents, trainingEvents, additionalTrainingEvents, safetyInstructionEvents]) => {
+      next: ([events, safetyInstructionEvents]) => {
         // Убеждаемся, что все значения - массивы
         const safeEvents = Array.isArray(events) ? events : [];
-        const safeTaskEvents = Array.isArray(taskEvents) ? taskEvents : [];
-        const safeTrainingEvents = Array.isArray(trainingEvents) ? trainingEvents : [];
-        const safeAdditionalTrainingEvents = Array.isArray(additionalTrainingEvents) ? additionalTrainingEvents : [];
         const safeSafetyInstructionEvents = Array.isArray(safetyInstructionEvents) ? safetyInstructionEvents : [];
 
-        this.events.set([
-          ...safeEvents,
-          ...safeTaskEvents,
-          ...safeTrainingEvents,
-          ...safeAdditionalTrainingEvents,
-          ...safeSafetyInstructionEvents,
-        ]);
+        this.events.set([...safeEvents, ...safeSafetyInstructionEvents]);
         this.isLoading.set(false);
       },
       error: err => {
@@ -4,6 +4,10 @@ export interface IJobDescription {
   id: number;
   descriptionName?: string | null;
   approvalDate?: dayjs.Dayjs | null;
+  pdfFileName?: string | null;
+  pdfFileContentType?: string | null;
+  pdfFileSize?: number | null;
+  pdfFileSha256?: string | null;
 }
 
 export type NewJobDescription = Omit<IJobDescription, 'id'> & { id: null };
@@ -5,6 +5,8 @@ import { IMeeting } from '../meeting.model';
 import { MeetingService } from '../service/meeting.service';
 import { HttpResponse } from '@angular/common/http';
 import { FormatMediumDatePipe } from 'app/shared/date';
+import { ItemCountComponent } from 'app/shared/pagination';
+import { ITEMS_PER_PAGE, TOTAL_COUNT_RESPONSE_HEADER } from 'app/config/pagination.constants';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 import { ITEM_DELETED_EVENT } from 'app/config/navigation.constants';
 import { filter } from 'rxjs/operators';
@@ -13,12 +15,16 @@ import { MeetingDeleteDialogComponent } from '../delete/meeting-delete-dialog.co
 @Component({
   selector: 'jhi-meeting',
   templateUrl: './meeting.component.html',
-  imports: [SharedModule, RouterModule, FormatMediumDatePipe],
+  imports: [SharedModule, RouterModule, FormatMediumDatePipe, ItemCountComponent],
 })
 export class MeetingComponent implements OnInit {
   isLoading = signal<boolean>(false);
   meetings = signal<IMeeting[]>([]);
 
+  itemsPerPage = ITEMS_PER_PAGE;
+  totalItems = 0;
+  page = 1;
+
   protected meetingService = inject(MeetingService);
   protected modalService = inject(NgbModal);
 
@@ -28,8 +34,9 @@ export class MeetingComponent implements OnInit {
 
   loadAll(): void {
     this.isLoading.set(true);
-    this.meetingService.query().subscribe({
+    this.meetingService.query({ page: this.page - 1, size: this.itemsPerPage }).subscribe({
       next: (res: HttpResponse<IMeeting[]>) => {
+        this.totalItems = Number(res.headers.get(TOTAL_COUNT_RESPONSE_HEADER));
         this.meetings.set(res.body ?? []);
         this.isLoading.set(false);
       },
@@ -37,6 +44,11 @@ export class MeetingComponent implements OnInit {
     });
   }
 
+  navigateToPage(page: number): void {
+    this.page = page;
+    this.loadAll();
+  }
+
   delete(meeting: IMeeting): void {
     const modalRef = this.modalService.open(MeetingDeleteDialogComponent, { size: 'lg', backdrop: 'static' });
     (modalRef.componentInstance as MeetingDeleteDialogComponent).meeting = meeting;
@@ -8,6 +8,7 @@ export interface IMeeting {
   endTime?: string | null;
   location?: string | null;
   description?: string | null;
+  createdBy?: string | null;
 }
 
 export type NewMeeting = Omit<IMeeting, 'id'> & { id: null };
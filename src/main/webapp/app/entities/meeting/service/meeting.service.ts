@@ -4,6 +4,7 @@ import { Observable, map } from 'rxjs';
 import dayjs from 'dayjs/esm';
 import { DATE_FORMAT } from 'app/config/input.constants';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
+import { createRequestOption } from 'app/core/request/request-util';
 import { IMeeting, NewMeeting } from '../meeting.model';
 
 export type EntityResponseType = HttpResponse<IMeeting>;
@@ -38,9 +39,10 @@ export class MeetingService {
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
-  query(): Observable<EntityArrayResponseType> {
+  query(req?: any): Observable<EntityArrayResponseType> {
+    const options = createRequestOption(req);
     return this.http
-      .get<RestMeeting[]>(this.resourceUrl, { observe: 'response' })
+      .get<RestMeeting[]>(this.resourceUrl, { params: options, observe: 'response' })
       .pipe(map(res => this.convertResponseArrayFromServer(res)));
   }
 
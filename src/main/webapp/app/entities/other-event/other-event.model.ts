@@ -8,6 +8,7 @@ export interface IOtherEvent {
   endTime?: string | null;
   location?: string | null;
   description?: string | null;
+  createdBy?: string | null;
   completed?: boolean | null;
 }
 
@@ -4,6 +4,7 @@ import { Observable, map } from 'rxjs';
 import dayjs from 'dayjs/esm';
 import { DATE_FORMAT } from 'app/config/input.constants';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
+import { createRequestOption } from 'app/core/request/request-util';
 import { IOtherEvent, NewOtherEvent } from '../other-event.model';
 
 export type EntityResponseType = HttpResponse<IOtherEvent>;
@@ -38,9 +39,10 @@ export class OtherEventService {
       .pipe(map(res => this.convertResponseFromServer(res)));
   }
 
-  query(): Observable<EntityArrayResponseType> {
+  query(req?: any): Observable<EntityArrayResponseType> {
+    const options = createRequestOption(req);
     return this.http
-      .get<RestOtherEvent[]>(this.resourceUrl, { observe: 'response' })
+      .get<RestOtherEvent[]>(this.resourceUrl, { params: options, observe: 'response' })
       .pipe(map(res => this.convertResponseArrayFromServer(res)));
   }
 
@@ -11,7 +11,8 @@ export interface IProcedureDocument {
   position?: IPosition | null;
   pdfFileName?: string | null;
   pdfFileContentType?: string | null;
-  pdfFile?: string | null;
+  pdfFileSize?: number | null;
+  pdfFileSha256?: string | null;
 }
 
 export type NewProcedureDocument = Omit<IProcedureDocument, 'id'> & { id: null };
@@ -10,7 +10,8 @@ export interface ISafetyInstruction {
   position?: IPosition | null;
   pdfFileName?: string | null;
   pdfFileContentType?: string | null;
-  pdfFile?: string | null;
+  pdfFileSize?: number | null;
+  pdfFileSha256?: string | null;
 }
 
 export type NewSafetyInstruction = Omit<ISafetyInstruction, 'id'> & { id: null };
@@ -12,10 +12,11 @@ import { ITask, NewTask } from '../task.model';
 
 export type PartialUpdateTask = Partial<ITask> & Pick<ITask, 'id'>;
 
-type RestOf<T extends ITask | NewTask> = Omit<T, 'creationDate' | 'plannedCompletionDate' | 'actualCompletionDate'> & {
+type RestOf<T extends ITask | NewTask> = Omit<T, 'creationDate' | 'plannedCompletionDate' | 'actualCompletionDate' | 'overdueSince'> & {
   creationDate?: string | null;
   plannedCompletionDate?: string | null;
   actualCompletionDate?: string | null;
+  overdueSince?: string | null;
 };
 
 export type RestTask = RestOf<ITask>;
@@ -105,6 +106,7 @@ export class TaskService {
       creationDate: task.creationDate ? task.creationDate.format(DATE_FORMAT) : null,
       plannedCompletionDate: task.plannedCompletionDate ? task.plannedCompletionDate.format(DATE_FORMAT) : null,
       actualCompletionDate: task.actualCompletionDate ? task.actualCompletionDate.format(DATE_FORMAT) : null,
+      overdueSince: task.overdueSince ? task.overdueSince.format(DATE_FORMAT) : null,
       employee: employeeRef as any,
     } as RestOf<T>;
   }
@@ -115,6 +117,7 @@ export class TaskService {
       creationDate: restTask.creationDate ? dayjs(restTask.creationDate) : undefined,
       plannedCompletionDate: restTask.plannedCompletionDate ? dayjs(restTask.plannedCompletionDate) : undefined,
       actualCompletionDate: restTask.actualCompletionDate ? dayjs(restTask.actualCompletionDate) : undefined,
+      overdueSince: restTask.overdueSince ? dayjs(restTask.overdueSince) : undefined,
     };
   }
 
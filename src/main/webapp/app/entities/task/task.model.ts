@@ -9,6 +9,7 @@ export interface ITask {
   creationDate?: dayjs.Dayjs | null;
   plannedCompletionDate?: dayjs.Dayjs | null;
   actualCompletionDate?: dayjs.Dayjs | null;
+  overdueSince?: dayjs.Dayjs | null;
   status?: keyof typeof TaskStatus | null;
   priority?: keyof typeof TaskPriority | null;
   body?: string | null;
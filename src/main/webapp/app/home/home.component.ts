@@ -9,6 +9,7 @@ import isBetween from 'dayjs/esm/plugin/isBetween';
 import isSameOrAfter from 'dayjs/esm/plugin/isSameOrAfter';
 
 import SharedModule from 'app/shared/shared.module';
+import { DATE_FORMAT } from 'app/config/input.constants';
 import { AccountService } from 'app/core/auth/account.service';
 import { Account } from 'app/core/auth/account.model';
 import { SafetyInstructionService } from 'app/entities/safety-instruction/service/safety-instruction.service';
@@ -140,16 +141,14 @@ export default class HomeComponent implements OnInit, OnDestroy {
         );
       });
 
-    // Load meetings (upcoming)
+    // Load meetings (upcoming): the server returns only the next 30 days, ordered by date and time
+    const today = dayjs().startOf('day');
     this.meetingService
-      .query()
+      .query({ from: today.format(DATE_FORMAT), to: today.add(30, 'day').format(DATE_FORMAT), size: 20 })
       .pipe(takeUntil(this.destroy$))
       .subscribe(response => {
         const meetings = (response.body || []) as IMeeting[];
-        const today = dayjs().startOf('day');
         const formatted = meetings
-          .filter(m => m.eventDate && dayjs(m.eventDate as any).isSameOrAfter(today))
-          .sort((a, b) => (dayjs(a.eventDate as any).isAfter(dayjs(b.eventDate as any)) ? 1 : -1))
           .map(m => ({ day: dayjs(m.eventDate as any).format('D'), title: m.title || '' }));
         this.calendarEvents.set(formatted);
         this.isLoadingWidgets.set(false);
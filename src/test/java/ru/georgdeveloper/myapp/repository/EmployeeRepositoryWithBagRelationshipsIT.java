@@ -0,0 +1,143 @@
+package ru.georgdeveloper.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Profession;
+import ru.georgdeveloper.myapp.domain.Training;
+
+/**
+ * Integration tests for {@link EmployeeRepositoryWithBagRelationshipsImpl}, with query and entity counts from Hibernate statistics.
+ * Employees have 10 professions × 50 trainings, the worst case for a single join fetch of both collections.
+ */
+@IntegrationTest
+@Transactional
+class EmployeeRepositoryWithBagRelationshipsIT {
+
+    private static final int EMPLOYEES = 10;
+
+    private static final int PROFESSIONS_PER_EMPLOYEE = 10;
+
+    private static final int TRAININGS_PER_EMPLOYEE = 50;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    public void init() {
+        List<Profession> professions = new ArrayList<>();
+        for (int p = 0; p < PROFESSIONS_PER_EMPLOYEE; p++) {
+            Profession profession = new Profession();
+            profession.setProfessionName("bag-benchmark-" + p);
+            em.persist(profession);
+            professions.add(profession);
+        }
+        employeeIds = new ArrayList<>();
+        for (int e = 0; e < EMPLOYEES; e++) {
+            Employee employee = new Employee()
+                .firstName("Иван")
+                .lastName("Петров")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .employeeNumber("BAG-BENCHMARK-" + e)
+                .hireDate(LocalDate.of(2020, 1, 1));
+            professions.forEach(employee::addProfession);
+            em.persist(employee);
+            for (int t = 0; t < TRAININGS_PER_EMPLOYEE; t++) {
+                em.persist(
+                    new Training()
+                        .trainingName("Инструктаж " + t)
+                        .lastTrainingDate(LocalDate.of(2024, 1, 1).plusDays(t))
+                        .validityPeriod(12)
+                        .employee(employee)
+                );
+            }
+            employeeIds.add(employee.getId());
+        }
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void fetchBagRelationshipsKeepsOrderAndInitializesCollections() {
+        List<Long> reversed = new ArrayList<>(employeeIds);
+        Collections.reverse(reversed);
+
+        List<Employee> input = reversed.stream().map(id -> em.find(Employee.class, id)).toList();
+
+        List<Employee> result = employeeRepository.fetchBagRelationships(input);
+
+        assertThat(result).extracting(Employee::getId).containsExactlyElementsOf(reversed);
+        assertThat(result).allSatisfy(employee -> {
+            assertThat(Hibernate.isInitialized(employee.getProfessions())).isTrue();
+            assertThat(Hibernate.isInitialized(employee.getTrainings())).isTrue();
+            assertThat(employee.getProfessions()).hasSize(PROFESSIONS_PER_EMPLOYEE);
+            assertThat(employee.getTrainings()).hasSize(TRAININGS_PER_EMPLOYEE);
+        });
+    }
+
+    @Test
+    void fetchOneLoadsEachCollectionWithItsOwnQuery() {
+        statistics.clear();
+        Employee employee = employeeRepository.findOneWithEagerRelationships(employeeIds.get(0)).orElseThrow();
+
+        assertThat(employee.getProfessions()).hasSize(PROFESSIONS_PER_EMPLOYEE);
+        assertThat(employee.getTrainings()).hasSize(TRAININGS_PER_EMPLOYEE);
+        // findById, then one query per collection
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void fetchBagRelationshipsUsesOneQueryPerCollectionAndLoadsEachEntityOnce() {
+        List<Employee> employees = employeeRepository.findAllById(employeeIds);
+        statistics.clear();
+
+        List<Employee> result = employeeRepository.fetchBagRelationships(employees);
+        long statementsAfterFetch = statistics.getPrepareStatementCount();
+        result.forEach(employee -> {
+            assertThat(employee.getProfessions()).hasSize(PROFESSIONS_PER_EMPLOYEE);
+            assertThat(employee.getTrainings()).hasSize(TRAININGS_PER_EMPLOYEE);
+        });
+
+        // One chunk of ids: one query for professions and one for trainings, and no lazy loads afterwards
+        assertThat(statementsAfterFetch).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFetch);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        // Employees are already managed; each shared profession and each training is materialized once,
+        // while a single join fetch of both bags would return P x T rows per employee
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(PROFESSIONS_PER_EMPLOYEE + (long) EMPLOYEES * TRAININGS_PER_EMPLOYEE);
+    }
+}
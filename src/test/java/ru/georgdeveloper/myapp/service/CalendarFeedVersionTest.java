@@ -0,0 +1,26 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CalendarFeedVersion}.
+ */
+class CalendarFeedVersionTest {
+
+    @Test
+    void everyChangeMovesLastModified() {
+        CalendarFeedVersion version = new CalendarFeedVersion();
+        CalendarFeedVersion.Version initial = version.current();
+
+        version.changedAfterCommit();
+        CalendarFeedVersion.Version first = version.current();
+        version.changedAfterCommit();
+        CalendarFeedVersion.Version second = version.current();
+
+        assertThat(second.number()).isEqualTo(initial.number() + 2);
+        assertThat(first.modified()).isAfter(initial.modified());
+        assertThat(second.modified()).isAfter(first.modified());
+    }
+}
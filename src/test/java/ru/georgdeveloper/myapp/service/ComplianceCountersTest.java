@@ -0,0 +1,192 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.repository.EmployeeRepository;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TeamEmployeeCountView;
+import ru.georgdeveloper.myapp.repository.TeamOpenTaskView;
+import ru.georgdeveloper.myapp.repository.TeamTrainingDueView;
+import ru.georgdeveloper.myapp.repository.TrainingRepository;
+import ru.georgdeveloper.myapp.service.ComplianceCounters.Counts;
+import ru.georgdeveloper.myapp.service.ComplianceCounters.TaskState;
+import ru.georgdeveloper.myapp.service.ComplianceCounters.TrainingState;
+
+/**
+ * Unit tests for the {@link ComplianceCounters}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ComplianceCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private static final int EXPIRING_WITHIN_DAYS = 30;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TrainingRepository trainingRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ComplianceCounters complianceCounters;
+
+    @BeforeEach
+    void setUp() {
+        complianceCounters = new ComplianceCounters(employeeRepository, trainingRepository, taskRepository, new SimpleMeterRegistry());
+        when(employeeRepository.countGroupedByTeam()).thenReturn(List.of(employees(1L, 3)));
+        when(trainingRepository.countDueGroupedByTeam()).thenReturn(
+            List.of(
+                trainings(1L, TODAY.minusDays(1), 2),
+                trainings(1L, TODAY, 1),
+                trainings(1L, TODAY.plusDays(EXPIRING_WITHIN_DAYS), 4),
+                trainings(1L, TODAY.plusDays(EXPIRING_WITHIN_DAYS + 1), 8)
+            )
+        );
+        when(taskRepository.countOpenGroupedByTeam()).thenReturn(List.of(tasks(1L, TaskPriority.HIGH, 2), tasks(1L, null, 1)));
+        complianceCounters.reconcile();
+    }
+
+    @Test
+    void reconcileBuildsCountersForAnyDate() {
+        Counts counts = counts(1L, TODAY);
+
+        assertThat(counts.employees()).isEqualTo(3);
+        assertThat(counts.overdueTrainings()).isEqualTo(2);
+        assertThat(counts.expiringTrainings()).isEqualTo(5);
+        assertThat(counts.openTasks()).isEqualTo(3);
+        assertThat(counts.openTasksByPriority()).containsEntry(TaskPriority.HIGH, 2L).containsEntry(TaskPriority.LOW, 0L);
+
+        // The date histogram answers for another day without a query
+        Counts nextMonth = counts(1L, TODAY.plusDays(EXPIRING_WITHIN_DAYS + 1));
+        assertThat(nextMonth.overdueTrainings()).isEqualTo(7);
+        assertThat(nextMonth.expiringTrainings()).isEqualTo(8);
+
+        assertThat(counts(2L, TODAY).employees()).isZero();
+        verify(employeeRepository, never()).countGroupedByTeamIds(anyCollection());
+    }
+
+    @Test
+    void changesAreAppliedAsDeltas() {
+        // Outside of a transaction changes are applied immediately
+        complianceCounters.trainingChangedAfterCommit(
+            new TrainingState(10L, 1L, TODAY.minusDays(1)),
+            new TrainingState(10L, 1L, TODAY.plusYears(1))
+        );
+        complianceCounters.trainingChangedAfterCommit(null, new TrainingState(11L, 2L, TODAY.minusDays(3)));
+        complianceCounters.taskChangedAfterCommit(
+            new TaskState(10L, 1L, TaskStatus.IN_PROGRESS, TaskPriority.HIGH),
+            new TaskState(10L, 1L, TaskStatus.DONE, TaskPriority.HIGH)
+        );
+        complianceCounters.taskChangedAfterCommit(null, new TaskState(11L, 2L, null, TaskPriority.CRITICAL));
+        complianceCounters.employeesAddedAfterCommit(2L, 4);
+
+        Counts first = counts(1L, TODAY);
+        assertThat(first.overdueTrainings()).isEqualTo(1);
+        assertThat(first.openTasksByPriority()).containsEntry(TaskPriority.HIGH, 1L);
+        assertThat(first.openTasks()).isEqualTo(2);
+
+        Counts second = counts(2L, TODAY);
+        assertThat(second.employees()).isEqualTo(4);
+        assertThat(second.overdueTrainings()).isEqualTo(1);
+        assertThat(second.openTasksByPriority()).containsEntry(TaskPriority.CRITICAL, 1L);
+        verify(employeeRepository, never()).countGroupedByTeamIds(anyCollection());
+    }
+
+    @Test
+    void dirtyTeamIsRecountedOnNextRead() {
+        when(employeeRepository.countGroupedByTeamIds(List.of(1L))).thenReturn(List.of(employees(1L, 5)));
+        when(trainingRepository.countDueGroupedByTeamIds(List.of(1L))).thenReturn(List.of());
+        when(taskRepository.countOpenGroupedByTeamIds(List.of(1L))).thenReturn(List.of());
+
+        complianceCounters.recountAfterCommit(List.of(1L));
+        Counts counts = counts(1L, TODAY);
+
+        assertThat(counts.employees()).isEqualTo(5);
+        assertThat(counts.overdueTrainings()).isZero();
+        assertThat(counts.openTasks()).isZero();
+
+        // Recounted once, further reads are served from memory
+        counts(1L, TODAY);
+        verify(employeeRepository).countGroupedByTeamIds(List.of(1L));
+    }
+
+    @Test
+    void removedTeamHasNoCounters() {
+        complianceCounters.removeTeamAfterCommit(1L);
+
+        assertThat(counts(1L, TODAY).employees()).isZero();
+    }
+
+    private Counts counts(Long teamId, LocalDate today) {
+        return complianceCounters.getCounts(List.of(teamId), today, EXPIRING_WITHIN_DAYS).get(teamId);
+    }
+
+    private static TeamEmployeeCountView employees(Long teamId, long total) {
+        return new TeamEmployeeCountView() {
+            @Override
+            public Long getTeamId() {
+                return teamId;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static TeamTrainingDueView trainings(Long teamId, LocalDate nextTrainingDate, long total) {
+        return new TeamTrainingDueView() {
+            @Override
+            public Long getTeamId() {
+                return teamId;
+            }
+
+            @Override
+            public LocalDate getNextTrainingDate() {
+                return nextTrainingDate;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static TeamOpenTaskView tasks(Long teamId, TaskPriority priority, long total) {
+        return new TeamOpenTaskView() {
+            @Override
+            public Long getTeamId() {
+                return teamId;
+            }
+
+            @Override
+            public TaskPriority getPriority() {
+                return priority;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
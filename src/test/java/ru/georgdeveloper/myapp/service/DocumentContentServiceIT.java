@@ -0,0 +1,109 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.DocumentContent;
+import ru.georgdeveloper.myapp.repository.DocumentContentRepository;
+import ru.georgdeveloper.myapp.service.DocumentContentService.StoredContent;
+
+/**
+ * Integration tests for {@link DocumentContentService}: reference counting and purging of unreferenced content.
+ * Not transactional, as the purge deletes every file in its own transaction.
+ */
+@IntegrationTest
+class DocumentContentServiceIT {
+
+    @Autowired
+    private DocumentContentService documentContentService;
+
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanup() {
+        documentContentService.purgeUnreferenced();
+    }
+
+    @Test
+    void identicalContentIsCountedNotDuplicated() {
+        byte[] content = uniqueContent();
+
+        StoredContent first = store(content);
+        StoredContent second = store(content);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(refCount(first)).isEqualTo(2);
+
+        release(first);
+        documentContentService.purgeUnreferenced();
+
+        assertThat(refCount(first)).isEqualTo(1);
+        assertThat(documentContentService.find(first.sha256())).isPresent();
+
+        release(second);
+    }
+
+    @Test
+    void purgeDeletesContentWithoutReferences() {
+        StoredContent stored = store(uniqueContent());
+        release(stored);
+
+        assertThat(refCount(stored)).isZero();
+        assertThat(documentContentService.find(stored.sha256())).isPresent();
+
+        assertThat(documentContentService.purgeUnreferenced()).isGreaterThanOrEqualTo(1);
+
+        assertThat(documentContentRepository.findById(stored.sha256())).isEmpty();
+        assertThat(documentContentService.find(stored.sha256())).isEmpty();
+    }
+
+    @Test
+    void rolledBackStoreLeavesContentForPurge() {
+        byte[] content = uniqueContent();
+
+        StoredContent stored = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return documentContentService.store(new ByteArrayInputStream(content));
+        });
+
+        assertThat(refCount(stored)).isZero();
+        documentContentService.purgeUnreferenced();
+        assertThat(documentContentService.find(stored.sha256())).isEmpty();
+    }
+
+    private StoredContent store(byte[] content) {
+        return transaction.execute(status -> documentContentService.store(new ByteArrayInputStream(content)));
+    }
+
+    private void release(StoredContent stored) {
+        transaction.executeWithoutResult(status -> documentContentService.release(stored.sha256()));
+    }
+
+    private int refCount(StoredContent stored) {
+        return documentContentRepository.findById(stored.sha256()).map(DocumentContent::getRefCount).orElseThrow();
+    }
+
+    private static byte[] uniqueContent() {
+        return ("%PDF-1.7 " + UUID.randomUUID()).getBytes(StandardCharsets.US_ASCII);
+    }
+}
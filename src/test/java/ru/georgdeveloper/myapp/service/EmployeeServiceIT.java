@@ -0,0 +1,177 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Position;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.Training;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.EmployeeKeyset;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.EmployeeWithLastInstructionDateDTO;
+
+/**
+ * Integration tests for {@link EmployeeService}.
+ */
+@IntegrationTest
+@Transactional
+class EmployeeServiceIT {
+
+    private static final String LOGIN = "user";
+
+    private static final LocalDate FIRST_TRAINING_DATE = LocalDate.of(2024, 1, 15);
+
+    private static final LocalDate LAST_TRAINING_DATE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void init() {
+        Team team = new Team().teamName("projection");
+        em.persist(team);
+        Position position = new Position().positionName("Слесарь");
+        em.persist(position);
+
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin(LOGIN).orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.OWNER);
+        em.persist(access);
+
+        for (int i = 0; i < 2; i++) {
+            Employee employee = new Employee()
+                .firstName("Иван")
+                .lastName("Петров")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .employeeNumber("PROJECTION-" + i)
+                .hireDate(LocalDate.of(2020, 1, 1))
+                .team(team)
+                .position(position);
+            em.persist(employee);
+            // Through the service, so the stored last instruction date is maintained: PROJECTION-1 is one day behind
+            trainingService.save(createTraining(employee, FIRST_TRAINING_DATE));
+            trainingService.save(createTraining(employee, LAST_TRAINING_DATE.minusDays(i)));
+        }
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findAllWithLastInstructionDateUsesSingleQueryWithoutCount() {
+        Page<EmployeeWithLastInstructionDateDTO> page = employeeService.findAllWithLastInstructionDate(
+            LOGIN,
+            PageRequest.of(0, 20, Sort.by("employeeNumber"))
+        );
+
+        assertThat(page.getContent()).hasSize(2);
+        EmployeeWithLastInstructionDateDTO dto = page.getContent().get(0);
+        assertThat(dto.getEmployeeNumber()).isEqualTo("PROJECTION-0");
+        assertThat(dto.getLastInstructionDate()).isEqualTo(LAST_TRAINING_DATE);
+        assertThat(dto.getTeam().getTeamName()).isEqualTo("projection");
+        assertThat(dto.getPosition().getPositionName()).isEqualTo("Слесарь");
+
+        // Team ids are read through the access index (the test transaction is read-write, so it bypasses the cache),
+        // the page fits entirely, so Spring Data skips the COUNT: two round trips, no entities loaded
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void findAllWithLastInstructionDateAddsOnlyCountQuery() {
+        Page<EmployeeWithLastInstructionDateDTO> page = employeeService.findAllWithLastInstructionDate(
+            LOGIN,
+            PageRequest.of(0, 1, Sort.by("employeeNumber"))
+        );
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+
+        // Team ids lookup, page query plus COUNT; the date comes from the stored column
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void findAllWithLastInstructionDateSortsByStoredColumn() {
+        Page<EmployeeWithLastInstructionDateDTO> page = employeeService.findAllWithLastInstructionDate(
+            LOGIN,
+            PageRequest.of(0, 20, Sort.by("lastInstructionDate", "id"))
+        );
+
+        assertThat(page.getContent())
+            .extracting(EmployeeWithLastInstructionDateDTO::getEmployeeNumber)
+            .containsExactly("PROJECTION-1", "PROJECTION-0");
+        assertThat(page.getContent().get(0).getLastInstructionDate()).isEqualTo(LAST_TRAINING_DATE.minusDays(1));
+    }
+
+    @Test
+    void findAllWithLastInstructionDateByCursorDoesNotLoadTrainings() {
+        CursorPage<EmployeeWithLastInstructionDateDTO> page = employeeService.findAllWithLastInstructionDateByCursor(
+            LOGIN,
+            EmployeeKeyset.first(Sort.by("employeeNumber")),
+            20,
+            false
+        );
+
+        assertThat(page.getContent())
+            .extracting(EmployeeWithLastInstructionDateDTO::getEmployeeNumber)
+            .containsExactly("PROJECTION-0", "PROJECTION-1");
+        assertThat(page.getContent().get(0).getLastInstructionDate()).isEqualTo(LAST_TRAINING_DATE);
+        assertThat(page.getContent().get(0).getTeam().getTeamName()).isEqualTo("projection");
+        assertThat(page.getContent().get(0).getPosition().getPositionName()).isEqualTo("Слесарь");
+        assertThat(statistics.getEntityStatistics(Training.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    private static Training createTraining(Employee employee, LocalDate lastTrainingDate) {
+        return new Training()
+            .trainingName("Вводный")
+            .lastTrainingDate(lastTrainingDate)
+            .validityPeriod(12)
+            .nextTrainingDate(lastTrainingDate.plusMonths(12))
+            .employee(employee);
+    }
+}
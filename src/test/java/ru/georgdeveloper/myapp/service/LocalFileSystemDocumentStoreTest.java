@@ -0,0 +1,116 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+/**
+ * Unit tests for {@link LocalFileSystemDocumentStore}.
+ */
+class LocalFileSystemDocumentStoreTest {
+
+    private static final byte[] CONTENT = "%PDF-1.7 test".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    private Path root;
+
+    private LocalFileSystemDocumentStore store;
+
+    @BeforeEach
+    void init() throws IOException {
+        store = new LocalFileSystemDocumentStore(root);
+    }
+
+    @Test
+    void publishesContentUnderItsHash() throws Exception {
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+
+        try (DocumentStore.PendingDocument pending = store.write(new ByteArrayInputStream(CONTENT))) {
+            assertThat(pending.sha256()).isEqualTo(expected);
+            assertThat(pending.size()).isEqualTo(CONTENT.length);
+            assertThat(store.find(expected)).isEmpty();
+            pending.publish();
+        }
+
+        Resource resource = store.find(expected).orElseThrow();
+        assertThat(resource.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(store.path(expected)).isEqualTo(root.resolve(expected.substring(0, 2)).resolve(expected));
+        assertThat(temporaryFiles()).isZero();
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        String first = writeAndPublish(CONTENT);
+        String second = writeAndPublish(CONTENT);
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.list(root.resolve(first.substring(0, 2)))) {
+            assertThat(files).containsExactly(store.path(first));
+        }
+    }
+
+    @Test
+    void closingWithoutPublishingRemovesTemporaryFile() throws Exception {
+        String sha256;
+        try (DocumentStore.PendingDocument pending = store.write(new ByteArrayInputStream(CONTENT))) {
+            sha256 = pending.sha256();
+            assertThat(temporaryFiles()).isOne();
+        }
+
+        assertThat(temporaryFiles()).isZero();
+        assertThat(store.find(sha256)).isEmpty();
+    }
+
+    @Test
+    void deletesPublishedContent() throws Exception {
+        String sha256 = writeAndPublish(CONTENT);
+
+        assertThat(store.delete(sha256)).isTrue();
+        assertThat(store.find(sha256)).isEmpty();
+        assertThat(store.delete(sha256)).isFalse();
+    }
+
+    @Test
+    void contentWithoutPdfSignatureLeavesNoTemporaryFile() throws Exception {
+        byte[] html = "<html>not a pdf</html>".getBytes(StandardCharsets.US_ASCII);
+
+        assertThatThrownBy(() -> store.write(new PdfSignatureInputStream(new ByteArrayInputStream(html)))).isInstanceOf(
+            InvalidPdfFileException.class
+        );
+        assertThatThrownBy(() -> store.write(new PdfSignatureInputStream(new ByteArrayInputStream(new byte[] { '%', 'P' })))).isInstanceOf(
+            InvalidPdfFileException.class
+        );
+        assertThat(temporaryFiles()).isZero();
+    }
+
+    @Test
+    void rejectsMalformedHash() {
+        assertThatThrownBy(() -> store.find("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.delete("ABC")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String writeAndPublish(byte[] content) throws IOException {
+        try (DocumentStore.PendingDocument pending = store.write(new ByteArrayInputStream(content))) {
+            pending.publish();
+            return pending.sha256();
+        }
+    }
+
+    private long temporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+            return files.count();
+        }
+    }
+}
@@ -15,6 +15,8 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,6 +31,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import ru.georgdeveloper.myapp.IntegrationTest;
 import ru.georgdeveloper.myapp.config.Constants;
 import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.service.dto.TrainingExpiryNoticeDTO;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -184,6 +187,23 @@ class MailServiceIT {
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
+    @Test
+    void testSendTrainingExpiryDigest() throws Exception {
+        User user = new User();
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setLogin("john");
+        user.setEmail("john.doe@example.com");
+        List<TrainingExpiryNoticeDTO> notices = List.of(
+            new TrainingExpiryNoticeDTO("Вводный", "Петров Иван", "Бригада", LocalDate.of(2030, 5, 1), false)
+        );
+        mailService.sendTrainingExpiryDigest(user, notices, 3);
+        verify(javaMailSender).send(messageCaptor.capture());
+        MimeMessage message = messageCaptor.getValue();
+        assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
+        assertThat(message.getContent().toString()).contains("Петров Иван", "01.05.2030");
+        assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
+    }
+
     @Test
     void testSendEmailWithException() {
         doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
@@ -0,0 +1,113 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+
+/**
+ * Integration tests for {@link MeetingService}. Not transactional: the bookings run in their own
+ * concurrent transactions.
+ */
+@IntegrationTest
+class MeetingServiceIT {
+
+    private static final LocalDate DAY = LocalDate.of(2099, 7, 1);
+
+    private static final String ROOM = "Переговорная 5";
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        meetingRepository
+            .findCalendarMeetingsAtLocation(ROOM.toLowerCase(Locale.ROOT), DAY, DAY)
+            .forEach(meeting -> meetingService.delete(meeting.getId()));
+    }
+
+    @Test
+    void concurrentBookingOfTheSameRoomWaitsAndIsRejected() throws Exception {
+        CountDownLatch booked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Meeting> first = executor.submit(() ->
+                transaction.execute(status -> {
+                    Meeting result = meetingService.save(meeting("Планерка", 10));
+                    booked.countDown();
+                    await(commit);
+                    return result;
+                })
+            );
+            assertThat(booked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<Meeting> second = executor.submit(() -> meetingService.save(meeting("Совещание", 10)));
+            // The room is locked by the first booking until its transaction commits
+            assertThatThrownBy(() -> second.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            commit.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+            assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(MeetingRoomConflictException.class);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+        assertThat(meetingRepository.findCalendarMeetingsAtLocation(ROOM.toLowerCase(Locale.ROOT), DAY, DAY)).hasSize(1);
+    }
+
+    @Test
+    void concurrentBookingsOfTheSameRoomAtDifferentTimesBothSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Meeting> morning = executor.submit(() -> meetingService.save(meeting("Планерка", 9)));
+            Future<Meeting> noon = executor.submit(() -> meetingService.save(meeting("Совещание", 12)));
+
+            assertThat(morning.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+            assertThat(noon.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(meetingRepository.findCalendarMeetingsAtLocation(ROOM.toLowerCase(Locale.ROOT), DAY, DAY)).hasSize(2);
+    }
+
+    private static Meeting meeting(String title, int hour) {
+        return new Meeting()
+            .title(title)
+            .eventDate(DAY)
+            .startTime(LocalTime.of(hour, 0))
+            .endTime(LocalTime.of(hour + 1, 0))
+            .location(ROOM);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.service.OverdueTaskSweeper.SweepResult;
+import ru.georgdeveloper.myapp.service.dto.OverdueTaskNoticeDTO;
+import ru.georgdeveloper.myapp.web.rest.EmployeeResourceIT;
+import ru.georgdeveloper.myapp.web.rest.TaskResourceIT;
+import ru.georgdeveloper.myapp.web.rest.UserResourceIT;
+
+/**
+ * Integration tests for {@link OverdueTaskSweeper}.
+ */
+@IntegrationTest
+@Transactional
+class OverdueTaskSweeperIT {
+
+    // Far enough in the future for every task of other tests to be already due
+    private static final LocalDate TODAY = LocalDate.of(2041, 2, 10);
+
+    @Autowired
+    private OverdueTaskSweeper overdueTaskSweeper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManager em;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @Captor
+    private ArgumentCaptor<List<OverdueTaskNoticeDTO>> noticesCaptor;
+
+    private User owner;
+
+    private Task overdue;
+    private Task inProgress;
+    private Task done;
+    private Task dueToday;
+    private Task unassigned;
+
+    @BeforeEach
+    public void init() {
+        Team team = new Team().teamName("overdue");
+        em.persist(team);
+        owner = UserResourceIT.createEntity();
+        em.persist(owner);
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(owner);
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.OWNER);
+        em.persist(access);
+
+        Employee employee = EmployeeResourceIT.createEntity().employeeNumber("OVERDUE-1").team(team);
+        em.persist(employee);
+
+        overdue = createTask("Отчет", TODAY.minusDays(3), TaskStatus.TODO, employee);
+        inProgress = createTask("Проверка", TODAY.minusDays(1), TaskStatus.IN_PROGRESS, employee);
+        done = createTask("Закрыта", TODAY.minusDays(5), TaskStatus.DONE, employee);
+        dueToday = createTask("Сегодня", TODAY, TaskStatus.TODO, employee);
+        unassigned = createTask("Без исполнителя", TODAY.minusDays(2), TaskStatus.TODO, null);
+        em.flush();
+    }
+
+    @Test
+    void flagsOverdueTasksAndNotifiesTeamOwner() {
+        SweepResult result = overdueTaskSweeper.sweep(TODAY);
+
+        assertThat(result.updated()).isGreaterThanOrEqualTo(3);
+        assertThat(result.processed()).isGreaterThanOrEqualTo(result.updated());
+        verify(mailService).sendOverdueTaskDigest(
+            Mockito.argThat(user -> owner.getId().equals(user.getId())),
+            noticesCaptor.capture(),
+            eq(2)
+        );
+        assertThat(noticesCaptor.getValue())
+            .extracting(OverdueTaskNoticeDTO::getTaskName)
+            .containsExactly("Отчет", "Проверка");
+        OverdueTaskNoticeDTO first = noticesCaptor.getValue().get(0);
+        assertThat(first.getPlannedCompletionDate()).isEqualTo(TODAY.minusDays(3));
+        assertThat(first.getTeamName()).isEqualTo("overdue");
+
+        em.clear();
+        assertThat(overdueSince(overdue)).isEqualTo(TODAY);
+        assertThat(overdueSince(inProgress)).isEqualTo(TODAY);
+        assertThat(overdueSince(unassigned)).isEqualTo(TODAY);
+        assertThat(overdueSince(done)).isNull();
+        assertThat(overdueSince(dueToday)).isNull();
+    }
+
+    @Test
+    void secondSweepChangesNothing() {
+        overdueTaskSweeper.sweep(TODAY);
+        Mockito.clearInvocations(mailService);
+
+        SweepResult result = overdueTaskSweeper.sweep(TODAY);
+
+        assertThat(result).isEqualTo(new SweepResult(0, 0, 0));
+        verify(mailService, never()).sendOverdueTaskDigest(any(User.class), anyList(), anyInt());
+    }
+
+    @Test
+    void completingTaskClearsFlag() {
+        overdueTaskSweeper.sweep(TODAY);
+        em.clear();
+
+        Task patch = new Task().status(TaskStatus.DONE);
+        patch.setId(overdue.getId());
+        taskService.partialUpdate(patch);
+        em.flush();
+        em.clear();
+
+        assertThat(overdueSince(overdue)).isNull();
+    }
+
+    private Task createTask(String name, LocalDate plannedCompletionDate, TaskStatus status, Employee employee) {
+        Task task = TaskResourceIT.createEntity()
+            .taskName(name)
+            .plannedCompletionDate(plannedCompletionDate)
+            .status(status)
+            .employee(employee);
+        em.persist(task);
+        return task;
+    }
+
+    private LocalDate overdueSince(Task task) {
+        return em.find(Task.class, task.getId()).getOverdueSince();
+    }
+}
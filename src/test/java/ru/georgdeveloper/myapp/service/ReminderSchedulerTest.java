@@ -0,0 +1,227 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.georgdeveloper.myapp.config.ApplicationProperties;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.repository.CalendarMeetingView;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.repository.OtherEventRepository;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+import ru.georgdeveloper.myapp.service.dto.EventReminderDTO;
+
+/**
+ * Unit tests for the {@link ReminderScheduler}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    // Время в тестах отсчитывается от завтрашнего утра, чтобы оно было позже начального такта колеса
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+    private static final LocalDateTime MORNING = DAY.atTime(8, 0);
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private OtherEventRepository otherEventRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserTeamAccessRepository userTeamAccessRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MailService mailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private ReminderScheduler reminderScheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reminderScheduler = new ReminderScheduler(
+            meetingRepository,
+            otherEventRepository,
+            taskRepository,
+            userTeamAccessRepository,
+            userRepository,
+            mailService,
+            new ApplicationProperties(),
+            transactionManager,
+            meterRegistry
+        );
+    }
+
+    @Test
+    void loadedMeetingReminderFiresOnceBeforeStart() {
+        CalendarMeetingView view = mock(CalendarMeetingView.class);
+        when(view.getId()).thenReturn(1L);
+        when(view.getTitle()).thenReturn("Планерка");
+        when(view.getEventDate()).thenReturn(DAY);
+        when(view.getStartTime()).thenReturn(LocalTime.of(9, 0));
+        when(view.getLocation()).thenReturn("Кабинет 101");
+        when(meetingRepository.streamCalendarMeetings(any(), any())).thenReturn(Stream.of(view));
+        when(otherEventRepository.streamCalendarOtherEvents(any(), any())).thenReturn(Stream.empty());
+        when(taskRepository.streamOpenTaskDeadlines(any(), any())).thenReturn(Stream.empty());
+        User user = activatedUser("organizer");
+        when(meetingRepository.findOrganizerById(1L)).thenReturn(Optional.of("organizer"));
+        when(userRepository.findOneByLogin("organizer")).thenReturn(Optional.of(user));
+
+        reminderScheduler.reload(MORNING);
+        assertThat(meterRegistry.get(ReminderScheduler.PENDING_METER_NAME).gauge().value()).isEqualTo(1);
+
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(8, 44))).isZero();
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(8, 46))).isEqualTo(1);
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(9, 30))).isZero();
+
+        ArgumentCaptor<EventReminderDTO> reminder = ArgumentCaptor.forClass(EventReminderDTO.class);
+        verify(mailService, times(1)).sendEventReminder(eq(user), reminder.capture());
+        assertThat(reminder.getValue().getKind()).isEqualTo("meeting");
+        assertThat(reminder.getValue().getStartsAt()).isEqualTo(DAY.atTime(9, 0));
+        assertThat(meterRegistry.get(ReminderScheduler.LATENESS_METER_NAME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ReminderScheduler.PENDING_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void cancelledMeetingReminderDoesNotFire() {
+        Meeting meeting = new Meeting().title("Планерка").eventDate(DAY).startTime(LocalTime.of(9, 0));
+        meeting.setId(2L);
+        reloadEmpty();
+
+        // Outside of a transaction changes are applied immediately
+        reminderScheduler.meetingChangedAfterCommit(meeting);
+        reminderScheduler.cancelAfterCommit(ReminderScheduler.Type.MEETING, 2L);
+
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(10, 0))).isZero();
+        verify(mailService, never()).sendEventReminder(any(), any());
+    }
+
+    @Test
+    void meetingReminderWithoutOrganizerIsSkipped() {
+        Meeting meeting = new Meeting().title("Планерка").eventDate(DAY).startTime(LocalTime.of(9, 0));
+        meeting.setId(4L);
+        when(meetingRepository.findOrganizerById(4L)).thenReturn(Optional.empty());
+        reloadEmpty();
+
+        reminderScheduler.meetingChangedAfterCommit(meeting);
+
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(10, 0))).isEqualTo(1);
+        verify(mailService, never()).sendEventReminder(any(), any());
+        verify(userRepository, never()).findAllByIdNotNullAndActivatedIsTrue(any());
+    }
+
+    @Test
+    void meetingReminderIsSkippedWhenOrganizerIsDeactivated() {
+        Meeting meeting = new Meeting().title("Планерка").eventDate(DAY).startTime(LocalTime.of(9, 0));
+        meeting.setId(5L);
+        when(meetingRepository.findOrganizerById(5L)).thenReturn(Optional.of("former"));
+        when(userRepository.findOneByLogin("former")).thenReturn(Optional.of(new User()));
+        reloadEmpty();
+
+        reminderScheduler.meetingChangedAfterCommit(meeting);
+
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(10, 0))).isEqualTo(1);
+        verify(mailService, never()).sendEventReminder(any(), any());
+    }
+
+    @Test
+    void taskReminderIsSentToTeamOwnersPageByPage() {
+        Task task = new Task().taskName("Проверить СИЗ").plannedCompletionDate(DAY).status(TaskStatus.TODO);
+        task.setId(6L);
+        when(taskRepository.findOpenTaskTeamId(6L)).thenReturn(Optional.of(7L));
+        PageRequest firstPage = PageRequest.of(0, ReminderScheduler.RECIPIENTS_PAGE_SIZE);
+        List<User> firstOwners = IntStream.range(0, ReminderScheduler.RECIPIENTS_PAGE_SIZE)
+            .mapToObj(i -> activatedUser("owner" + i))
+            .toList();
+        User lastOwner = activatedUser("last");
+        when(userTeamAccessRepository.findActivatedUsersByTeamIdAndAccessLevel(7L, AccessLevel.OWNER, firstPage)).thenReturn(
+            new SliceImpl<>(firstOwners, firstPage, true)
+        );
+        when(userTeamAccessRepository.findActivatedUsersByTeamIdAndAccessLevel(7L, AccessLevel.OWNER, firstPage.next())).thenReturn(
+            new SliceImpl<>(List.of(lastOwner), firstPage.next(), false)
+        );
+        reloadEmpty();
+
+        reminderScheduler.taskChangedAfterCommit(task);
+
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(9, 0))).isEqualTo(1);
+        verify(mailService, times(ReminderScheduler.RECIPIENTS_PAGE_SIZE + 1)).sendEventReminder(any(), any());
+        verify(mailService).sendEventReminder(eq(lastOwner), any());
+        verify(userTeamAccessRepository, times(2)).findActivatedUsersByTeamIdAndAccessLevel(eq(7L), eq(AccessLevel.OWNER), any());
+    }
+
+    @Test
+    void taskReminderIsSkippedWhenTaskWasCompleted() {
+        Task task = new Task().taskName("Проверить СИЗ").plannedCompletionDate(DAY).status(TaskStatus.TODO);
+        task.setId(3L);
+        when(taskRepository.findOpenTaskTeamId(3L)).thenReturn(Optional.empty());
+        reloadEmpty();
+
+        reminderScheduler.taskChangedAfterCommit(task);
+
+        assertThat(reminderScheduler.advanceTo(DAY.atTime(9, 0))).isEqualTo(1);
+        verify(mailService, never()).sendEventReminder(any(), any());
+        assertThat(
+            meterRegistry
+                .get(ReminderScheduler.FIRED_METER_NAME)
+                .tag(ReminderScheduler.FIRED_METER_TYPE_DIMENSION, "task")
+                .counter()
+                .count()
+        ).isEqualTo(1);
+    }
+
+    private static User activatedUser(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setActivated(true);
+        return user;
+    }
+
+    private void reloadEmpty() {
+        when(meetingRepository.streamCalendarMeetings(any(), any())).thenReturn(Stream.empty());
+        when(otherEventRepository.streamCalendarOtherEvents(any(), any())).thenReturn(Stream.empty());
+        when(taskRepository.streamOpenTaskDeadlines(any(), any())).thenReturn(Stream.empty());
+        reminderScheduler.reload(MORNING);
+    }
+}
@@ -32,6 +32,9 @@ class SafetyInstructionServiceTest {
     @Mock
     private SafetyInstructionRepository safetyInstructionRepository;
 
+    @Mock
+    private DocumentContentService documentContentService;
+
     @InjectMocks
     private SafetyInstructionServiceImpl safetyInstructionService;
 
@@ -0,0 +1,45 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SpooledOutputStream}.
+ */
+class SpooledOutputStreamTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void keepsSmallContentInMemory() throws IOException {
+        try (SpooledOutputStream spool = new SpooledOutputStream(CONTENT.length)) {
+            spool.write(CONTENT);
+
+            assertThat(spool.size()).isEqualTo(CONTENT.length);
+            assertThat(spool.toByteArray()).isEqualTo(CONTENT);
+            assertThat(copy(spool)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void spillsLargeContentToFile() throws IOException {
+        try (SpooledOutputStream spool = new SpooledOutputStream(CONTENT.length - 1)) {
+            spool.write(CONTENT, 0, 4);
+            spool.write(CONTENT, 4, CONTENT.length - 4);
+
+            assertThat(spool.size()).isEqualTo(CONTENT.length);
+            assertThat(spool.toByteArray()).isNull();
+            assertThat(copy(spool)).isEqualTo(CONTENT);
+        }
+    }
+
+    private static byte[] copy(SpooledOutputStream spool) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        spool.writeTo(out);
+        return out.toByteArray();
+    }
+}
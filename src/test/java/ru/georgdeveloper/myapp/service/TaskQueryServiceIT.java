@@ -0,0 +1,295 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.service.criteria.TaskCriteria;
+import ru.georgdeveloper.myapp.web.rest.EmployeeResourceIT;
+import ru.georgdeveloper.myapp.web.rest.TaskResourceIT;
+
+/**
+ * Integration tests for {@link TaskQueryService}: filtering results and index usage of the generated SQL on PostgreSQL.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "ru.georgdeveloper.myapp.service.TaskQueryServiceIT$CapturingStatementInspector"
+)
+class TaskQueryServiceIT {
+
+    private static final LocalDate TODAY = LocalDate.of(2041, 6, 10);
+
+    private static final int TASKS_PER_EMPLOYEE = 200;
+
+    private static final Set<String> STATUS_INDEXES = Set.of(
+        "idx_task__status_planned_completion_date",
+        "idx_task__status_priority_planned_completion_date"
+    );
+
+    private static final Set<String> EMPLOYEE_INDEXES = Set.of("idx_task__employee_id_status_planned_completion_date");
+
+    // Scan node of an index in EXPLAIN output; the index name is the first group
+    private static final Pattern INDEX_SCAN = Pattern.compile("(?:Index Scan using|Index Only Scan using|Bitmap Index Scan on) (\\w+)");
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Team team;
+
+    private Employee employee;
+
+    @BeforeEach
+    void init() {
+        team = new Team().teamName("criteria");
+        em.persist(team);
+        Team otherTeam = new Team().teamName("criteria-other");
+        em.persist(otherTeam);
+
+        employee = createEmployee("CRITERIA-1", team);
+        Employee otherEmployee = createEmployee("CRITERIA-2", otherTeam);
+
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < TASKS_PER_EMPLOYEE; i++) {
+            for (Employee assignee : List.of(employee, otherEmployee)) {
+                TaskStatus status = statuses[i % statuses.length];
+                Task task = TaskResourceIT.createEntity()
+                    .taskName("criteria-" + i)
+                    .creationDate(TODAY.minusDays(i))
+                    .plannedCompletionDate(TODAY.plusDays(i % 30))
+                    .status(status)
+                    .priority(priorities[i % priorities.length])
+                    .actualCompletionDate(status == TaskStatus.DONE ? TODAY.minusDays(i % 7) : null)
+                    .employee(assignee);
+                em.persist(task);
+            }
+        }
+        em.flush();
+        em.clear();
+        em.createNativeQuery("ANALYZE task").executeUpdate();
+        em.createNativeQuery("ANALYZE employee").executeUpdate();
+    }
+
+    @Test
+    void filtersHighPriorityTasksInProgressDueThisWeek() {
+        TaskCriteria criteria = new TaskCriteria();
+        criteria.employeeId().setEquals(employee.getId());
+        criteria.status().setEquals(TaskStatus.IN_PROGRESS);
+        criteria.priority().setIn(List.of(TaskPriority.HIGH, TaskPriority.CRITICAL));
+        criteria.plannedCompletionDate().setGreaterThanOrEqual(TODAY);
+        criteria.plannedCompletionDate().setLessThanOrEqual(TODAY.plusDays(6));
+
+        List<Task> tasks = taskQueryService.findByCriteria(criteria, PageRequest.of(0, 1000)).getContent();
+
+        assertThat(tasks)
+            .isNotEmpty()
+            .allSatisfy(task -> {
+                assertThat(task.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+                assertThat(task.getPriority()).isIn(TaskPriority.HIGH, TaskPriority.CRITICAL);
+                assertThat(task.getPlannedCompletionDate()).isBetween(TODAY, TODAY.plusDays(6));
+                assertThat(task.getEmployee().getId()).isEqualTo(employee.getId());
+            });
+    }
+
+    @Test
+    void filtersByTeamAndCompletionDatePresence() {
+        TaskCriteria open = new TaskCriteria();
+        open.teamId().setEquals(team.getId());
+        open.actualCompletionDate().setSpecified(false);
+        TaskCriteria completed = new TaskCriteria();
+        completed.teamId().setEquals(team.getId());
+        completed.actualCompletionDate().setSpecified(true);
+
+        long openCount = taskQueryService.countByCriteria(open);
+        long completedCount = taskQueryService.countByCriteria(completed);
+
+        assertThat(openCount + completedCount).isEqualTo(TASKS_PER_EMPLOYEE);
+        assertThat(taskQueryService.findByCriteria(completed, PageRequest.of(0, 1000)).getContent())
+            .hasSize((int) completedCount)
+            .allSatisfy(task -> assertThat(task.getStatus()).isEqualTo(TaskStatus.DONE));
+    }
+
+    @Test
+    void statusAndDueDateUsesIndex() {
+        assertUsesIndex(STATUS_INDEXES, criteria -> {
+            criteria.status().setEquals(TaskStatus.IN_PROGRESS);
+            criteria.plannedCompletionDate().setGreaterThanOrEqual(TODAY);
+            criteria.plannedCompletionDate().setLessThanOrEqual(TODAY.plusDays(6));
+        });
+    }
+
+    @Test
+    void statusPriorityAndDueDateUsesIndex() {
+        assertUsesIndex(STATUS_INDEXES, criteria -> {
+            criteria.status().setIn(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+            criteria.priority().setIn(List.of(TaskPriority.HIGH, TaskPriority.CRITICAL));
+            criteria.plannedCompletionDate().setLessThanOrEqual(TODAY.plusDays(6));
+        });
+    }
+
+    @Test
+    void employeeUsesIndex() {
+        assertUsesIndex(EMPLOYEE_INDEXES, criteria -> criteria.employeeId().setEquals(employee.getId()));
+    }
+
+    @Test
+    void employeeAndStatusUsesIndex() {
+        assertUsesIndex(EMPLOYEE_INDEXES, criteria -> {
+            criteria.employeeId().setEquals(employee.getId());
+            criteria.status().setEquals(TaskStatus.TODO);
+        });
+    }
+
+    @Test
+    void teamAndStatusUsesIndex() {
+        assertUsesIndex(EMPLOYEE_INDEXES, criteria -> {
+            criteria.teamId().setEquals(team.getId());
+            criteria.status().setEquals(TaskStatus.IN_PROGRESS);
+        });
+    }
+
+    @Test
+    void completedTasksUseIndex() {
+        assertUsesIndex(Set.of("idx_task__actual_completion_date"), criteria -> criteria.actualCompletionDate().setSpecified(true));
+    }
+
+    @Test
+    void completionDateRangeUsesIndex() {
+        assertUsesIndex(Set.of("idx_task__actual_completion_date"), criteria -> {
+            criteria.actualCompletionDate().setGreaterThanOrEqual(TODAY.minusDays(7));
+            criteria.actualCompletionDate().setLessThan(TODAY);
+        });
+    }
+
+    @Test
+    void openTasksByStatusUseIndex() {
+        Set<String> indexes = new HashSet<>(STATUS_INDEXES);
+        indexes.add("idx_task__actual_completion_date");
+        assertUsesIndex(indexes, criteria -> {
+            criteria.status().setIn(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+            criteria.actualCompletionDate().setSpecified(false);
+        });
+    }
+
+    @Test
+    void creationDateRangeUsesIndex() {
+        assertUsesIndex(Set.of("idx_task__creation_date_id"), criteria -> {
+            criteria.creationDate().setGreaterThan(TODAY.minusDays(30));
+            criteria.creationDate().setLessThanOrEqual(TODAY);
+        });
+    }
+
+    /**
+     * Runs the criteria through the query service, then explains every captured task query as a generic plan.
+     * The test table is small, so sequential scans are disabled; that alone would still accept a full scan of any index,
+     * so one of the expected indexes must appear in the plan with an Index Cond, i.e. narrowing the rows it reads.
+     */
+    private void assertUsesIndex(Set<String> expectedIndexes, Consumer<TaskCriteria> filter) {
+        TaskCriteria criteria = new TaskCriteria();
+        filter.accept(criteria);
+
+        CapturingStatementInspector.STATEMENTS.clear();
+        taskQueryService.findByCriteria(criteria, PageRequest.of(0, 20));
+        taskQueryService.countByCriteria(criteria);
+        List<String> statements = CapturingStatementInspector.STATEMENTS.stream()
+            .filter(sql -> sql.startsWith("select") && sql.contains(" from task "))
+            .toList();
+        assertThat(statements).as("task queries for %s", criteria).isNotEmpty();
+
+        em.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        em.createNativeQuery("SET LOCAL plan_cache_mode = force_generic_plan").executeUpdate();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as("plan of %s", sql).doesNotContain("Seq Scan");
+            assertThat(indexesWithCondition(plan)).as("plan of %s:%n%s", sql, plan).containsAnyElementsOf(expectedIndexes);
+        }
+    }
+
+    /**
+     * @return names of the indexes whose scan node in the plan has an Index Cond
+     */
+    private static Set<String> indexesWithCondition(String plan) {
+        Set<String> indexes = new HashSet<>();
+        String current = null;
+        for (String line : plan.split("\n")) {
+            Matcher scan = INDEX_SCAN.matcher(line);
+            if (scan.find()) {
+                current = scan.group(1);
+            } else if (line.trim().startsWith("->")) {
+                current = null;
+            } else if (current != null && line.contains("Index Cond:")) {
+                indexes.add(current);
+            }
+        }
+        return indexes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String explain(String sql) {
+        // JDBC placeholders become numbered parameters of a prepared statement; values do not matter for a generic plan
+        StringBuilder prepared = new StringBuilder();
+        List<String> arguments = new ArrayList<>();
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                arguments.add("NULL");
+                prepared.append('$').append(arguments.size());
+            } else {
+                prepared.append(c);
+            }
+        }
+        em.createNativeQuery("PREPARE task_criteria_plan AS " + prepared).executeUpdate();
+        try {
+            String execute = arguments.isEmpty() ? "" : "(" + String.join(", ", arguments) + ")";
+            List<String> lines = em.createNativeQuery("EXPLAIN EXECUTE task_criteria_plan" + execute).getResultList();
+            return String.join("\n", lines);
+        } finally {
+            em.createNativeQuery("DEALLOCATE task_criteria_plan").executeUpdate();
+        }
+    }
+
+    private Employee createEmployee(String employeeNumber, Team team) {
+        Employee employee = EmployeeResourceIT.createEntity().employeeNumber(employeeNumber).team(team);
+        em.persist(employee);
+        return employee;
+    }
+
+    /**
+     * Collects SQL statements prepared by Hibernate.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.service.TaskSearchService.Keyset;
+import ru.georgdeveloper.myapp.service.dto.CursorPage;
+import ru.georgdeveloper.myapp.service.dto.TaskSearchResultDTO;
+import ru.georgdeveloper.myapp.web.rest.TaskResourceIT;
+
+/**
+ * Integration tests for {@link TaskSearchService}: full-text search on PostgreSQL and the substring fallback.
+ */
+@IntegrationTest
+@Transactional
+class TaskSearchServiceIT {
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Task nameMatch;
+    private Task bodyMatch;
+    private Task english;
+
+    @BeforeEach
+    public void init() {
+        nameMatch = createTask("Проверка гидрантов", "Осмотреть гидрант у склада и записать давление");
+        bodyMatch = createTask("Обход территории", "Проверить пожарные гидранты и огнетушители");
+        english = createTask("Hydrant inspection", "Inspect fire hydrants near the warehouse");
+        createTask("Замена ламп", "Заменить лампы в цехе");
+        em.flush();
+    }
+
+    @Test
+    void findsWordFormsAndRanksNameMatchesFirst() {
+        CursorPage<TaskSearchResultDTO> page = taskSearchService.search("гидранты", null, 20);
+
+        assertThat(page.getContent()).extracting(TaskSearchResultDTO::getId).containsExactly(nameMatch.getId(), bodyMatch.getId());
+        assertThat(page.getNextCursor()).isNull();
+        TaskSearchResultDTO first = page.getContent().get(0);
+        assertThat(first.getNameHighlight()).isEqualTo("Проверка <mark>гидрантов</mark>");
+        assertThat(first.getBodyHighlight()).contains("<mark>гидрант</mark>");
+        assertThat(first.getScore()).isGreaterThan(page.getContent().get(1).getScore());
+    }
+
+    @Test
+    void findsEnglishWordForms() {
+        CursorPage<TaskSearchResultDTO> page = taskSearchService.search("inspecting hydrants", null, 20);
+
+        assertThat(page.getContent()).extracting(TaskSearchResultDTO::getId).containsExactly(english.getId());
+        assertThat(page.getContent().get(0).getBodyHighlight()).contains("<mark>Inspect</mark>").contains("<mark>hydrants</mark>");
+    }
+
+    @Test
+    void escapesHtmlInHighlights() {
+        Task markup = createTask("Проверка <script>alert(1)</script> клапанов", "Клапан & <b>задвижка</b>");
+        em.flush();
+
+        CursorPage<TaskSearchResultDTO> page = taskSearchService.search("клапан", null, 20);
+
+        assertThat(page.getContent()).extracting(TaskSearchResultDTO::getId).containsExactly(markup.getId());
+        TaskSearchResultDTO result = page.getContent().get(0);
+        assertThat(result.getNameHighlight()).isEqualTo("Проверка &lt;script&gt;alert(1)&lt;/script&gt; <mark>клапанов</mark>");
+        assertThat(result.getBodyHighlight()).contains("<mark>Клапан</mark>").doesNotContain("<b>");
+    }
+
+    @Test
+    void pagesWithCursor() {
+        List<Long> all = taskSearchService.search("гидрант", null, 20).getContent().stream().map(TaskSearchResultDTO::getId).toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskSearchResultDTO> page = taskSearchService.search("гидрант", cursor, 1);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(1);
+            page.getContent().forEach(result -> paged.add(result.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(all).hasSize(2);
+        assertThat(paged).isEqualTo(all);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> taskSearchService.search("гидрант", "not-a-cursor", 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void substringFallbackHighlightsMatches() {
+        CursorPage<TaskSearchResultDTO> page = taskSearchService.searchSubstring("ГИДРАНТ", Keyset.FIRST, 1);
+
+        assertThat(page.getContent()).extracting(TaskSearchResultDTO::getId).containsExactly(nameMatch.getId());
+        assertThat(page.getContent().get(0).getNameHighlight()).isEqualTo("Проверка <mark>гидрант</mark>ов");
+        assertThat(page.getNextCursor()).isNotNull();
+
+        CursorPage<TaskSearchResultDTO> next = taskSearchService.searchSubstring("ГИДРАНТ", Keyset.decode(page.getNextCursor()), 1);
+
+        assertThat(next.getContent()).extracting(TaskSearchResultDTO::getId).containsExactly(bodyMatch.getId());
+        assertThat(next.getContent().get(0).getBodyHighlight()).isEqualTo("Проверить пожарные <mark>гидрант</mark>ы и огнетушители");
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void substringFallbackEscapesHtmlInHighlights() {
+        Task markup = createTask("<img src=x onerror=alert(1)> клапан", null);
+        em.flush();
+
+        CursorPage<TaskSearchResultDTO> page = taskSearchService.searchSubstring("клапан", Keyset.FIRST, 20);
+
+        assertThat(page.getContent()).extracting(TaskSearchResultDTO::getId).containsExactly(markup.getId());
+        assertThat(page.getContent().get(0).getNameHighlight()).isEqualTo("&lt;img src=x onerror=alert(1)&gt; <mark>клапан</mark>");
+    }
+
+    @Test
+    void substringFallbackEscapesWildcards() {
+        assertThat(taskSearchService.searchSubstring("%", Keyset.FIRST, 20).getContent()).isEmpty();
+    }
+
+    private Task createTask(String name, String body) {
+        Task task = TaskResourceIT.createEntity().taskName(name).body(body);
+        em.persist(task);
+        return task;
+    }
+}
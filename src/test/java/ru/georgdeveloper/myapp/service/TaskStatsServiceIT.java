@@ -0,0 +1,126 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.service.TaskStatsService.MonthlyStats;
+import ru.georgdeveloper.myapp.web.rest.EmployeeResourceIT;
+import ru.georgdeveloper.myapp.web.rest.TaskResourceIT;
+
+/**
+ * Integration tests for {@link TaskStatsService}: incremental updates from {@link TaskService} must match a full rebuild.
+ */
+@IntegrationTest
+@Transactional
+class TaskStatsServiceIT {
+
+    // Far enough in the future not to meet tasks of other tests
+    private static final LocalDate TODAY = LocalDate.of(2040, 5, 15);
+
+    private static final YearMonth MARCH = YearMonth.of(2040, 3);
+    private static final YearMonth APRIL = YearMonth.of(2040, 4);
+    private static final YearMonth MAY = YearMonth.of(2040, 5);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Team team;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void init() {
+        team = new Team().teamName("stats");
+        em.persist(team);
+        employee = EmployeeResourceIT.createEntity().employeeNumber("STATS-1").team(team);
+        em.persist(employee);
+    }
+
+    @Test
+    void incrementalStatsMatchRebuild() {
+        Task lateAfterPatch = taskService.save(createTask(MARCH.atDay(10), null));
+        taskService.save(createTask(MARCH.atDay(20), MARCH.atDay(18)));
+        taskService.save(createTask(APRIL.atDay(5), APRIL.atDay(9)));
+        Task moved = taskService.save(createTask(MAY.atDay(20), null));
+        taskService.save(createTask(MAY.atDay(10), null));
+        Task deleted = taskService.save(createTask(MAY.atDay(1), MAY.atDay(3)));
+
+        Task patch = new Task().actualCompletionDate(MARCH.atDay(15));
+        patch.setId(lateAfterPatch.getId());
+        taskService.partialUpdate(patch);
+
+        Task update = createTask(APRIL.atDay(20), null);
+        update.setId(moved.getId());
+        taskService.update(update);
+
+        taskService.delete(deleted.getId());
+
+        List<MonthlyStats> incremental = taskStatsService.getMonthlyStats(MARCH, MAY, team.getId(), TODAY);
+
+        assertThat(incremental)
+            .extracting(MonthlyStats::month)
+            .containsExactly(MARCH, APRIL, MAY);
+        assertThat(incremental.get(0)).isEqualTo(stats(MARCH, 2, 2, 1, 1, 5.0));
+        // The open task of April is past due
+        assertThat(incremental.get(1)).isEqualTo(stats(APRIL, 2, 1, 0, 2, 4.0));
+        // In the current month only the open task due before today is overdue
+        assertThat(incremental.get(2)).isEqualTo(stats(MAY, 1, 0, 0, 1, null));
+
+        taskStatsService.rebuild();
+
+        assertThat(taskStatsService.getMonthlyStats(MARCH, MAY, team.getId(), TODAY)).isEqualTo(incremental);
+    }
+
+    @Test
+    void employeeMovedToAnotherTeamIsReportedInNewTeam() {
+        taskService.save(createTask(MARCH.atDay(10), MARCH.atDay(10)));
+        Team other = new Team().teamName("stats-other");
+        em.persist(other);
+        employee.setTeam(other);
+        em.flush();
+
+        assertThat(taskStatsService.getMonthlyStats(MARCH, MARCH, team.getId(), TODAY)).isEmpty();
+        assertThat(taskStatsService.getMonthlyStats(MARCH, MARCH, other.getId(), TODAY))
+            .singleElement()
+            .satisfies(stats -> assertThat(stats.onTime()).isEqualTo(1));
+    }
+
+    private Task createTask(LocalDate plannedCompletionDate, LocalDate actualCompletionDate) {
+        return TaskResourceIT.createEntity()
+            .plannedCompletionDate(plannedCompletionDate)
+            .actualCompletionDate(actualCompletionDate)
+            .employee(employee);
+    }
+
+    private MonthlyStats stats(YearMonth month, long planned, long completed, long onTime, long overdue, Double averageLatenessDays) {
+        return new MonthlyStats(
+            team.getId(),
+            employee.getId(),
+            employee.getFirstName(),
+            employee.getLastName(),
+            month,
+            planned,
+            completed,
+            onTime,
+            overdue,
+            averageLatenessDays
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.TeamAccessView;
+import ru.georgdeveloper.myapp.repository.UserTeamAccessRepository;
+
+/**
+ * Unit tests for the {@link TeamAccessIndex}.
+ */
+@ExtendWith(MockitoExtension.class)
+class TeamAccessIndexTest {
+
+    private static final String LOGIN = "user";
+
+    @Mock
+    private UserTeamAccessRepository accessRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private TeamAccessIndex teamAccessIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        teamAccessIndex = new TeamAccessIndex(accessRepository, meterRegistry);
+    }
+
+    @Test
+    void rebuildLoadsAllAccessOnce() {
+        when(accessRepository.findAllTeamAccess()).thenReturn(
+            List.of(row(LOGIN, 3L, AccessLevel.VIEWER), row(LOGIN, 1L, AccessLevel.OWNER), row("other", 2L, AccessLevel.OWNER))
+        );
+
+        teamAccessIndex.rebuild();
+
+        assertThat(teamAccessIndex.getTeamIds(LOGIN)).containsExactly(1L, 3L);
+        assertThat(teamAccessIndex.hasOwnerAccess(LOGIN, 1L)).isTrue();
+        assertThat(teamAccessIndex.hasOwnerAccess(LOGIN, 3L)).isFalse();
+        assertThat(teamAccessIndex.hasAccess("other", 3L)).isFalse();
+        assertThat(lookups("hit")).isEqualTo(4);
+        assertThat(lookups("miss")).isZero();
+        assertThat(meterRegistry.get(TeamAccessIndex.REBUILD_METER_NAME).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TeamAccessIndex.USERS_METER_NAME).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void missingLoginIsLoadedOnceAndCached() {
+        when(accessRepository.findTeamAccessByLogin(LOGIN)).thenReturn(List.of(row(LOGIN, 5L, AccessLevel.VIEWER)));
+
+        assertThat(teamAccessIndex.getTeamIds(LOGIN)).containsExactly(5L);
+        assertThat(teamAccessIndex.hasAccess(LOGIN, 5L)).isTrue();
+
+        verify(accessRepository, times(1)).findTeamAccessByLogin(LOGIN);
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(lookups("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void changesAreAppliedToCachedEntries() {
+        when(accessRepository.findTeamAccessByLogin(LOGIN)).thenReturn(List.of(row(LOGIN, 5L, AccessLevel.VIEWER)));
+        teamAccessIndex.getTeamIds(LOGIN);
+
+        // Outside of a transaction changes are applied immediately
+        teamAccessIndex.grantAfterCommit(LOGIN, 7L, AccessLevel.OWNER);
+        assertThat(teamAccessIndex.getTeamIds(LOGIN)).containsExactly(5L, 7L);
+        assertThat(teamAccessIndex.hasOwnerAccess(LOGIN, 7L)).isTrue();
+
+        teamAccessIndex.removeTeamAfterCommit(5L);
+        assertThat(teamAccessIndex.getTeamIds(LOGIN)).containsExactly(7L);
+
+        teamAccessIndex.evictAfterCommit(LOGIN);
+        assertThat(teamAccessIndex.getTeamIds(LOGIN)).containsExactly(5L);
+        verify(accessRepository, times(2)).findTeamAccessByLogin(LOGIN);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry
+            .get(TeamAccessIndex.LOOKUPS_METER_NAME)
+            .tag(TeamAccessIndex.LOOKUPS_METER_RESULT_DIMENSION, result)
+            .counter()
+            .count();
+    }
+
+    private static TeamAccessView row(String login, Long teamId, AccessLevel accessLevel) {
+        return new TeamAccessView() {
+            @Override
+            public Long getUserId() {
+                return null;
+            }
+
+            @Override
+            public String getLogin() {
+                return login;
+            }
+
+            @Override
+            public Long getTeamId() {
+                return teamId;
+            }
+
+            @Override
+            public AccessLevel getAccessLevel() {
+                return accessLevel;
+            }
+        };
+    }
+}
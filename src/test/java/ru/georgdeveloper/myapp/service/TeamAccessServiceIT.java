@@ -0,0 +1,174 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.web.rest.UserResourceIT;
+
+/**
+ * Integration tests for {@link TeamAccessService}.
+ */
+@IntegrationTest
+@Transactional
+class TeamAccessServiceIT {
+
+    private static final int USER_COUNT = 60;
+
+    @Autowired
+    private TeamAccessService teamAccessService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private CalendarFeedVersion calendarFeedVersion;
+
+    private Statistics statistics;
+
+    private Team team;
+
+    private List<User> users;
+
+    @BeforeEach
+    public void init() {
+        team = new Team().teamName("shared");
+        em.persist(team);
+        users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = UserResourceIT.createEntity();
+            user.setLogin("share-" + i);
+            user.setEmail("share-" + i + "@localhost");
+            em.persist(user);
+            users.add(user);
+        }
+        em.flush();
+        em.clear();
+        team = em.find(Team.class, team.getId());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void accessChangesBumpCalendarFeedVersion() {
+        User viewer = users.get(0);
+        clearInvocations(calendarFeedVersion);
+
+        teamAccessService.updateTeamUsers(team, Set.of(viewer));
+        teamAccessService.revokeAccess(team.getId(), viewer.getId());
+
+        verify(calendarFeedVersion, times(2)).changedAfterCommit();
+    }
+
+    @Test
+    void updateTeamUsersInsertsAddedUsersInBatches() {
+        teamAccessService.updateTeamUsers(team, idsOnly(users));
+        em.flush();
+
+        // Existing access, added users, sequence pools and three insert batches of 25 instead of one INSERT per user
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+        assertThat(countAccess()).isEqualTo(USER_COUNT);
+    }
+
+    @Test
+    void updateTeamUsersDeletesRemovedUsersInOneStatement() {
+        teamAccessService.updateTeamUsers(team, idsOnly(users));
+        em.flush();
+        em.clear();
+        team = em.find(Team.class, team.getId());
+        statistics.clear();
+
+        teamAccessService.updateTeamUsers(team, idsOnly(users.subList(0, USER_COUNT / 2)));
+        em.flush();
+
+        // Existing access plus a single DELETE ... WHERE user_id IN (...)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(countAccess()).isEqualTo(USER_COUNT / 2);
+    }
+
+    @Test
+    void permissionChecksUseIndexOutsideWriteTransactions() {
+        // Login that is never persisted, so the cached empty entry cannot affect other tests
+        User user = new User();
+        user.setLogin("index-" + UUID.randomUUID());
+        TransactionTemplate withoutTransaction = new TransactionTemplate(transactionManager);
+        withoutTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        double hits = lookups("hit");
+        double misses = lookups("miss");
+        double bypasses = lookups("bypass");
+
+        withoutTransaction.executeWithoutResult(status -> {
+            assertThat(teamAccessService.hasAccess(user, team)).isFalse();
+            assertThat(teamAccessService.hasOwnerAccess(user, team)).isFalse();
+        });
+
+        assertThat(lookups("miss") - misses).isEqualTo(1);
+        assertThat(lookups("hit") - hits).isEqualTo(1);
+        assertThat(lookups("bypass")).isEqualTo(bypasses);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry
+            .get(TeamAccessIndex.LOOKUPS_METER_NAME)
+            .tag(TeamAccessIndex.LOOKUPS_METER_RESULT_DIMENSION, result)
+            .counter()
+            .count();
+    }
+
+    private static Set<User> idsOnly(List<User> users) {
+        return users
+            .stream()
+            .map(user -> {
+                User reference = new User();
+                reference.setId(user.getId());
+                return reference;
+            })
+            .collect(Collectors.toSet());
+    }
+
+    private long countAccess() {
+        return em
+            .createQuery("select count(a) from UserTeamAccess a where a.team.id = :teamId", Long.class)
+            .setParameter("teamId", team.getId())
+            .getSingleResult();
+    }
+}
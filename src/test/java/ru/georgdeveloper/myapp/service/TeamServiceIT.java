@@ -0,0 +1,141 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Team;
+
+/**
+ * Integration tests for {@link TeamService}.
+ */
+@IntegrationTest
+@Transactional
+class TeamServiceIT {
+
+    private static final int SMALL_TEAM_SIZE = 2;
+
+    // Stays within one IN chunk of hibernate.jdbc.batch_size
+    private static final int LARGE_TEAM_SIZE = 20;
+
+    // Spans several chunks of hibernate.jdbc.batch_size (25), so per-row or per-chunk statements would show up
+    private static final int MULTI_CHUNK_TEAM_SIZE = 4 * 25 + 1;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private int employeeNumber;
+
+    @BeforeEach
+    public void init() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void partialUpdateAssignsEmployeesWithConstantStatementCount() {
+        long small = countStatementsOfAssigning(SMALL_TEAM_SIZE);
+        long large = countStatementsOfAssigning(LARGE_TEAM_SIZE);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void deleteDetachesEmployeesWithConstantStatementCount() {
+        long small = countStatementsOfDeleting(SMALL_TEAM_SIZE);
+        long large = countStatementsOfDeleting(MULTI_CHUNK_TEAM_SIZE);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long countStatementsOfAssigning(int teamSize) {
+        Team team = new Team().teamName("bulk-assign-" + teamSize);
+        em.persist(team);
+        List<Employee> employees = createEmployees(teamSize, null);
+        em.flush();
+        em.clear();
+
+        Set<Employee> members = new HashSet<>();
+        employees.forEach(employee -> members.add(new Employee().id(employee.getId())));
+        Team patch = new Team();
+        patch.setId(team.getId());
+        patch.setEmployees(members);
+
+        statistics.clear();
+        teamService.partialUpdate(patch);
+        em.flush();
+        long statements = statistics.getPrepareStatementCount();
+        em.clear();
+
+        assertThat(countEmployeesInTeam(team.getId())).isEqualTo(teamSize);
+        return statements;
+    }
+
+    private long countStatementsOfDeleting(int teamSize) {
+        Team team = new Team().teamName("bulk-delete-" + teamSize);
+        em.persist(team);
+        List<Employee> employees = createEmployees(teamSize, team);
+        em.flush();
+        em.clear();
+
+        statistics.clear();
+        teamService.delete(team.getId());
+        em.flush();
+        long statements = statistics.getPrepareStatementCount();
+        em.clear();
+
+        assertThat(em.find(Team.class, team.getId())).isNull();
+        employees.forEach(employee -> assertThat(em.find(Employee.class, employee.getId()).getTeam()).isNull());
+        return statements;
+    }
+
+    private List<Employee> createEmployees(int count, Team team) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee()
+                .firstName("Иван")
+                .lastName("Петров")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .employeeNumber("BULK-" + employeeNumber++)
+                .hireDate(LocalDate.of(2020, 1, 1))
+                .team(team);
+            em.persist(employee);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private long countEmployeesInTeam(Long teamId) {
+        return em
+            .createQuery("select count(e) from Employee e where e.team.id = :teamId", Long.class)
+            .setParameter("teamId", teamId)
+            .getSingleResult();
+    }
+}
@@ -0,0 +1,72 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TimingWheel}.
+ */
+class TimingWheelTest {
+
+    private static final long START = 29_000_000L;
+
+    @Test
+    void firesTimersInTickOrderAcrossLevels() {
+        TimingWheel<String, Long> wheel = new TimingWheel<>(START);
+        long far = START + (long) TimingWheel.SLOTS * TimingWheel.SLOTS + 17;
+        wheel.schedule("far", far, far);
+        wheel.schedule("near", START + 3, START + 3);
+        wheel.schedule("middle", START + TimingWheel.SLOTS + 5, START + TimingWheel.SLOTS + 5);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 2, (key, deadline) -> fired.add(key));
+        assertThat(fired).isEmpty();
+
+        wheel.advance(far, (key, deadline) -> {
+            fired.add(key);
+            assertThat(deadline).isLessThanOrEqualTo(wheel.currentTick());
+        });
+        assertThat(fired).containsExactly("near", "middle", "far");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersFireOnce() {
+        TimingWheel<String, Long> wheel = new TimingWheel<>(START);
+        wheel.schedule("a", START + 10, START + 10);
+        wheel.schedule("b", START + 20, START + 20);
+        wheel.schedule("a", START + 30, START + 30);
+        assertThat(wheel.cancel("b")).isTrue();
+        assertThat(wheel.cancel("b")).isFalse();
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(START + 100, (key, deadline) -> fired.add(deadline));
+        assertThat(fired).containsExactly(START + 30);
+    }
+
+    @Test
+    void overdueTimerFiresOnNextAdvance() {
+        TimingWheel<String, Long> wheel = new TimingWheel<>(START);
+        wheel.schedule("late", START - 5, START - 5);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START, (key, deadline) -> fired.add(key));
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void timerBeyondTopLevelIsKept() {
+        TimingWheel<String, Long> wheel = new TimingWheel<>(START);
+        long beyond = START + (1L << (6 * TimingWheel.LEVELS)) + 1;
+        wheel.schedule("beyond", beyond, beyond);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(beyond - 1, (key, deadline) -> fired.add(key));
+        assertThat(fired).isEmpty();
+        wheel.advance(beyond, (key, deadline) -> fired.add(key));
+        assertThat(fired).containsExactly("beyond");
+    }
+}
@@ -0,0 +1,144 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.AdditionalTraining;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Profession;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.Training;
+import ru.georgdeveloper.myapp.domain.User;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.service.dto.TrainingExpiryNoticeDTO;
+
+/**
+ * Integration tests for {@link TrainingExpiryScanner}.
+ */
+@IntegrationTest
+@Transactional
+class TrainingExpiryScannerIT {
+
+    // Far enough in the future not to meet trainings of other tests
+    private static final LocalDate TODAY = LocalDate.of(2040, 3, 1);
+
+    @Autowired
+    private TrainingExpiryScanner trainingExpiryScanner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @MockitoBean
+    private MailService mailService;
+
+    @Captor
+    private ArgumentCaptor<List<TrainingExpiryNoticeDTO>> noticesCaptor;
+
+    @BeforeEach
+    public void init() {
+        Team team = new Team().teamName("expiry");
+        em.persist(team);
+        Profession profession = new Profession().professionName("Электромонтер");
+        em.persist(profession);
+
+        addAccess(team, "user", AccessLevel.OWNER);
+        addAccess(team, "admin", AccessLevel.VIEWER);
+
+        Employee employee = new Employee()
+            .firstName("Иван")
+            .lastName("Петров")
+            .birthDate(LocalDate.of(1990, 1, 1))
+            .employeeNumber("EXPIRY-1")
+            .hireDate(LocalDate.of(2020, 1, 1))
+            .team(team);
+        employee.addProfession(profession);
+        em.persist(employee);
+
+        em.persist(createTraining(employee, TODAY.plusDays(5)));
+        em.persist(createTraining(employee, TODAY.plusDays(10)));
+        em.persist(createTraining(employee, TODAY.plusDays(TrainingExpiryScanner.LEAD_DAYS + 1)));
+        em.persist(
+            new AdditionalTraining()
+                .trainingName("Электробезопасность")
+                .trainingDate(TODAY.minusYears(1))
+                .validityPeriod(12)
+                .nextTrainingDate(TODAY.plusDays(3))
+                .profession(profession)
+        );
+        em.flush();
+    }
+
+    @Test
+    void sendsOneDigestPerOwner() {
+        int sent = trainingExpiryScanner.scan(TODAY);
+
+        assertThat(sent).isEqualTo(1);
+        verify(mailService).sendTrainingExpiryDigest(
+            Mockito.argThat(user -> "user".equals(user.getLogin())),
+            noticesCaptor.capture(),
+            eq(3)
+        );
+        assertThat(noticesCaptor.getValue())
+            .extracting(TrainingExpiryNoticeDTO::getNextTrainingDate)
+            .containsExactly(TODAY.plusDays(5), TODAY.plusDays(10), TODAY.plusDays(3));
+        assertThat(noticesCaptor.getValue().get(0).getSubject()).isEqualTo("Петров Иван");
+        assertThat(noticesCaptor.getValue().get(2).isAdditional()).isTrue();
+        assertThat(noticesCaptor.getValue().get(2).getTeamName()).isEqualTo("expiry");
+    }
+
+    @Test
+    void doesNotResendScannedRange() {
+        trainingExpiryScanner.scan(TODAY);
+        Mockito.clearInvocations(mailService);
+
+        // Same day again, e.g. after a restart
+        assertThat(trainingExpiryScanner.scan(TODAY)).isZero();
+        verify(mailService, never()).sendTrainingExpiryDigest(any(User.class), anyList(), anyInt());
+
+        // Next day only the newly reached date is sent
+        assertThat(trainingExpiryScanner.scan(TODAY.plusDays(1))).isEqualTo(1);
+        verify(mailService).sendTrainingExpiryDigest(any(User.class), noticesCaptor.capture(), eq(1));
+        assertThat(noticesCaptor.getValue())
+            .extracting(TrainingExpiryNoticeDTO::getNextTrainingDate)
+            .containsExactly(TODAY.plusDays(TrainingExpiryScanner.LEAD_DAYS + 1));
+    }
+
+    private void addAccess(Team team, String login, AccessLevel accessLevel) {
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin(login).orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(accessLevel);
+        em.persist(access);
+    }
+
+    private static Training createTraining(Employee employee, LocalDate nextTrainingDate) {
+        return new Training()
+            .trainingName("Вводный")
+            .lastTrainingDate(nextTrainingDate.minusMonths(12))
+            .validityPeriod(12)
+            .nextTrainingDate(nextTrainingDate)
+            .employee(employee);
+    }
+}
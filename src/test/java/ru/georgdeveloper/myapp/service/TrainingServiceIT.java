@@ -0,0 +1,125 @@
+package ru.georgdeveloper.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Training;
+
+/**
+ * Integration tests for {@link TrainingService}: the stored last instruction date of an employee.
+ */
+@IntegrationTest
+@Transactional
+class TrainingServiceIT {
+
+    private static final LocalDate EARLY_DATE = LocalDate.of(2024, 1, 15);
+
+    private static final LocalDate LATE_DATE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Employee employee;
+
+    private Employee otherEmployee;
+
+    @BeforeEach
+    public void init() {
+        employee = createEmployee("LAST-INSTRUCTION-1");
+        otherEmployee = createEmployee("LAST-INSTRUCTION-2");
+        em.flush();
+    }
+
+    @Test
+    void saveRaisesLastInstructionDate() {
+        trainingService.save(createTraining(employee, EARLY_DATE));
+        assertThat(lastInstructionDate(employee)).isEqualTo(EARLY_DATE);
+
+        trainingService.save(createTraining(employee, LATE_DATE));
+        assertThat(lastInstructionDate(employee)).isEqualTo(LATE_DATE);
+
+        // An earlier training does not lower the maximum
+        trainingService.save(createTraining(employee, EARLY_DATE.minusDays(1)));
+        assertThat(lastInstructionDate(employee)).isEqualTo(LATE_DATE);
+    }
+
+    @Test
+    void updateRecalculatesWhenDateMovesBack() {
+        trainingService.save(createTraining(employee, EARLY_DATE));
+        Training latest = trainingService.save(createTraining(employee, LATE_DATE));
+        em.flush();
+        em.clear();
+
+        Training moved = createTraining(employee, EARLY_DATE.minusDays(1)).id(latest.getId());
+        trainingService.update(moved);
+
+        assertThat(lastInstructionDate(employee)).isEqualTo(EARLY_DATE);
+    }
+
+    @Test
+    void updateMovesDateToAnotherEmployee() {
+        Training training = trainingService.save(createTraining(employee, LATE_DATE));
+        em.flush();
+        em.clear();
+
+        trainingService.update(createTraining(otherEmployee, LATE_DATE).id(training.getId()));
+
+        assertThat(lastInstructionDate(employee)).isNull();
+        assertThat(lastInstructionDate(otherEmployee)).isEqualTo(LATE_DATE);
+    }
+
+    @Test
+    void partialUpdateRaisesLastInstructionDate() {
+        Training training = trainingService.save(createTraining(employee, EARLY_DATE));
+
+        Training patch = new Training().id(training.getId()).lastTrainingDate(LATE_DATE);
+        trainingService.partialUpdate(patch);
+
+        assertThat(lastInstructionDate(employee)).isEqualTo(LATE_DATE);
+    }
+
+    @Test
+    void deleteRecalculatesLastInstructionDate() {
+        trainingService.save(createTraining(employee, EARLY_DATE));
+        Training latest = trainingService.save(createTraining(employee, LATE_DATE));
+
+        trainingService.delete(latest.getId());
+        assertThat(lastInstructionDate(employee)).isEqualTo(EARLY_DATE);
+    }
+
+    private Employee createEmployee(String employeeNumber) {
+        Employee created = new Employee()
+            .firstName("Иван")
+            .lastName("Петров")
+            .birthDate(LocalDate.of(1990, 1, 1))
+            .employeeNumber(employeeNumber)
+            .hireDate(LocalDate.of(2020, 1, 1));
+        em.persist(created);
+        return created;
+    }
+
+    private LocalDate lastInstructionDate(Employee target) {
+        return em
+            .createQuery("SELECT e.lastInstructionDate FROM Employee e WHERE e.id = :id", LocalDate.class)
+            .setParameter("id", target.getId())
+            .getSingleResult();
+    }
+
+    private static Training createTraining(Employee employee, LocalDate lastTrainingDate) {
+        return new Training()
+            .trainingName("Вводный")
+            .lastTrainingDate(lastTrainingDate)
+            .validityPeriod(12)
+            .employee(employee);
+    }
+}
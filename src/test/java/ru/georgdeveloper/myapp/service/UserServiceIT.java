@@ -1,6 +1,7 @@
 package ru.georgdeveloper.myapp.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -16,10 +17,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.IntegrationTest;
 import ru.georgdeveloper.myapp.domain.User;
 import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.service.dto.AdminUserDTO;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -53,6 +56,12 @@ class UserServiceIT {
     @MockitoBean
     private DateTimeProvider dateTimeProvider;
 
+    @MockitoSpyBean
+    private TeamAccessIndex teamAccessIndex;
+
+    @MockitoSpyBean
+    private CalendarFeedService calendarFeedService;
+
     private User user;
 
     private Long numberOfUsers;
@@ -193,4 +202,41 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatDeletedUserIsEvictedFromTeamAccessIndex() {
+        userRepository.saveAndFlush(user);
+
+        userService.deleteUser(DEFAULT_LOGIN);
+
+        verify(teamAccessIndex).evictAfterCommit(DEFAULT_LOGIN);
+        verify(calendarFeedService).evictAfterCommit(DEFAULT_LOGIN);
+    }
+
+    @Test
+    @Transactional
+    void assertThatDeactivatedUserIsEvictedFromCalendarFeed() {
+        userRepository.saveAndFlush(user);
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setActivated(false);
+
+        userService.updateUser(userDTO);
+
+        verify(calendarFeedService).evictAfterCommit(DEFAULT_LOGIN);
+    }
+
+    @Test
+    @Transactional
+    void assertThatPreviousLoginIsEvictedFromTeamAccessIndexOnRename() {
+        userRepository.saveAndFlush(user);
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setLogin(DEFAULT_LOGIN + "_renamed");
+
+        userService.updateUser(userDTO);
+        userService.deleteUser(DEFAULT_LOGIN + "_renamed");
+
+        verify(teamAccessIndex).evictAfterCommit(DEFAULT_LOGIN);
+        verify(calendarFeedService).evictAfterCommit(DEFAULT_LOGIN);
+    }
 }
@@ -0,0 +1,215 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.georgdeveloper.myapp.config.ApplicationProperties;
+import ru.georgdeveloper.myapp.repository.AdditionalTrainingRepository;
+import ru.georgdeveloper.myapp.repository.CalendarMeetingView;
+import ru.georgdeveloper.myapp.repository.MeetingRepository;
+import ru.georgdeveloper.myapp.repository.OtherEventRepository;
+import ru.georgdeveloper.myapp.repository.TaskRepository;
+import ru.georgdeveloper.myapp.repository.TrainingRepository;
+import ru.georgdeveloper.myapp.service.CalendarFeedException;
+import ru.georgdeveloper.myapp.service.TeamAccessIndex;
+import ru.georgdeveloper.myapp.service.dto.CalendarEventDTO;
+
+/**
+ * Unit tests for the calendar event feed of {@link CalendarServiceImpl}: permits, pool sizing and streaming.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CalendarServiceImplTest {
+
+    private static final String LOGIN = "user";
+
+    private static final LocalDate FROM = LocalDate.of(2035, 5, 1);
+
+    private static final LocalDate TO = LocalDate.of(2035, 5, 31);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TrainingRepository trainingRepository;
+
+    @Mock
+    private AdditionalTrainingRepository additionalTrainingRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private OtherEventRepository otherEventRepository;
+
+    @Mock
+    private TeamAccessIndex teamAccessIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private HikariDataSource dataSource;
+
+    private CalendarServiceImpl calendarService;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties.getCalendar().setAcquireTimeout(Duration.ZERO);
+        // Not started: the pool only opens connections on first use
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(10);
+        when(teamAccessIndex.getTeamIds(LOGIN)).thenReturn(List.of());
+        when(additionalTrainingRepository.streamCalendarAdditionalTrainings(any(), any())).thenAnswer(invocation -> Stream.empty());
+        when(otherEventRepository.streamCalendarOtherEvents(any(), any())).thenAnswer(invocation -> Stream.empty());
+        calendarService = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        calendarService.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    void feedsGetHalfOfTheConnectionPool() {
+        HikariDataSource large = new HikariDataSource();
+        large.setMaximumPoolSize(40);
+
+        assertThat(CalendarServiceImpl.maxConcurrentFeeds(large)).isEqualTo(4);
+        assertThat(CalendarServiceImpl.maxConcurrentFeeds(dataSource)).isEqualTo(1);
+        large.close();
+    }
+
+    @Test
+    void feedPermitIsHeldWhileStreamingAndReleasedAfter() {
+        when(meetingRepository.streamCalendarMeetings(FROM, TO)).thenAnswer(invocation -> meetings(3));
+        List<Integer> permitsSeenByConsumer = new ArrayList<>();
+
+        calendarService.streamEvents(LOGIN, FROM, TO, event -> permitsSeenByConsumer.add(calendarService.availableFeedPermits()));
+
+        assertThat(permitsSeenByConsumer).containsExactly(0, 0, 0);
+        assertThat(calendarService.availableFeedPermits()).isEqualTo(1);
+    }
+
+    @Test
+    void busyFeedIsRejectedInsteadOfWaitingForever() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(meetingRepository.streamCalendarMeetings(FROM, TO)).thenAnswer(invocation ->
+            Stream.generate(() -> {
+                reading.countDown();
+                await(release);
+                return (CalendarMeetingView) new Meeting(1L, FROM);
+            }).limit(1)
+        );
+        CompletableFuture<Void> slowFeed = CompletableFuture.runAsync(() -> calendarService.streamEvents(LOGIN, FROM, TO, event -> {}));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> calendarService.streamEvents(LOGIN, FROM, TO, event -> {}))
+                .isInstanceOfSatisfying(CalendarFeedException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo(CalendarFeedException.Reason.BUSY);
+                    assertThat(e.getRetryAfter()).isEqualTo(applicationProperties.getCalendar().getRetryAfter());
+                });
+        } finally {
+            release.countDown();
+        }
+        slowFeed.get(5, TimeUnit.SECONDS);
+        assertThat(calendarService.availableFeedPermits()).isEqualTo(1);
+    }
+
+    @Test
+    void feedLargerThanSourceBuffersIsStreamedInOrder() {
+        // More events than the merge buffers hold: the consumer must receive them while sources are still reading
+        when(meetingRepository.streamCalendarMeetings(FROM, TO)).thenAnswer(invocation -> meetings(3000));
+        List<CalendarEventDTO> received = new ArrayList<>();
+
+        calendarService.streamEvents(LOGIN, FROM, TO, received::add);
+
+        assertThat(received).hasSize(3000).isSortedAccordingTo(Comparator.comparing(CalendarEventDTO::getDate));
+        assertThat(calendarService.availableFeedPermits()).isEqualTo(1);
+    }
+
+    private CalendarServiceImpl newService() {
+        return new CalendarServiceImpl(
+            taskRepository,
+            trainingRepository,
+            additionalTrainingRepository,
+            meetingRepository,
+            otherEventRepository,
+            teamAccessIndex,
+            transactionManager,
+            dataSource,
+            applicationProperties
+        );
+    }
+
+    private static Stream<CalendarMeetingView> meetings(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new Meeting((long) i, FROM.plusDays(i)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Meeting(Long id, LocalDate eventDate) implements CalendarMeetingView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return "meeting " + id;
+        }
+
+        @Override
+        public LocalDate getEventDate() {
+            return eventDate;
+        }
+
+        @Override
+        public LocalTime getStartTime() {
+            return null;
+        }
+
+        @Override
+        public LocalTime getEndTime() {
+            return null;
+        }
+
+        @Override
+        public String getLocation() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ParallelMerge}.
+ */
+class ParallelMergeTest {
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingInt(Item::key);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mergesSourcesInOrder() {
+        List<ParallelMerge.Source<Item>> sources = List.of(
+            source("a", 1, 4, 4, 9),
+            source("b", 2, 4, 7),
+            source("c"),
+            source("d", 0, 10)
+        );
+        List<Item> merged = new ArrayList<>();
+
+        // A buffer of one element makes every source wait for the merge
+        ParallelMerge.merge(sources, BY_KEY, executor, 1, merged::add);
+
+        assertThat(merged).extracting(Item::key).containsExactly(0, 1, 2, 4, 4, 4, 7, 9, 10);
+        // Equal keys keep the order of sources and the order within a source
+        assertThat(merged.subList(3, 6)).extracting(Item::source).containsExactly("a", "a", "b");
+    }
+
+    @Test
+    void propagatesSourceFailure() {
+        ParallelMerge.Source<Item> failing = sink -> {
+            sink.accept(new Item("b", 1));
+            throw new IllegalStateException("source failed");
+        };
+        List<ParallelMerge.Source<Item>> sources = List.of(source("a", 0, 5), failing);
+
+        assertThatThrownBy(() -> ParallelMerge.merge(sources, BY_KEY, executor, 4, item -> {}))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("source failed");
+    }
+
+    @Test
+    void stopsSourcesWhenConsumerFails() throws InterruptedException {
+        CountDownLatch stopped = new CountDownLatch(1);
+        ParallelMerge.Source<Item> endless = sink -> {
+            try {
+                IntStream.iterate(0, i -> i + 1).forEach(i -> sink.accept(new Item("a", i)));
+            } finally {
+                stopped.countDown();
+            }
+        };
+
+        assertThatThrownBy(() ->
+            ParallelMerge.merge(List.of(endless), BY_KEY, executor, 2, item -> {
+                if (item.key() == 3) {
+                    throw new IllegalArgumentException("client gone");
+                }
+            })
+        ).isInstanceOf(IllegalArgumentException.class);
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static ParallelMerge.Source<Item> source(String name, int... keys) {
+        return sink -> {
+            for (int key : keys) {
+                sink.accept(new Item(name, key));
+            }
+        };
+    }
+
+    private record Item(String source, int key) {}
+}
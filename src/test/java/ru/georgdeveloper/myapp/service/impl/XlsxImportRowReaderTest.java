@@ -0,0 +1,73 @@
+package ru.georgdeveloper.myapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for cell references in {@link XlsxImportRowReader}.
+ */
+class XlsxImportRowReaderTest {
+
+    @Test
+    void columnIndexOfReferences() {
+        assertThat(XlsxImportRowReader.columnIndex("A1")).isZero();
+        assertThat(XlsxImportRowReader.columnIndex("AB12")).isEqualTo(27);
+        assertThat(XlsxImportRowReader.columnIndex("XFD1")).isEqualTo(XlsxImportRowReader.MAX_COLUMNS - 1);
+    }
+
+    @Test
+    void columnIndexBeyondSheetIsCapped() {
+        assertThat(XlsxImportRowReader.columnIndex("XFE1")).isEqualTo(XlsxImportRowReader.MAX_COLUMNS);
+        // Would overflow int if accumulated
+        assertThat(XlsxImportRowReader.columnIndex("ZZZZZZZZZZ1")).isEqualTo(XlsxImportRowReader.MAX_COLUMNS);
+    }
+
+    @Test
+    void cellBeyondSheetIsRejected() throws IOException {
+        try (XlsxImportRowReader reader = reader(row(1, "<c r=\"ZZZZZZZZZZ1\"><v>1</v></c>"))) {
+            assertThatThrownBy(reader::nextRow).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void emptyCellsBeyondHeaderAreNotPadded() throws IOException {
+        String sheet =
+            row(1, "<c r=\"A1\"><v>1</v></c><c r=\"B1\"><v>2</v></c>") +
+            row(2, "<c r=\"A2\"><v>3</v></c><c r=\"XFD2\" s=\"1\"/>");
+        try (XlsxImportRowReader reader = reader(sheet)) {
+            assertThat(reader.nextRow()).containsExactly("1", "2");
+            assertThat(reader.nextRow()).containsExactly("3");
+        }
+    }
+
+    @Test
+    void valueBeyondHeaderIsRejected() throws IOException {
+        String sheet = row(1, "<c r=\"A1\"><v>1</v></c>") + row(2, "<c r=\"A2\"><v>2</v></c><c r=\"XFD2\"><v>3</v></c>");
+        try (XlsxImportRowReader reader = reader(sheet)) {
+            reader.nextRow();
+            assertThatThrownBy(reader::nextRow).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("2");
+        }
+    }
+
+    private static String row(int number, String cells) {
+        return "<row r=\"" + number + "\">" + cells + "</row>";
+    }
+
+    private static XlsxImportRowReader reader(String rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            zip.write(("<worksheet><sheetData>" + rows + "</sheetData></worksheet>").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return new XlsxImportRowReader(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
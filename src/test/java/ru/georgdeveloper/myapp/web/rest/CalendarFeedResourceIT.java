@@ -0,0 +1,168 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+
+/**
+ * Integration tests for the {@link CalendarFeedResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class CalendarFeedResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/calendar-feed";
+
+    private static final DateTimeFormatter ICS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCalendarFeedMockMvc;
+
+    private Task task;
+
+    private Meeting meeting;
+
+    @BeforeEach
+    void initTest() {
+        Team team = new Team().teamName("calendar-feed");
+        em.persist(team);
+
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin("user").orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.VIEWER);
+        em.persist(access);
+
+        Employee employee = EmployeeResourceIT.createEntity().employeeNumber("CALENDAR-FEED-1").team(team);
+        em.persist(employee);
+
+        task = TaskResourceIT.createEntity().taskName("Проверить СИЗ; цех 2").plannedCompletionDate(LocalDate.now().plusDays(5));
+        task.setEmployee(employee);
+        em.persist(task);
+
+        meeting = new Meeting()
+            .title("Планерка")
+            .eventDate(LocalDate.now().plusDays(1))
+            .startTime(LocalTime.of(9, 0))
+            .endTime(LocalTime.of(10, 30))
+            .location("Кабинет 101");
+        em.persist(meeting);
+        em.flush();
+    }
+
+    @Test
+    void getFeedByToken() throws Exception {
+        String token = createToken();
+
+        String body = restCalendarFeedMockMvc
+            .perform(get(ENTITY_API_URL + "/" + token + ".ics").with(anonymous()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(body).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(body)
+            .contains("UID:task-" + task.getId() + "@theforge\r\n")
+            .contains("SUMMARY:Проверить СИЗ\\; цех 2\r\n")
+            .contains("DTSTART;VALUE=DATE:" + ICS_DATE.format(task.getPlannedCompletionDate()) + "\r\n")
+            .contains("UID:meeting-" + meeting.getId() + "@theforge\r\n")
+            .contains("DTSTART:" + ICS_DATE.format(meeting.getEventDate()) + "T090000\r\n")
+            .contains("DTEND:" + ICS_DATE.format(meeting.getEventDate()) + "T103000\r\n");
+    }
+
+    @Test
+    void getUnchangedFeedReturnsNotModified() throws Exception {
+        String url = ENTITY_API_URL + "/" + createToken() + ".ics";
+        MvcResult first = restCalendarFeedMockMvc.perform(get(url).with(anonymous())).andExpect(status().isOk()).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        restCalendarFeedMockMvc
+            .perform(get(url).with(anonymous()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Second full response comes from the cache and matches the first one byte for byte
+        restCalendarFeedMockMvc
+            .perform(get(url).with(anonymous()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(first.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void createTokenRevokesPreviousToken() throws Exception {
+        String previousToken = createToken();
+        String token = createToken();
+
+        restCalendarFeedMockMvc.perform(get(ENTITY_API_URL + "/" + token + ".ics").with(anonymous())).andExpect(status().isOk());
+        restCalendarFeedMockMvc
+            .perform(get(ENTITY_API_URL + "/" + previousToken + ".ics").with(anonymous()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getFeedOfDeactivatedUserReturnsNotFound() throws Exception {
+        String token = createToken();
+        userRepository.findOneByLogin("user").orElseThrow().setActivated(false);
+        em.flush();
+
+        restCalendarFeedMockMvc.perform(get(ENTITY_API_URL + "/" + token + ".ics").with(anonymous())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getFeedWithUnknownToken() throws Exception {
+        restCalendarFeedMockMvc.perform(get(ENTITY_API_URL + "/unknown.ics").with(anonymous())).andExpect(status().isNotFound());
+    }
+
+    private String createToken() throws Exception {
+        String response = restCalendarFeedMockMvc
+            .perform(post(ENTITY_API_URL + "/token"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.url").value(containsString(".ics")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return om.readTree(response).get("token").asText();
+    }
+}
@@ -0,0 +1,147 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+
+/**
+ * Integration tests for the {@link CalendarTaskResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class CalendarTaskResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/calendar-tasks";
+
+    private static final LocalDate FROM = LocalDate.of(2035, 5, 1);
+
+    private static final LocalDate TO = LocalDate.of(2035, 5, 31);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCalendarTaskMockMvc;
+
+    private Team team;
+
+    private Team otherTeam;
+
+    private Task firstTask;
+
+    private Task lastTask;
+
+    @BeforeEach
+    void initTest() {
+        team = new Team().teamName("calendar");
+        em.persist(team);
+        otherTeam = new Team().teamName("calendar-other");
+        em.persist(otherTeam);
+
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin("user").orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.VIEWER);
+        em.persist(access);
+
+        Employee employee = createEmployee("CALENDAR-1", team);
+        Employee otherEmployee = createEmployee("CALENDAR-2", otherTeam);
+
+        lastTask = persistTask(employee, TO);
+        firstTask = persistTask(employee, FROM);
+        persistTask(employee, FROM.minusDays(1));
+        persistTask(employee, TO.plusDays(1));
+        persistTask(otherEmployee, FROM.plusDays(5));
+        em.flush();
+    }
+
+    @Test
+    void getTasksForCalendarInRange() throws Exception {
+        restCalendarTaskMockMvc
+            .perform(get(ENTITY_API_URL).param("from", FROM.toString()).param("to", TO.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[*].id").value(contains(firstTask.getId().intValue(), lastTask.getId().intValue())))
+            .andExpect(jsonPath("$[0].plannedCompletionDate").value(FROM.toString()))
+            .andExpect(jsonPath("$[0].employeeName").value("Петров Иван"))
+            .andExpect(jsonPath("$[0].body").doesNotExist());
+    }
+
+    @Test
+    void getTasksForCalendarOfTeam() throws Exception {
+        restCalendarTaskMockMvc
+            .perform(get(ENTITY_API_URL).param("from", FROM.toString()).param("to", TO.toString()).param("teamId", team.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void getTasksForCalendarOfTeamWithoutAccess() throws Exception {
+        restCalendarTaskMockMvc
+            .perform(
+                get(ENTITY_API_URL).param("from", FROM.toString()).param("to", TO.toString()).param("teamId", otherTeam.getId().toString())
+            )
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getTasksForCalendarWithInvalidRange() throws Exception {
+        restCalendarTaskMockMvc
+            .perform(get(ENTITY_API_URL).param("from", TO.toString()).param("to", FROM.toString()))
+            .andExpect(status().isBadRequest());
+        restCalendarTaskMockMvc
+            .perform(get(ENTITY_API_URL).param("from", FROM.toString()).param("to", FROM.plusYears(2).toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCalendarEventsWithInvalidRange() throws Exception {
+        restCalendarTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/events").param("from", TO.toString()).param("to", FROM.toString()))
+            .andExpect(status().isBadRequest());
+        restCalendarTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/events").param("from", FROM.toString()).param("to", FROM.plusYears(2).toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Employee createEmployee(String employeeNumber, Team team) {
+        Employee employee = EmployeeResourceIT.createEntity()
+            .firstName("Иван")
+            .lastName("Петров")
+            .employeeNumber(employeeNumber)
+            .team(team);
+        em.persist(employee);
+        return employee;
+    }
+
+    private Task persistTask(Employee employee, LocalDate plannedCompletionDate) {
+        Task task = TaskResourceIT.createEntity().plannedCompletionDate(plannedCompletionDate).employee(employee);
+        em.persist(task);
+        return task;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.Training;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
+import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
+import ru.georgdeveloper.myapp.repository.UserRepository;
+import ru.georgdeveloper.myapp.service.ComplianceCounters;
+
+/**
+ * Integration tests for the {@link DashboardResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class DashboardResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/dashboard/compliance";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ComplianceCounters complianceCounters;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restDashboardMockMvc;
+
+    private Team team;
+
+    @BeforeEach
+    void initTest() {
+        team = new Team().teamName("dashboard");
+        em.persist(team);
+
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin("user").orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.OWNER);
+        em.persist(access);
+
+        Employee employee = EmployeeResourceIT.createEntity().team(team);
+        em.persist(employee);
+
+        LocalDate today = LocalDate.now();
+        em.persist(TrainingResourceIT.createEntity().nextTrainingDate(today.minusDays(1)).employee(employee));
+        em.persist(TrainingResourceIT.createEntity().nextTrainingDate(today.plusDays(10)).employee(employee));
+        em.persist(TrainingResourceIT.createEntity().nextTrainingDate(today.plusYears(1)).employee(employee));
+
+        em.persist(TaskResourceIT.createEntity().status(TaskStatus.IN_PROGRESS).priority(TaskPriority.HIGH).employee(employee));
+        em.persist(TaskResourceIT.createEntity().status(TaskStatus.DONE).priority(TaskPriority.HIGH).employee(employee));
+        em.flush();
+
+        // The test transaction is never committed, so counters are rebuilt from its data instead of after-commit deltas
+        complianceCounters.reconcile();
+    }
+
+    @Test
+    void getCompliance() throws Exception {
+        restDashboardMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[?(@.teamId == " + team.getId() + ")].employees").value(1))
+            .andExpect(jsonPath("$.[?(@.teamId == " + team.getId() + ")].overdueTrainings").value(1))
+            .andExpect(jsonPath("$.[?(@.teamId == " + team.getId() + ")].expiringTrainings").value(1))
+            .andExpect(jsonPath("$.[?(@.teamId == " + team.getId() + ")].openTasks").value(1))
+            .andExpect(jsonPath("$.[?(@.teamId == " + team.getId() + ")].openTasksByPriority.HIGH").value(1));
+    }
+}
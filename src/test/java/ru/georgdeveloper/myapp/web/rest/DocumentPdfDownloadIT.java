@@ -0,0 +1,181 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.service.DocumentStore;
+import ru.georgdeveloper.myapp.service.ProcedureDocumentService;
+import ru.georgdeveloper.myapp.service.SafetyInstructionService;
+
+/**
+ * Integration tests for ranged and conditional PDF downloads of safety instructions and procedure documents.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class DocumentPdfDownloadIT {
+
+    private static final String SAFETY_INSTRUCTION_PDF_URL = "/api/safety-instructions/{id}/pdf";
+
+    private static final String PROCEDURE_DOCUMENT_PDF_URL = "/api/procedure-documents/{id}/pdf";
+
+    private static final int PDF_SIZE = 1000;
+
+    @Autowired
+    private SafetyInstructionService safetyInstructionService;
+
+    @Autowired
+    private ProcedureDocumentService procedureDocumentService;
+
+    @MockitoSpyBean
+    private DocumentStore documentStore;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private byte[] pdf;
+
+    private Long safetyInstructionId;
+
+    private String eTag;
+
+    @BeforeEach
+    void init() {
+        pdf = new byte[PDF_SIZE];
+        Arrays.fill(pdf, (byte) 'x');
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, pdf, 0, 8);
+
+        SafetyInstruction safetyInstruction = SafetyInstructionResourceIT.createEntity();
+        em.persist(safetyInstruction);
+        em.flush();
+        safetyInstructionId = safetyInstruction.getId();
+        SafetyInstruction attached = safetyInstructionService
+            .attachPdfFile(safetyInstructionId, "Инструкция.pdf", "application/pdf", new ByteArrayInputStream(pdf))
+            .orElseThrow();
+        eTag = "\"" + attached.getPdfFileSha256() + "\"";
+        Mockito.clearInvocations(documentStore);
+    }
+
+    @Test
+    void downloadsWholeFileWithStrongETag() throws Exception {
+        restMockMvc
+            .perform(get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, PDF_SIZE))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment;")))
+            .andExpect(content().contentType("application/pdf"))
+            .andExpect(content().bytes(pdf));
+    }
+
+    @Test
+    void downloadsSingleRange() throws Exception {
+        restMockMvc
+            .perform(get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId).header(HttpHeaders.RANGE, "bytes=0-99"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-99/" + PDF_SIZE))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+            .andExpect(content().bytes(Arrays.copyOfRange(pdf, 0, 100)));
+    }
+
+    @Test
+    void downloadsMultipleRanges() throws Exception {
+        MvcResult result = restMockMvc
+            .perform(get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId).header(HttpHeaders.RANGE, "bytes=0-7,990-999"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges")))
+            .andReturn();
+
+        String body = result.getResponse().getContentAsString(StandardCharsets.ISO_8859_1);
+        assertThat(body).contains("Content-Range: bytes 0-7/" + PDF_SIZE).contains("%PDF-1.7");
+        assertThat(body).contains("Content-Range: bytes 990-999/" + PDF_SIZE).contains("xxxxxxxxxx");
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        restMockMvc
+            .perform(get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId).header(HttpHeaders.RANGE, "bytes=5000-6000"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + PDF_SIZE));
+    }
+
+    @Test
+    void staleIfRangeDownloadsWholeFile() throws Exception {
+        restMockMvc
+            .perform(
+                get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId)
+                    .header(HttpHeaders.RANGE, "bytes=0-99")
+                    .header(HttpHeaders.IF_RANGE, "\"" + "0".repeat(64) + "\"")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(pdf));
+    }
+
+    @Test
+    void matchingIfRangeDownloadsRange() throws Exception {
+        restMockMvc
+            .perform(
+                get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId)
+                    .header(HttpHeaders.RANGE, "bytes=8-9")
+                    .header(HttpHeaders.IF_RANGE, eTag)
+            )
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(new byte[] { 'x', 'x' }));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedWithoutReadingFile() throws Exception {
+        restMockMvc
+            .perform(get(SAFETY_INSTRUCTION_PDF_URL, safetyInstructionId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().bytes(new byte[0]));
+
+        verify(documentStore, never()).find(any());
+    }
+
+    @Test
+    void procedureDocumentSupportsRanges() throws Exception {
+        ProcedureDocument procedureDocument = new ProcedureDocument().documentName("ranges").introductionDate(LocalDate.of(2040, 1, 1));
+        em.persist(procedureDocument);
+        em.flush();
+        procedureDocumentService.attachPdfFile(procedureDocument.getId(), "d.pdf", "application/pdf", new ByteArrayInputStream(pdf));
+
+        restMockMvc
+            .perform(get(PROCEDURE_DOCUMENT_PDF_URL, procedureDocument.getId()).header(HttpHeaders.RANGE, "bytes=-8"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 992-999/" + PDF_SIZE))
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+}
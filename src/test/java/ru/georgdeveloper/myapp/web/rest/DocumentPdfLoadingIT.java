@@ -0,0 +1,131 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.service.DocumentStore;
+import ru.georgdeveloper.myapp.service.ProcedureDocumentService;
+import ru.georgdeveloper.myapp.service.SafetyInstructionService;
+
+/**
+ * Integration tests checking that list and detail requests of documents with PDF files
+ * never read the file content from the {@link DocumentStore}, while the download endpoint does.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class DocumentPdfLoadingIT {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int PDF_SIZE = 10 * 1024 * 1024;
+
+    private static final String PDF = "application/pdf";
+
+    // Metadata of a full page is a few kilobytes, a single file would be megabytes
+    private static final int MAX_PAGE_RESPONSE_SIZE = 64 * 1024;
+
+    @Autowired
+    private SafetyInstructionService safetyInstructionService;
+
+    @Autowired
+    private ProcedureDocumentService procedureDocumentService;
+
+    @MockitoSpyBean
+    private DocumentStore documentStore;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Long lastSafetyInstructionId;
+
+    private Long lastProcedureDocumentId;
+
+    @BeforeEach
+    void init() {
+        // Identical files are stored once, the documents still reference 10 MB each
+        byte[] content = new byte[PDF_SIZE];
+        System.arraycopy("%PDF-1.7".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 8);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            SafetyInstruction safetyInstruction = SafetyInstructionResourceIT.createEntity();
+            em.persist(safetyInstruction);
+            ProcedureDocument procedureDocument = new ProcedureDocument()
+                .documentName("blob-" + i)
+                .introductionDate(LocalDate.of(2040, 1, 1));
+            em.persist(procedureDocument);
+            em.flush();
+            safetyInstructionService.attachPdfFile(safetyInstruction.getId(), "i.pdf", PDF, new ByteArrayInputStream(content));
+            procedureDocumentService.attachPdfFile(procedureDocument.getId(), "d.pdf", PDF, new ByteArrayInputStream(content));
+            lastSafetyInstructionId = safetyInstruction.getId();
+            lastProcedureDocumentId = procedureDocument.getId();
+        }
+        Mockito.clearInvocations(documentStore);
+    }
+
+    @Test
+    void safetyInstructionPageDoesNotReadPdfContent() throws Exception {
+        assertPageDoesNotReadPdfContent("/api/safety-instructions", lastSafetyInstructionId);
+    }
+
+    @Test
+    void procedureDocumentPageDoesNotReadPdfContent() throws Exception {
+        assertPageDoesNotReadPdfContent("/api/procedure-documents", lastProcedureDocumentId);
+    }
+
+    @Test
+    void downloadReadsPdfContent() throws Exception {
+        MvcResult result = restMockMvc
+            .perform(get("/api/safety-instructions/{id}/pdf", lastSafetyInstructionId))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray()).hasSize(PDF_SIZE);
+        verify(documentStore).find(any());
+    }
+
+    private void assertPageDoesNotReadPdfContent(String url, Long lastId) throws Exception {
+        MvcResult page = restMockMvc
+            .perform(get(url + "?sort=id,desc&size=" + PAGE_SIZE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].pdfFileSize").value(hasItem(PDF_SIZE)))
+            .andReturn();
+        MvcResult detail = restMockMvc
+            .perform(get(url + "/{id}", lastId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pdfFileName").exists())
+            .andExpect(jsonPath("$.pdfFileSha256").exists())
+            .andReturn();
+
+        assertThat(page.getResponse().getContentAsByteArray()).hasSizeLessThan(MAX_PAGE_RESPONSE_SIZE);
+        assertThat(page.getResponse().getContentAsString()).doesNotContain("\"pdfFile\"");
+        assertThat(detail.getResponse().getContentAsString()).doesNotContain("\"pdfFile\"");
+        verify(documentStore, never()).find(any());
+    }
+}
@@ -0,0 +1,206 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.domain.SafetyInstruction;
+import ru.georgdeveloper.myapp.repository.SafetyInstructionRepository;
+import ru.georgdeveloper.myapp.service.SafetyInstructionService;
+import ru.georgdeveloper.myapp.web.filter.UploadLimitInterceptor;
+
+/**
+ * Integration tests for PDF uploads: signature check, concurrent upload limit and heap used per upload.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class DocumentPdfUploadIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentPdfUploadIT.class);
+
+    private static final String SAFETY_INSTRUCTION_PDF_URL = "/api/safety-instructions/{id}/pdf";
+
+    private static final String PROCEDURE_DOCUMENT_PDF_URL = "/api/procedure-documents/{id}/pdf";
+
+    private static final byte[] PDF_HEADER = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+    // Matches application.uploads.max-concurrent in the test configuration
+    private static final int MAX_CONCURRENT_UPLOADS = 2;
+
+    private static final int BENCHMARK_PDF_SIZE = 40 * 1024 * 1024;
+
+    private static final int BENCHMARK_UPLOADS = 3;
+
+    // Copy buffer, digest, JDBC and Hibernate work, far below the file size
+    private static final long MAX_HEAP_PER_UPLOAD = 4L * 1024 * 1024;
+
+    @Autowired
+    private SafetyInstructionService safetyInstructionService;
+
+    @Autowired
+    private SafetyInstructionRepository safetyInstructionRepository;
+
+    @Autowired
+    private UploadLimitInterceptor uploadLimitInterceptor;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private SafetyInstruction safetyInstruction;
+
+    @BeforeEach
+    void init() {
+        safetyInstruction = SafetyInstructionResourceIT.createEntity();
+        em.persist(safetyInstruction);
+        em.flush();
+    }
+
+    @Test
+    void uploadsPdf() throws Exception {
+        byte[] pdf = pdf(1000);
+
+        restMockMvc
+            .perform(multipart(SAFETY_INSTRUCTION_PDF_URL, safetyInstruction.getId()).file(pdfPart("Инструкция.pdf", pdf)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pdfFileName").value("Инструкция.pdf"))
+            .andExpect(jsonPath("$.pdfFileSize").value(pdf.length))
+            .andExpect(jsonPath("$.pdfFileSha256").isString());
+    }
+
+    @Test
+    void rejectsContentWithoutPdfSignature() throws Exception {
+        byte[] html = "<html><body>not a pdf</body></html>".getBytes(StandardCharsets.US_ASCII);
+
+        restMockMvc
+            .perform(multipart(SAFETY_INSTRUCTION_PDF_URL, safetyInstruction.getId()).file(pdfPart("fake.pdf", html)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidfiletype"));
+
+        assertThat(safetyInstructionService.findPdfFile(safetyInstruction.getId())).isEmpty();
+    }
+
+    @Test
+    void rejectsUploadWithRetryAfterWhenAllPermitsAreTaken() throws Exception {
+        ProcedureDocument procedureDocument = new ProcedureDocument().documentName("busy").introductionDate(LocalDate.of(2040, 1, 1));
+        em.persist(procedureDocument);
+        em.flush();
+
+        MockHttpServletRequest[] running = new MockHttpServletRequest[MAX_CONCURRENT_UPLOADS];
+        for (int i = 0; i < running.length; i++) {
+            running[i] = new MockHttpServletRequest("POST", "/api/safety-instructions/0/pdf");
+            uploadLimitInterceptor.preHandle(running[i], new MockHttpServletResponse(), new Object());
+        }
+        try {
+            restMockMvc
+                .perform(multipart(PROCEDURE_DOCUMENT_PDF_URL, procedureDocument.getId()).file(pdfPart("d.pdf", pdf(100))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.message").value("error.toomanyuploads"));
+        } finally {
+            for (MockHttpServletRequest request : running) {
+                uploadLimitInterceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+            }
+        }
+
+        restMockMvc
+            .perform(multipart(PROCEDURE_DOCUMENT_PDF_URL, procedureDocument.getId()).file(pdfPart("d.pdf", pdf(100))))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void benchmarkHeapPerUpload() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Long id = safetyInstruction.getId();
+        // Warm-up: class loading and first statement preparation are not part of an upload
+        safetyInstructionService.attachPdfFile(id, "warmup.pdf", "application/pdf", new GeneratedPdfInputStream(PDF_HEADER.length + 1));
+
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < BENCHMARK_UPLOADS; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            safetyInstructionService.attachPdfFile(id, "scan.pdf", "application/pdf", new GeneratedPdfInputStream(BENCHMARK_PDF_SIZE));
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            LOG.info("Upload {} of {} MB: {} KB allocated on the heap, {} ms", i + 1, BENCHMARK_PDF_SIZE >> 20, allocated >> 10, millis);
+            total += allocated;
+            max = Math.max(max, allocated);
+        }
+        LOG.info("Heap per {} MB upload: {} KB average, {} KB max", BENCHMARK_PDF_SIZE >> 20, total / BENCHMARK_UPLOADS >> 10, max >> 10);
+
+        assertThat(safetyInstructionRepository.findPdfFileById(id)).hasValueSatisfying(file ->
+            assertThat(file.getPdfFileSize()).isEqualTo(BENCHMARK_PDF_SIZE)
+        );
+        assertThat(max).isLessThan(MAX_HEAP_PER_UPLOAD);
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] pdf = new byte[size];
+        System.arraycopy(PDF_HEADER, 0, pdf, 0, PDF_HEADER.length);
+        return pdf;
+    }
+
+    private static MockMultipartFile pdfPart(String fileName, byte[] content) {
+        return new MockMultipartFile("file", fileName, "application/pdf", content);
+    }
+
+    /**
+     * PDF content generated on the fly, so the benchmark itself holds no file in memory.
+     */
+    private static final class GeneratedPdfInputStream extends InputStream {
+
+        private final long size;
+        private long position;
+
+        private GeneratedPdfInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            return position < PDF_HEADER.length ? PDF_HEADER[(int) position++] : (int) (position++ & 0x7f);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= size) {
+                return -1;
+            }
+            int count = (int) Math.min(len, size - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) read();
+            }
+            return count;
+        }
+    }
+}
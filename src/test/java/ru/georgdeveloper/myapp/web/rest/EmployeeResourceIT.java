@@ -1,6 +1,7 @@
 package ru.georgdeveloper.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -9,10 +10,13 @@ import static ru.georgdeveloper.myapp.web.rest.TestUtil.createUpdateProxyForBean
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,13 +25,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.IntegrationTest;
 import ru.georgdeveloper.myapp.domain.Employee;
+import ru.georgdeveloper.myapp.domain.Position;
+import ru.georgdeveloper.myapp.domain.Team;
+import ru.georgdeveloper.myapp.domain.UserTeamAccess;
+import ru.georgdeveloper.myapp.domain.enumeration.AccessLevel;
 import ru.georgdeveloper.myapp.repository.EmployeeRepository;
+import ru.georgdeveloper.myapp.repository.UserRepository;
 import ru.georgdeveloper.myapp.service.EmployeeService;
 
 /**
@@ -72,6 +84,9 @@ class EmployeeResourceIT {
     @Mock
     private EmployeeService employeeServiceMock;
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -263,6 +278,159 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.[*].hireDate").value(hasItem(DEFAULT_HIRE_DATE.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllEmployeesByCursor() throws Exception {
+        // Initialize the database: three employees in a team visible to the current user
+        Team team = new Team().teamName("keyset");
+        em.persist(team);
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin("user").orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.OWNER);
+        em.persist(access);
+        for (int i = 0; i < 3; i++) {
+            em.persist(createEntity().employeeNumber("KEYSET-" + i).team(team));
+        }
+        em.flush();
+
+        // First page: no count unless requested, cursor of the next page in the Link header
+        MvcResult firstPage = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=2&sort=employeeNumber,asc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].employeeNumber").value("KEYSET-0"))
+            .andExpect(jsonPath("$.[1].employeeNumber").value("KEYSET-1"))
+            .andReturn();
+        String nextCursor = extractCursor(firstPage, "next");
+
+        // Second page: the remaining employee and a cursor back to the first page
+        MvcResult secondPage = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=" + nextCursor + "&size=2&count=true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].employeeNumber").value("KEYSET-2"))
+            .andReturn();
+        assertThat(secondPage.getResponse().getHeader(HttpHeaders.LINK)).doesNotContain("rel=\"next\"");
+        String prevCursor = extractCursor(secondPage, "prev");
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/with-last-instruction-date?cursor=" + prevCursor + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].employeeNumber").value("KEYSET-0"))
+            .andExpect(jsonPath("$.[1].employeeNumber").value("KEYSET-1"));
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithInvalidCursor() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=team,asc")).andExpect(status().isBadRequest());
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&sort=lastName,asc&sort=firstName,asc"))
+            .andExpect(status().isBadRequest());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=lastName,asc&sort=id,asc")).andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void importEmployeesFromCsv() throws Exception {
+        // Initialize the database: a team visible to the current user, a position and an existing employee number
+        Team team = new Team().teamName("Импорт");
+        em.persist(team);
+        UserTeamAccess access = new UserTeamAccess();
+        access.setUser(userRepository.findOneByLogin("user").orElseThrow());
+        access.setTeam(team);
+        access.setAccessLevel(AccessLevel.OWNER);
+        em.persist(access);
+        em.persist(new Position().positionName("Слесарь"));
+        em.persist(createEntity().employeeNumber("IMPORT-EXISTING"));
+        em.flush();
+        long databaseSizeBeforeImport = getRepositoryCount();
+
+        String csv =
+            "\uFEFFФамилия;Имя;Дата рождения;Табельный номер;Дата приема;Команда;Должность\r\n" +
+            "Петров;Иван;01.02.1990;IMPORT-1;2020-03-04;импорт;Слесарь\r\n" +
+            "\"Сидоров; мл.\";Петр;1991-05-06;IMPORT-EXISTING;2021-01-01;;\r\n" +
+            "Иванов;Сергей;не дата;IMPORT-2;2021-01-01;;\r\n" +
+            "Кузнецов;Олег;1985-07-08;IMPORT-1;2021-01-01;;\r\n";
+        MockMultipartFile file = new MockMultipartFile(
+            "file",
+            "employees.csv",
+            "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8)
+        );
+
+        restEmployeeMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalRows").value(4))
+            .andExpect(jsonPath("$.importedRows").value(1))
+            .andExpect(jsonPath("$.failedRows").value(3))
+            .andExpect(jsonPath("$.errors[*].row").value(contains(3, 4, 5)))
+            .andExpect(jsonPath("$.errors[0].employeeNumber").value("IMPORT-EXISTING"));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeImport);
+        Employee imported = employeeRepository
+            .findAll()
+            .stream()
+            .filter(e -> "IMPORT-1".equals(e.getEmployeeNumber()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(imported.getBirthDate()).isEqualTo(LocalDate.of(1990, 2, 1));
+        assertThat(imported.getTeam().getId()).isEqualTo(team.getId());
+        assertThat(imported.getPosition().getPositionName()).isEqualTo("Слесарь");
+    }
+
+    @Test
+    @Transactional
+    void importEmployeesStopsAtUnreadableRowAndReportsSavedRows() throws Exception {
+        long databaseSizeBeforeImport = getRepositoryCount();
+        String csv =
+            "Фамилия;Имя;Дата рождения;Табельный номер;Дата приема\r\n" +
+            "Петров;Иван;1990-02-01;IMPORT-BEFORE-ERROR;2020-03-04\r\n" +
+            "\"Сидоров;Петр;1991-05-06;IMPORT-AFTER-ERROR;2021-01-01\r\n";
+        MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        restEmployeeMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalRows").value(2))
+            .andExpect(jsonPath("$.importedRows").value(1))
+            .andExpect(jsonPath("$.failedRows").value(1))
+            .andExpect(jsonPath("$.errors[0].row").value(3));
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeImport);
+    }
+
+    @Test
+    @Transactional
+    void importEmployeesWithUnsupportedFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "employees.txt", "text/plain", "a;b".getBytes(StandardCharsets.UTF_8));
+        restEmployeeMockMvc.perform(multipart(ENTITY_API_URL + "/import").file(file)).andExpect(status().isBadRequest());
+
+        MockMultipartFile noHeader = new MockMultipartFile(
+            "file",
+            "employees.csv",
+            "text/csv",
+            "Фамилия;Имя\r\n".getBytes(StandardCharsets.UTF_8)
+        );
+        restEmployeeMockMvc
+            .perform(multipart(ENTITY_API_URL + "/import").file(noHeader))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static String extractCursor(MvcResult result, String relType) {
+        Matcher matcher = Pattern.compile("cursor=([A-Za-z0-9_-]*)[^>]*>; rel=\"" + relType + "\"").matcher(
+            result.getResponse().getHeader(HttpHeaders.LINK)
+        );
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
     //
     //    @SuppressWarnings({ "unchecked" })
     //    void getAllEmployeesWithEagerRelationshipsIsEnabled() throws Exception {
@@ -0,0 +1,154 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Meeting;
+import ru.georgdeveloper.myapp.service.MeetingConflictIndex;
+
+/**
+ * Integration tests for the {@link MeetingResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class MeetingResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/meetings";
+
+    private static final LocalDate MONDAY = LocalDate.of(2099, 6, 1);
+
+    private static final String CONFLICTS_URL = ENTITY_API_URL + "/conflicts?location={location}&from={from}&to={to}";
+
+    private static final String ROOM = "Переговорная 3";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MeetingConflictIndex meetingConflictIndex;
+
+    @Autowired
+    private MockMvc restMeetingMockMvc;
+
+    private Meeting morning;
+
+    private Meeting afternoon;
+
+    private Meeting briefing;
+
+    @BeforeEach
+    void initTest() {
+        afternoon = new Meeting().title("Разбор смены").eventDate(MONDAY).startTime(LocalTime.of(14, 0)).endTime(LocalTime.of(15, 0));
+        em.persist(afternoon);
+        morning = new Meeting().title("Планерка").eventDate(MONDAY).startTime(LocalTime.of(9, 0)).endTime(LocalTime.of(9, 30));
+        em.persist(morning);
+        em.persist(new Meeting().title("Следующая неделя").eventDate(MONDAY.plusDays(7)).startTime(LocalTime.of(9, 0)));
+        briefing = new Meeting()
+            .title("Инструктаж")
+            .eventDate(LocalDate.now().plusDays(10))
+            .startTime(LocalTime.of(10, 0))
+            .endTime(LocalTime.of(11, 0))
+            .location(ROOM);
+        em.persist(briefing);
+        em.flush();
+        meetingConflictIndex.rebuild();
+    }
+
+    @Test
+    void getMeetingsInRangeOrderedByStartTime() throws Exception {
+        restMeetingMockMvc
+            .perform(get(ENTITY_API_URL + "?from={from}&to={to}&size=1", MONDAY, MONDAY.plusDays(6)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(morning.getId().intValue()))
+            .andExpect(jsonPath("$[0].startTime").value("09:00"))
+            .andExpect(jsonPath("$[0].endTime").value("09:30"));
+
+        restMeetingMockMvc
+            .perform(get(ENTITY_API_URL + "?from={from}&to={to}&size=1&page=1", MONDAY, MONDAY.plusDays(6)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(afternoon.getId().intValue()));
+    }
+
+    @Test
+    void getMeetingsWithIncompleteRange() throws Exception {
+        restMeetingMockMvc.perform(get(ENTITY_API_URL + "?from={from}", MONDAY)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMeetingsWithInvalidRange() throws Exception {
+        restMeetingMockMvc
+            .perform(get(ENTITY_API_URL + "?from={from}&to={to}", MONDAY, MONDAY.minusDays(1)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getConflictsInRoom() throws Exception {
+        LocalDate day = briefing.getEventDate();
+        restMeetingMockMvc
+            .perform(get(CONFLICTS_URL, " переговорная 3 ", day.atTime(10, 30), day.atTime(12, 0)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(briefing.getId().intValue()))
+            .andExpect(jsonPath("$[0].startTime").value("10:00"));
+
+        restMeetingMockMvc
+            .perform(get(CONFLICTS_URL, ROOM, day.atTime(11, 0), day.atTime(12, 0)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void createMeetingInBusyRoom() throws Exception {
+        Meeting meeting = new Meeting()
+            .title("Совещание")
+            .eventDate(briefing.getEventDate())
+            .startTime(LocalTime.of(10, 30))
+            .endTime(LocalTime.of(11, 30))
+            .location(ROOM.toUpperCase());
+
+        restMeetingMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(meeting)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateMeetingWithinItsOwnSlot() throws Exception {
+        Meeting updated = new Meeting()
+            .title(briefing.getTitle())
+            .eventDate(briefing.getEventDate())
+            .startTime(LocalTime.of(10, 15))
+            .endTime(LocalTime.of(11, 15))
+            .location(ROOM);
+
+        restMeetingMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/{id}", briefing.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updated))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.startTime").value("10:15"));
+    }
+}
@@ -0,0 +1,345 @@
+package ru.georgdeveloper.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.ProcedureDocument;
+import ru.georgdeveloper.myapp.domain.UploadSession;
+import ru.georgdeveloper.myapp.repository.JobDescriptionRepository;
+import ru.georgdeveloper.myapp.repository.ProcedureDocumentRepository;
+import ru.georgdeveloper.myapp.repository.SafetyInstructionRepository;
+import ru.georgdeveloper.myapp.repository.UploadSessionRepository;
+import ru.georgdeveloper.myapp.service.DocumentContentService;
+import ru.georgdeveloper.myapp.service.JobDescriptionService;
+import ru.georgdeveloper.myapp.service.ProcedureDocumentService;
+import ru.georgdeveloper.myapp.service.ResumableUploadService;
+import ru.georgdeveloper.myapp.service.SafetyInstructionService;
+
+/**
+ * Integration tests for the {@link ResumableUploadResource} REST controller.
+ * Not transactional: chunks are confirmed and files attached in separate transactions.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ResumableUploadResourceIT {
+
+    private static final String UPLOADS_URL = "/api/uploads";
+
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private static final int PDF_SIZE = 3000;
+
+    // Matches application.uploads.temp-dir in the test configuration
+    private static final String TEST_UPLOADS_DIR = "build/test-uploads";
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private SafetyInstructionRepository safetyInstructionRepository;
+
+    @Autowired
+    private SafetyInstructionService safetyInstructionService;
+
+    @Autowired
+    private ProcedureDocumentRepository procedureDocumentRepository;
+
+    @Autowired
+    private ProcedureDocumentService procedureDocumentService;
+
+    @Autowired
+    private JobDescriptionRepository jobDescriptionRepository;
+
+    @Autowired
+    private JobDescriptionService jobDescriptionService;
+
+    @Autowired
+    private DocumentContentService documentContentService;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private final List<Long> safetyInstructions = new ArrayList<>();
+
+    private final List<Long> procedureDocuments = new ArrayList<>();
+
+    private final List<Long> jobDescriptions = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        uploadSessionRepository.findAll().forEach(session -> resumableUploadService.cancel(session.getId()));
+        safetyInstructions.forEach(safetyInstructionService::delete);
+        procedureDocuments.forEach(procedureDocumentService::delete);
+        jobDescriptions.forEach(jobDescriptionService::delete);
+        documentContentService.purgeUnreferenced();
+    }
+
+    @Test
+    void uploadsSafetyInstructionInChunks() throws Exception {
+        Long id = safetyInstructionRepository.saveAndFlush(SafetyInstructionResourceIT.createEntity()).getId();
+        safetyInstructions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+        String sha256 = sha256(pdf);
+
+        String location = create("safety-instructions", id, "Инструкция.pdf", pdf, sha256);
+        appendChunk(location, pdf, 0, 1000);
+
+        restMockMvc
+            .perform(head(location))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Upload-Offset", "1000"))
+            .andExpect(header().string("Upload-Length", Integer.toString(PDF_SIZE)))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        appendChunk(location, pdf, 1000, PDF_SIZE);
+
+        assertThat(safetyInstructionRepository.findPdfFileById(id)).hasValueSatisfying(file -> {
+            assertThat(file.getPdfFileName()).isEqualTo("Инструкция.pdf");
+            assertThat(file.getPdfFileSize()).isEqualTo(PDF_SIZE);
+            assertThat(file.getPdfFileSha256()).isEqualTo(sha256);
+        });
+        restMockMvc.perform(head(location)).andExpect(status().isNotFound());
+        assertThat(uploadSessionRepository.count()).isZero();
+    }
+
+    @Test
+    void uploadsProcedureDocument() throws Exception {
+        ProcedureDocument procedureDocument = new ProcedureDocument().documentName("chunks").introductionDate(LocalDate.of(2040, 1, 1));
+        Long id = procedureDocumentRepository.saveAndFlush(procedureDocument).getId();
+        procedureDocuments.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+        String sha256 = sha256(pdf);
+
+        String location = create("procedure-documents", id, "d.pdf", pdf, sha256);
+        appendChunk(location, pdf, 0, PDF_SIZE);
+
+        assertThat(procedureDocumentRepository.findPdfFileById(id)).hasValueSatisfying(file ->
+            assertThat(file.getPdfFileSha256()).isEqualTo(sha256)
+        );
+    }
+
+    @Test
+    void uploadsAndDownloadsJobDescription() throws Exception {
+        Long id = jobDescriptionRepository.saveAndFlush(JobDescriptionResourceIT.createEntity()).getId();
+        jobDescriptions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+
+        String location = create("job-descriptions", id, "job.pdf", pdf, sha256(pdf));
+        appendChunk(location, pdf, 0, 2000);
+        appendChunk(location, pdf, 2000, PDF_SIZE);
+
+        restMockMvc
+            .perform(get("/api/job-descriptions/{id}/pdf", id))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + sha256(pdf) + "\""))
+            .andExpect(content().bytes(pdf));
+    }
+
+    @Test
+    void rejectsChunkWithWrongOffset() throws Exception {
+        Long id = safetyInstructionRepository.saveAndFlush(SafetyInstructionResourceIT.createEntity()).getId();
+        safetyInstructions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+
+        String location = create("safety-instructions", id, "i.pdf", pdf, sha256(pdf));
+        appendChunk(location, pdf, 0, 1000);
+
+        restMockMvc
+            .perform(
+                patch(location)
+                    .header("Tus-Resumable", "1.0.0")
+                    .header("Upload-Offset", 500)
+                    .contentType(OFFSET_OCTET_STREAM)
+                    .content(Arrays.copyOfRange(pdf, 500, 1000))
+            )
+            .andExpect(status().isConflict());
+
+        restMockMvc.perform(head(location)).andExpect(header().string("Upload-Offset", "1000"));
+    }
+
+    @Test
+    void rejectsChunkBeyondUploadLength() throws Exception {
+        Long id = safetyInstructionRepository.saveAndFlush(SafetyInstructionResourceIT.createEntity()).getId();
+        safetyInstructions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+
+        String location = create("safety-instructions", id, "i.pdf", Arrays.copyOf(pdf, 100), sha256(pdf));
+
+        restMockMvc
+            .perform(patch(location).header("Upload-Offset", 0).contentType(OFFSET_OCTET_STREAM).content(pdf))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void discardsUploadWithChecksumMismatch() throws Exception {
+        Long id = safetyInstructionRepository.saveAndFlush(SafetyInstructionResourceIT.createEntity()).getId();
+        safetyInstructions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+
+        String location = create("safety-instructions", id, "i.pdf", pdf, "0".repeat(64));
+
+        restMockMvc
+            .perform(patch(location).header("Upload-Offset", 0).contentType(OFFSET_OCTET_STREAM).content(pdf))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.checksummismatch"));
+
+        assertThat(safetyInstructionRepository.findPdfFileById(id)).hasValueSatisfying(file -> assertThat(file.getPdfFileName()).isNull());
+        assertThat(uploadSessionRepository.count()).isZero();
+        assertThat(partFile(uploadId(location))).doesNotExist();
+    }
+
+    @Test
+    void rejectsUnknownTargetAndMissingEntity() throws Exception {
+        byte[] pdf = pdf(100);
+
+        restMockMvc
+            .perform(
+                post(UPLOADS_URL + "/trainings/{id}", 1)
+                    .header("Upload-Length", pdf.length)
+                    .header("Upload-Metadata", metadata("a.pdf", sha256(pdf)))
+            )
+            .andExpect(status().isBadRequest());
+        restMockMvc
+            .perform(
+                post(UPLOADS_URL + "/safety-instructions/{id}", Long.MAX_VALUE)
+                    .header("Upload-Length", pdf.length)
+                    .header("Upload-Metadata", metadata("a.pdf", sha256(pdf)))
+            )
+            .andExpect(status().isBadRequest());
+        restMockMvc.perform(head(UPLOADS_URL + "/{id}", UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelsUpload() throws Exception {
+        Long id = safetyInstructionRepository.saveAndFlush(SafetyInstructionResourceIT.createEntity()).getId();
+        safetyInstructions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+
+        String location = create("safety-instructions", id, "i.pdf", pdf, sha256(pdf));
+        appendChunk(location, pdf, 0, 1000);
+
+        restMockMvc.perform(delete(location)).andExpect(status().isNoContent());
+
+        restMockMvc.perform(head(location)).andExpect(status().isNotFound());
+        assertThat(partFile(uploadId(location))).doesNotExist();
+    }
+
+    @Test
+    void purgesAbandonedSessionsAndOrphanFiles() throws Exception {
+        Long id = safetyInstructionRepository.saveAndFlush(SafetyInstructionResourceIT.createEntity()).getId();
+        safetyInstructions.add(id);
+        byte[] pdf = pdf(PDF_SIZE);
+        Instant longAgo = Instant.now().minus(Duration.ofDays(30));
+
+        String abandoned = create("safety-instructions", id, "old.pdf", pdf, sha256(pdf));
+        appendChunk(abandoned, pdf, 0, 1000);
+        UploadSession session = uploadSessionRepository.findById(uploadId(abandoned)).orElseThrow();
+        session.setLastModifiedDate(longAgo);
+        uploadSessionRepository.saveAndFlush(session);
+        String fresh = create("safety-instructions", id, "new.pdf", pdf, sha256(pdf));
+        Path orphan = Files.write(partFile(UUID.randomUUID().toString()), new byte[10]);
+        Files.setLastModifiedTime(orphan, FileTime.from(longAgo));
+
+        // Files left over by earlier runs in the same directory may be purged as well
+        assertThat(resumableUploadService.purgeExpired()).isGreaterThanOrEqualTo(2);
+
+        assertThat(uploadSessionRepository.findById(uploadId(abandoned))).isEmpty();
+        assertThat(partFile(uploadId(abandoned))).doesNotExist();
+        assertThat(orphan).doesNotExist();
+        assertThat(uploadSessionRepository.findById(uploadId(fresh))).isPresent();
+        assertThat(partFile(uploadId(fresh))).exists();
+    }
+
+    private String create(String target, Long id, String fileName, byte[] pdf, String sha256) throws Exception {
+        return restMockMvc
+            .perform(
+                post(UPLOADS_URL + "/" + target + "/{id}", id)
+                    .header("Tus-Resumable", "1.0.0")
+                    .header("Upload-Length", pdf.length)
+                    .header("Upload-Metadata", metadata(fileName, sha256))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Upload-Offset", "0"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LOCATION);
+    }
+
+    private void appendChunk(String location, byte[] pdf, int from, int to) throws Exception {
+        restMockMvc
+            .perform(
+                patch(location)
+                    .header("Tus-Resumable", "1.0.0")
+                    .header("Upload-Offset", from)
+                    .contentType(OFFSET_OCTET_STREAM)
+                    .content(Arrays.copyOfRange(pdf, from, to))
+            )
+            .andExpect(status().isNoContent())
+            .andExpect(header().string("Upload-Offset", Integer.toString(to)));
+    }
+
+    private static Path partFile(String uploadId) {
+        return Path.of(TEST_UPLOADS_DIR).toAbsolutePath().normalize().resolve(uploadId + ".part");
+    }
+
+    private static String uploadId(String location) {
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+
+    private static String metadata(String fileName, String sha256) {
+        Base64.Encoder base64 = Base64.getEncoder();
+        return (
+            "filename " +
+            base64.encodeToString(fileName.getBytes(StandardCharsets.UTF_8)) +
+            ",sha256 " +
+            base64.encodeToString(sha256.getBytes(StandardCharsets.US_ASCII))
+        );
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] pdf = new byte[size];
+        for (int i = 0; i < size; i++) {
+            pdf[i] = (byte) (i % 127);
+        }
+        System.arraycopy("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII), 0, pdf, 0, 9);
+        return pdf;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
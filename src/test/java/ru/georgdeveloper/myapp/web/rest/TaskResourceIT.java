@@ -1,6 +1,7 @@
 package ru.georgdeveloper.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,12 +19,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
 import ru.georgdeveloper.myapp.domain.Task;
+import ru.georgdeveloper.myapp.domain.Team;
 import ru.georgdeveloper.myapp.domain.enumeration.TaskPriority;
 import ru.georgdeveloper.myapp.domain.enumeration.TaskStatus;
 import ru.georgdeveloper.myapp.repository.TaskRepository;
@@ -296,6 +300,159 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.body").value(DEFAULT_BODY));
     }
 
+    @Test
+    @Transactional
+    void getTasksByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        Long id = task.getId();
+
+        defaultTaskFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultTaskFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultTaskFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByStatusIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where status in
+        defaultTaskFiltering("status.in=" + DEFAULT_STATUS + "," + UPDATED_STATUS, "status.in=" + TaskStatus.DONE);
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByPriorityIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where priority equals to
+        defaultTaskFiltering("priority.equals=" + DEFAULT_PRIORITY, "priority.equals=" + UPDATED_PRIORITY);
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByPlannedCompletionDateIsInRange() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where plannedCompletionDate is between
+        defaultTaskFiltering(
+            "plannedCompletionDate.greaterThanOrEqual=" +
+            DEFAULT_PLANNED_COMPLETION_DATE +
+            "&plannedCompletionDate.lessThanOrEqual=" +
+            DEFAULT_PLANNED_COMPLETION_DATE.plusDays(6),
+            "plannedCompletionDate.greaterThan=" + DEFAULT_PLANNED_COMPLETION_DATE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByActualCompletionDateIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where actualCompletionDate is null
+        defaultTaskFiltering("actualCompletionDate.specified=false", "actualCompletionDate.specified=true");
+    }
+
+    @Test
+    @Transactional
+    void getAllTasksByEmployeeAndTeamIsEqualToSomething() throws Exception {
+        Team team = new Team().teamName("filter");
+        em.persist(team);
+        Employee employee = EmployeeResourceIT.createEntity().team(team);
+        em.persist(employee);
+        task.setEmployee(employee);
+        insertedTask = taskRepository.saveAndFlush(task);
+
+        // Get all the taskList where employee and team equal to
+        defaultTaskFiltering("employeeId.equals=" + employee.getId(), "employeeId.equals=" + (employee.getId() + 1));
+        defaultTaskFiltering("teamId.equals=" + team.getId(), "teamId.equals=" + (team.getId() + 1));
+    }
+
+    private void defaultTaskFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultTaskShouldBeFound(shouldBeFound);
+        defaultTaskShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search restricted to the default entity, and checks that it is returned.
+     */
+    private void defaultTaskShouldBeFound(String filter) throws Exception {
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&id.in=" + task.getId() + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(task.getId().intValue())))
+            .andExpect(jsonPath("$.[*].taskName").value(hasItem(DEFAULT_TASK_NAME)))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
+            .andExpect(jsonPath("$.[*].priority").value(hasItem(DEFAULT_PRIORITY.toString())));
+
+        // Check, that the count call also returns 1
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&id.in=" + task.getId() + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search restricted to the default entity, and checks that it is not returned.
+     */
+    private void defaultTaskShouldNotBeFound(String filter) throws Exception {
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&id.in=" + task.getId() + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&id.in=" + task.getId() + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getTaskStatsWithInvertedRangeIsRejected() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "/stats?from=2026-05&to=2026-01")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void rebuildTaskStatsRequiresAdmin() throws Exception {
+        restTaskMockMvc.perform(post(ENTITY_API_URL + "/stats/rebuild")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void searchTasks() throws Exception {
+        insertedTask = taskRepository.saveAndFlush(task.taskName("Проверка гидрантов"));
+
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_search?q={q}", "гидранты"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(insertedTask.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nameHighlight").value(hasItem("Проверка <mark>гидрантов</mark>")));
+    }
+
+    @Test
+    @Transactional
+    void searchTasksWithBlankQueryIsRejected() throws Exception {
+        restTaskMockMvc.perform(get(ENTITY_API_URL + "/_search?q={q}", " ")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getNonExistingTask() throws Exception {
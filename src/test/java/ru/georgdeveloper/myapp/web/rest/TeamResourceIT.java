@@ -21,6 +21,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import ru.georgdeveloper.myapp.IntegrationTest;
+import ru.georgdeveloper.myapp.domain.Employee;
 import ru.georgdeveloper.myapp.domain.Team;
 import ru.georgdeveloper.myapp.repository.TeamRepository;
 
@@ -380,6 +381,22 @@ class TeamResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void deleteTeamDetachesEmployees() throws Exception {
+        insertedTeam = teamRepository.saveAndFlush(team);
+        Employee employee = EmployeeResourceIT.createEntity().team(insertedTeam);
+        em.persist(employee);
+        em.flush();
+        em.clear();
+
+        restTeamMockMvc.perform(delete(ENTITY_API_URL_ID, team.getId())).andExpect(status().isNoContent());
+
+        assertThat(teamRepository.findById(team.getId())).isEmpty();
+        assertThat(em.find(Employee.class, employee.getId()).getTeam()).isNull();
+        insertedTeam = null;
+    }
+
     protected long getRepositoryCount() {
         return teamRepository.count();
     }